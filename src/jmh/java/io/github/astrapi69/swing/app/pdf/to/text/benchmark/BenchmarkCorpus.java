@@ -0,0 +1,291 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * The class {@link BenchmarkCorpus} generates the synthetic pdf files and the result text file the
+ * benchmarks run against. The content is generated from a fixed seed, so every run of the
+ * benchmarks works on the same words. Existing files are kept, so the corpus is only generated
+ * once per build directory
+ */
+public final class BenchmarkCorpus
+{
+
+	/** The system property with the directory of the corpus */
+	public static final String SYSTEM_PROPERTY_CORPUS = "pdf.to.text.benchmark.corpus";
+
+	/** The pdf file with ten pages that have a text layer */
+	public static final String TEXT_LAYER_PDF = "text-layer-10-pages.pdf";
+
+	/** The pdf file with one scanned page without text layer */
+	public static final String SCANNED_PAGE_PDF = "scanned-1-page.pdf";
+
+	/** The pdf file with ten scanned pages without text layer */
+	public static final String SCANNED_DOCUMENT_PDF = "scanned-10-pages.pdf";
+
+	/** The result text file of 20 MB with form feed separated pages */
+	public static final String RESULT_TEXT = "result-20-mb.txt";
+
+	/** The resolution of the scanned pages */
+	public static final int SCAN_DPI = 300;
+
+	/** The skew of the scanned pages in degrees */
+	private static final double SCAN_SKEW_DEGREES = 0.8d;
+
+	/** The size of the result text file */
+	private static final long RESULT_TEXT_SIZE = 20L * 1024 * 1024;
+
+	/** The number of lines of a page of the result text file */
+	private static final int RESULT_TEXT_LINES_PER_PAGE = 50;
+
+	/** The seed of the generated words */
+	private static final long SEED = 20241201L;
+
+	/** The words the generated text is made of */
+	private static final String[] WORDS = { "the", "quick", "brown", "fox", "jumps", "over",
+			"lazy", "dog", "document", "page", "scanner", "invoice", "contract", "amount",
+			"date", "number", "customer", "address", "recognition", "character", "optical",
+			"archive", "letter", "report", "section", "paragraph", "signature", "total" };
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BenchmarkCorpus()
+	{
+	}
+
+	/**
+	 * Generates the corpus in the directory that is given as first argument
+	 *
+	 * @param args
+	 *            the directory of the corpus
+	 * @throws IOException
+	 *             if the corpus could not be written
+	 */
+	public static void main(final String[] args) throws IOException
+	{
+		File directory = new File(args.length == 0 ? "build/jmh-corpus" : args[0]);
+		generate(directory);
+		System.out.println("Benchmark corpus generated in " + directory.getAbsolutePath());
+	}
+
+	/**
+	 * Gets the given file of the corpus, the corpus is generated if it does not exist
+	 *
+	 * @param name
+	 *            the name of the file
+	 * @return the file of the corpus
+	 * @throws IOException
+	 *             if the corpus could not be written
+	 */
+	public static File getFile(final String name) throws IOException
+	{
+		File directory = new File(System.getProperty(SYSTEM_PROPERTY_CORPUS, "build/jmh-corpus"));
+		generate(directory);
+		return new File(directory, name);
+	}
+
+	/**
+	 * Generates the files of the corpus that do not exist in the given directory
+	 *
+	 * @param directory
+	 *            the directory of the corpus
+	 * @throws IOException
+	 *             if the corpus could not be written
+	 */
+	public static synchronized void generate(final File directory) throws IOException
+	{
+		Files.createDirectories(directory.toPath());
+		File textLayerPdf = new File(directory, TEXT_LAYER_PDF);
+		if (!textLayerPdf.exists())
+		{
+			writeTextLayerPdf(textLayerPdf, 10);
+		}
+		File scannedPagePdf = new File(directory, SCANNED_PAGE_PDF);
+		if (!scannedPagePdf.exists())
+		{
+			writeScannedPdf(scannedPagePdf, 1);
+		}
+		File scannedDocumentPdf = new File(directory, SCANNED_DOCUMENT_PDF);
+		if (!scannedDocumentPdf.exists())
+		{
+			writeScannedPdf(scannedDocumentPdf, 10);
+		}
+		File resultText = new File(directory, RESULT_TEXT);
+		if (!resultText.exists())
+		{
+			writeResultText(resultText);
+		}
+	}
+
+	private static void writeTextLayerPdf(final File file, final int pageCount)
+		throws IOException
+	{
+		Random random = new Random(SEED);
+		PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+		try (PDDocument document = new PDDocument())
+		{
+			for (int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+			{
+				PDPage page = new PDPage(PDRectangle.A4);
+				document.addPage(page);
+				try (PDPageContentStream contentStream = new PDPageContentStream(document, page))
+				{
+					contentStream.beginText();
+					contentStream.setFont(font, 11);
+					contentStream.setLeading(14);
+					contentStream.newLineAtOffset(72, PDRectangle.A4.getHeight() - 72);
+					for (String line : newLines(random, 48))
+					{
+						contentStream.showText(line);
+						contentStream.newLine();
+					}
+					contentStream.endText();
+				}
+			}
+			writeAtomically(document, file);
+		}
+	}
+
+	private static void writeScannedPdf(final File file, final int pageCount) throws IOException
+	{
+		Random random = new Random(SEED);
+		PDRectangle a4 = PDRectangle.A4;
+		int width = Math.round(a4.getWidth() / 72f * SCAN_DPI);
+		int height = Math.round(a4.getHeight() / 72f * SCAN_DPI);
+		try (PDDocument document = new PDDocument())
+		{
+			for (int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+			{
+				BufferedImage image = new BufferedImage(width, height,
+					BufferedImage.TYPE_BYTE_GRAY);
+				Graphics2D graphics = image.createGraphics();
+				try
+				{
+					graphics.setColor(Color.WHITE);
+					graphics.fillRect(0, 0, width, height);
+					graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+						RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+					graphics.rotate(Math.toRadians(SCAN_SKEW_DEGREES), width / 2d, height / 2d);
+					graphics.setColor(Color.BLACK);
+					graphics.setFont(new Font(Font.SERIF, Font.PLAIN, SCAN_DPI / 7));
+					int y = SCAN_DPI;
+					for (String line : newLines(random, 40))
+					{
+						graphics.drawString(line, SCAN_DPI, y);
+						y += SCAN_DPI / 5;
+					}
+				}
+				finally
+				{
+					graphics.dispose();
+				}
+				PDPage page = new PDPage(a4);
+				document.addPage(page);
+				PDImageXObject pdImage = LosslessFactory.createFromImage(document, image);
+				try (PDPageContentStream contentStream = new PDPageContentStream(document, page))
+				{
+					contentStream.drawImage(pdImage, 0, 0, a4.getWidth(), a4.getHeight());
+				}
+			}
+			writeAtomically(document, file);
+		}
+	}
+
+	private static void writeResultText(final File file) throws IOException
+	{
+		Random random = new Random(SEED);
+		File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile.toPath(),
+			StandardCharsets.UTF_8))
+		{
+			long size = 0;
+			while (size < RESULT_TEXT_SIZE)
+			{
+				for (String line : newLines(random, RESULT_TEXT_LINES_PER_PAGE))
+				{
+					writer.write(line);
+					writer.write('\n');
+					size += line.length() + 1;
+				}
+				writer.write('\f');
+				size++;
+			}
+		}
+		Files.move(temporaryFile.toPath(), file.toPath());
+	}
+
+	private static void writeAtomically(final PDDocument document, final File file)
+		throws IOException
+	{
+		File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+		document.save(temporaryFile);
+		Files.move(temporaryFile.toPath(), file.toPath());
+	}
+
+	private static List<String> newLines(final Random random, final int lineCount)
+	{
+		List<String> lines = new ArrayList<>(lineCount);
+		for (int i = 0; i < lineCount; i++)
+		{
+			StringBuilder line = new StringBuilder();
+			int wordCount = 8 + random.nextInt(5);
+			for (int word = 0; word < wordCount; word++)
+			{
+				if (0 < word)
+				{
+					line.append(' ');
+				}
+				line.append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			lines.add(line.toString());
+		}
+		return lines;
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.github.astrapi69.swing.app.pdf.to.text.ResultTextExports;
+
+/**
+ * The class {@link ExportBenchmark} measures the export of a large result text file by channel
+ * transfer and of an edited document by chunked streaming against writing the whole document
+ * string with a {@link FileWriter}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportBenchmark
+{
+
+	/** The result text file */
+	private File resultTextFile;
+
+	/** The document with the text of the result text file */
+	private PlainDocument document;
+
+	/** The exported file */
+	private File targetFile;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, BadLocationException
+	{
+		resultTextFile = BenchmarkCorpus.getFile(BenchmarkCorpus.RESULT_TEXT);
+		document = new PlainDocument();
+		document.insertString(0,
+			Files.readString(resultTextFile.toPath(), StandardCharsets.UTF_8), null);
+		targetFile = Files.createTempFile("pdf-to-text-export", ".txt").toFile();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(targetFile.toPath());
+	}
+
+	@Benchmark
+	public long transferResultFile() throws IOException
+	{
+		ResultTextExports.transfer(resultTextFile, targetFile);
+		return targetFile.length();
+	}
+
+	@Benchmark
+	public long writeDocumentInChunks() throws IOException
+	{
+		ResultTextExports.write(document, targetFile);
+		return targetFile.length();
+	}
+
+	@Benchmark
+	public long writeDocumentString() throws IOException, BadLocationException
+	{
+		try (FileWriter writer = new FileWriter(targetFile, StandardCharsets.UTF_8))
+		{
+			writer.write(document.getText(0, document.getLength()));
+		}
+		return targetFile.length();
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+
+/**
+ * The class {@link OcrBenchmark} measures the ocr of a single scanned page and of a whole scanned
+ * document through the {@link PdfConversionEngine}, with and without the image preprocessing. The
+ * ocr cache is disabled and tesseract with the english traineddata has to be installed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class OcrBenchmark
+{
+
+	/** The flag that indicates if adaptive dpi and the image preprocessing are enabled */
+	@Param({ "true", "false" })
+	public boolean preprocessing;
+
+	/** The number of concurrently converted pages */
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	/** The engine that converts the pdf files */
+	private PdfConversionEngine engine;
+
+	/** The options of the conversion */
+	private ConversionOptions options;
+
+	/** The pdf file with one scanned page */
+	private File scannedPagePdf;
+
+	/** The pdf file with ten scanned pages */
+	private File scannedDocumentPdf;
+
+	/** The result text file */
+	private File resultTextFile;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		engine = new PdfConversionEngine(parallelism, null);
+		options = ConversionOptions.builder().ocrCacheEnabled(false).textLayerDetection(false)
+			.adaptiveDpi(preprocessing).binarization(preprocessing).deskew(preprocessing)
+			.borderCropping(preprocessing).build();
+		scannedPagePdf = BenchmarkCorpus.getFile(BenchmarkCorpus.SCANNED_PAGE_PDF);
+		scannedDocumentPdf = BenchmarkCorpus.getFile(BenchmarkCorpus.SCANNED_DOCUMENT_PDF);
+		resultTextFile = Files.createTempFile("pdf-to-text-benchmark", ".txt").toFile();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		engine.close();
+		Files.deleteIfExists(resultTextFile.toPath());
+	}
+
+	@Benchmark
+	public ConversionReport recognizeSinglePage() throws IOException, InterruptedException
+	{
+		return engine.convert(scannedPagePdf, resultTextFile, options);
+	}
+
+	@Benchmark
+	public ConversionReport convertWholeDocument() throws IOException, InterruptedException
+	{
+		return engine.convert(scannedDocumentPdf, resultTextFile, options);
+	}
+
+}
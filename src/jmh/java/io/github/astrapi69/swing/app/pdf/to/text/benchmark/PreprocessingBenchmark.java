@@ -0,0 +1,101 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageImagePreprocessor;
+
+/**
+ * The class {@link PreprocessingBenchmark} measures the rendering of a scanned page and the image
+ * preprocessing without tesseract
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PreprocessingBenchmark
+{
+
+	/** The rendered scanned page */
+	private BufferedImage pageImage;
+
+	/** The renderer of the scanned page */
+	private PDFRenderer renderer;
+
+	/** The document of the scanned page */
+	private PDDocument document;
+
+	/** The preprocessor of the rendered page */
+	private PageImagePreprocessor preprocessor;
+
+	/** The options with all preprocessing steps enabled */
+	private ConversionOptions options;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		document = Loader.loadPDF(BenchmarkCorpus.getFile(BenchmarkCorpus.SCANNED_PAGE_PDF));
+		renderer = new PDFRenderer(document);
+		pageImage = renderer.renderImageWithDPI(0, BenchmarkCorpus.SCAN_DPI, ImageType.GRAY);
+		preprocessor = new PageImagePreprocessor();
+		options = ConversionOptions.builder().build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		document.close();
+	}
+
+	@Benchmark
+	public BufferedImage renderPage() throws IOException
+	{
+		return renderer.renderImageWithDPI(0, BenchmarkCorpus.SCAN_DPI, ImageType.GRAY);
+	}
+
+	@Benchmark
+	public BufferedImage preprocessPage()
+	{
+		return preprocessor.preprocess(pageImage, options);
+	}
+
+}
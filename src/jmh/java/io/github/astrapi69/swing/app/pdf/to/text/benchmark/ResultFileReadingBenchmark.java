@@ -0,0 +1,97 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.astrapi69.swing.app.pdf.to.text.viewer.TextFileIndex;
+
+/**
+ * The class {@link ResultFileReadingBenchmark} measures the reading of a large result text file,
+ * the indexing and the viewport reads of the viewer against reading the whole file into a string
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultFileReadingBenchmark
+{
+
+	/** The number of lines of a viewport */
+	private static final int VIEWPORT_LINES = 60;
+
+	/** The result text file */
+	private File resultTextFile;
+
+	/** The index of the result text file */
+	private TextFileIndex textFileIndex;
+
+	/** The first line of the next viewport */
+	private int firstLine;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		resultTextFile = BenchmarkCorpus.getFile(BenchmarkCorpus.RESULT_TEXT);
+		textFileIndex = new TextFileIndex(resultTextFile);
+		textFileIndex.update();
+	}
+
+	@Benchmark
+	public String readWholeFile() throws IOException
+	{
+		return Files.readString(resultTextFile.toPath(), StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public int indexWholeFile() throws IOException
+	{
+		TextFileIndex index = new TextFileIndex(resultTextFile);
+		index.update();
+		return index.getLineCount();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public String[] readViewport() throws IOException
+	{
+		// the viewport jumps through the file like a scrolling user
+		firstLine = (firstLine + 7919) % (textFileIndex.getLineCount() - VIEWPORT_LINES);
+		return textFileIndex.readLines(firstLine, firstLine + VIEWPORT_LINES - 1);
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app;
+
+import java.io.File;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+
+/**
+ * The class {@link ApplicationDirectories} provides the directories where the application stores
+ * its persistent data like caches and indexes
+ */
+public final class ApplicationDirectories
+{
+
+	/** The system property that overrides the application directory */
+	public static final String SYSTEM_PROPERTY_HOME = "pdf.to.text.home";
+
+	/** The name of the default application directory in the user home directory */
+	public static final String DEFAULT_DIRECTORY_NAME = ".pdf-to-text-ui";
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private ApplicationDirectories()
+	{
+	}
+
+	/**
+	 * Gets the application directory, that is the value of the system property
+	 * {@value #SYSTEM_PROPERTY_HOME} if set or else the directory {@value #DEFAULT_DIRECTORY_NAME}
+	 * in the user home directory. The directory is created if it does not exist
+	 *
+	 * @return the application directory
+	 */
+	public static File getApplicationDirectory()
+	{
+		String home = System.getProperty(SYSTEM_PROPERTY_HOME);
+		File applicationDirectory = home != null && !home.isBlank()
+			? new File(home)
+			: new File(System.getProperty("user.home"), DEFAULT_DIRECTORY_NAME);
+		if (!applicationDirectory.exists())
+		{
+			DirectoryFactory.newDirectory(applicationDirectory);
+		}
+		return applicationDirectory;
+	}
+
+	/**
+	 * Gets the directory with the given name in the application directory. The directory is
+	 * created if it does not exist
+	 *
+	 * @param name
+	 *            the name of the directory
+	 * @return the directory with the given name
+	 */
+	public static File getDirectory(final String name)
+	{
+		return DirectoryFactory.newDirectory(getApplicationDirectory(), name);
+	}
+
+}
@@ -24,6 +24,7 @@
  */
 package io.github.astrapi69.swing.app;
 
+import java.security.CodeSource;
 import java.util.Properties;
 
 import io.github.astrapi69.file.system.SystemPropertiesExtensions;
@@ -41,28 +42,65 @@ public final class ApplicationLoggingConfiguration
 	{
 	}
 
+	/** The system property that selects the profile of the application */
+	public static final String SYSTEM_PROPERTY_PROFILE = "pdf.to.text.profile";
+
+	/** The profile for the development with plugin debugging and debug logging */
+	public static final String PROFILE_DEVELOPMENT = "development";
+
+	/** The profile for the deployed application without the debug overhead */
+	public static final String PROFILE_PRODUCTION = "production";
+
 	/**
-	 * Sets default system properties for PF4J configuration, such as mode and plugin directory
+	 * Sets default system properties for PF4J configuration, such as mode and plugin directory,
+	 * and the default log level for the profile of the application. System properties that are
+	 * already set, for instance on the command line, are not overwritten
 	 * <p>
 	 * The default settings include:
 	 * <ul>
-	 * <li>{@code pf4j.mode} - set to {@code development}</li>
+	 * <li>{@code pf4j.mode} - set to {@code development} or {@code deployment} in the production
+	 * profile</li>
 	 * <li>{@code pf4j.pluginsDir} - specifies the plugins directory, set to {@code plugins}</li>
-	 * <li>{@code pf4j.plugins.debug} - enables plugin debugging, set to {@code true}</li>
+	 * <li>{@code pf4j.plugins.debug} - enables plugin debugging, set to {@code true} or
+	 * {@code false} in the production profile</li>
+	 * <li>{@code org.slf4j.simpleLogger.defaultLogLevel} - set to {@code debug} or {@code info} in
+	 * the production profile</li>
 	 * </ul>
 	 * The method calls {@link SystemPropertiesExtensions#setSystemProperties(Properties)} to apply
 	 * these default settings
 	 */
 	public static void setDefaultSystemProperties()
 	{
+		boolean production = isProductionProfile();
 		Properties properties = new Properties();
-		/* if the swing app is for deployment, here is the place to set */
-		properties.setProperty("pf4j.mode", "development");
-		// properties.setProperty("pf4j.mode", "deployment");
+		properties.setProperty("pf4j.mode", production ? "deployment" : "development");
 		properties.setProperty("pf4j.pluginsDir", "plugins");
-		properties.setProperty("pf4j.plugins.debug", "true");
-		properties.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "debug");
+		properties.setProperty("pf4j.plugins.debug", String.valueOf(!production));
+		properties.setProperty("org.slf4j.simpleLogger.defaultLogLevel",
+			production ? "info" : "debug");
+		System.getProperties().stringPropertyNames().forEach(properties::remove);
 		SystemPropertiesExtensions.setSystemProperties(properties);
 	}
 
+	/**
+	 * Checks if the application runs in the production profile. The profile is the value of the
+	 * system property {@value #SYSTEM_PROPERTY_PROFILE} if set, otherwise an application that is
+	 * started from a jar file runs in the production profile and an application that is started
+	 * from class directories, for instance from the ide, in the development profile
+	 *
+	 * @return true if the application runs in the production profile
+	 */
+	public static boolean isProductionProfile()
+	{
+		String profile = System.getProperty(SYSTEM_PROPERTY_PROFILE);
+		if (profile != null && !profile.isBlank())
+		{
+			return PROFILE_PRODUCTION.equalsIgnoreCase(profile.trim());
+		}
+		CodeSource codeSource = ApplicationLoggingConfiguration.class.getProtectionDomain()
+			.getCodeSource();
+		return codeSource != null && codeSource.getLocation() != null
+			&& codeSource.getLocation().getPath().endsWith(".jar");
+	}
+
 }
@@ -25,24 +25,21 @@
 package io.github.astrapi69.swing.app;
 
 import java.awt.Component;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.nio.file.Paths;
+import java.util.List;
 
 import javax.swing.JMenu;
 
-import org.pf4j.CompoundPluginRepository;
-import org.pf4j.DefaultExtensionFinder;
-import org.pf4j.DefaultPluginRepository;
-import org.pf4j.ExtensionFinder;
-import org.pf4j.JarPluginLoader;
-import org.pf4j.JarPluginManager;
-import org.pf4j.JarPluginRepository;
-import org.pf4j.PluginLoader;
 import org.pf4j.PluginManager;
-import org.pf4j.PluginRepository;
 
 import io.github.astrapi69.awt.screen.ScreenSizeExtensions;
 import io.github.astrapi69.model.BaseModel;
 import io.github.astrapi69.swing.app.pdf.to.text.PdfToTextPanel;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.TextExtractionEngine;
+import io.github.astrapi69.swing.app.plugin.ApplicationPluginManager;
 import io.github.astrapi69.swing.base.ApplicationPanelFrame;
 import io.github.astrapi69.swing.base.BasePanel;
 import io.github.astrapi69.swing.plaf.LookAndFeels;
@@ -50,11 +47,13 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * The class {@link PdfToTextApplicationFrame} represents the main frame of the application that
  * sets up and initializes the application window with specific settings and components
  */
+@Slf4j
 @Getter
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class PdfToTextApplicationFrame extends ApplicationPanelFrame<ApplicationModelBean>
@@ -106,48 +105,44 @@ public class PdfToTextApplicationFrame extends ApplicationPanelFrame<Application
 	 */
 	protected PluginManager newPluginManager()
 	{
-		return new JarPluginManager(Paths.get("plugins"))
-		{
-			/**
-			 * {@inheritDoc}
-			 */
-			protected ExtensionFinder createExtensionFinder()
-			{
-				DefaultExtensionFinder extensionFinder = (DefaultExtensionFinder)super.createExtensionFinder();
-				extensionFinder.addServiceProviderExtensionFinder();
-				return extensionFinder;
-			}
-
-			/**
-			 * {@inheritDoc}
-			 */
-			@Override
-			protected PluginRepository createPluginRepository()
-			{
-				return new CompoundPluginRepository()
-					.add(new DefaultPluginRepository(getPluginsRoot()))
-					.add(new JarPluginRepository(getPluginsRoot()));
-			}
-
-			/**
-			 * {@inheritDoc}
-			 */
-			@Override
-			protected PluginLoader createPluginLoader()
-			{
-				return new JarPluginLoader(this);
-			}
-
-		};
+		return new ApplicationPluginManager(Paths.get("plugins"));
 	}
 
 	/**
-	 * Starts and loads all plugins of the application
+	 * Starts and loads all plugins of the application and adds the text extraction engines of the
+	 * plugins to the conversion engine
 	 */
 	protected void startAndLoadAllPlugins()
 	{
 		pluginManager.loadPlugins();
 		pluginManager.startPlugins();
+		List<TextExtractionEngine> textExtractionEngines = pluginManager
+			.getExtensions(TextExtractionEngine.class);
+		if (!textExtractionEngines.isEmpty()
+			&& applicationPanel instanceof PdfToTextPanel pdfToTextPanel)
+		{
+			pdfToTextPanel.getConversionEngine().getTextExtractionEngineSelector()
+				.addEngines(textExtractionEngines);
+		}
+	}
+
+	/**
+	 * Starts and loads all plugins of the application on a background thread, so the plugins do
+	 * not delay the first frame. The plugin manager runs the {@code start()} method of every
+	 * plugin on the event dispatch thread
+	 */
+	protected void startAndLoadAllPluginsInBackground()
+	{
+		PdfConversionEngine.newThreadFactory("plugin-loader-").newThread(() -> {
+			try
+			{
+				startAndLoadAllPlugins();
+			}
+			catch (RuntimeException e)
+			{
+				log.error("Plugins could not be loaded", e);
+			}
+		}).start();
 	}
 
 	/**
@@ -157,10 +152,18 @@ public class PdfToTextApplicationFrame extends ApplicationPanelFrame<Application
 	protected void onAfterInitialize()
 	{
 		super.onAfterInitialize();
-		startAndLoadAllPlugins();
 		setTitle(Messages.getString("mainframe.title"));
 		setDefaultLookAndFeel(LookAndFeels.NIMBUS, this);
 		this.setSize(ScreenSizeExtensions.getScreenWidth(), ScreenSizeExtensions.getScreenHeight());
+		addWindowListener(new WindowAdapter()
+		{
+			@Override
+			public void windowOpened(WindowEvent e)
+			{
+				removeWindowListener(this);
+				startAndLoadAllPluginsInBackground();
+			}
+		});
 	}
 
 	/**
@@ -27,9 +27,12 @@ package io.github.astrapi69.swing.app;
 import javax.swing.JOptionPane;
 
 import io.github.astrapi69.awt.screen.ScreenSizeExtensions;
+import io.github.astrapi69.swing.app.batch.BatchCommandLine;
+import io.github.astrapi69.swing.app.batch.BatchConversionApplication;
+import io.github.astrapi69.swing.app.batch.WatchFolderApplication;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.TesseractLanguages;
 import io.github.astrapi69.swing.dialog.DialogExtensions;
 import io.github.astrapisixtynine.easy.logger.LoggingConfiguration;
-import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
 import lombok.extern.java.Log;
 
 /**
@@ -40,17 +43,30 @@ public class StartApplication
 {
 
 	/**
-	 * The main method that starts the application
+	 * The main method that starts the application. If the first argument is
+	 * {@value BatchCommandLine#ARGUMENT_BATCH} the pdf files are converted headless without
+	 * initializing the graphical user interface, if it is {@value BatchCommandLine#ARGUMENT_WATCH}
+	 * the given directory is watched headless for new pdf files
 	 *
 	 * @param args
 	 *            the arguments passed to the application
 	 */
 	public static void main(final String[] args)
 	{
+		if (BatchCommandLine.isBatchMode(args) || BatchCommandLine.isWatchMode(args))
+		{
+			System.setProperty("java.awt.headless", "true");
+			LoggingConfiguration.setup();
+			System.exit(BatchCommandLine.isWatchMode(args)
+				? WatchFolderApplication.run(args)
+				: BatchConversionApplication.run(args));
+		}
 		ApplicationLoggingConfiguration.setDefaultSystemProperties();
 		LoggingConfiguration.setup();
 		log.info("JUL logs are now routed to SLF4J.");
-		boolean tesseractInstalled = ImagePdfToTextExtensions.isTesseractInstalled();
+		// the installed languages are discovered in the background while the frame is built
+		TesseractLanguages.discoverAsync();
+		boolean tesseractInstalled = TesseractLanguages.isTesseractInstalled();
 		if (!tesseractInstalled)
 		{
 			log.info("Tesseract is not installed");
@@ -0,0 +1,280 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.LanguageDetector;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageRanges;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageRegion;
+
+/**
+ * The class {@link BatchCommandLine} parses the command line arguments of the headless batch mode
+ * and the headless watch folder mode
+ */
+public final class BatchCommandLine
+{
+
+	/** The argument that selects the headless batch mode */
+	public static final String ARGUMENT_BATCH = "--batch";
+
+	/** The argument that selects the headless watch folder mode, followed by the directory */
+	public static final String ARGUMENT_WATCH = "--watch";
+
+	/** The argument for an input directory, pdf file or glob pattern */
+	public static final String ARGUMENT_INPUT = "--input";
+
+	/** The argument for the output directory */
+	public static final String ARGUMENT_OUTPUT = "--output";
+
+	/** The argument for the tesseract language code */
+	public static final String ARGUMENT_LANGUAGE = "--language";
+
+	/**
+	 * The argument for the comma separated tesseract language codes among which the language of
+	 * every page is detected
+	 */
+	public static final String ARGUMENT_DETECT_LANGUAGES = "--detect-languages";
+
+	/** The argument for the one based page ranges like '3-5,8,10-' that are converted */
+	public static final String ARGUMENT_PAGES = "--pages";
+
+	/** The argument for the region of interest as x,y,width,height in percent of the page */
+	public static final String ARGUMENT_REGION = "--region";
+
+	/** The argument for the number of threads */
+	public static final String ARGUMENT_THREADS = "--threads";
+
+	/** The argument that prints the usage */
+	public static final String ARGUMENT_HELP = "--help";
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BatchCommandLine()
+	{
+	}
+
+	/**
+	 * Checks if the given command line arguments select the headless batch mode
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return true if the headless batch mode is selected otherwise false
+	 */
+	public static boolean isBatchMode(final String[] args)
+	{
+		return args != null && 0 < args.length && ARGUMENT_BATCH.equals(args[0]);
+	}
+
+	/**
+	 * Checks if the given command line arguments select the headless watch folder mode
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return true if the headless watch folder mode is selected otherwise false
+	 */
+	public static boolean isWatchMode(final String[] args)
+	{
+		return args != null && 0 < args.length && ARGUMENT_WATCH.equals(args[0]);
+	}
+
+	/**
+	 * Checks if the given command line arguments request the usage
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return true if the usage is requested otherwise false
+	 */
+	public static boolean isHelpRequested(final String[] args)
+	{
+		for (String arg : args)
+		{
+			if (ARGUMENT_HELP.equals(arg) || "-h".equals(arg))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parses the given command line arguments
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return the parsed {@link BatchOptions} object
+	 * @throws IllegalArgumentException
+	 *             if the command line arguments are invalid
+	 */
+	public static BatchOptions parse(final String[] args)
+	{
+		BatchOptions.BatchOptionsBuilder builder = BatchOptions.builder();
+		boolean outputDirectorySet = false;
+		boolean inputSet = false;
+		boolean watchMode = isWatchMode(args);
+		int firstOption = isBatchMode(args) ? 1 : 0;
+		if (watchMode)
+		{
+			builder.watchDirectory(new File(valueOf(args, 1, ARGUMENT_WATCH)));
+			firstOption = 2;
+		}
+		for (int i = firstOption; i < args.length; i++)
+		{
+			String argument = args[i];
+			switch (argument)
+			{
+				case ARGUMENT_INPUT -> {
+					builder.input(valueOf(args, ++i, argument));
+					inputSet = true;
+				}
+				case ARGUMENT_OUTPUT -> {
+					builder.outputDirectory(new File(valueOf(args, ++i, argument)));
+					outputDirectorySet = true;
+				}
+				case ARGUMENT_LANGUAGE -> builder.languageCode(valueOf(args, ++i, argument));
+				case ARGUMENT_DETECT_LANGUAGES -> builder
+					.detectionLanguageCodes(languageCodesOf(valueOf(args, ++i, argument)));
+				case ARGUMENT_PAGES -> builder
+					.pageRanges(PageRanges.parse(valueOf(args, ++i, argument)));
+				case ARGUMENT_REGION -> builder
+					.pageRegion(PageRegion.parse(valueOf(args, ++i, argument)));
+				case ARGUMENT_THREADS -> builder
+					.concurrency(threadsOf(valueOf(args, ++i, argument)));
+				default -> throw new IllegalArgumentException(
+					"Unknown argument '" + argument + "'");
+			}
+		}
+		if (watchMode)
+		{
+			if (inputSet)
+			{
+				throw new IllegalArgumentException(
+					ARGUMENT_INPUT + " is not supported with " + ARGUMENT_WATCH);
+			}
+			return builder.build();
+		}
+		if (!inputSet)
+		{
+			throw new IllegalArgumentException("At least one " + ARGUMENT_INPUT + " is required");
+		}
+		if (!outputDirectorySet)
+		{
+			throw new IllegalArgumentException(ARGUMENT_OUTPUT + " is required");
+		}
+		return builder.build();
+	}
+
+	private static String valueOf(final String[] args, final int index, final String argument)
+	{
+		if (args.length <= index || args[index].startsWith("--"))
+		{
+			throw new IllegalArgumentException("Missing value for argument '" + argument + "'");
+		}
+		return args[index];
+	}
+
+	private static List<String> languageCodesOf(final String value)
+	{
+		List<String> languageCodes = Arrays.stream(value.split(",")).map(String::trim)
+			.filter(languageCode -> !languageCode.isEmpty()).distinct().toList();
+		if (languageCodes.size() < 2)
+		{
+			throw new IllegalArgumentException(ARGUMENT_DETECT_LANGUAGES
+				+ " needs at least two comma separated language codes but was '" + value + "'");
+		}
+		if (LanguageDetector.MAXIMUM_CANDIDATES < languageCodes.size())
+		{
+			throw new IllegalArgumentException(ARGUMENT_DETECT_LANGUAGES + " supports at most "
+				+ LanguageDetector.MAXIMUM_CANDIDATES + " language codes but was '" + value + "'");
+		}
+		return languageCodes;
+	}
+
+	private static int threadsOf(final String value)
+	{
+		try
+		{
+			int threads = Integer.parseInt(value);
+			if (0 < threads)
+			{
+				return threads;
+			}
+		}
+		catch (NumberFormatException e)
+		{
+			// handled below
+		}
+		throw new IllegalArgumentException(
+			ARGUMENT_THREADS + " must be a positive number but was '" + value + "'");
+	}
+
+	/**
+	 * Prints the usage of the headless batch mode to the given stream
+	 *
+	 * @param out
+	 *            the stream to print to
+	 */
+	public static void printUsage(final PrintStream out)
+	{
+		out.println("Usage: " + ARGUMENT_BATCH + " " + ARGUMENT_INPUT + " <dir|file|glob> ["
+			+ ARGUMENT_INPUT + " ...] " + ARGUMENT_OUTPUT + " <dir> [" + ARGUMENT_LANGUAGE
+			+ " <code>] [" + ARGUMENT_DETECT_LANGUAGES + " <codes>] [" + ARGUMENT_PAGES
+			+ " <ranges>] [" + ARGUMENT_REGION + " <x,y,w,h>] [" + ARGUMENT_THREADS + " <n>]");
+		out.println("   or: " + ARGUMENT_WATCH + " <dir> [" + ARGUMENT_OUTPUT + " <dir>] ["
+			+ ARGUMENT_LANGUAGE + " <code>] [" + ARGUMENT_DETECT_LANGUAGES + " <codes>] ["
+			+ ARGUMENT_PAGES + " <ranges>] [" + ARGUMENT_REGION + " <x,y,w,h>] ["
+			+ ARGUMENT_THREADS + " <n>]");
+		out.println("  " + ARGUMENT_WATCH
+			+ "     directory (watched recursively) where new pdf files are converted as soon as"
+			+ " they are completely written, without " + ARGUMENT_OUTPUT
+			+ " the text files are written beside the pdf files");
+		out.println("  " + ARGUMENT_INPUT
+			+ "     directory (searched recursively), pdf file or glob like 'scans/**/*.pdf'");
+		out.println("  " + ARGUMENT_OUTPUT
+			+ "    directory for the text files, the input directory structure is kept");
+		out.println("  " + ARGUMENT_LANGUAGE + "  tesseract language code, default is 'eng'");
+		out.println("  " + ARGUMENT_DETECT_LANGUAGES
+			+ "  2 to " + LanguageDetector.MAXIMUM_CANDIDATES
+			+ " comma separated language codes like 'deu,eng,ell', the language of every page"
+			+ " is detected among them and " + ARGUMENT_LANGUAGE
+			+ " is used where none fits");
+		out.println("  " + ARGUMENT_PAGES
+			+ "     one based pages like '3-5,8,10-' that are converted, default is all pages");
+		out.println("  " + ARGUMENT_REGION
+			+ "    region of every page as x,y,width,height in percent like '0,0,100,20',"
+			+ " only the region is rendered and recognized, default is the whole page");
+		out.println("  " + ARGUMENT_THREADS
+			+ "   number of threads and documents in flight, default is the number of cores");
+		out.println("Exit codes: " + BatchConversionApplication.EXIT_SUCCESS + " success, "
+			+ BatchConversionApplication.EXIT_FAILURES + " some files failed, "
+			+ BatchConversionApplication.EXIT_USAGE + " invalid arguments, "
+			+ BatchConversionApplication.EXIT_NO_INPUT + " no pdf files found");
+	}
+
+}
@@ -0,0 +1,263 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.OcrResultCache;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageCheckpointStore;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link BatchConversionApplication} converts all pdf files of the given inputs without
+ * a graphical user interface through the same {@link PdfConversionEngine} as the application
+ * panel. The input files are streamed and the number of documents in flight is bounded by the
+ * concurrency, so only the paths of the files are kept for every file. A pdf file that is found by
+ * more than one input is converted once and pdf files whose result text files would have the same
+ * path get numbered result text files, see {@link ResultTextFileNames}
+ */
+@Slf4j
+public class BatchConversionApplication
+{
+
+	/** The exit code if all files were converted */
+	public static final int EXIT_SUCCESS = 0;
+
+	/** The exit code if at least one file could not be converted */
+	public static final int EXIT_FAILURES = 1;
+
+	/** The exit code for invalid command line arguments */
+	public static final int EXIT_USAGE = 2;
+
+	/** The exit code if no pdf file was found in the inputs */
+	public static final int EXIT_NO_INPUT = 3;
+
+	/** The options of the batch conversion */
+	private final BatchOptions options;
+
+	/** The stream where the progress is printed to */
+	private final PrintStream out;
+
+	/** The number of started conversions */
+	private final AtomicInteger started = new AtomicInteger();
+
+	/** The number of converted files */
+	private final AtomicInteger converted = new AtomicInteger();
+
+	/** The number of failed files */
+	private final AtomicInteger failed = new AtomicInteger();
+
+	/** The number of converted pages */
+	private final AtomicLong convertedPages = new AtomicLong();
+
+	/**
+	 * Instantiates a new {@link BatchConversionApplication}
+	 *
+	 * @param options
+	 *            the options of the batch conversion
+	 * @param out
+	 *            the stream where the progress is printed to
+	 */
+	public BatchConversionApplication(final BatchOptions options, final PrintStream out)
+	{
+		this.options = options;
+		this.out = out;
+	}
+
+	/**
+	 * Parses the given command line arguments and runs the batch conversion
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return the exit code
+	 */
+	public static int run(final String[] args)
+	{
+		if (BatchCommandLine.isHelpRequested(args))
+		{
+			BatchCommandLine.printUsage(System.out);
+			return EXIT_SUCCESS;
+		}
+		BatchOptions batchOptions;
+		try
+		{
+			batchOptions = BatchCommandLine.parse(args);
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(e.getMessage());
+			BatchCommandLine.printUsage(System.err);
+			return EXIT_USAGE;
+		}
+		return new BatchConversionApplication(batchOptions, System.out).run();
+	}
+
+	/**
+	 * Runs the batch conversion
+	 *
+	 * @return the exit code
+	 */
+	public int run()
+	{
+		long start = System.currentTimeMillis();
+		int concurrency = options.getConcurrency();
+		ConversionOptions conversionOptions = ConversionOptions.builder()
+			.languageCode(options.getLanguageCode())
+			.detectionLanguageCodes(options.getDetectionLanguageCodes())
+			.pageRanges(options.getPageRanges()).pageRegion(options.getPageRegion()).build();
+		Semaphore documentsInFlight = new Semaphore(concurrency);
+		ResultTextFileNames resultTextFileNames = new ResultTextFileNames(
+			options.getOutputDirectory().toPath());
+		Set<Path> submittedPdfFiles = new HashSet<>();
+		try (PdfConversionEngine engine = new PdfConversionEngine(concurrency,
+			OcrResultCache.newDefaultCache(), PageCheckpointStore.newDefaultStore());
+			ExecutorService documentExecutor = Executors.newFixedThreadPool(concurrency,
+				PdfConversionEngine.newThreadFactory("pdf-to-text-batch-")))
+		{
+			Files.createDirectories(options.getOutputDirectory().toPath());
+			for (String input : options.getInputs())
+			{
+				try (Stream<PdfInputs.PdfInput> pdfInputs = PdfInputs.resolve(input))
+				{
+					for (Iterator<PdfInputs.PdfInput> iterator = pdfInputs.iterator(); iterator
+						.hasNext();)
+					{
+						PdfInputs.PdfInput pdfInput = iterator.next();
+						Path pdfFile = pdfInput.pdfFile().toAbsolutePath().normalize();
+						if (!submittedPdfFiles.add(pdfFile))
+						{
+							out.println("SKIPPED " + pdfFile + ": found by more than one input");
+							continue;
+						}
+						Path resultTextPath = assignResultTextPath(resultTextFileNames,
+							pdfInput);
+						documentsInFlight.acquire();
+						documentExecutor.execute(() -> {
+							try
+							{
+								convert(engine, pdfInput, resultTextPath, conversionOptions);
+							}
+							finally
+							{
+								documentsInFlight.release();
+							}
+						});
+					}
+				}
+				catch (IOException | UncheckedIOException e)
+				{
+					failed.incrementAndGet();
+					out.println("FAILED input '" + input + "': " + e.getMessage());
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			out.println("Batch conversion interrupted");
+			return EXIT_FAILURES;
+		}
+		catch (IOException e)
+		{
+			out.println("FAILED output directory '" + options.getOutputDirectory() + "': "
+				+ e.getMessage());
+			return EXIT_FAILURES;
+		}
+		long elapsedMillis = System.currentTimeMillis() - start;
+		out.println("Converted " + converted.get() + " files with " + convertedPages.get()
+			+ " pages in " + elapsedMillis + " ms, " + failed.get() + " failed");
+		if (0 < failed.get())
+		{
+			return EXIT_FAILURES;
+		}
+		return started.get() == 0 ? EXIT_NO_INPUT : EXIT_SUCCESS;
+	}
+
+	private Path assignResultTextPath(final ResultTextFileNames resultTextFileNames,
+		final PdfInputs.PdfInput pdfInput)
+	{
+		Path resultTextPath = resultTextFileNames.assign(pdfInput.relativePath(),
+			pdfInput.pdfFile());
+		if (!resultTextPath.getFileName().toString()
+			.equals(ResultTextFileNames.newFileName(pdfInput.relativePath())))
+		{
+			out.println("RENAMED " + pdfInput.pdfFile() + " -> " + resultTextPath
+				+ ": the result text file of another pdf file has the same name");
+		}
+		return resultTextPath;
+	}
+
+	private void convert(final PdfConversionEngine engine, final PdfInputs.PdfInput pdfInput,
+		final Path resultTextPath, final ConversionOptions conversionOptions)
+	{
+		int number = started.incrementAndGet();
+		Path pdfFile = pdfInput.pdfFile();
+		try
+		{
+			Files.createDirectories(resultTextPath.getParent());
+			File resultTextFile = resultTextPath.toFile();
+			ConversionReport report = engine.convert(pdfFile.toFile(), resultTextFile,
+				conversionOptions);
+			converted.incrementAndGet();
+			convertedPages.addAndGet(report.getPageCount());
+			out.println("[" + number + "] OK " + pdfFile + " -> " + resultTextFile + " ("
+				+ report.getPageCount() + " pages, " + report.getElapsedMillis() + " ms"
+				+ (0 < report.getResumedPages()
+					? ", resumed after " + report.getResumedPages() + " pages"
+					: "")
+				+ ")");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			failed.incrementAndGet();
+			out.println("[" + number + "] INTERRUPTED " + pdfFile);
+		}
+		catch (Exception e)
+		{
+			failed.incrementAndGet();
+			log.debug("Conversion of '{}' failed", pdfFile, e);
+			out.println("[" + number + "] FAILED " + pdfFile + ": " + e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.io.File;
+import java.util.List;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageRanges;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageRegion;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrLanguage;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BatchOptions} holds the settings of a headless batch conversion or a headless
+ * watch folder
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchOptions
+{
+	/** The input directories, pdf files or glob patterns */
+	@Singular
+	List<String> inputs;
+
+	/**
+	 * The directory where the result text files are written to, in the watch folder mode it is
+	 * optional and without it the result text files are written beside the pdf files
+	 */
+	File outputDirectory;
+
+	/** The watched directory in the watch folder mode or null in the batch mode */
+	File watchDirectory;
+
+	/** The tesseract language code */
+	@Builder.Default
+	String languageCode = OcrLanguage.ENGLISH.getCode();
+
+	/**
+	 * The tesseract language codes among which the language of every page is detected or an empty
+	 * list for recognizing all pages with the language code
+	 */
+	@Builder.Default
+	List<String> detectionLanguageCodes = List.of();
+
+	/** The pages of every pdf file that are converted */
+	@Builder.Default
+	PageRanges pageRanges = PageRanges.ALL;
+
+	/** The region of interest of every converted page or null for the whole page */
+	PageRegion pageRegion;
+
+	/** The number of threads and the maximum number of documents that are converted at once */
+	@Builder.Default
+	int concurrency = PdfConversionEngine.defaultParallelism();
+}
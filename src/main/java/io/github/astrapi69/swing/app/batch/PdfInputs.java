@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * The class {@link PdfInputs} resolves the input arguments of the batch mode to the pdf files to
+ * convert. The files are streamed lazily, so even huge directory trees are never held in memory at
+ * once
+ */
+public final class PdfInputs
+{
+
+	/** The characters that mark an input as glob pattern */
+	private static final String GLOB_CHARACTERS = "*?[{";
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private PdfInputs()
+	{
+	}
+
+	/**
+	 * The record {@link PdfInput} holds a pdf file to convert together with its path relative to
+	 * the input it was found in
+	 *
+	 * @param pdfFile
+	 *            the pdf file
+	 * @param relativePath
+	 *            the path relative to the input directory or glob base directory
+	 */
+	public record PdfInput(Path pdfFile, Path relativePath)
+	{
+	}
+
+	/**
+	 * Resolves the given input that is a directory, a pdf file or a glob pattern to the pdf files
+	 * it denotes. Directories are searched recursively. The returned stream has to be closed
+	 *
+	 * @param input
+	 *            the input directory, pdf file or glob pattern
+	 * @return the stream of the resolved pdf files
+	 * @throws IOException
+	 *             if the input could not be read
+	 */
+	public static Stream<PdfInput> resolve(final String input) throws IOException
+	{
+		if (isGlob(input))
+		{
+			return resolveGlob(input);
+		}
+		Path path = Paths.get(input);
+		if (Files.isDirectory(path))
+		{
+			return walk(path, path, relativePath -> true);
+		}
+		if (Files.isRegularFile(path))
+		{
+			return Stream.of(new PdfInput(path, path.getFileName()));
+		}
+		throw new IOException("Input '" + input + "' does not exist");
+	}
+
+	/**
+	 * Checks if the given file name has the pdf file extension
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @return true if the file name has the pdf file extension otherwise false
+	 */
+	public static boolean isPdf(final Path path)
+	{
+		Path fileName = path.getFileName();
+		return fileName != null && fileName.toString().toLowerCase(Locale.ROOT).endsWith(".pdf");
+	}
+
+	private static boolean isGlob(final String input)
+	{
+		for (int i = 0; i < input.length(); i++)
+		{
+			if (GLOB_CHARACTERS.indexOf(input.charAt(i)) != -1)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Stream<PdfInput> resolveGlob(final String input) throws IOException
+	{
+		String separators = "/" + (FileSystems.getDefault().getSeparator());
+		int firstGlobCharacter = 0;
+		while (GLOB_CHARACTERS.indexOf(input.charAt(firstGlobCharacter)) == -1)
+		{
+			firstGlobCharacter++;
+		}
+		int baseEnd = firstGlobCharacter;
+		while (0 < baseEnd && separators.indexOf(input.charAt(baseEnd - 1)) == -1)
+		{
+			baseEnd--;
+		}
+		Path baseDirectory = Paths.get(0 < baseEnd ? input.substring(0, baseEnd) : ".");
+		PathMatcher pathMatcher = FileSystems.getDefault()
+			.getPathMatcher("glob:" + input.substring(baseEnd));
+		if (!Files.isDirectory(baseDirectory))
+		{
+			throw new IOException("Base directory '" + baseDirectory + "' of input '" + input
+				+ "' does not exist");
+		}
+		return walk(baseDirectory, baseDirectory, pathMatcher);
+	}
+
+	private static Stream<PdfInput> walk(final Path directory, final Path baseDirectory,
+		final PathMatcher relativePathMatcher) throws IOException
+	{
+		return Files.walk(directory).filter(Files::isRegularFile).filter(PdfInputs::isPdf)
+			.map(pdfFile -> new PdfInput(pdfFile, baseDirectory.relativize(pdfFile)))
+			.filter(pdfInput -> relativePathMatcher.matches(pdfInput.relativePath()));
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ContentHashes;
+import lombok.Getter;
+
+/**
+ * The class {@link ProcessedFileRegistry} remembers the content hashes of the pdf files that were
+ * converted from a watch folder, so that a file is not converted again after a restart or when it
+ * is only touched. The hashes are appended to a text file with one line per converted file
+ */
+public class ProcessedFileRegistry
+{
+
+	/** The name of the directory of the registry files in the application directory */
+	public static final String DIRECTORY_NAME = "watch-folders";
+
+	/** The file the hashes are appended to */
+	@Getter
+	private final Path registryFile;
+
+	/** The hashes of the converted files */
+	private final Set<String> contentHashes = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Instantiates a new {@link ProcessedFileRegistry} and loads the hashes of the given registry
+	 * file if it exists
+	 *
+	 * @param registryFile
+	 *            the file the hashes are stored in
+	 * @throws IOException
+	 *             if the registry file could not be read
+	 */
+	public ProcessedFileRegistry(final Path registryFile) throws IOException
+	{
+		this.registryFile = registryFile;
+		if (Files.exists(registryFile))
+		{
+			try (Stream<String> lines = Files.lines(registryFile, StandardCharsets.UTF_8))
+			{
+				lines.map(line -> line.split(" ", 2)[0]).filter(hash -> !hash.isBlank())
+					.forEach(contentHashes::add);
+			}
+		}
+	}
+
+	/**
+	 * Factory method for create the {@link ProcessedFileRegistry} of the given watch folder in the
+	 * application directory
+	 *
+	 * @param watchDirectory
+	 *            the watch folder
+	 * @return the new {@link ProcessedFileRegistry} object
+	 * @throws IOException
+	 *             if the registry file could not be read
+	 */
+	public static ProcessedFileRegistry forWatchDirectory(final Path watchDirectory)
+		throws IOException
+	{
+		String name = ContentHashes.of(watchDirectory.toRealPath().toString()) + ".txt";
+		File directory = ApplicationDirectories.getDirectory(DIRECTORY_NAME);
+		return new ProcessedFileRegistry(new File(directory, name).toPath());
+	}
+
+	/**
+	 * Checks if a file with the given content hash was already converted
+	 *
+	 * @param contentHash
+	 *            the content hash of the pdf file
+	 * @return true if the file was already converted otherwise false
+	 */
+	public boolean contains(final String contentHash)
+	{
+		return contentHashes.contains(contentHash);
+	}
+
+	/**
+	 * Registers the given converted pdf file
+	 *
+	 * @param contentHash
+	 *            the content hash of the pdf file
+	 * @param pdfFile
+	 *            the pdf file, only stored for information
+	 * @throws IOException
+	 *             if the registry file could not be written
+	 */
+	public synchronized void add(final String contentHash, final Path pdfFile) throws IOException
+	{
+		if (contentHashes.add(contentHash))
+		{
+			Files.writeString(registryFile, contentHash + " " + pdfFile + System.lineSeparator(),
+				StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		}
+	}
+
+	/**
+	 * Gets the number of converted files
+	 *
+	 * @return the number of converted files
+	 */
+	public int size()
+	{
+		return contentHashes.size();
+	}
+
+}
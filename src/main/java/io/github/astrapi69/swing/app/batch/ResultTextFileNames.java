@@ -0,0 +1,106 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The class {@link ResultTextFileNames} assigns the result text files of the pdf files of a batch
+ * or a watch folder session. The result text file of a pdf file has the relative path of the pdf
+ * file in the output directory and the extension 'txt'. If that path already belongs to another
+ * pdf file, like 'scans/a.pdf' of two inputs or 'a.pdf' and 'a.PDF' in one directory, the later
+ * pdf file gets a numbered result text file like 'a-2.txt'. The paths are compared ignoring case,
+ * so the result text files are also distinct on a case insensitive file system. The methods of
+ * this class are thread safe
+ */
+public class ResultTextFileNames
+{
+
+	/** The output directory */
+	private final Path outputDirectory;
+
+	/** The pdf files by the lower case paths of their assigned result text files */
+	private final Map<String, Path> pdfFilesByResultTextPath = new HashMap<>();
+
+	/**
+	 * Instantiates a new {@link ResultTextFileNames}
+	 *
+	 * @param outputDirectory
+	 *            the output directory
+	 */
+	public ResultTextFileNames(final Path outputDirectory)
+	{
+		this.outputDirectory = outputDirectory.toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Assigns the result text file of the given pdf file, a pdf file that was already assigned
+	 * gets the same result text file again
+	 *
+	 * @param relativePath
+	 *            the path of the pdf file relative to its input directory
+	 * @param pdfFile
+	 *            the pdf file
+	 * @return the path of the result text file
+	 */
+	public synchronized Path assign(final Path relativePath, final Path pdfFile)
+	{
+		Path absolutePdfFile = pdfFile.toAbsolutePath().normalize();
+		String fileName = newFileName(relativePath);
+		String baseName = fileName.substring(0, fileName.length() - ".txt".length());
+		Path resultTextPath = outputDirectory.resolve(relativePath).normalize()
+			.resolveSibling(fileName);
+		for (int number = 2;; number++)
+		{
+			Path owner = pdfFilesByResultTextPath.putIfAbsent(
+				resultTextPath.toString().toLowerCase(Locale.ROOT), absolutePdfFile);
+			if (owner == null || owner.equals(absolutePdfFile))
+			{
+				return resultTextPath;
+			}
+			resultTextPath = resultTextPath.resolveSibling(baseName + "-" + number + ".txt");
+		}
+	}
+
+	/**
+	 * Factory method for create the name of the result text file of the given pdf file if no
+	 * other pdf file has a result text file with the same path, that is the name of the pdf file
+	 * with the extension 'txt'
+	 *
+	 * @param relativePath
+	 *            the path of the pdf file relative to its input directory
+	 * @return the name of the result text file
+	 */
+	public static String newFileName(final Path relativePath)
+	{
+		String fileName = relativePath.getFileName().toString();
+		int extensionIndex = fileName.lastIndexOf('.');
+		return (0 < extensionIndex ? fileName.substring(0, extensionIndex) : fileName) + ".txt";
+	}
+
+}
@@ -0,0 +1,530 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ContentHashes;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.OcrResultCache;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageCheckpointStore;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link WatchFolderApplication} watches a directory tree and converts every new or
+ * modified pdf file as soon as it is completely written. A file counts as completely written when
+ * its size and modification time did not change for the settle time and its end of file marker is
+ * present. Settled files are passed to a fixed number of workers through a bounded queue, if the
+ * queue is full the files wait in the watch loop until a worker is free. The content hashes of the
+ * converted files are stored in a {@link ProcessedFileRegistry}, so files are not converted again
+ * after a restart. Pdf files whose result text files would have the same path, like 'a.pdf' and
+ * 'a.PDF', get numbered result text files, see {@link ResultTextFileNames}
+ */
+@Slf4j
+public class WatchFolderApplication
+{
+
+	/** The default time in milliseconds a file must stay unchanged before it is converted */
+	public static final long DEFAULT_SETTLE_MILLIS = 2000;
+
+	/** The interval in milliseconds for checking the pending files */
+	private static final long POLL_INTERVAL_MILLIS = 500;
+
+	/** The time in seconds the stopping watch folder waits for the interrupted workers */
+	private static final long WORKER_TERMINATION_SECONDS = 5;
+
+	/** The number of queued files per worker */
+	private static final int QUEUE_CAPACITY_PER_WORKER = 4;
+
+	/** The number of bytes at the end of a pdf file that are searched for the end of file marker */
+	private static final int END_OF_FILE_MARKER_RANGE = 1024;
+
+	/** The end of file marker of a pdf file */
+	private static final String END_OF_FILE_MARKER = "%%EOF";
+
+	/**
+	 * The factor of the settle time after which a stable file without end of file marker is
+	 * converted anyway, so that a damaged file is reported instead of waiting forever
+	 */
+	private static final int MISSING_MARKER_SETTLE_FACTOR = 10;
+
+	/**
+	 * The record {@link PendingFile} is the last observed state of a file that is not yet passed
+	 * to a worker
+	 *
+	 * @param size
+	 *            the size of the file
+	 * @param lastModified
+	 *            the modification time of the file
+	 * @param stableSinceMillis
+	 *            the time since the size and the modification time did not change
+	 */
+	private record PendingFile(long size, long lastModified, long stableSinceMillis)
+	{
+	}
+
+	/** The options of the watch folder */
+	private final BatchOptions options;
+
+	/** The stream where the progress is printed to */
+	private final PrintStream out;
+
+	/** The time in milliseconds a file must stay unchanged before it is converted */
+	private final long settleMillis;
+
+	/** The files that changed and are not yet passed to a worker, only used by the watch loop */
+	private final Map<Path, PendingFile> pendingFiles = new LinkedHashMap<>();
+
+	/** The watched directories of the registered watch keys, only used by the watch loop */
+	private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+	/** The files that are queued or converted by a worker */
+	private final Set<Path> queuedFiles = ConcurrentHashMap.newKeySet();
+
+	/** The number of converted files */
+	private final AtomicInteger converted = new AtomicInteger();
+
+	/** The number of skipped files that were already converted */
+	private final AtomicInteger skipped = new AtomicInteger();
+
+	/** The number of failed files */
+	private final AtomicInteger failed = new AtomicInteger();
+
+	/** The number of files whose conversion was cancelled because the watch folder stopped */
+	private final AtomicInteger cancelled = new AtomicInteger();
+
+	/** The flag that indicates if the watch folder is stopping its workers */
+	private volatile boolean stopping;
+
+	/**
+	 * Instantiates a new {@link WatchFolderApplication}
+	 *
+	 * @param options
+	 *            the options with the watch directory
+	 * @param out
+	 *            the stream where the progress is printed to
+	 * @param settleMillis
+	 *            the time in milliseconds a file must stay unchanged before it is converted
+	 */
+	public WatchFolderApplication(final BatchOptions options, final PrintStream out,
+		final long settleMillis)
+	{
+		this.options = options;
+		this.out = out;
+		this.settleMillis = settleMillis;
+	}
+
+	/**
+	 * Parses the given command line arguments and watches the given directory until the
+	 * application is terminated
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @return the exit code
+	 */
+	public static int run(final String[] args)
+	{
+		if (BatchCommandLine.isHelpRequested(args))
+		{
+			BatchCommandLine.printUsage(System.out);
+			return BatchConversionApplication.EXIT_SUCCESS;
+		}
+		BatchOptions batchOptions;
+		try
+		{
+			batchOptions = BatchCommandLine.parse(args);
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(e.getMessage());
+			BatchCommandLine.printUsage(System.err);
+			return BatchConversionApplication.EXIT_USAGE;
+		}
+		WatchFolderApplication application = new WatchFolderApplication(batchOptions, System.out,
+			DEFAULT_SETTLE_MILLIS);
+		return application.runUntilShutdown();
+	}
+
+	/**
+	 * Watches the directory until the virtual machine shuts down, for instance by Ctrl+C
+	 *
+	 * @return the exit code
+	 */
+	public int runUntilShutdown()
+	{
+		Thread watchThread = Thread.currentThread();
+		CountDownLatch stopped = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			watchThread.interrupt();
+			try
+			{
+				// the summary is printed before the virtual machine halts
+				stopped.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}, "pdf-to-text-watch-shutdown"));
+		try
+		{
+			return run();
+		}
+		finally
+		{
+			stopped.countDown();
+		}
+	}
+
+	/**
+	 * Watches the directory until the current thread is interrupted
+	 *
+	 * @return the exit code
+	 */
+	public int run()
+	{
+		Path watchDirectory = options.getWatchDirectory().toPath().toAbsolutePath().normalize();
+		if (!Files.isDirectory(watchDirectory))
+		{
+			out.println("FAILED watch directory '" + watchDirectory + "' is not a directory");
+			return BatchConversionApplication.EXIT_USAGE;
+		}
+		Path outputDirectory = options.getOutputDirectory() != null
+			? options.getOutputDirectory().toPath()
+			: watchDirectory;
+		ResultTextFileNames resultTextFileNames = new ResultTextFileNames(outputDirectory);
+		int concurrency = options.getConcurrency();
+		ConversionOptions conversionOptions = ConversionOptions.builder()
+			.languageCode(options.getLanguageCode())
+			.detectionLanguageCodes(options.getDetectionLanguageCodes())
+			.pageRanges(options.getPageRanges()).pageRegion(options.getPageRegion()).build();
+		ThreadPoolExecutor workers = new ThreadPoolExecutor(concurrency, concurrency, 0L,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(concurrency * QUEUE_CAPACITY_PER_WORKER),
+			PdfConversionEngine.newThreadFactory("pdf-to-text-watch-"));
+		// the workers are stopped before the engine is closed, so that a conversion in flight is
+		// cancelled instead of failing on a closed engine
+		try (PdfConversionEngine engine = new PdfConversionEngine(concurrency,
+			OcrResultCache.newDefaultCache(), PageCheckpointStore.newDefaultStore()))
+		{
+			try (WatchService watchService = FileSystems.getDefault().newWatchService())
+			{
+				ProcessedFileRegistry registry = ProcessedFileRegistry
+					.forWatchDirectory(watchDirectory);
+				registerTree(watchService, watchDirectory);
+				scan(watchDirectory);
+				out.println("Watching " + watchDirectory + " with " + concurrency + " workers, "
+					+ registry.size() + " files already converted");
+				while (!Thread.currentThread().isInterrupted())
+				{
+					WatchKey watchKey = watchService.poll(POLL_INTERVAL_MILLIS,
+						TimeUnit.MILLISECONDS);
+					if (watchKey != null)
+					{
+						handleEvents(watchService, watchKey, watchDirectory);
+					}
+					submitSettledFiles(workers,
+						pdfFile -> convert(engine, registry, conversionOptions,
+							resultTextFileNames, watchDirectory.relativize(pdfFile), pdfFile));
+				}
+			}
+			catch (InterruptedException | ClosedWatchServiceException e)
+			{
+				// the watch folder is stopped
+			}
+			finally
+			{
+				stopWorkers(workers);
+			}
+		}
+		catch (IOException e)
+		{
+			out.println("FAILED watch directory '" + watchDirectory + "': " + e.getMessage());
+			return BatchConversionApplication.EXIT_FAILURES;
+		}
+		out.println("Stopped watching " + watchDirectory + ", converted " + converted.get()
+			+ " files, skipped " + skipped.get() + " already converted files, " + failed.get()
+			+ " failed, " + cancelled.get() + " cancelled");
+		return 0 < failed.get()
+			? BatchConversionApplication.EXIT_FAILURES
+			: BatchConversionApplication.EXIT_SUCCESS;
+	}
+
+	/**
+	 * Interrupts the conversions in flight, drops the queued files and waits until the workers
+	 * are finished, the dropped files are converted after the next start
+	 */
+	private void stopWorkers(final ThreadPoolExecutor workers)
+	{
+		stopping = true;
+		// the interrupt that stopped the watch loop must not cut the wait for the workers short
+		boolean interrupted = Thread.interrupted();
+		cancelled.addAndGet(workers.shutdownNow().size());
+		try
+		{
+			if (!workers.awaitTermination(WORKER_TERMINATION_SECONDS, TimeUnit.SECONDS))
+			{
+				log.warn("Workers did not stop within {} seconds", WORKER_TERMINATION_SECONDS);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			interrupted = true;
+		}
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void registerTree(final WatchService watchService, final Path directory)
+		throws IOException
+	{
+		try (Stream<Path> directories = Files.walk(directory).filter(Files::isDirectory))
+		{
+			for (Iterator<Path> iterator = directories.iterator(); iterator.hasNext();)
+			{
+				Path current = iterator.next();
+				WatchKey watchKey = current.register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+				watchedDirectories.put(watchKey, current);
+			}
+		}
+	}
+
+	private void scan(final Path directory) throws IOException
+	{
+		try (Stream<Path> pdfFiles = Files.walk(directory).filter(PdfInputs::isPdf))
+		{
+			pdfFiles.forEach(this::markChanged);
+		}
+	}
+
+	private void markChanged(final Path pdfFile)
+	{
+		pendingFiles.put(pdfFile, new PendingFile(-1, -1, System.currentTimeMillis()));
+	}
+
+	private void handleEvents(final WatchService watchService, final WatchKey watchKey,
+		final Path watchDirectory) throws IOException
+	{
+		Path directory = watchedDirectories.get(watchKey);
+		for (WatchEvent<?> event : watchKey.pollEvents())
+		{
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null)
+			{
+				// events were lost, the whole tree is checked again
+				log.debug("Watch events overflow, rescanning {}", watchDirectory);
+				scan(watchDirectory);
+				continue;
+			}
+			Path path = directory.resolve((Path)event.context());
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+				&& Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+			{
+				registerTree(watchService, path);
+				scan(path);
+			}
+			else if (PdfInputs.isPdf(path))
+			{
+				markChanged(path);
+			}
+		}
+		if (!watchKey.reset())
+		{
+			watchedDirectories.remove(watchKey);
+		}
+	}
+
+	private void submitSettledFiles(final ThreadPoolExecutor workers, final Consumer<Path> action)
+	{
+		long now = System.currentTimeMillis();
+		for (Iterator<Map.Entry<Path, PendingFile>> iterator = pendingFiles.entrySet()
+			.iterator(); iterator.hasNext();)
+		{
+			Map.Entry<Path, PendingFile> entry = iterator.next();
+			Path pdfFile = entry.getKey();
+			PendingFile pendingFile = entry.getValue();
+			long size;
+			long lastModified;
+			try
+			{
+				size = Files.size(pdfFile);
+				lastModified = Files.getLastModifiedTime(pdfFile).toMillis();
+			}
+			catch (IOException e)
+			{
+				// the file was deleted or moved away
+				iterator.remove();
+				continue;
+			}
+			if (size != pendingFile.size() || lastModified != pendingFile.lastModified())
+			{
+				entry.setValue(new PendingFile(size, lastModified, now));
+				continue;
+			}
+			long stableMillis = now - pendingFile.stableSinceMillis();
+			if (stableMillis < settleMillis || queuedFiles.contains(pdfFile)
+				|| !isCompletelyWritten(pdfFile, stableMillis))
+			{
+				continue;
+			}
+			queuedFiles.add(pdfFile);
+			try
+			{
+				workers.execute(() -> {
+					try
+					{
+						action.accept(pdfFile);
+					}
+					finally
+					{
+						queuedFiles.remove(pdfFile);
+					}
+				});
+				iterator.remove();
+			}
+			catch (RejectedExecutionException e)
+			{
+				// the queue is full, the remaining files wait for the next poll
+				queuedFiles.remove(pdfFile);
+				return;
+			}
+		}
+	}
+
+	private boolean isCompletelyWritten(final Path pdfFile, final long stableMillis)
+	{
+		// a file that is still opened exclusively by the writer can not be opened on some
+		// platforms, on others the end of file marker shows that the writer has finished
+		try (FileChannel channel = FileChannel.open(pdfFile, StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			int length = (int)Math.min(size, END_OF_FILE_MARKER_RANGE);
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+			while (buffer.hasRemaining()
+				&& 0 < channel.read(buffer, size - length + buffer.position()))
+			{
+				// read until the buffer is full
+			}
+			String tail = new String(buffer.array(), 0, buffer.position(),
+				StandardCharsets.ISO_8859_1);
+			return tail.contains(END_OF_FILE_MARKER)
+				|| settleMillis * MISSING_MARKER_SETTLE_FACTOR <= stableMillis;
+		}
+		catch (IOException e)
+		{
+			return false;
+		}
+	}
+
+	private void convert(final PdfConversionEngine engine, final ProcessedFileRegistry registry,
+		final ConversionOptions conversionOptions, final ResultTextFileNames resultTextFileNames,
+		final Path relativePath, final Path pdfFile)
+	{
+		try
+		{
+			String contentHash = ContentHashes.of(pdfFile.toFile());
+			if (registry.contains(contentHash))
+			{
+				skipped.incrementAndGet();
+				log.debug("Skipped already converted file '{}'", pdfFile);
+				return;
+			}
+			Path resultTextPath = resultTextFileNames.assign(relativePath, pdfFile);
+			if (!resultTextPath.getFileName().toString()
+				.equals(ResultTextFileNames.newFileName(relativePath)))
+			{
+				out.println("RENAMED " + pdfFile + " -> " + resultTextPath
+					+ ": the result text file of another pdf file has the same name");
+			}
+			Files.createDirectories(resultTextPath.getParent());
+			File resultTextFile = resultTextPath.toFile();
+			ConversionReport report = engine.convert(pdfFile.toFile(), resultTextFile,
+				conversionOptions);
+			registry.add(contentHash, pdfFile);
+			converted.incrementAndGet();
+			out.println("OK " + pdfFile + " -> " + resultTextFile + " (" + report.getPageCount()
+				+ " pages, " + report.getElapsedMillis() + " ms"
+				+ (0 < report.getResumedPages()
+					? ", resumed after " + report.getResumedPages() + " pages"
+					: "")
+				+ ")");
+		}
+		catch (InterruptedException e)
+		{
+			cancelled.incrementAndGet();
+			out.println("CANCELLED " + pdfFile);
+			Thread.currentThread().interrupt();
+		}
+		catch (Exception e)
+		{
+			if (stopping)
+			{
+				// a conversion that is interrupted by the stop fails in any stage, that is no
+				// failure of the file
+				cancelled.incrementAndGet();
+				log.debug("Conversion of '{}' cancelled", pdfFile, e);
+				out.println("CANCELLED " + pdfFile);
+				return;
+			}
+			failed.incrementAndGet();
+			log.debug("Conversion of '{}' failed", pdfFile, e);
+			out.println("FAILED " + pdfFile + ": " + e.getMessage());
+		}
+	}
+
+}
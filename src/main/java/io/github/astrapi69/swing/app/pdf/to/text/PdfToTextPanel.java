@@ -28,31 +28,53 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
-import io.github.astrapi69.collection.list.ListExtensions;
-import io.github.astrapi69.file.create.DirectoryFactory;
-import io.github.astrapi69.file.read.ReadFileExtensions;
-import io.github.astrapi69.file.rename.RenameFileExtensions;
 import io.github.astrapi69.file.system.SystemFileExtensions;
 import io.github.astrapi69.io.file.FileExtension;
 import io.github.astrapi69.io.file.FilenameExtensions;
 import io.github.astrapi69.model.api.IModel;
 import io.github.astrapi69.swing.app.ApplicationModelBean;
 import io.github.astrapi69.swing.app.Messages;
+import io.github.astrapi69.swing.app.pdf.to.text.console.LogConsolePanel;
+import io.github.astrapi69.swing.app.pdf.to.text.console.LogLevel;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.LanguageDetector;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.MemoryBudget;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageRanges;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageRegion;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PageResult;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.TesseractEnginePool;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.TesseractLanguages;
+import io.github.astrapi69.swing.app.pdf.to.text.history.ConversionHistoryEntry;
+import io.github.astrapi69.swing.app.pdf.to.text.history.ConversionHistoryPanel;
+import io.github.astrapi69.swing.app.pdf.to.text.history.ConversionHistoryStore;
+import io.github.astrapi69.swing.app.pdf.to.text.metrics.ConversionMetrics.StageTimer;
+import io.github.astrapi69.swing.app.pdf.to.text.metrics.ConversionMetricsPanel;
+import io.github.astrapi69.swing.app.pdf.to.text.metrics.ConversionStage;
+import io.github.astrapi69.swing.app.pdf.to.text.queue.ConversionJob;
+import io.github.astrapi69.swing.app.pdf.to.text.queue.ConversionJobQueuePanel;
+import io.github.astrapi69.swing.app.pdf.to.text.search.FullTextIndex;
+import io.github.astrapi69.swing.app.pdf.to.text.search.SearchHit;
+import io.github.astrapi69.swing.app.pdf.to.text.search.SearchPanel;
+import io.github.astrapi69.swing.app.pdf.to.text.viewer.LargeTextViewer;
 import io.github.astrapi69.swing.base.BasePanel;
 import io.github.astrapi69.swing.io.TeeOutputStream;
-import io.github.astrapi69.swing.io.TextAreaOutputStream;
 import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
 import io.github.astrapisixtynine.pdf.to.text.info.OcrLanguage;
-import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
-import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
 import lombok.AccessLevel;
 import lombok.SneakyThrows;
 import lombok.experimental.FieldDefaults;
@@ -63,20 +85,119 @@ import lombok.extern.slf4j.Slf4j;
 public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 {
 
+	/** The name of the card that shows the result in the viewer */
+	private static final String CARD_VIEWER = "viewer";
+
+	/** The name of the card that shows the result in the editable text area */
+	private static final String CARD_EDITOR = "editor";
+
+	/** The size of a result from which a confirmation is needed before it is loaded for editing */
+	private static final long EDIT_CONFIRMATION_SIZE = 16L * 1024 * 1024;
+
 	JTextArea textArea;
 	JScrollPane scrollPane;
 	JButton importButton;
 	JButton exportButton;
 	JButton startOcrProcessButton;
 	JButton clearEditorsButton;
+	JButton cancelOcrProcessButton;
 	JProgressBar progressBar;
 	JPanel controlPanel;
 
-	// New log text area
-	JTextArea logTextArea;
-	JScrollPane logScrollPane;
+	/** The console for the log messages and the copy of the system streams */
+	LogConsolePanel logConsolePanel;
 	private JComboBox<OcrLanguage> languageComboBox;
 
+	/** The check box for detecting the language of every page among the candidate languages */
+	JCheckBox detectLanguageCheckBox;
+
+	/** The button for choosing the candidate languages of the detection */
+	JButton detectionLanguagesButton;
+
+	/** The installed languages that can be chosen as candidates of the detection */
+	List<OcrLanguage> installedLanguages = List.of();
+
+	/** The codes of the candidate languages of the detection */
+	List<String> detectionLanguageCodes = List.of();
+
+	/** The engine that converts the pdf pages concurrently */
+	PdfConversionEngine conversionEngine;
+
+	/** The tabs for the editor, the job queue, the history, the search and the metrics */
+	JTabbedPane tabbedPane;
+
+	/** The queue for converting many pdf files concurrently */
+	ConversionJobQueuePanel jobQueuePanel;
+
+	/** The view of the metrics of the conversion engine */
+	ConversionMetricsPanel metricsPanel;
+
+	/** The index over all converted documents or null if it could not be opened */
+	FullTextIndex fullTextIndex;
+
+	/** The search in the full text index */
+	SearchPanel searchPanel;
+
+	/** The history of all conversions or null if it could not be opened */
+	ConversionHistoryStore conversionHistoryStore;
+
+	/** The list of the conversion history */
+	ConversionHistoryPanel historyPanel;
+
+	/** The running conversion or null if no conversion is running */
+	PdfProcessingWorker processingWorker;
+
+	/** The viewer that shows the result text file page by page */
+	LargeTextViewer textViewer;
+
+	/** The panel that holds the viewer and the editable text area as cards */
+	JPanel editorCardPanel;
+
+	/** The panel with the page navigation and the editor cards */
+	JPanel editorPanel;
+
+	/** The spinner for jumping to a page */
+	JSpinner pageSpinner;
+
+	/** The label with the number of pages */
+	JLabel pageCountLabel;
+
+	/** The toggle for editing the result in the text area */
+	JToggleButton editTextButton;
+
+	/** The flag that indicates if the text in the text area was modified */
+	boolean textModified;
+
+	/**
+	 * The flag that indicates if the result text file belongs to the full text index or the
+	 * conversion history, its edits are written to a private copy
+	 */
+	boolean resultTextFileShared;
+
+	/** The panel with the settings of the image preprocessing */
+	JPanel preprocessingPanel;
+
+	/** The check box for rendering pages in the resolution of their scanned image */
+	JCheckBox adaptiveDpiCheckBox;
+
+	/** The check box for binarizing the rendered pages */
+	JCheckBox binarizationCheckBox;
+
+	/** The check box for straightening skewed pages */
+	JCheckBox deskewCheckBox;
+
+	/** The check box for cropping the margins and scanner borders */
+	JCheckBox borderCroppingCheckBox;
+
+	/** The panel with the selection of the converted pages and the region of interest */
+	JPanel selectionPanel;
+
+	/** The text field for the page ranges, empty for all pages */
+	JTextField pageRangesTextField;
+
+	/** The text field for the region of interest in percent, empty for the whole page */
+	JTextField pageRegionTextField;
+
 	public PdfToTextPanel(final IModel<ApplicationModelBean> model)
 	{
 		super(model);
@@ -90,32 +211,109 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 	{
 		super.onInitializeComponents();
 
-		// Initialize language selection combo box
-		List<String> tesseractSupportedLanguages = ImagePdfToTextExtensions
-			.getTesseractSupportedLanguages();
-		List<OcrLanguage> supportedLanguages = OcrLanguage
-			.filterLanguagesByCodes(tesseractSupportedLanguages);
+		conversionEngine = new PdfConversionEngine();
+		openFullTextIndex();
+		openConversionHistory();
 
-		languageComboBox = new JComboBox<>(ListExtensions.toArray(supportedLanguages));
-		languageComboBox.setSelectedItem(supportedLanguages.getFirst()); // Set default language
+		// Language selection combo box, filled as soon as the installed languages are discovered
+		// in the background
+		languageComboBox = new JComboBox<>();
+		languageComboBox.setEnabled(false);
+		detectLanguageCheckBox = new JCheckBox(
+			Messages.getString("global.checkbox.detect.language"));
+		detectLanguageCheckBox.setEnabled(false);
+		detectionLanguagesButton = new JButton(
+			Messages.getString("global.button.detect.languages", "Languages..."));
+		detectionLanguagesButton.setEnabled(false);
+		detectionLanguagesButton.addActionListener(e -> onChooseDetectionLanguages());
+		TesseractLanguages.discoverAsync().whenComplete((languageCodes,
+			throwable) -> SwingUtilities.invokeLater(
+				() -> onLanguagesDiscovered(languageCodes, throwable)));
+
+		// Viewer for displaying extracted text, only the visible lines are read from the file
+		textViewer = new LargeTextViewer();
+		textViewer.addPropertyChangeListener(LargeTextViewer.PROPERTY_PAGE_COUNT,
+			e -> onPageCountChanged());
 
-		// Text area for displaying extracted text
+		// Text area for editing extracted text
 		textArea = new JTextArea(20, 50);
 		textArea.setLineWrap(true);
 		textArea.setWrapStyleWord(true);
+		textArea.getDocument().addDocumentListener(new DocumentListener()
+		{
+			@Override
+			public void insertUpdate(DocumentEvent e)
+			{
+				textModified = true;
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e)
+			{
+				textModified = true;
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e)
+			{
+			}
+		});
 		scrollPane = new JScrollPane(textArea);
 
-		// Log text area for displaying log messages
-		logTextArea = new JTextArea(5, 50);
-		logTextArea.setEditable(false);
-		logScrollPane = new JScrollPane(logTextArea);
+		editorCardPanel = new JPanel(new CardLayout());
+		editorCardPanel.add(new JScrollPane(textViewer), CARD_VIEWER);
+		editorCardPanel.add(scrollPane, CARD_EDITOR);
+
+		// Page navigation and edit mode
+		pageSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 1, 1));
+		pageSpinner.addChangeListener(
+			e -> textViewer.scrollToPage((Integer)pageSpinner.getValue() - 1));
+		pageCountLabel = new JLabel();
+		editTextButton = new JToggleButton(Messages.getString("global.button.edit.text"));
+		editTextButton.addActionListener(e -> setEditing(editTextButton.isSelected()));
+
+		JPanel navigationPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		navigationPanel.add(new JLabel(Messages.getString("global.label.page")));
+		navigationPanel.add(pageSpinner);
+		navigationPanel.add(pageCountLabel);
+		navigationPanel.add(editTextButton);
+
+		editorPanel = new JPanel(new BorderLayout());
+		editorPanel.add(navigationPanel, BorderLayout.NORTH);
+		editorPanel.add(editorCardPanel, BorderLayout.CENTER);
+
+		// Job queue for converting many pdf files concurrently
+		jobQueuePanel = new ConversionJobQueuePanel(getModel(), conversionEngine,
+			this::newConversionOptions);
+		jobQueuePanel.setOpenJobAction(this::openJob);
+
+		tabbedPane = new JTabbedPane();
+		tabbedPane.addTab(Messages.getString("global.tab.editor", "Editor"), editorPanel);
+		tabbedPane.addTab(Messages.getString("global.tab.job.queue", "Job Queue"), jobQueuePanel);
+		if (conversionHistoryStore != null)
+		{
+			historyPanel = new ConversionHistoryPanel(conversionHistoryStore);
+			historyPanel.setOpenEntryAction(this::openHistoryEntry);
+			tabbedPane.addTab(Messages.getString("global.tab.history", "History"), historyPanel);
+		}
+		if (fullTextIndex != null)
+		{
+			searchPanel = new SearchPanel(fullTextIndex);
+			searchPanel.setOpenHitAction(this::openSearchHit);
+			tabbedPane.addTab(Messages.getString("global.tab.search", "Search"), searchPanel);
+		}
+		metricsPanel = new ConversionMetricsPanel(conversionEngine.getConversionMetrics());
+		tabbedPane.addTab(Messages.getString("global.tab.metrics", "Metrics"), metricsPanel);
 
-		// copy the System.out and System.err to logTextArea
-		TextAreaOutputStream textAreaOutputStream = new TextAreaOutputStream(logTextArea);
+		// Log text area for displaying log messages
+		logConsolePanel = new LogConsolePanel();
 
-		// Create TeeOutputStreams that copy to both the original console streams and the JTextArea
-		System.setOut(new PrintStream(new TeeOutputStream(System.out, textAreaOutputStream)));
-		System.setErr(new PrintStream(new TeeOutputStream(System.err, textAreaOutputStream)));
+		// Create TeeOutputStreams that copy to both the original console streams and the log
+		// console, the log console only keeps the most recent lines
+		System.setOut(new PrintStream(
+			new TeeOutputStream(System.out, logConsolePanel.newOutputStream(LogLevel.INFO)), true));
+		System.setErr(new PrintStream(
+			new TeeOutputStream(System.err, logConsolePanel.newOutputStream(LogLevel.WARN)), true));
 
 		// Import and Export buttons
 		importButton = new JButton(Messages.getString("global.button.import.pdf.file"));
@@ -129,12 +327,17 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 
 		clearEditorsButton = new JButton(Messages.getString("global.button.clear.all.editors"));
 		clearEditorsButton.addActionListener(e -> {
-			textArea.setText("");
-			logTextArea.setText("");
+			clearResult();
+			logConsolePanel.clear();
 			clearProcessModelInfo();
 			updateButtonStates();
 		});
 
+		cancelOcrProcessButton = new JButton(
+			Messages.getString("global.button.cancel.ocr.process"));
+		cancelOcrProcessButton.setEnabled(false);
+		cancelOcrProcessButton.addActionListener(e -> onCancelOcrProcess());
+
 		// Progress bar
 		progressBar = new JProgressBar();
 		progressBar.setVisible(false); // Initially hidden
@@ -145,11 +348,43 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 
 		controlPanel.add(new JLabel(Messages.getString("global.label.select.ocr.language")));
 		controlPanel.add(languageComboBox);
+		controlPanel.add(detectLanguageCheckBox);
+		controlPanel.add(detectionLanguagesButton);
 		controlPanel.add(importButton);
 		controlPanel.add(startOcrProcessButton);
 		controlPanel.add(exportButton);
 		controlPanel.add(clearEditorsButton);
+		controlPanel.add(cancelOcrProcessButton);
 		controlPanel.add(progressBar);
+
+		// Preprocessing of the rendered pages before recognition
+		ConversionOptions defaultOptions = ConversionOptions.builder().build();
+		adaptiveDpiCheckBox = new JCheckBox(Messages.getString("global.checkbox.adaptive.dpi"),
+			defaultOptions.isAdaptiveDpi());
+		binarizationCheckBox = new JCheckBox(Messages.getString("global.checkbox.binarization"),
+			defaultOptions.isBinarization());
+		deskewCheckBox = new JCheckBox(Messages.getString("global.checkbox.deskew"),
+			defaultOptions.isDeskew());
+		borderCroppingCheckBox = new JCheckBox(
+			Messages.getString("global.checkbox.border.cropping"),
+			defaultOptions.isBorderCropping());
+		preprocessingPanel = new JPanel();
+		preprocessingPanel.add(new JLabel(Messages.getString("global.label.preprocessing")));
+		preprocessingPanel.add(adaptiveDpiCheckBox);
+		preprocessingPanel.add(binarizationCheckBox);
+		preprocessingPanel.add(deskewCheckBox);
+		preprocessingPanel.add(borderCroppingCheckBox);
+
+		// Selection of the pages and the region of every page that are converted
+		pageRangesTextField = new JTextField(10);
+		pageRangesTextField.setToolTipText(Messages.getString("global.tooltip.page.ranges"));
+		pageRegionTextField = new JTextField(10);
+		pageRegionTextField.setToolTipText(Messages.getString("global.tooltip.page.region"));
+		selectionPanel = new JPanel();
+		selectionPanel.add(new JLabel(Messages.getString("global.label.page.ranges")));
+		selectionPanel.add(pageRangesTextField);
+		selectionPanel.add(new JLabel(Messages.getString("global.label.page.region")));
+		selectionPanel.add(pageRegionTextField);
 		updateButtonStates();
 	}
 
@@ -170,12 +405,247 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 		startOcrProcessButton.setEnabled(
 			modelObject.getSelectedPdfFile() != null && modelObject.getConversionResult() == null);
 
-		// Enable Export Button only if there is text in the text area
-		exportButton.setEnabled(!textArea.getText().isEmpty());
+		// Enable Export Button only if there is a result
+		exportButton.setEnabled(hasResultText());
 
 		// Clear Editors Button is always enabled
-		boolean enabled = !(textArea.getText().isEmpty() && logTextArea.getText().isEmpty());
+		boolean enabled = hasResultText() || !logConsolePanel.isEmpty();
 		clearEditorsButton.setEnabled(enabled);
+
+		// The result can only be edited or navigated when no conversion is writing it
+		boolean idle = processingWorker == null;
+		editTextButton.setEnabled(idle && textViewer.getFile() != null);
+		pageSpinner.setEnabled(!editTextButton.isSelected() && 0 < textViewer.getPageCount());
+	}
+
+	private boolean hasResultText()
+	{
+		return editTextButton.isSelected()
+			? 0 < textArea.getDocument().getLength()
+			: !textViewer.isEmpty();
+	}
+
+	private void onLanguagesDiscovered(final List<String> languageCodes, final Throwable throwable)
+	{
+		List<OcrLanguage> supportedLanguages = List.of();
+		if (throwable != null)
+		{
+			log.warn("Installed tesseract languages could not be discovered", throwable);
+		}
+		else
+		{
+			supportedLanguages = OcrLanguage.filterLanguagesByCodes(languageCodes);
+		}
+		if (supportedLanguages.isEmpty())
+		{
+			supportedLanguages = List.of(OcrLanguage.ENGLISH);
+		}
+		languageComboBox
+			.setModel(new DefaultComboBoxModel<>(supportedLanguages.toArray(new OcrLanguage[0])));
+		languageComboBox.setSelectedItem(supportedLanguages.getFirst()); // Set default language
+		languageComboBox.setEnabled(true);
+		installedLanguages = supportedLanguages;
+		setDetectionLanguageCodes(newDefaultDetectionLanguageCodes(supportedLanguages));
+		// the detection needs at least two languages to choose from
+		detectLanguageCheckBox.setEnabled(1 < supportedLanguages.size());
+		detectionLanguagesButton.setEnabled(1 < supportedLanguages.size());
+	}
+
+	/**
+	 * Factory method for create the default candidates of the language detection, that are
+	 * English and the language of the default locale if both are installed, otherwise the first
+	 * two installed languages
+	 *
+	 * @param languages
+	 *            the installed languages
+	 * @return the codes of the default candidate languages
+	 */
+	private static List<String> newDefaultDetectionLanguageCodes(final List<OcrLanguage> languages)
+	{
+		List<String> installedCodes = languages.stream().map(OcrLanguage::getCode).toList();
+		String localeCode;
+		try
+		{
+			localeCode = Locale.getDefault().getISO3Language();
+		}
+		catch (MissingResourceException e)
+		{
+			localeCode = "";
+		}
+		String englishCode = OcrLanguage.ENGLISH.getCode();
+		if (installedCodes.contains(englishCode) && installedCodes.contains(localeCode)
+			&& !englishCode.equals(localeCode))
+		{
+			return List.of(englishCode, localeCode);
+		}
+		return installedCodes.subList(0, Math.min(2, installedCodes.size()));
+	}
+
+	private void setDetectionLanguageCodes(final List<String> languageCodes)
+	{
+		detectionLanguageCodes = List.copyOf(languageCodes);
+		detectLanguageCheckBox.setToolTipText(String.format(
+			Messages.getString("global.tooltip.detect.languages", "Detected among %s"),
+			String.join(", ", detectionLanguageCodes)));
+	}
+
+	/**
+	 * Shows the installed languages for choosing the candidates of the language detection,
+	 * every candidate keeps its own warm engines, so at most
+	 * {@value LanguageDetector#MAXIMUM_CANDIDATES} candidates can be chosen
+	 */
+	private void onChooseDetectionLanguages()
+	{
+		JList<OcrLanguage> languageList = new JList<>(
+			installedLanguages.toArray(new OcrLanguage[0]));
+		languageList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+		languageList.setVisibleRowCount(8);
+		for (int index = 0; index < installedLanguages.size(); index++)
+		{
+			if (detectionLanguageCodes.contains(installedLanguages.get(index).getCode()))
+			{
+				languageList.addSelectionInterval(index, index);
+			}
+		}
+		String title = Messages.getString("global.dialog.detect.languages",
+			"Detection languages");
+		JPanel choosePanel = new JPanel(new BorderLayout(0, 5));
+		choosePanel.add(new JLabel(String.format(
+			Messages.getString("global.label.detect.languages", "Choose 2 to %d languages:"),
+			LanguageDetector.MAXIMUM_CANDIDATES)), BorderLayout.NORTH);
+		choosePanel.add(new JScrollPane(languageList), BorderLayout.CENTER);
+		while (JOptionPane.showConfirmDialog(this, choosePanel, title,
+			JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) == JOptionPane.OK_OPTION)
+		{
+			List<OcrLanguage> selectedLanguages = languageList.getSelectedValuesList();
+			if (2 <= selectedLanguages.size()
+				&& selectedLanguages.size() <= LanguageDetector.MAXIMUM_CANDIDATES)
+			{
+				setDetectionLanguageCodes(
+					selectedLanguages.stream().map(OcrLanguage::getCode).toList());
+				detectLanguageCheckBox.setSelected(true);
+				return;
+			}
+			JOptionPane.showMessageDialog(this,
+				String.format(
+					Messages.getString("global.label.detect.languages",
+						"Choose 2 to %d languages:"),
+					LanguageDetector.MAXIMUM_CANDIDATES),
+				title, JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	private void onPageCountChanged()
+	{
+		int pageCount = textViewer.getPageCount();
+		SpinnerNumberModel spinnerModel = (SpinnerNumberModel)pageSpinner.getModel();
+		spinnerModel.setMaximum(Math.max(1, pageCount));
+		if (pageCount < (Integer)spinnerModel.getValue())
+		{
+			spinnerModel.setValue(Math.max(1, pageCount));
+		}
+		pageCountLabel.setText(Messages.getString("global.label.page.of") + " " + pageCount);
+		updateButtonStates();
+	}
+
+	/**
+	 * Switches between the viewer and the editable text area. The result is only loaded
+	 * completely into memory for editing, the modified text is written back to the result text
+	 * file when the edit mode is left. A result text file of the full text index or the
+	 * conversion history is never changed, the modified text is written to a private copy
+	 *
+	 * @param editing
+	 *            true for editing the result in the text area, false for the viewer
+	 */
+	private void setEditing(boolean editing)
+	{
+		File resultTextFile = textViewer.getFile();
+		if (editing && resultTextFile != null)
+		{
+			if (EDIT_CONFIRMATION_SIZE < resultTextFile.length()
+				&& JOptionPane.showConfirmDialog(this,
+					"The text has " + resultTextFile.length() / (1024 * 1024)
+						+ " MB and is loaded completely into memory for editing. Continue?",
+					"Edit text", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION)
+			{
+				editTextButton.setSelected(false);
+				return;
+			}
+			try
+			{
+				textArea.setText(Files.readString(resultTextFile.toPath(), StandardCharsets.UTF_8));
+				textArea.setCaretPosition(0);
+				textModified = false;
+			}
+			catch (IOException e)
+			{
+				appendLog(LogLevel.ERROR, "Error loading text for editing: " + e.getMessage());
+				editTextButton.setSelected(false);
+				return;
+			}
+		}
+		else if (!editing && textModified && resultTextFile != null)
+		{
+			try
+			{
+				if (resultTextFileShared)
+				{
+					resultTextFile = newResultTextFile(getModelObject().getSelectedPdfFile());
+					resultTextFileShared = false;
+					getModelObject().setConversionResult(
+						ConversionResult.builder().resultTextFile(resultTextFile).build());
+				}
+				ResultTextExports.write(textArea.getDocument(), resultTextFile);
+				textViewer.open(resultTextFile);
+			}
+			catch (IOException e)
+			{
+				appendLog(LogLevel.ERROR, "Error saving edited text: " + e.getMessage());
+			}
+		}
+		if (!editing)
+		{
+			textArea.setText("");
+			textModified = false;
+		}
+		editTextButton.setSelected(editing && resultTextFile != null);
+		((CardLayout)editorCardPanel.getLayout()).show(editorCardPanel,
+			editTextButton.isSelected() ? CARD_EDITOR : CARD_VIEWER);
+		updateButtonStates();
+	}
+
+	/**
+	 * Removes the result from the viewer and the text area without writing back any edits
+	 */
+	private void clearResult()
+	{
+		textModified = false;
+		setEditing(false);
+		resultTextFileShared = false;
+		textViewer.clear();
+	}
+
+	/**
+	 * Creates a new result text file for the given pdf file in the temporary directory. Every
+	 * result gets its own file, so a result that is still copied by the full text index is never
+	 * overwritten by the next conversion of a pdf file with the same name
+	 *
+	 * @param pdfFile
+	 *            the pdf file
+	 * @return the new empty result text file
+	 * @throws IOException
+	 *             if the file could not be created
+	 */
+	private static File newResultTextFile(final File pdfFile) throws IOException
+	{
+		File outputDir = new File(SystemFileExtensions.getUserTempDir(), "pdf-to-text");
+		Files.createDirectories(outputDir.toPath());
+		String pdfFileName = pdfFile.getName();
+		int extensionIndex = pdfFileName.lastIndexOf('.');
+		String baseName = FilenameExtensions.sanitizeFilename(
+			0 < extensionIndex ? pdfFileName.substring(0, extensionIndex) : pdfFileName,
+			FilenameExtensions.getCharacterFileReplacementMap());
+		return Files.createTempFile(outputDir.toPath(), baseName + "-", ".txt").toFile();
 	}
 
 	@Override
@@ -185,9 +655,23 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 		setLayout(new BorderLayout());
 
 		// Main layout
-		add(controlPanel, BorderLayout.NORTH);
-		add(scrollPane, BorderLayout.CENTER);
-		add(logScrollPane, BorderLayout.SOUTH); // Log text area at the bottom
+		JPanel northPanel = new JPanel(new BorderLayout());
+		northPanel.add(controlPanel, BorderLayout.NORTH);
+		northPanel.add(selectionPanel, BorderLayout.CENTER);
+		northPanel.add(preprocessingPanel, BorderLayout.SOUTH);
+		add(northPanel, BorderLayout.NORTH);
+		add(tabbedPane, BorderLayout.CENTER);
+		add(logConsolePanel, BorderLayout.SOUTH); // Log console at the bottom
+	}
+
+	/**
+	 * Gets the engine that converts the pdf files of this panel and of its job queue
+	 *
+	 * @return the conversion engine
+	 */
+	public PdfConversionEngine getConversionEngine()
+	{
+		return conversionEngine;
 	}
 
 	/**
@@ -203,6 +687,165 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 			: OcrLanguage.ENGLISH.getCode();
 	}
 
+	/**
+	 * Returns the codes of the chosen candidate languages among which the language of every page
+	 * is detected, the list is empty if the detection is not selected
+	 *
+	 * @return the Tesseract language codes for the language detection
+	 */
+	public List<String> getDetectionLanguageCodes()
+	{
+		if (!detectLanguageCheckBox.isSelected())
+		{
+			return List.of();
+		}
+		return detectionLanguageCodes;
+	}
+
+	/**
+	 * Factory method for create the {@link ConversionOptions} from the current settings of this
+	 * panel
+	 *
+	 * @return the new {@link ConversionOptions} object
+	 * @throws IllegalArgumentException
+	 *             if the page ranges or the region of interest are invalid
+	 */
+	protected ConversionOptions newConversionOptions()
+	{
+		return ConversionOptions.builder().languageCode(getSelectedLanguageCode())
+			.detectionLanguageCodes(getDetectionLanguageCodes())
+			.pageRanges(PageRanges.parse(pageRangesTextField.getText()))
+			.pageRegion(PageRegion.parse(pageRegionTextField.getText()))
+			.adaptiveDpi(adaptiveDpiCheckBox.isSelected())
+			.binarization(binarizationCheckBox.isSelected()).deskew(deskewCheckBox.isSelected())
+			.borderCropping(borderCroppingCheckBox.isSelected()).build();
+	}
+
+	private void openFullTextIndex()
+	{
+		try
+		{
+			fullTextIndex = FullTextIndex.newDefaultIndex();
+		}
+		catch (IOException e)
+		{
+			log.warn("Full text index could not be opened, the search is not available", e);
+			return;
+		}
+		conversionEngine.addConversionListener((pdfFile, resultTextFile, options,
+			conversionReport) -> fullTextIndex.addDocumentAsync(pdfFile, resultTextFile,
+				conversionReport.getPageCount()));
+		// the buffered documents are written to the index when the application exits
+		Runtime.getRuntime()
+			.addShutdownHook(new Thread(fullTextIndex::close, "full-text-index-close"));
+	}
+
+	private void openConversionHistory()
+	{
+		try
+		{
+			conversionHistoryStore = ConversionHistoryStore.newDefaultStore();
+		}
+		catch (IOException e)
+		{
+			log.warn("Conversion history could not be opened, the history is not available", e);
+			return;
+		}
+		conversionEngine.addConversionListener((pdfFile, resultTextFile, options,
+			conversionReport) -> {
+			try
+			{
+				conversionHistoryStore.add(pdfFile, resultTextFile, options, conversionReport);
+			}
+			catch (IOException e)
+			{
+				log.warn("'{}' could not be added to the conversion history", pdfFile, e);
+			}
+		});
+		Runtime.getRuntime().addShutdownHook(
+			new Thread(conversionHistoryStore::close, "conversion-history-close"));
+	}
+
+	private void openHistoryEntry(final ConversionHistoryEntry entry, final File textFile)
+	{
+		setEditing(false);
+		resultTextFileShared = true;
+		textViewer.open(textFile);
+		getModelObject().setSelectedPdfFile(entry.pdfFile());
+		getModelObject()
+			.setConversionResult(ConversionResult.builder().resultTextFile(textFile).build());
+		tabbedPane.setSelectedComponent(editorPanel);
+		appendLog("Opened conversion of " + entry.pdfFile().getName() + " from the history");
+		updateButtonStates();
+	}
+
+	private void openSearchHit(final SearchHit hit)
+	{
+		File textFile = hit.document().textFile();
+		if (!textFile.isFile())
+		{
+			appendLog(LogLevel.ERROR, "Indexed text not found: " + textFile);
+			return;
+		}
+		setEditing(false);
+		resultTextFileShared = true;
+		textViewer.open(textFile, hit.pageIndex());
+		getModelObject().setSelectedPdfFile(hit.document().pdfFile());
+		getModelObject()
+			.setConversionResult(ConversionResult.builder().resultTextFile(textFile).build());
+		tabbedPane.setSelectedComponent(editorPanel);
+		appendLog("Opened page " + (hit.pageIndex() + 1) + " of "
+			+ hit.document().pdfFile().getName());
+		updateButtonStates();
+	}
+
+	private void openJob(ConversionJob job)
+	{
+		try
+		{
+			if (!job.getResultTextFile().exists())
+			{
+				throw new IOException("result file not found: " + job.getResultTextFile());
+			}
+			setEditing(false);
+			resultTextFileShared = false;
+			textViewer.open(job.getResultTextFile());
+			getModelObject().setSelectedPdfFile(job.getPdfFile());
+			getModelObject()
+				.setConversionResult(job.getConversionReport().getConversionResult());
+			tabbedPane.setSelectedComponent(editorPanel);
+			appendLog("Opened result of job " + job.getId() + ": " + job.getPdfFile().getName());
+		}
+		catch (IOException e)
+		{
+			appendLog(LogLevel.ERROR, "Error opening result: " + e.getMessage());
+		}
+		updateButtonStates();
+	}
+
+	private void onCancelOcrProcess()
+	{
+		PdfProcessingWorker worker = processingWorker;
+		if (worker == null)
+		{
+			return;
+		}
+		Object[] options = { "Keep recognized pages", "Discard recognized pages",
+				"Continue OCR Process" };
+		int option = JOptionPane.showOptionDialog(this,
+			"Cancel the running OCR process of '" + worker.pdfFile.getName() + "'?",
+			"Cancel OCR Process", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
+			null, options, options[0]);
+		if (option == JOptionPane.YES_OPTION || option == JOptionPane.NO_OPTION)
+		{
+			worker.keepRecognizedPages = option == JOptionPane.YES_OPTION;
+			// the user interface is reset when the conversion thread has stopped
+			cancelOcrProcessButton.setEnabled(false);
+			appendLog("Cancelling the PDF conversion...");
+			worker.cancel(true);
+		}
+	}
+
 	private class ImportButtonListener implements ActionListener
 	{
 		@Override
@@ -229,7 +872,7 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 					if (dialogOption == JOptionPane.YES_OPTION)
 					{
 						File selectedPdfFile = getModelObject().getSelectedPdfFile();
-						if (selectedPdfFile != null)
+						if (selectedPdfFile != null && isSelectionValid())
 						{
 							new PdfProcessingWorker(selectedPdfFile).execute();
 						}
@@ -239,118 +882,215 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 		}
 	}
 
+	/**
+	 * Checks the page ranges and the region of interest and shows the error if they are invalid
+	 *
+	 * @return true if the page ranges and the region of interest are valid
+	 */
+	boolean isSelectionValid()
+	{
+		try
+		{
+			newConversionOptions();
+			return true;
+		}
+		catch (IllegalArgumentException e)
+		{
+			JOptionPane.showMessageDialog(this, e.getMessage(),
+				Messages.getString("global.dialog.invalid.selection"), JOptionPane.ERROR_MESSAGE);
+			return false;
+		}
+	}
+
 	private class StartOcrProcessButtonListener implements ActionListener
 	{
 		@Override
 		public void actionPerformed(ActionEvent e)
 		{
 			File file = getModelObject().getSelectedPdfFile();
-			if (file != null)
+			if (file != null && isSelectionValid())
 			{
 				new PdfProcessingWorker(file).execute();
 			}
 		}
 	}
 
-	private class PdfProcessingWorker extends SwingWorker<String, Void>
+	private class PdfProcessingWorker extends SwingWorker<ConversionReport, PageResult>
 	{
 		private final File pdfFile;
 
+		/** The flag if the already recognized pages stay in the editor after a cancellation */
+		private volatile boolean keepRecognizedPages;
+
+		/** The file the recognized text is written to */
+		private volatile File resultTextFile;
+
+		/** The flag that indicates if the background thread returned from the conversion */
+		private volatile boolean backgroundFinished;
+
+		/** The flag that indicates if the user interface was reset after the conversion */
+		private boolean finished;
+
 		public PdfProcessingWorker(File pdfFile)
 		{
 			this.pdfFile = pdfFile;
+			clearResult();
+			processingWorker = this;
 			updateButtonStates();
 			PdfToTextPanel.this.startOcrProcessButton.setEnabled(false);
 			PdfToTextPanel.this.clearEditorsButton.setEnabled(false);
+			PdfToTextPanel.this.cancelOcrProcessButton.setEnabled(true);
+			progressBar.setValue(0);
+			progressBar.setStringPainted(false);
+			progressBar.setIndeterminate(true);
+			progressBar.setVisible(true);
+		}
+
+		@Override
+		protected void process(List<PageResult> pageResults)
+		{
+			// the pages are already written to the result text file, the viewer only reads the
+			// lines that became visible
+			try (StageTimer timer = conversionEngine.getConversionMetrics().startStage(
+				ConversionStage.UI_UPDATE, resultTextFile.getName(), -1))
+			{
+				if (textViewer.getFile() == null || !textViewer.getFile().equals(resultTextFile))
+				{
+					textViewer.follow(resultTextFile);
+				}
+				else
+				{
+					textViewer.refresh();
+				}
+				timer.setBytes(resultTextFile.length());
+			}
+			for (PageResult pageResult : pageResults)
+			{
+				int pagesDone = pageResult.getPageIndex() + 1;
+				progressBar.setIndeterminate(false);
+				progressBar.setMaximum(pageResult.getPageCount());
+				progressBar.setValue(pagesDone);
+				progressBar.setString(pagesDone + " / " + pageResult.getPageCount() + " pages");
+				progressBar.setStringPainted(true);
+			}
 		}
 
 		@Override
 		protected void done()
 		{
+			// a cancelled worker is done at once, but its background thread may still write the
+			// result text file
+			finishIfStopped();
+		}
+
+		/**
+		 * Resets the user interface as soon as the worker is done and its background thread
+		 * returned, that is called on the event dispatch thread by both events in any order
+		 */
+		private void finishIfStopped()
+		{
+			if (finished || !isDone() || !backgroundFinished)
+			{
+				return;
+			}
+			finished = true;
+			processingWorker = null;
+			cancelOcrProcessButton.setEnabled(false);
 			progressBar.setIndeterminate(false);
 			progressBar.setVisible(false);
+			if (isCancelled())
+			{
+				if (keepRecognizedPages)
+				{
+					textViewer.refresh();
+				}
+				else
+				{
+					textViewer.clear();
+				}
+				getModelObject().setConversionResult(null);
+				updateButtonStates();
+				appendLog("PDF conversion cancelled, recognized pages "
+					+ (keepRecognizedPages ? "kept." : "discarded."));
+				return;
+			}
+			textViewer.refresh();
 			try
 			{
-				textArea.setText(get());
+				get();
 				updateButtonStates();
 				appendLog("PDF processed successfully.");
 			}
 			catch (Exception e)
 			{
-				appendLog("Error processing PDF: " + e.getMessage());
+				updateButtonStates();
+				appendLog(LogLevel.ERROR, "Error processing PDF: " + e.getMessage());
 				JOptionPane.showMessageDialog(PdfToTextPanel.this,
 					"Error processing PDF: " + e.getMessage());
 			}
 		}
 
 		@Override
-		protected String doInBackground()
+		protected ConversionReport doInBackground() throws IOException
 		{
-			progressBar.setVisible(true);
-			progressBar.setIndeterminate(true);
 			appendLog("Starting PDF-to-text conversion...");
-			return convertPdfToText(pdfFile);
-		}
-
-		@SneakyThrows
-		private String convertPdfToText(File pdfFile)
-		{
-			File userTempDir = SystemFileExtensions.getUserTempDir();
-			if (!userTempDir.exists())
+			try
 			{
-				DirectoryFactory.newDirectory(userTempDir);
+				return convertPdfToText(pdfFile);
 			}
-			File outputDir = DirectoryFactory.newDirectory(userTempDir, "pdf-to-text");
-			String selectedLanguageCode = getSelectedLanguageCode();
-			String pdfFileName = pdfFile.getName();
-			String sanitizedFilename = FilenameExtensions.sanitizeFilename(pdfFileName,
-				FilenameExtensions.getCharacterFileReplacementMap());
-			ConversionResult conversionResult;
-			if (!pdfFileName.equals(sanitizedFilename))
+			finally
 			{
-				log.info("original file name '{}' is not normalized for tesseract processing.",
-					pdfFileName);
-				log.info("will be temporary renamed to new name '{}' ", sanitizedFilename);
-				File parentFile = pdfFile.getParentFile();
-				File normalizedFileNamePdfFile = new File(parentFile, sanitizedFilename);
-				boolean fileRenamed;
-				/* Rename the PDF file for ocr processing */
-				fileRenamed = RenameFileExtensions.renameFile(pdfFile, normalizedFileNamePdfFile,
-					true);
-				if (fileRenamed)
+				// the engine keeps the incomplete result for the viewer, it is only removed
+				// when the recognized pages are discarded
+				try
 				{
-					log.info("File '{}' is temporary renamed to '{}'", pdfFileName,
-						sanitizedFilename);
-				}
-				else
-				{
-					log.info("File '{}' is not temporary renamed", pdfFileName);
-				}
-				conversionResult = PdfToTextExtensions.convertPdfToTextfile(
-					normalizedFileNamePdfFile, outputDir, selectedLanguageCode);
-				pdfFile = new File(parentFile, pdfFileName);
-				// Rename back to originally file name
-				fileRenamed = RenameFileExtensions.renameFile(normalizedFileNamePdfFile, pdfFile,
-					true);
-				if (fileRenamed)
-				{
-					log.info("File '{}' is renamed back to originally name '{}'", sanitizedFilename,
-						pdfFileName);
+					if (isCancelled() && !keepRecognizedPages && resultTextFile != null)
+					{
+						Files.deleteIfExists(resultTextFile.toPath());
+					}
 				}
-				else
+				finally
 				{
-					log.info("File '{}' is not renamed back to originally name '{}'",
-						sanitizedFilename, pdfFileName);
+					backgroundFinished = true;
+					SwingUtilities.invokeLater(this::finishIfStopped);
 				}
 			}
-			else
+		}
+
+		@SneakyThrows
+		private ConversionReport convertPdfToText(File pdfFile)
+		{
+			ConversionOptions conversionOptions = newConversionOptions().toBuilder()
+				.keepIncompleteResult(true).build();
+			resultTextFile = newResultTextFile(pdfFile);
+			// the engine opens the pdf file read only and never passes its name to tesseract,
+			// so the source file is used as it is, even if its name is not sanitized
+			ConversionReport conversionReport = conversionEngine.convert(pdfFile, resultTextFile,
+				conversionOptions, this::publish);
+			appendLog("PDF conversion complete.");
+			appendLog(conversionReport.getTextLayerPages() + " of "
+				+ conversionReport.getPageCount() + " pages taken from the text layer, "
+				+ conversionReport.getOcrPages() + " pages recognized by OCR in "
+				+ conversionReport.getElapsedMillis() + " ms.");
+			appendLog("OCR cache: " + conversionReport.getCachedPages() + " hits, "
+				+ conversionReport.getOcrPages() + " misses.");
+			if (0 < conversionReport.getResumedPages())
 			{
-				conversionResult = PdfToTextExtensions.convertPdfToTextfile(pdfFile, outputDir,
-					selectedLanguageCode);
+				appendLog("Resumed an interrupted conversion, " + conversionReport.getResumedPages()
+					+ " pages taken from its checkpoint.");
 			}
-			appendLog("PDF conversion complete.");
-			getModelObject().setConversionResult(conversionResult);
-			return ReadFileExtensions.fromFile(conversionResult.getResultTextFile());
+			TesseractEnginePool.Statistics poolStatistics = conversionEngine
+				.getTesseractEnginePool().getStatistics();
+			appendLog(String.format(
+				"Tesseract engine pool: %d idle, %d in use, %d created, hit rate %.0f%%.",
+				poolStatistics.idle(), poolStatistics.inUse(), poolStatistics.created(),
+				poolStatistics.hitRate() * 100));
+			MemoryBudget memoryBudget = conversionEngine.getMemoryBudget();
+			appendLog(String.format("Page image memory: peak %d MB of the %d MB budget.",
+				memoryBudget.getPeakReserved() / (1024 * 1024),
+				memoryBudget.getCapacity() / (1024 * 1024)));
+			getModelObject().setConversionResult(conversionReport.getConversionResult());
+			return conversionReport;
 		}
 	}
 
@@ -372,19 +1112,28 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 				if (option == JFileChooser.APPROVE_OPTION)
 				{
 					File file = fileChooser.getSelectedFile();
-					try (FileWriter writer = new FileWriter(file))
+					try
 					{
-						writer.write(textArea.getText());
+						// the unedited result already exists as utf-8 text file and is copied as
+						// it is, an edited text is streamed from the document
+						if (editTextButton.isSelected() && textModified)
+						{
+							ResultTextExports.write(textArea.getDocument(), file);
+						}
+						else
+						{
+							ResultTextExports.transfer(textViewer.getFile(), file);
+						}
 						appendLog("Text exported to file: " + file.getName());
 						JOptionPane.showMessageDialog(PdfToTextPanel.this,
 							"Text exported successfully!");
-						textArea.setText("");
-						logTextArea.setText("");
+						clearResult();
+						logConsolePanel.clear();
 						clearProcessModelInfo();
 					}
 					catch (IOException ex)
 					{
-						appendLog("Error exporting text: " + ex.getMessage());
+						appendLog(LogLevel.ERROR, "Error exporting text: " + ex.getMessage());
 						JOptionPane.showMessageDialog(PdfToTextPanel.this,
 							"Error exporting text: " + ex.getMessage());
 					}
@@ -394,10 +1143,14 @@ public class PdfToTextPanel extends BasePanel<ApplicationModelBean>
 		}
 	}
 
-	// Method to append log messages to the log text area
+	// Method to append log messages to the log console, it can be called from any thread
 	private void appendLog(String message)
 	{
-		logTextArea.append(message + "\n");
-		logTextArea.setCaretPosition(logTextArea.getDocument().getLength());
+		appendLog(LogLevel.INFO, message);
+	}
+
+	private void appendLog(LogLevel level, String message)
+	{
+		logConsolePanel.log(level, message);
 	}
 }
@@ -0,0 +1,121 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * The class {@link ResultTextExports} writes a conversion result to a file without creating a copy
+ * of the whole text in memory
+ */
+public final class ResultTextExports
+{
+
+	/** The maximum number of characters that are written at once from a document */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private ResultTextExports()
+	{
+	}
+
+	/**
+	 * Copies the given result text file to the given target file with a channel transfer, so the
+	 * bytes are copied by the operating system without decoding the text
+	 *
+	 * @param resultTextFile
+	 *            the result text file
+	 * @param targetFile
+	 *            the file to write, an existing file is overwritten
+	 * @throws IOException
+	 *             if the result text file could not be read or the target file could not be
+	 *             written
+	 */
+	public static void transfer(final File resultTextFile, final File targetFile)
+		throws IOException
+	{
+		if (resultTextFile.getCanonicalFile().equals(targetFile.getCanonicalFile()))
+		{
+			return;
+		}
+		try (FileChannel source = FileChannel.open(resultTextFile.toPath(),
+			StandardOpenOption.READ);
+			FileChannel target = FileChannel.open(targetFile.toPath(), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			long size = source.size();
+			long position = 0;
+			while (position < size)
+			{
+				position += source.transferTo(position, size - position, target);
+			}
+		}
+	}
+
+	/**
+	 * Writes the text of the given document utf-8 encoded to the given target file. The text is
+	 * read in chunks from the document, so the whole text never exists as one string
+	 *
+	 * @param document
+	 *            the document to write
+	 * @param targetFile
+	 *            the file to write, an existing file is overwritten
+	 * @throws IOException
+	 *             if the target file could not be written
+	 */
+	public static void write(final Document document, final File targetFile) throws IOException
+	{
+		try (Writer writer = Files.newBufferedWriter(targetFile.toPath(), StandardCharsets.UTF_8))
+		{
+			Segment segment = new Segment();
+			segment.setPartialReturn(true);
+			int offset = 0;
+			int length = document.getLength();
+			while (offset < length)
+			{
+				document.getText(offset, Math.min(CHUNK_SIZE, length - offset), segment);
+				writer.write(segment.array, segment.offset, segment.count);
+				offset += segment.count;
+			}
+		}
+		catch (BadLocationException e)
+		{
+			throw new IOException("Could not read the text of the document", e);
+		}
+	}
+
+}
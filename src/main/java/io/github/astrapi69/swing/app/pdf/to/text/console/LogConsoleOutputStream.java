@@ -0,0 +1,171 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * The class {@link LogConsoleOutputStream} splits the written bytes into lines and adds them to a
+ * {@link LogRingBuffer}. It is used to copy {@link System#out} and {@link System#err} to the log
+ * console. Lines that are longer than the maximum line length are cut, so a single write can never
+ * allocate more than the maximum line length
+ */
+public class LogConsoleOutputStream extends OutputStream
+{
+
+	/** The default maximum number of bytes of a single line */
+	public static final int DEFAULT_MAXIMUM_LINE_LENGTH = 2048;
+
+	/** The buffer the lines are added to */
+	private final LogRingBuffer ringBuffer;
+
+	/** The level of lines that do not contain a level name */
+	private final LogLevel defaultLevel;
+
+	/** The charset of the written bytes */
+	private final Charset charset;
+
+	/** The maximum number of bytes of a single line */
+	private final int maximumLineLength;
+
+	/** The bytes of the current line */
+	private final ByteArrayOutputStream line;
+
+	/** The flag that indicates if the current line was cut */
+	private boolean truncated;
+
+	/**
+	 * Instantiates a new {@link LogConsoleOutputStream} that decodes the bytes with the default
+	 * charset
+	 *
+	 * @param ringBuffer
+	 *            the buffer the lines are added to
+	 * @param defaultLevel
+	 *            the level of lines that do not contain a level name
+	 */
+	public LogConsoleOutputStream(final LogRingBuffer ringBuffer, final LogLevel defaultLevel)
+	{
+		this(ringBuffer, defaultLevel, Charset.defaultCharset(), DEFAULT_MAXIMUM_LINE_LENGTH);
+	}
+
+	/**
+	 * Instantiates a new {@link LogConsoleOutputStream}
+	 *
+	 * @param ringBuffer
+	 *            the buffer the lines are added to
+	 * @param defaultLevel
+	 *            the level of lines that do not contain a level name
+	 * @param charset
+	 *            the charset of the written bytes
+	 * @param maximumLineLength
+	 *            the maximum number of bytes of a single line
+	 */
+	public LogConsoleOutputStream(final LogRingBuffer ringBuffer, final LogLevel defaultLevel,
+		final Charset charset, final int maximumLineLength)
+	{
+		this.ringBuffer = ringBuffer;
+		this.defaultLevel = defaultLevel;
+		this.charset = charset;
+		this.maximumLineLength = maximumLineLength;
+		this.line = new ByteArrayOutputStream(Math.min(256, maximumLineLength));
+	}
+
+	@Override
+	public synchronized void write(final int b)
+	{
+		if (b == '\n')
+		{
+			commitLine();
+		}
+		else if (b != '\r')
+		{
+			if (line.size() < maximumLineLength)
+			{
+				line.write(b);
+			}
+			else
+			{
+				truncated = true;
+			}
+		}
+	}
+
+	@Override
+	public synchronized void write(final byte[] bytes, final int offset, final int length)
+	{
+		int start = offset;
+		int end = offset + length;
+		for (int i = offset; i < end; i++)
+		{
+			if (bytes[i] == '\n' || bytes[i] == '\r')
+			{
+				appendToLine(bytes, start, i - start);
+				if (bytes[i] == '\n')
+				{
+					commitLine();
+				}
+				start = i + 1;
+			}
+		}
+		appendToLine(bytes, start, end - start);
+	}
+
+	private void appendToLine(final byte[] bytes, final int offset, final int length)
+	{
+		int free = maximumLineLength - line.size();
+		if (free < length)
+		{
+			truncated = true;
+		}
+		line.write(bytes, offset, Math.max(0, Math.min(free, length)));
+	}
+
+	private void commitLine()
+	{
+		String message = line.toString(charset);
+		if (truncated)
+		{
+			message += " ...";
+		}
+		ringBuffer.add(new LogRingBuffer.Entry(LogLevel.detect(message, defaultLevel), message));
+		line.reset();
+		truncated = false;
+	}
+
+	/**
+	 * Adds the pending bytes as a line if the stream is closed
+	 */
+	@Override
+	public synchronized void close()
+	{
+		if (0 < line.size())
+		{
+			commitLine();
+		}
+	}
+
+}
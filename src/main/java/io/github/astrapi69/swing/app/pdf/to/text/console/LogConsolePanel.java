@@ -0,0 +1,244 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.console;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+
+import io.github.astrapi69.swing.app.Messages;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link LogConsolePanel} shows the lines of a {@link LogRingBuffer}. Threads only add
+ * lines to the ring buffer, a swing timer copies the new lines to the text area in one batch at
+ * most every {@link #FLUSH_INTERVAL_MILLIS} milliseconds. The text area never holds more lines
+ * than the capacity of the ring buffer and only shows the lines of the selected minimum level
+ */
+@Slf4j
+public class LogConsolePanel extends JPanel
+{
+
+	/** The default maximum number of lines */
+	public static final int DEFAULT_CAPACITY = 5000;
+
+	/** The interval in milliseconds for copying new lines to the text area */
+	public static final int FLUSH_INTERVAL_MILLIS = 200;
+
+	/** The buffer with the most recent lines */
+	@Getter
+	private final LogRingBuffer ringBuffer;
+
+	/** The text area that shows the lines */
+	private final JTextArea textArea;
+
+	/** The combo box for the minimum level of the shown lines */
+	private final JComboBox<LogLevel> levelComboBox;
+
+	/** The timer that copies new lines to the text area */
+	private final Timer flushTimer;
+
+	/** The sequence number of the next line that is not yet shown */
+	private long displayedSequence;
+
+	/** The number of lines in the text area */
+	private int displayedLines;
+
+	/** The flag that indicates if the text area has to be filled again */
+	private boolean rebuildRequested;
+
+	/**
+	 * Instantiates a new {@link LogConsolePanel} with the default capacity
+	 */
+	public LogConsolePanel()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a new {@link LogConsolePanel}
+	 *
+	 * @param capacity
+	 *            the maximum number of lines
+	 */
+	public LogConsolePanel(final int capacity)
+	{
+		super(new BorderLayout());
+		ringBuffer = new LogRingBuffer(capacity);
+		textArea = new JTextArea(5, 50);
+		textArea.setEditable(false);
+		levelComboBox = new JComboBox<>(LogLevel.values());
+		levelComboBox.setSelectedItem(LogLevel.INFO);
+		levelComboBox.addActionListener(e -> {
+			rebuildRequested = true;
+			flush();
+		});
+		flushTimer = new Timer(FLUSH_INTERVAL_MILLIS, e -> flush());
+
+		JPanel levelPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 2, 0));
+		levelPanel.add(new JLabel(Messages.getString("console.label.level")));
+		levelPanel.add(levelComboBox);
+		add(levelPanel, BorderLayout.NORTH);
+		add(new JScrollPane(textArea), BorderLayout.CENTER);
+	}
+
+	/**
+	 * Adds the given message to the log console, this method can be called from any thread
+	 *
+	 * @param level
+	 *            the level of the message
+	 * @param message
+	 *            the message, a message with many lines is split into its lines
+	 */
+	public void log(final LogLevel level, final String message)
+	{
+		for (String line : message.split("\r?\n"))
+		{
+			ringBuffer.add(new LogRingBuffer.Entry(level, line));
+		}
+	}
+
+	/**
+	 * Factory method for create a new {@link OutputStream} that writes to this log console, for
+	 * instance as copy of {@link System#out}
+	 *
+	 * @param defaultLevel
+	 *            the level of lines that do not contain a level name
+	 * @return the new {@link OutputStream} object
+	 */
+	public OutputStream newOutputStream(final LogLevel defaultLevel)
+	{
+		return new LogConsoleOutputStream(ringBuffer, defaultLevel);
+	}
+
+	/**
+	 * Removes all lines from the log console
+	 */
+	public void clear()
+	{
+		ringBuffer.clear();
+		// the cleared buffer has no lines older than the shown ones, so the text area has to be
+		// refilled explicitly
+		rebuildRequested = true;
+		flush();
+	}
+
+	/**
+	 * Checks if the log console contains no lines
+	 *
+	 * @return true if the log console is empty
+	 */
+	public boolean isEmpty()
+	{
+		return ringBuffer.isEmpty();
+	}
+
+	@Override
+	public void addNotify()
+	{
+		super.addNotify();
+		flushTimer.start();
+	}
+
+	@Override
+	public void removeNotify()
+	{
+		flushTimer.stop();
+		super.removeNotify();
+	}
+
+	private void flush()
+	{
+		List<LogRingBuffer.Entry> entries;
+		boolean rebuild;
+		synchronized (ringBuffer)
+		{
+			long sequence = ringBuffer.getSequence();
+			// lines that were overwritten before they were shown, a changed level and a cleared
+			// buffer need a complete refill of the text area
+			rebuild = rebuildRequested || displayedSequence < ringBuffer.getOldestSequence();
+			if (!rebuild && sequence == displayedSequence)
+			{
+				return;
+			}
+			entries = ringBuffer
+				.getEntriesSince(rebuild ? ringBuffer.getOldestSequence() : displayedSequence);
+			displayedSequence = sequence;
+			rebuildRequested = false;
+		}
+		LogLevel minimumLevel = (LogLevel)levelComboBox.getSelectedItem();
+		StringBuilder text = new StringBuilder();
+		int lines = 0;
+		for (LogRingBuffer.Entry entry : entries)
+		{
+			if (minimumLevel == null || minimumLevel.compareTo(entry.level()) <= 0)
+			{
+				text.append(entry.message()).append('\n');
+				lines++;
+			}
+		}
+		if (rebuild)
+		{
+			textArea.setText(text.toString());
+			displayedLines = lines;
+		}
+		else if (0 < lines)
+		{
+			textArea.append(text.toString());
+			displayedLines += lines;
+		}
+		trimLines();
+		textArea.setCaretPosition(textArea.getDocument().getLength());
+	}
+
+	private void trimLines()
+	{
+		int excessLines = displayedLines - ringBuffer.getCapacity();
+		if (excessLines <= 0)
+		{
+			return;
+		}
+		try
+		{
+			textArea.getDocument().remove(0, textArea.getLineStartOffset(excessLines));
+			displayedLines -= excessLines;
+		}
+		catch (BadLocationException e)
+		{
+			log.warn("Could not trim the log console", e);
+		}
+	}
+
+}
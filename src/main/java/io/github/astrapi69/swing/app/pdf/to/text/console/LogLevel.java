@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.console;
+
+/**
+ * The enum {@link LogLevel} represents the severity of a line in the log console
+ */
+public enum LogLevel
+{
+
+	/** Detailed output for diagnosis, for instance the debug output of pf4j */
+	DEBUG,
+
+	/** Regular progress messages */
+	INFO,
+
+	/** Warnings */
+	WARN,
+
+	/** Errors */
+	ERROR;
+
+	/** The number of leading characters of a line that are searched for a level name */
+	private static final int LEVEL_PREFIX_LENGTH = 120;
+
+	/**
+	 * Detects the level of a line that was written by a logging framework, for instance
+	 * {@code [main] DEBUG org.pf4j.PluginManager - ...} of slf4j simple or
+	 * {@code [2024-12-01 10:00:00] [WARNING] ...} of java util logging
+	 *
+	 * @param line
+	 *            the line to inspect
+	 * @param defaultLevel
+	 *            the level if the line does not contain a level name
+	 * @return the detected level
+	 */
+	public static LogLevel detect(final String line, final LogLevel defaultLevel)
+	{
+		String prefix = line.length() <= LEVEL_PREFIX_LENGTH
+			? line
+			: line.substring(0, LEVEL_PREFIX_LENGTH);
+		if (prefix.contains("ERROR") || prefix.contains("SEVERE"))
+		{
+			return ERROR;
+		}
+		if (prefix.contains("WARN"))
+		{
+			return WARN;
+		}
+		if (prefix.contains("DEBUG") || prefix.contains("TRACE") || prefix.contains("FINE"))
+		{
+			return DEBUG;
+		}
+		if (prefix.contains("INFO"))
+		{
+			return INFO;
+		}
+		return defaultLevel;
+	}
+
+}
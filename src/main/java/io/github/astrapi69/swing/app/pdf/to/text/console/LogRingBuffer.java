@@ -0,0 +1,154 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.console;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The class {@link LogRingBuffer} holds the most recent lines of the log console in an array of
+ * fixed capacity, the oldest lines are overwritten when the buffer is full. Adding a line never
+ * blocks longer than copying a reference, so that threads that log are never slowed down by the
+ * user interface
+ */
+public class LogRingBuffer
+{
+
+	/**
+	 * The record {@link Entry} is a single line of the log console
+	 *
+	 * @param level
+	 *            the level of the line
+	 * @param message
+	 *            the text of the line without line separator
+	 */
+	public record Entry(LogLevel level, String message)
+	{
+	}
+
+	/** The lines, the line with the sequence number n is stored at n modulo the capacity */
+	private final Entry[] entries;
+
+	/** The maximum number of lines */
+	@Getter
+	private final int capacity;
+
+	/** The sequence number of the next line */
+	private long sequence;
+
+	/** The sequence number of the oldest line that is still in the buffer */
+	private long oldestSequence;
+
+	/**
+	 * Instantiates a new {@link LogRingBuffer}
+	 *
+	 * @param capacity
+	 *            the maximum number of lines
+	 */
+	public LogRingBuffer(final int capacity)
+	{
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		this.entries = new Entry[capacity];
+	}
+
+	/**
+	 * Adds the given line and overwrites the oldest line if the buffer is full
+	 *
+	 * @param entry
+	 *            the line to add
+	 */
+	public synchronized void add(final Entry entry)
+	{
+		entries[(int)(sequence % capacity)] = entry;
+		sequence++;
+		oldestSequence = Math.max(oldestSequence, sequence - capacity);
+	}
+
+	/**
+	 * Gets the sequence number of the next line, it changes whenever a line is added
+	 *
+	 * @return the sequence number of the next line
+	 */
+	public synchronized long getSequence()
+	{
+		return sequence;
+	}
+
+	/**
+	 * Gets the sequence number of the oldest line in the buffer, a reader that has not read the
+	 * lines before this sequence number has lost them
+	 *
+	 * @return the sequence number of the oldest line
+	 */
+	public synchronized long getOldestSequence()
+	{
+		return oldestSequence;
+	}
+
+	/**
+	 * Gets the lines that were added since the given sequence number and are still in the buffer
+	 *
+	 * @param fromSequence
+	 *            the sequence number of the first line to get
+	 * @return the lines in the order they were added
+	 */
+	public synchronized List<Entry> getEntriesSince(final long fromSequence)
+	{
+		long first = Math.max(fromSequence, oldestSequence);
+		List<Entry> result = new ArrayList<>((int)Math.max(0, sequence - first));
+		for (long current = first; current < sequence; current++)
+		{
+			result.add(entries[(int)(current % capacity)]);
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if the buffer contains no lines
+	 *
+	 * @return true if the buffer is empty
+	 */
+	public synchronized boolean isEmpty()
+	{
+		return oldestSequence == sequence;
+	}
+
+	/**
+	 * Removes all lines
+	 */
+	public synchronized void clear()
+	{
+		Arrays.fill(entries, null);
+		oldestSequence = sequence;
+	}
+
+}
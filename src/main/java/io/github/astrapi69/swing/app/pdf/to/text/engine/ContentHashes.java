@@ -0,0 +1,230 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNull;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+/**
+ * The class {@link ContentHashes} provides methods for computing the content hash of files, pdf
+ * pages and strings that are used as keys for the persistent caches of the application
+ */
+public final class ContentHashes
+{
+
+	/** The algorithm of the content hashes */
+	public static final String ALGORITHM = "SHA-256";
+
+	/** The size of the buffer for reading files */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private ContentHashes()
+	{
+	}
+
+	/**
+	 * Computes the content hash of the given file
+	 *
+	 * @param file
+	 *            the file
+	 * @return the content hash as lower case hex string
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	public static String of(final File file) throws IOException
+	{
+		MessageDigest messageDigest = newMessageDigest();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream inputStream = Files.newInputStream(file.toPath()))
+		{
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				messageDigest.update(buffer, 0, read);
+			}
+		}
+		return HexFormat.of().formatHex(messageDigest.digest());
+	}
+
+	/**
+	 * Computes the content hash of the given string
+	 *
+	 * @param value
+	 *            the string
+	 * @return the content hash as lower case hex string
+	 */
+	public static String of(final String value)
+	{
+		return HexFormat.of()
+			.formatHex(newMessageDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Computes the content hash of the given pdf page from its content streams, its resources and
+	 * the crop box and rotation that change the rendered image. The same page gets the same hash
+	 * in every document it is contained in, the position of the page in the document does not
+	 * matter
+	 *
+	 * @param page
+	 *            the pdf page
+	 * @return the content hash as lower case hex string
+	 * @throws IOException
+	 *             if a stream of the page could not be read
+	 */
+	public static String of(final PDPage page) throws IOException
+	{
+		MessageDigest messageDigest = newMessageDigest();
+		PDRectangle cropBox = page.getCropBox();
+		update(messageDigest, "crop " + cropBox.getLowerLeftX() + ' ' + cropBox.getLowerLeftY()
+			+ ' ' + cropBox.getUpperRightX() + ' ' + cropBox.getUpperRightY() + " rotate "
+			+ page.getRotation() + ';');
+		// shared resources are hashed once, which also stops at cyclic references
+		Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		update(messageDigest, page.getCOSObject().getDictionaryObject(COSName.CONTENTS), visited);
+		PDResources resources = page.getResources();
+		update(messageDigest, resources != null ? resources.getCOSObject() : null, visited);
+		return HexFormat.of().formatHex(messageDigest.digest());
+	}
+
+	private static void update(final MessageDigest messageDigest, final COSBase base,
+		final Set<COSBase> visited) throws IOException
+	{
+		COSBase object = base instanceof COSObject cosObject ? cosObject.getObject() : base;
+		if (object == null || object instanceof COSNull)
+		{
+			update(messageDigest, "null;");
+		}
+		else if ((object instanceof COSDictionary || object instanceof COSArray)
+			&& !visited.add(object))
+		{
+			update(messageDigest, "visited;");
+		}
+		else if (object instanceof COSStream stream)
+		{
+			update(messageDigest, "stream{");
+			updateDictionary(messageDigest, stream, visited);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			try (InputStream inputStream = stream.createRawInputStream())
+			{
+				int read;
+				while ((read = inputStream.read(buffer)) != -1)
+				{
+					messageDigest.update(buffer, 0, read);
+				}
+			}
+			update(messageDigest, "}");
+		}
+		else if (object instanceof COSDictionary dictionary)
+		{
+			update(messageDigest, "dictionary{");
+			updateDictionary(messageDigest, dictionary, visited);
+			update(messageDigest, "}");
+		}
+		else if (object instanceof COSArray array)
+		{
+			update(messageDigest, "array[");
+			for (COSBase element : array)
+			{
+				update(messageDigest, element, visited);
+			}
+			update(messageDigest, "]");
+		}
+		else if (object instanceof COSString string)
+		{
+			byte[] bytes = string.getBytes();
+			update(messageDigest, "string " + bytes.length + ':');
+			messageDigest.update(bytes);
+		}
+		else if (object instanceof COSName name)
+		{
+			update(messageDigest, "/" + name.getName() + ';');
+		}
+		else
+		{
+			update(messageDigest, object + ";");
+		}
+	}
+
+	private static void updateDictionary(final MessageDigest messageDigest,
+		final COSDictionary dictionary, final Set<COSBase> visited) throws IOException
+	{
+		List<COSName> keys = new ArrayList<>(dictionary.keySet());
+		keys.sort(Comparator.comparing(COSName::getName));
+		for (COSName key : keys)
+		{
+			// the parent leads to the page tree and with it to all other pages
+			if (!COSName.PARENT.equals(key))
+			{
+				update(messageDigest, "/" + key.getName() + ' ');
+				update(messageDigest, dictionary.getItem(key), visited);
+			}
+		}
+	}
+
+	private static void update(final MessageDigest messageDigest, final String value)
+	{
+		messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static MessageDigest newMessageDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance(ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(ALGORITHM + " is not supported by this jvm", e);
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.File;
+
+/**
+ * The interface {@link ConversionListener} is notified about every document that a
+ * {@link PdfConversionEngine} converted successfully. It is called on the thread that started the
+ * conversion after the result text file is complete, so a listener that does more than a quick
+ * hand over should continue in the background
+ */
+@FunctionalInterface
+public interface ConversionListener
+{
+
+	/**
+	 * Called when the given pdf file was converted
+	 *
+	 * @param pdfFile
+	 *            the converted pdf file
+	 * @param resultTextFile
+	 *            the complete result text file
+	 * @param options
+	 *            the options of the conversion
+	 * @param conversionReport
+	 *            the report of the conversion
+	 */
+	void onDocumentConverted(File pdfFile, File resultTextFile, ConversionOptions options,
+		ConversionReport conversionReport);
+
+}
@@ -0,0 +1,163 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.util.List;
+
+import io.github.astrapisixtynine.pdf.to.text.info.OcrLanguage;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link ConversionOptions} holds the settings of a single pdf to text conversion
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConversionOptions
+{
+	/** The default resolution in dots per inch for rendering the pdf pages */
+	public static final float DEFAULT_RENDER_DPI = 300f;
+
+	/**
+	 * The minimum resolution in dots per inch of a scanned image that is rendered in its own
+	 * resolution when {@link #isAdaptiveDpi()} is set, images with a lower resolution are rendered
+	 * with the render dpi because tesseract recognizes upscaled low resolution scans better
+	 */
+	public static final float MINIMUM_ADAPTIVE_DPI = 200f;
+
+	/** The tesseract language code */
+	@Builder.Default
+	String languageCode = OcrLanguage.ENGLISH.getCode();
+
+	/**
+	 * The tesseract language codes among which the language of every recognized page is detected
+	 * before its recognition, with less than two codes no detection takes place and the language
+	 * code is used for all pages. With detection the language code is the fallback for pages
+	 * where no candidate fits
+	 */
+	@Builder.Default
+	List<String> detectionLanguageCodes = List.of();
+
+	/** The pages of the pdf document that are converted, by default all pages */
+	@Builder.Default
+	PageRanges pageRanges = PageRanges.ALL;
+
+	/**
+	 * The region of interest that is converted on every selected page or null for the whole page,
+	 * only the region is rendered and recognized and only the text layer inside of it is taken
+	 */
+	PageRegion pageRegion;
+
+	/**
+	 * The resolution in dots per inch for rendering the pdf pages before recognition, with
+	 * {@link #isAdaptiveDpi()} it is the maximum resolution
+	 */
+	@Builder.Default
+	float renderDpi = DEFAULT_RENDER_DPI;
+
+	/**
+	 * The flag that indicates if a page is rendered in the resolution of its scanned image as long
+	 * as it is between {@link #MINIMUM_ADAPTIVE_DPI} and the render dpi
+	 */
+	@Builder.Default
+	boolean adaptiveDpi = true;
+
+	/** The flag that indicates if the rendered page is binarized before recognition */
+	@Builder.Default
+	boolean binarization = true;
+
+	/** The flag that indicates if a skewed rendered page is straightened before recognition */
+	@Builder.Default
+	boolean deskew = true;
+
+	/** The flag that indicates if the margins and scanner borders of a rendered page are cropped */
+	@Builder.Default
+	boolean borderCropping = true;
+
+	/**
+	 * The flag that indicates if the text layer of a page is used instead of ocr when it contains
+	 * plausible text
+	 */
+	@Builder.Default
+	boolean textLayerDetection = true;
+
+	/**
+	 * The name of the {@link TextExtractionEngine} that is tried first in every phase it supports
+	 * or null for the automatic selection by cost
+	 */
+	String preferredEngine;
+
+	/** The flag that indicates if recognized pages are looked up in and stored to the ocr cache */
+	@Builder.Default
+	boolean ocrCacheEnabled = true;
+
+	/**
+	 * The flag that indicates if the converted pages are recorded in a checkpoint, so an
+	 * interrupted conversion of the same pdf with the same options resumes with the first missing
+	 * page
+	 */
+	@Builder.Default
+	boolean checkpointEnabled = true;
+
+	/**
+	 * The flag that indicates if the result text file with the pages written so far is kept when a
+	 * conversion fails or is cancelled, by default the incomplete result text file is deleted
+	 */
+	@Builder.Default
+	boolean keepIncompleteResult = false;
+
+	/**
+	 * Checks if the language of every recognized page is detected among the detection language
+	 * codes
+	 *
+	 * @return true if the language is detected per page
+	 */
+	public boolean isLanguageDetection()
+	{
+		return 1 < detectionLanguageCodes.size();
+	}
+
+	/**
+	 * Gets the fingerprint of all options that have an effect on the text recognized by ocr
+	 *
+	 * @return the fingerprint of the ocr options
+	 */
+	public String getOcrFingerprint()
+	{
+		return "lang=" + languageCode
+			+ (isLanguageDetection() ? ";detect=" + String.join(",", detectionLanguageCodes) : "")
+			+ ";dpi=" + renderDpi + ";adaptive=" + adaptiveDpi
+			+ ";binarization=" + binarization + ";deskew=" + deskew + ";crop=" + borderCropping
+			+ (preferredEngine != null ? ";engine=" + preferredEngine : "")
+			+ (pageRegion != null ? ";region=" + pageRegion : "");
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link ConversionReport} holds the {@link ConversionResult} of a finished conversion
+ * together with statistics about how the pages were converted
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConversionReport
+{
+	/** The conversion result that references the result text file */
+	ConversionResult conversionResult;
+
+	/** The number of pages of the converted document */
+	int pageCount;
+
+	/** The number of pages that were taken from the text layer of the pdf */
+	int textLayerPages;
+
+	/** The number of pages that were recognized by ocr */
+	int ocrPages;
+
+	/** The number of pages that were taken from the ocr cache */
+	int cachedPages;
+
+	/** The number of pages that were taken from the checkpoint of an interrupted conversion */
+	int resumedPages;
+
+	/** The elapsed time of the conversion in milliseconds */
+	long elapsedMillis;
+
+	/** The content hash of the pdf file or null if it was not computed for the conversion */
+	String contentHash;
+}
@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.contentstream.operator.DrawObject;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.OperatorName;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.apache.pdfbox.contentstream.operator.state.SetMatrix;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
+
+/**
+ * The class {@link ImageResolutionDetector} finds the resolution of the scanned image of a pdf
+ * page. It walks the content stream of the page without rendering it and computes the resolution
+ * of the largest image from its pixel size and its size on the page. Only an image that covers a
+ * relevant part of the page counts as scan, pages with small images like logos have no scan
+ * resolution
+ */
+class ImageResolutionDetector extends PDFStreamEngine
+{
+
+	/** The minimum ratio of the page area an image must cover to count as scan */
+	static final double MINIMUM_PAGE_COVERAGE = 0.25d;
+
+	/** The number of pdf points per inch */
+	private static final float POINTS_PER_INCH = 72f;
+
+	/** The area in square points of the largest image found so far */
+	private double largestImageArea;
+
+	/** The resolution of the largest image found so far */
+	private float largestImageDpi;
+
+	private ImageResolutionDetector()
+	{
+		addOperator(new Concatenate(this));
+		addOperator(new DrawObject(this));
+		addOperator(new SetGraphicsStateParameters(this));
+		addOperator(new Save(this));
+		addOperator(new Restore(this));
+		addOperator(new SetMatrix(this));
+	}
+
+	/**
+	 * Detects the resolution of the scanned image of the given page
+	 *
+	 * @param page
+	 *            the pdf page
+	 * @return the resolution in dots per inch or 0 if the page contains no scanned image
+	 * @throws IOException
+	 *             if the content stream of the page could not be read
+	 */
+	static float detect(final PDPage page) throws IOException
+	{
+		ImageResolutionDetector detector = new ImageResolutionDetector();
+		detector.processPage(page);
+		PDRectangle mediaBox = page.getMediaBox();
+		double pageArea = (double)mediaBox.getWidth() * mediaBox.getHeight();
+		return 0 < pageArea && MINIMUM_PAGE_COVERAGE <= detector.largestImageArea / pageArea
+			? detector.largestImageDpi
+			: 0f;
+	}
+
+	@Override
+	protected void processOperator(final Operator operator, final List<COSBase> operands)
+		throws IOException
+	{
+		if (OperatorName.DRAW_OBJECT.equals(operator.getName()) && !operands.isEmpty()
+			&& operands.get(0) instanceof COSName objectName)
+		{
+			PDXObject xObject = getResources().getXObject(objectName);
+			if (xObject instanceof PDImageXObject image)
+			{
+				measure(image);
+				return;
+			}
+		}
+		super.processOperator(operator, operands);
+	}
+
+	private void measure(final PDImageXObject image)
+	{
+		Matrix matrix = getGraphicsState().getCurrentTransformationMatrix();
+		float widthInPoints = matrix.getScalingFactorX();
+		float heightInPoints = matrix.getScalingFactorY();
+		double area = (double)widthInPoints * heightInPoints;
+		if (area <= largestImageArea || widthInPoints <= 0 || heightInPoints <= 0)
+		{
+			return;
+		}
+		largestImageArea = area;
+		float horizontalDpi = image.getWidth() * POINTS_PER_INCH / widthInPoints;
+		float verticalDpi = image.getHeight() * POINTS_PER_INCH / heightInPoints;
+		largestImageDpi = (horizontalDpi + verticalDpi) / 2f;
+	}
+
+}
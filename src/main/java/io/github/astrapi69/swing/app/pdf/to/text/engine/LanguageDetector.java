@@ -0,0 +1,239 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link LanguageDetector} detects the tesseract language of a page before its full
+ * recognition. A low resolution sample of the central band of the page is recognized with every
+ * candidate language and the language with the highest mean word confidence wins, if the runner
+ * up comes close the combination of both languages is tried as well, so pages with mixed text get
+ * a combination like 'deu+eng'. The language last detected is tried first and kept without
+ * testing the other candidates as long as it is recognized with a high confidence, so a document
+ * in one language costs a single sample recognition per page. Every candidate keeps its own warm
+ * engines in the pool, so the candidates are chosen by the user and limited to
+ * {@value #MAXIMUM_CANDIDATES}.<br>
+ * <br>
+ * An instance belongs to one conversion and is thread safe
+ */
+@Slf4j
+public class LanguageDetector
+{
+
+	/** The maximum number of candidate languages */
+	public static final int MAXIMUM_CANDIDATES = 4;
+
+	/** The resolution in dots per inch of the sample that is recognized */
+	public static final int DETECTION_DPI = 100;
+
+	/** The ratio of the page height in the middle of the page that is taken as sample */
+	static final double SAMPLE_HEIGHT_RATIO = 0.5d;
+
+	/** The confidence from which the language of the previous page is kept without comparison */
+	static final int ACCEPTED_CONFIDENCE = 80;
+
+	/** The minimum confidence of a detected language, below it the fallback language is used */
+	static final int MINIMUM_CONFIDENCE = 40;
+
+	/** The maximum confidence difference of the runner up for trying the combination of both */
+	static final int COMBINATION_MARGIN = 10;
+
+	/** The pool of warm tesseract engines */
+	private final TesseractEnginePool tesseractEnginePool;
+
+	/** The tesseract language codes of the candidates */
+	@Getter
+	private final List<String> candidateLanguageCodes;
+
+	/** The language code that is used if no candidate fits the sample */
+	@Getter
+	private final String fallbackLanguageCode;
+
+	/** The language code of the previously detected page or null before the first page */
+	private volatile String previousLanguageCode;
+
+	/**
+	 * Instantiates a new {@link LanguageDetector}
+	 *
+	 * @param tesseractEnginePool
+	 *            the pool of warm tesseract engines
+	 * @param candidateLanguageCodes
+	 *            the tesseract language codes of the candidates, at most
+	 *            {@value #MAXIMUM_CANDIDATES}
+	 * @param fallbackLanguageCode
+	 *            the language code that is used if no candidate fits the sample
+	 * @throws IllegalArgumentException
+	 *             if no or more than {@value #MAXIMUM_CANDIDATES} candidates are given
+	 */
+	public LanguageDetector(final @NonNull TesseractEnginePool tesseractEnginePool,
+		final @NonNull List<String> candidateLanguageCodes,
+		final @NonNull String fallbackLanguageCode)
+	{
+		if (candidateLanguageCodes.isEmpty())
+		{
+			throw new IllegalArgumentException("At least one candidate language is required");
+		}
+		if (MAXIMUM_CANDIDATES < candidateLanguageCodes.size())
+		{
+			throw new IllegalArgumentException("At most " + MAXIMUM_CANDIDATES
+				+ " candidate languages are supported but were " + candidateLanguageCodes);
+		}
+		this.tesseractEnginePool = tesseractEnginePool;
+		this.candidateLanguageCodes = List.copyOf(candidateLanguageCodes);
+		this.fallbackLanguageCode = fallbackLanguageCode;
+	}
+
+	/**
+	 * Detects the language of the given page image
+	 *
+	 * @param image
+	 *            the preprocessed page image
+	 * @param dpi
+	 *            the resolution of the image in dots per inch
+	 * @return the tesseract language code of the page, a single candidate, a combination of two
+	 *         candidates or the fallback language
+	 * @throws IOException
+	 *             if a tesseract engine could not be initialized for a candidate
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for an engine
+	 */
+	public String detect(final @NonNull BufferedImage image, final int dpi)
+		throws IOException, InterruptedException
+	{
+		if (candidateLanguageCodes.size() == 1)
+		{
+			return candidateLanguageCodes.getFirst();
+		}
+		int sampleDpi = Math.min(dpi, DETECTION_DPI);
+		BufferedImage sample = newSample(image, sampleDpi / (double)dpi);
+		String previous = previousLanguageCode;
+		int previousConfidence = -1;
+		if (previous != null)
+		{
+			previousConfidence = getConfidence(previous, sample, sampleDpi);
+			if (ACCEPTED_CONFIDENCE <= previousConfidence)
+			{
+				return previous;
+			}
+		}
+		String best = null;
+		int bestConfidence = -1;
+		String runnerUp = null;
+		int runnerUpConfidence = -1;
+		for (String languageCode : candidateLanguageCodes)
+		{
+			int confidence = languageCode.equals(previous)
+				? previousConfidence
+				: getConfidence(languageCode, sample, sampleDpi);
+			if (bestConfidence < confidence)
+			{
+				runnerUp = best;
+				runnerUpConfidence = bestConfidence;
+				best = languageCode;
+				bestConfidence = confidence;
+			}
+			else if (runnerUpConfidence < confidence)
+			{
+				runnerUp = languageCode;
+				runnerUpConfidence = confidence;
+			}
+		}
+		if (runnerUp != null && bestConfidence - runnerUpConfidence <= COMBINATION_MARGIN)
+		{
+			String combination = best + "+" + runnerUp;
+			int combinationConfidence = getConfidence(combination, sample, sampleDpi);
+			if (bestConfidence <= combinationConfidence)
+			{
+				best = combination;
+				bestConfidence = combinationConfidence;
+			}
+		}
+		if (bestConfidence < MINIMUM_CONFIDENCE)
+		{
+			// a page without readable text in the sample says nothing about its language
+			log.debug("No candidate language fits the sample, best was '{}' with {}", best,
+				bestConfidence);
+			return previous != null ? previous : fallbackLanguageCode;
+		}
+		previousLanguageCode = best;
+		return best;
+	}
+
+	private int getConfidence(final String languageCode, final BufferedImage sample,
+		final int sampleDpi) throws IOException, InterruptedException
+	{
+		TesseractEngine tesseractEngine = tesseractEnginePool.borrow(languageCode);
+		try
+		{
+			return tesseractEngine.getMeanTextConfidence(sample, sampleDpi);
+		}
+		finally
+		{
+			tesseractEnginePool.giveBack(tesseractEngine);
+		}
+	}
+
+	/**
+	 * Factory method for create the sample of the given page image, that is the central band of
+	 * the page scaled down with the given factor
+	 *
+	 * @param image
+	 *            the page image
+	 * @param scale
+	 *            the factor for scaling the sample, at most 1
+	 * @return the new gray sample image
+	 */
+	static BufferedImage newSample(final BufferedImage image, final double scale)
+	{
+		int bandHeight = Math.max(1, (int)Math.round(image.getHeight() * SAMPLE_HEIGHT_RATIO));
+		int bandTop = (image.getHeight() - bandHeight) / 2;
+		int width = Math.max(1, (int)Math.round(image.getWidth() * scale));
+		int height = Math.max(1, (int)Math.round(bandHeight * scale));
+		BufferedImage sample = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D graphics = sample.createGraphics();
+		try
+		{
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(image, 0, 0, width, height, 0, bandTop, image.getWidth(),
+				bandTop + bandHeight, null);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return sample;
+	}
+
+}
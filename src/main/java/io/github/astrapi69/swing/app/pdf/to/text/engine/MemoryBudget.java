@@ -0,0 +1,193 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import lombok.Getter;
+
+/**
+ * The class {@link MemoryBudget} limits the memory of the page images that exist at the same time
+ * in the conversions of a {@link PdfConversionEngine}. The rendering of a page reserves the
+ * estimated memory of its images before the page is rendered and the reservation is released when
+ * the page is recognized, so rendering waits when the ocr falls behind. The reservations are
+ * granted in the order of the requests, so a large page is not starved by small pages, and a page
+ * that is larger than the whole budget is granted the whole budget and is processed alone
+ */
+public class MemoryBudget
+{
+
+	/** The system property for overriding the default budget in megabytes */
+	public static final String SYSTEM_PROPERTY_MEMORY_BUDGET = "pdf.to.text.memory.budget";
+
+	/** The minimum default budget in bytes */
+	public static final long MINIMUM_DEFAULT_CAPACITY = 64L * 1024 * 1024;
+
+	/** The number of bytes of a megabyte */
+	private static final long MEGABYTE = 1024L * 1024;
+
+	/** The budget in bytes */
+	@Getter
+	private final long capacity;
+
+	/** The requests that wait for their reservation in the order of their arrival */
+	private final Deque<Object> waiting = new ArrayDeque<>();
+
+	/** The reserved bytes */
+	private long reserved;
+
+	/** The maximum of the reserved bytes */
+	private long peakReserved;
+
+	/**
+	 * Instantiates a new {@link MemoryBudget}
+	 *
+	 * @param capacity
+	 *            the budget in bytes
+	 */
+	public MemoryBudget(final long capacity)
+	{
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Gets the default budget in bytes that is the value of the system property
+	 * {@value #SYSTEM_PROPERTY_MEMORY_BUDGET} in megabytes if set or else a quarter of the maximum
+	 * heap, but at least {@link #MINIMUM_DEFAULT_CAPACITY}
+	 *
+	 * @return the default budget in bytes
+	 */
+	public static long defaultCapacity()
+	{
+		Long megabytes = Long.getLong(SYSTEM_PROPERTY_MEMORY_BUDGET);
+		if (megabytes != null && 0 < megabytes)
+		{
+			return megabytes * MEGABYTE;
+		}
+		return Math.max(MINIMUM_DEFAULT_CAPACITY, Runtime.getRuntime().maxMemory() / 4);
+	}
+
+	/**
+	 * Reserves the given number of bytes and waits until they are available
+	 *
+	 * @param bytes
+	 *            the number of bytes to reserve, a number greater than the budget reserves the
+	 *            whole budget
+	 * @return the reservation that must be closed when the memory is not used anymore
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting
+	 */
+	public Reservation reserve(final long bytes) throws InterruptedException
+	{
+		long granted = Math.max(0, Math.min(bytes, capacity));
+		Object ticket = new Object();
+		synchronized (this)
+		{
+			waiting.addLast(ticket);
+			try
+			{
+				while (waiting.peekFirst() != ticket || capacity - reserved < granted)
+				{
+					wait();
+				}
+			}
+			finally
+			{
+				waiting.remove(ticket);
+				// the next request in line may fit now or the own request was abandoned
+				notifyAll();
+			}
+			reserved += granted;
+			peakReserved = Math.max(peakReserved, reserved);
+		}
+		return new Reservation(granted);
+	}
+
+	/**
+	 * Gets the reserved bytes
+	 *
+	 * @return the reserved bytes
+	 */
+	public synchronized long getReserved()
+	{
+		return reserved;
+	}
+
+	/**
+	 * Gets the maximum of the reserved bytes since this budget was created
+	 *
+	 * @return the maximum of the reserved bytes
+	 */
+	public synchronized long getPeakReserved()
+	{
+		return peakReserved;
+	}
+
+	private synchronized void release(final long bytes)
+	{
+		reserved -= bytes;
+		notifyAll();
+	}
+
+	/**
+	 * The class {@link Reservation} is a granted part of a {@link MemoryBudget}, closing it more
+	 * than once releases it only once
+	 */
+	public final class Reservation implements AutoCloseable
+	{
+
+		/** The reserved bytes */
+		@Getter
+		private final long bytes;
+
+		/** The flag that indicates if the reservation is released */
+		private boolean released;
+
+		private Reservation(final long bytes)
+		{
+			this.bytes = bytes;
+		}
+
+		/**
+		 * Releases the reserved bytes
+		 */
+		@Override
+		public synchronized void close()
+		{
+			if (!released)
+			{
+				released = true;
+				release(bytes);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,285 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link OcrResultCache} is a persistent content addressed cache for the recognized text
+ * of pdf pages. Every entry is stored as a file in the cache directory, the total size of the
+ * entries is limited and the least recently used entries are evicted first. The access order
+ * survives restarts through the last modified time of the entry files
+ */
+@Slf4j
+public class OcrResultCache
+{
+
+	/** The default maximum size of all cache entries in bytes */
+	public static final long DEFAULT_MAXIMUM_SIZE = 256L * 1024 * 1024;
+
+	/** The name of the default cache directory in the application directory */
+	public static final String DEFAULT_DIRECTORY_NAME = "ocr-cache";
+
+	/** The file extension of the cache entries */
+	private static final String ENTRY_EXTENSION = ".txt";
+
+	/** The file extension of not yet completely written cache entries */
+	private static final String TEMPORARY_EXTENSION = ".tmp";
+
+	/** The cache directory */
+	@Getter
+	private final File directory;
+
+	/** The maximum size of all cache entries in bytes */
+	@Getter
+	private final long maximumSize;
+
+	/** The sizes of the cache entries by key in least recently used order */
+	private final LinkedHashMap<String, Long> entrySizes = new LinkedHashMap<>(256, 0.75f, true);
+
+	/** The size of all cache entries in bytes */
+	private long size;
+
+	/**
+	 * Instantiates a new {@link OcrResultCache} in the default cache directory with the default
+	 * maximum size
+	 *
+	 * @return the new {@link OcrResultCache} object
+	 */
+	public static OcrResultCache newDefaultCache()
+	{
+		return new OcrResultCache(ApplicationDirectories.getDirectory(DEFAULT_DIRECTORY_NAME),
+			DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link OcrResultCache} and loads the existing entries of the given
+	 * directory
+	 *
+	 * @param directory
+	 *            the cache directory
+	 * @param maximumSize
+	 *            the maximum size of all cache entries in bytes
+	 */
+	public OcrResultCache(final File directory, final long maximumSize)
+	{
+		this.directory = directory;
+		this.maximumSize = maximumSize;
+		loadEntries();
+	}
+
+	/**
+	 * Computes the key of a cache entry
+	 *
+	 * @param pageHash
+	 *            the content hash of the pdf page, see {@link ContentHashes#of(PDPage)}
+	 * @param options
+	 *            the options of the conversion
+	 * @return the key of the cache entry
+	 */
+	public static String newKey(final String pageHash, final ConversionOptions options)
+	{
+		return ContentHashes.of(pageHash + '|' + options.getOcrFingerprint());
+	}
+
+	private void loadEntries()
+	{
+		record Entry(Path path, long size, long lastModified)
+		{
+		}
+		List<Entry> entries = new ArrayList<>();
+		try (Stream<Path> paths = Files.list(directory.toPath()))
+		{
+			for (Iterator<Path> iterator = paths.iterator(); iterator.hasNext();)
+			{
+				Path path = iterator.next();
+				String fileName = path.getFileName().toString();
+				if (fileName.endsWith(TEMPORARY_EXTENSION))
+				{
+					Files.deleteIfExists(path);
+				}
+				else if (fileName.endsWith(ENTRY_EXTENSION))
+				{
+					entries.add(new Entry(path, Files.size(path),
+						Files.getLastModifiedTime(path).toMillis()));
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Entries of the ocr cache in '{}' could not be loaded", directory, e);
+		}
+		entries.sort(Comparator.comparingLong(Entry::lastModified));
+		synchronized (this)
+		{
+			for (Entry entry : entries)
+			{
+				String fileName = entry.path().getFileName().toString();
+				String key = fileName.substring(0, fileName.length() - ENTRY_EXTENSION.length());
+				entrySizes.put(key, entry.size());
+				size += entry.size();
+			}
+		}
+		evict();
+	}
+
+	/**
+	 * Gets the cached text for the given key
+	 *
+	 * @param key
+	 *            the key of the cache entry
+	 * @return the cached text or null if there is no entry for the given key
+	 */
+	public String get(final String key)
+	{
+		synchronized (this)
+		{
+			if (entrySizes.get(key) == null)
+			{
+				return null;
+			}
+		}
+		File entryFile = getEntryFile(key);
+		try
+		{
+			String text = Files.readString(entryFile.toPath(), StandardCharsets.UTF_8);
+			entryFile.setLastModified(System.currentTimeMillis());
+			return text;
+		}
+		catch (IOException e)
+		{
+			log.debug("Entry '{}' of the ocr cache could not be read", key, e);
+			remove(key);
+			return null;
+		}
+	}
+
+	/**
+	 * Puts the given text into the cache and evicts the least recently used entries if the
+	 * maximum size is exceeded
+	 *
+	 * @param key
+	 *            the key of the cache entry
+	 * @param text
+	 *            the text to cache
+	 */
+	public void put(final String key, final String text)
+	{
+		File entryFile = getEntryFile(key);
+		Path temporaryPath = new File(directory, key + '.' + Thread.currentThread().threadId()
+			+ TEMPORARY_EXTENSION).toPath();
+		try
+		{
+			Files.writeString(temporaryPath, text, StandardCharsets.UTF_8);
+			long entrySize = Files.size(temporaryPath);
+			Files.move(temporaryPath, entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+			synchronized (this)
+			{
+				Long previousSize = entrySizes.put(key, entrySize);
+				size += entrySize - (previousSize != null ? previousSize : 0L);
+			}
+			evict();
+		}
+		catch (IOException e)
+		{
+			log.warn("Entry '{}' could not be written to the ocr cache", key, e);
+			temporaryPath.toFile().delete();
+		}
+	}
+
+	/**
+	 * Gets the number of entries of this cache
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int getEntryCount()
+	{
+		return entrySizes.size();
+	}
+
+	/**
+	 * Gets the size of all entries of this cache in bytes
+	 *
+	 * @return the size of all entries in bytes
+	 */
+	public synchronized long getSize()
+	{
+		return size;
+	}
+
+	private synchronized void remove(final String key)
+	{
+		Long entrySize = entrySizes.remove(key);
+		if (entrySize != null)
+		{
+			size -= entrySize;
+		}
+	}
+
+	private void evict()
+	{
+		List<String> evictedKeys = new ArrayList<>();
+		synchronized (this)
+		{
+			Iterator<Map.Entry<String, Long>> iterator = entrySizes.entrySet().iterator();
+			while (maximumSize < size && iterator.hasNext())
+			{
+				Map.Entry<String, Long> eldest = iterator.next();
+				size -= eldest.getValue();
+				evictedKeys.add(eldest.getKey());
+				iterator.remove();
+			}
+		}
+		for (String evictedKey : evictedKeys)
+		{
+			getEntryFile(evictedKey).delete();
+		}
+	}
+
+	private File getEntryFile(final String key)
+	{
+		return new File(directory, key + ENTRY_EXTENSION);
+	}
+
+}
@@ -0,0 +1,274 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link PageCheckpoint} is the durable record of the converted pages of a conversion
+ * that is still running or was interrupted. The pages are appended in page order with a checksum
+ * and are forced to the disk in batches of {@value #SYNC_PAGE_COUNT} pages or at the latest
+ * every {@value #SYNC_INTERVAL_MILLIS} milliseconds, so a crash of the machine loses at most one
+ * batch and a crash of the application loses nothing. An instance is created by the
+ * {@link PageCheckpointStore} and must only be used by one thread
+ */
+@Slf4j
+public class PageCheckpoint implements AutoCloseable
+{
+
+	/** The number of appended pages that are forced to the disk together */
+	public static final int SYNC_PAGE_COUNT = 16;
+
+	/** The maximum time in milliseconds that an appended page is not forced to the disk */
+	public static final long SYNC_INTERVAL_MILLIS = 1000;
+
+	/** The magic number at the beginning of a checkpoint file */
+	private static final int MAGIC = 0x50544350;
+
+	/** The version of the format of a checkpoint file */
+	private static final int VERSION = 1;
+
+	/** The length of the header with the magic number, the version and the page count */
+	private static final int HEADER_LENGTH = 12;
+
+	/** The checkpoint file */
+	@Getter
+	private final File file;
+
+	/** The channel of the checkpoint file, it holds the lock of the file */
+	private final FileChannel channel;
+
+	/** The action that releases the checkpoint in its store */
+	private final Runnable releaseAction;
+
+	/** The texts of the pages that were found in the checkpoint file when it was opened */
+	private final List<String> resumedPageTexts;
+
+	/** The number of pages in the checkpoint file */
+	private int pageCount;
+
+	/** The number of appended pages that are not yet forced to the disk */
+	private int unsyncedPages;
+
+	/** The time in milliseconds of the last force to the disk */
+	private long lastSyncMillis = System.currentTimeMillis();
+
+	/** The flag that indicates if the checkpoint is closed */
+	private boolean closed;
+
+	PageCheckpoint(final File file, final FileChannel channel, final int documentPageCount,
+		final Runnable releaseAction) throws IOException
+	{
+		this.file = file;
+		this.channel = channel;
+		this.releaseAction = releaseAction;
+		this.resumedPageTexts = read(documentPageCount);
+		this.pageCount = resumedPageTexts.size();
+	}
+
+	/**
+	 * Gets the texts of the leading pages that were converted before the conversion was
+	 * interrupted, the conversion resumes with the first page that is missing
+	 *
+	 * @return the texts of the converted pages in page order
+	 */
+	public List<String> getResumedPageTexts()
+	{
+		return resumedPageTexts;
+	}
+
+	/**
+	 * Appends the text of the next page, the page is forced to the disk with the next batch
+	 *
+	 * @param pageIndex
+	 *            the zero based index of the page, it must be the next page
+	 * @param text
+	 *            the text of the page
+	 * @throws IOException
+	 *             if the checkpoint file could not be written
+	 */
+	public void append(final int pageIndex, final String text) throws IOException
+	{
+		if (pageIndex != pageCount)
+		{
+			throw new IllegalArgumentException(
+				"Page " + pageIndex + " is not the next page " + pageCount + " of " + file);
+		}
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer record = ByteBuffer.allocate(12 + bytes.length);
+		record.putInt(pageIndex).putInt(bytes.length).put(bytes)
+			.putInt(checksum(pageIndex, bytes)).flip();
+		long position = channel.size();
+		while (record.hasRemaining())
+		{
+			position += channel.write(record, position);
+		}
+		pageCount++;
+		unsyncedPages++;
+		if (SYNC_PAGE_COUNT <= unsyncedPages
+			|| SYNC_INTERVAL_MILLIS <= System.currentTimeMillis() - lastSyncMillis)
+		{
+			sync();
+		}
+	}
+
+	/**
+	 * Forces the appended pages to the disk
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be forced to the disk
+	 */
+	public void sync() throws IOException
+	{
+		if (0 < unsyncedPages)
+		{
+			channel.force(false);
+			unsyncedPages = 0;
+		}
+		lastSyncMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Closes and deletes the checkpoint file, this is done when the conversion is complete
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be deleted
+	 */
+	public void delete() throws IOException
+	{
+		unsyncedPages = 0;
+		close();
+		Files.deleteIfExists(file.toPath());
+	}
+
+	/**
+	 * Forces the appended pages to the disk and closes the checkpoint file, the file stays for
+	 * resuming the conversion
+	 */
+	@Override
+	public void close()
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		try
+		{
+			sync();
+		}
+		catch (IOException e)
+		{
+			log.warn("Checkpoint '{}' could not be forced to the disk", file, e);
+		}
+		try
+		{
+			channel.close();
+		}
+		catch (IOException e)
+		{
+			log.debug("Checkpoint '{}' could not be closed", file, e);
+		}
+		releaseAction.run();
+	}
+
+	private List<String> read(final int documentPageCount) throws IOException
+	{
+		List<String> pageTexts = new ArrayList<>();
+		long size = channel.size();
+		long validLength = 0;
+		if (HEADER_LENGTH <= size)
+		{
+			// the file is read through its locked channel, the stream is not closed because
+			// that would close the channel
+			DataInputStream input = new DataInputStream(new BufferedInputStream(
+				Channels.newInputStream(channel.position(0)), 64 * 1024));
+			if (input.readInt() == MAGIC && input.readInt() == VERSION
+				&& input.readInt() == documentPageCount)
+			{
+				validLength = HEADER_LENGTH;
+				while (validLength + 12 <= size && pageTexts.size() < documentPageCount)
+				{
+					int pageIndex = input.readInt();
+					int length = input.readInt();
+					if (pageIndex != pageTexts.size() || length < 0
+						|| size < validLength + 12 + length)
+					{
+						break;
+					}
+					byte[] bytes = input.readNBytes(length);
+					if (input.readInt() != checksum(pageIndex, bytes))
+					{
+						break;
+					}
+					pageTexts.add(new String(bytes, StandardCharsets.UTF_8));
+					validLength += 12 + length;
+				}
+			}
+		}
+		if (validLength == 0)
+		{
+			// a new checkpoint or one of another document version starts from the beginning
+			channel.truncate(0);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION)
+				.putInt(documentPageCount).flip();
+			while (header.hasRemaining())
+			{
+				channel.write(header, HEADER_LENGTH - header.remaining());
+			}
+			channel.force(false);
+		}
+		else if (validLength < size)
+		{
+			// the torn page of a crash is converted again
+			channel.truncate(validLength);
+			channel.force(false);
+		}
+		return List.copyOf(pageTexts);
+	}
+
+	private static int checksum(final int pageIndex, final byte[] bytes)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(ByteBuffer.allocate(4).putInt(pageIndex).array());
+		crc.update(bytes);
+		return (int)crc.getValue();
+	}
+
+}
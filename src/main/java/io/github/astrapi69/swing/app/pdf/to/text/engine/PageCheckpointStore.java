@@ -0,0 +1,187 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link PageCheckpointStore} holds the {@link PageCheckpoint} files of the running and
+ * the interrupted conversions. A checkpoint is identified by the content hash of the pdf and the
+ * options that have an effect on the text, so converting the same pdf with the same language
+ * again resumes an interrupted conversion. A checkpoint is only used by one conversion at a time,
+ * also across processes, and checkpoints that were not resumed for
+ * {@value #MAXIMUM_AGE_DAYS} days are deleted
+ */
+@Slf4j
+public class PageCheckpointStore
+{
+
+	/** The name of the default checkpoint directory in the application directory */
+	public static final String DEFAULT_DIRECTORY_NAME = "checkpoints";
+
+	/** The number of days after that an interrupted conversion is not resumed anymore */
+	public static final int MAXIMUM_AGE_DAYS = 30;
+
+	/** The file extension of the checkpoint files */
+	private static final String CHECKPOINT_EXTENSION = ".checkpoint";
+
+	/** The checkpoint directory */
+	@Getter
+	private final File directory;
+
+	/** The keys of the checkpoints that are open in this process */
+	private final Set<String> openKeys = new HashSet<>();
+
+	/**
+	 * Instantiates a new {@link PageCheckpointStore} and deletes the expired checkpoints of the
+	 * given directory
+	 *
+	 * @param directory
+	 *            the checkpoint directory
+	 */
+	public PageCheckpointStore(final File directory)
+	{
+		this.directory = directory;
+		deleteExpiredCheckpoints();
+	}
+
+	/**
+	 * Factory method for create a new {@link PageCheckpointStore} in the default checkpoint
+	 * directory
+	 *
+	 * @return the new {@link PageCheckpointStore} object
+	 */
+	public static PageCheckpointStore newDefaultStore()
+	{
+		return new PageCheckpointStore(
+			ApplicationDirectories.getDirectory(DEFAULT_DIRECTORY_NAME));
+	}
+
+	/**
+	 * Opens the checkpoint of the conversion of the given document with the given options
+	 *
+	 * @param documentHash
+	 *            the content hash of the pdf document
+	 * @param pageCount
+	 *            the number of pages that are converted
+	 * @param options
+	 *            the options of the conversion
+	 * @return the checkpoint with the pages of an interrupted conversion or null if the
+	 *         checkpoint is used by another conversion
+	 * @throws IOException
+	 *             if the checkpoint file could not be opened
+	 */
+	public PageCheckpoint open(final String documentHash, final int pageCount,
+		final ConversionOptions options) throws IOException
+	{
+		// the checkpoint holds the selected pages in order, so other page ranges need another one
+		String key = ContentHashes.of(documentHash + '|' + options.getOcrFingerprint()
+			+ ";textLayer=" + options.isTextLayerDetection()
+			+ (options.getPageRanges().isAll() ? "" : ";pages=" + options.getPageRanges()));
+		synchronized (openKeys)
+		{
+			if (!openKeys.add(key))
+			{
+				return null;
+			}
+		}
+		FileChannel channel = null;
+		try
+		{
+			Files.createDirectories(directory.toPath());
+			File file = new File(directory, key + CHECKPOINT_EXTENSION);
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			if (tryLock(channel) == null)
+			{
+				channel.close();
+				release(key);
+				return null;
+			}
+			// the modification time tells the cleanup that the checkpoint is still in use
+			file.setLastModified(System.currentTimeMillis());
+			return new PageCheckpoint(file, channel, pageCount, () -> release(key));
+		}
+		catch (IOException | RuntimeException e)
+		{
+			if (channel != null)
+			{
+				channel.close();
+			}
+			release(key);
+			throw e;
+		}
+	}
+
+	private void release(final String key)
+	{
+		synchronized (openKeys)
+		{
+			openKeys.remove(key);
+		}
+	}
+
+	private void deleteExpiredCheckpoints()
+	{
+		long expiredMillis = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAXIMUM_AGE_DAYS);
+		File[] files = directory
+			.listFiles((dir, name) -> name.endsWith(CHECKPOINT_EXTENSION));
+		for (File file : files != null ? files : new File[0])
+		{
+			if (file.lastModified() < expiredMillis && file.delete())
+			{
+				log.info("Expired checkpoint '{}' deleted", file.getName());
+			}
+		}
+	}
+
+	private static FileLock tryLock(final FileChannel channel) throws IOException
+	{
+		try
+		{
+			// the lock is placed behind the content, so reading and writing through the channel
+			// is not blocked on platforms with mandatory locks
+			return channel.tryLock(Long.MAX_VALUE - 1, 1, false);
+		}
+		catch (OverlappingFileLockException e)
+		{
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,403 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+/**
+ * The class {@link PageImagePreprocessor} prepares a rendered gray page image for the recognition.
+ * It straightens a skewed scan, crops the blank margins and the black scanner borders and
+ * binarizes the image with the threshold of Otsu, so that tesseract gets one bit instead of eight
+ * bits per pixel and no pixels outside of the content. All steps work on the raster rows and need
+ * no more memory than the resulting image
+ */
+public class PageImagePreprocessor
+{
+
+	/** The default maximum skew angle in degrees that is corrected */
+	public static final double DEFAULT_MAXIMUM_SKEW_DEGREES = 3d;
+
+	/** The step in degrees between the tested skew angles */
+	private static final double SKEW_STEP_DEGREES = 0.2d;
+
+	/** The approximate number of pixels that are sampled for the skew detection */
+	private static final int SKEW_SAMPLE_PIXELS = 250_000;
+
+	/** The ratio of dark pixels from which a row or column counts as scanner border */
+	private static final double BORDER_DARK_RATIO = 0.5d;
+
+	/** The number of pixels that are kept around the content when the borders are cropped */
+	private static final int CROP_PADDING = 16;
+
+	/** The maximum gray value */
+	private static final int WHITE = 255;
+
+	/** The maximum skew angle in degrees that is corrected */
+	private final double maximumSkewDegrees;
+
+	/**
+	 * Instantiates a new {@link PageImagePreprocessor} with the default maximum skew angle
+	 */
+	public PageImagePreprocessor()
+	{
+		this(DEFAULT_MAXIMUM_SKEW_DEGREES);
+	}
+
+	/**
+	 * Instantiates a new {@link PageImagePreprocessor}
+	 *
+	 * @param maximumSkewDegrees
+	 *            the maximum skew angle in degrees that is corrected
+	 */
+	public PageImagePreprocessor(final double maximumSkewDegrees)
+	{
+		this.maximumSkewDegrees = maximumSkewDegrees;
+	}
+
+	/**
+	 * Applies the preprocessing steps that are enabled in the given options to the given image
+	 *
+	 * @param grayImage
+	 *            the rendered page image of the type {@link BufferedImage#TYPE_BYTE_GRAY}
+	 * @param options
+	 *            the options with the enabled preprocessing steps
+	 * @return the preprocessed image or the given image if no step is enabled
+	 */
+	public BufferedImage preprocess(final BufferedImage grayImage, final ConversionOptions options)
+	{
+		if (!options.isDeskew() && !options.isBorderCropping() && !options.isBinarization())
+		{
+			return grayImage;
+		}
+		BufferedImage image = grayImage.getType() == BufferedImage.TYPE_BYTE_GRAY
+			? grayImage
+			: toGray(grayImage);
+		int threshold = otsuThreshold(image);
+		if (options.isDeskew())
+		{
+			double skewDegrees = detectSkewDegrees(image, threshold);
+			if (SKEW_STEP_DEGREES <= Math.abs(skewDegrees))
+			{
+				image = rotate(image, -skewDegrees);
+			}
+		}
+		Rectangle bounds = options.isBorderCropping()
+			? contentBounds(image, threshold)
+			: new Rectangle(0, 0, image.getWidth(), image.getHeight());
+		if (options.isBinarization())
+		{
+			return binarize(image, threshold, bounds);
+		}
+		return bounds.width == image.getWidth() && bounds.height == image.getHeight()
+			? image
+			: copy(image, bounds);
+	}
+
+	/**
+	 * Computes the threshold between dark and light pixels with the method of Otsu, that is the
+	 * gray value with the maximum variance between the two classes
+	 *
+	 * @param image
+	 *            the gray image
+	 * @return the threshold, pixels with a gray value less than or equal to the threshold are dark
+	 */
+	static int otsuThreshold(final BufferedImage image)
+	{
+		long[] histogram = new long[WHITE + 1];
+		Raster raster = image.getRaster();
+		int width = image.getWidth();
+		int[] row = new int[width];
+		for (int y = 0; y < image.getHeight(); y++)
+		{
+			raster.getSamples(0, y, width, 1, 0, row);
+			for (int value : row)
+			{
+				histogram[value]++;
+			}
+		}
+		long total = (long)width * image.getHeight();
+		double sum = 0;
+		for (int value = 0; value <= WHITE; value++)
+		{
+			sum += (double)value * histogram[value];
+		}
+		double backgroundSum = 0;
+		long backgroundCount = 0;
+		double maximumVariance = -1;
+		int threshold = WHITE / 2;
+		for (int value = 0; value <= WHITE; value++)
+		{
+			backgroundCount += histogram[value];
+			if (backgroundCount == 0)
+			{
+				continue;
+			}
+			long foregroundCount = total - backgroundCount;
+			if (foregroundCount == 0)
+			{
+				break;
+			}
+			backgroundSum += (double)value * histogram[value];
+			double backgroundMean = backgroundSum / backgroundCount;
+			double foregroundMean = (sum - backgroundSum) / foregroundCount;
+			double variance = (double)backgroundCount * foregroundCount
+				* (backgroundMean - foregroundMean) * (backgroundMean - foregroundMean);
+			if (maximumVariance < variance)
+			{
+				maximumVariance = variance;
+				threshold = value;
+			}
+		}
+		return threshold;
+	}
+
+	/**
+	 * Detects the skew angle of the text lines with the projection profile of a sample of the
+	 * dark pixels. The angle with the sharpest row profile is the angle of the text lines
+	 *
+	 * @param image
+	 *            the gray image
+	 * @param threshold
+	 *            the threshold for dark pixels
+	 * @return the skew angle in degrees, positive values are clockwise
+	 */
+	double detectSkewDegrees(final BufferedImage image, final int threshold)
+	{
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int step = Math.max(1,
+			(int)Math.sqrt((double)width * height / SKEW_SAMPLE_PIXELS));
+		int sampleWidth = (width + step - 1) / step;
+		int[] row = new int[width];
+		int[] xs = new int[sampleWidth * 16];
+		int[] ys = new int[xs.length];
+		int count = 0;
+		Raster raster = image.getRaster();
+		for (int y = 0; y < height; y += step)
+		{
+			raster.getSamples(0, y, width, 1, 0, row);
+			for (int x = 0; x < width; x += step)
+			{
+				if (row[x] <= threshold)
+				{
+					if (count == xs.length)
+					{
+						xs = Arrays.copyOf(xs, count * 2);
+						ys = Arrays.copyOf(ys, count * 2);
+					}
+					xs[count] = x;
+					ys[count] = y;
+					count++;
+				}
+			}
+		}
+		if (count == 0)
+		{
+			return 0d;
+		}
+		int binCount = height / step + width / step + 2;
+		int[] bins = new int[binCount];
+		double bestScore = -1;
+		double bestDegrees = 0d;
+		for (double degrees = -maximumSkewDegrees; degrees <= maximumSkewDegrees
+			+ SKEW_STEP_DEGREES / 2; degrees += SKEW_STEP_DEGREES)
+		{
+			double radians = Math.toRadians(degrees);
+			double sin = Math.sin(radians);
+			double cos = Math.cos(radians);
+			Arrays.fill(bins, 0);
+			for (int i = 0; i < count; i++)
+			{
+				int bin = (int)((ys[i] * cos - xs[i] * sin) / step) + width / step + 1;
+				if (0 <= bin && bin < binCount)
+				{
+					bins[bin]++;
+				}
+			}
+			double score = 0;
+			for (int i = 1; i < binCount; i++)
+			{
+				double difference = bins[i] - bins[i - 1];
+				score += difference * difference;
+			}
+			if (bestScore < score)
+			{
+				bestScore = score;
+				bestDegrees = degrees;
+			}
+		}
+		return bestDegrees;
+	}
+
+	private static BufferedImage rotate(final BufferedImage image, final double degrees)
+	{
+		BufferedImage rotated = new BufferedImage(image.getWidth(), image.getHeight(),
+			BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D graphics = rotated.createGraphics();
+		try
+		{
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.rotate(Math.toRadians(degrees), image.getWidth() / 2d,
+				image.getHeight() / 2d);
+			graphics.drawImage(image, 0, 0, null);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return rotated;
+	}
+
+	/**
+	 * Finds the bounds of the content, that is the area inside the blank margins and the dark
+	 * scanner borders
+	 *
+	 * @param image
+	 *            the gray image
+	 * @param threshold
+	 *            the threshold for dark pixels
+	 * @return the bounds of the content with some padding or the whole image if no content was
+	 *         found
+	 */
+	static Rectangle contentBounds(final BufferedImage image, final int threshold)
+	{
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] row = new int[width];
+		Raster raster = image.getRaster();
+		// the columns are measured first, so that the dark pixels of vertical scanner borders
+		// are not counted in the rows
+		int[] darkPerColumn = new int[width];
+		for (int y = 0; y < height; y++)
+		{
+			raster.getSamples(0, y, width, 1, 0, row);
+			for (int x = 0; x < width; x++)
+			{
+				if (row[x] <= threshold)
+				{
+					darkPerColumn[x]++;
+				}
+			}
+		}
+		int left = firstContentIndex(darkPerColumn, height, 0, 1);
+		int right = firstContentIndex(darkPerColumn, height, width - 1, -1);
+		if (left < 0 || right < left)
+		{
+			return new Rectangle(0, 0, width, height);
+		}
+		int contentWidth = right - left + 1;
+		int[] darkPerRow = new int[height];
+		for (int y = 0; y < height; y++)
+		{
+			raster.getSamples(left, y, contentWidth, 1, 0, row);
+			for (int x = 0; x < contentWidth; x++)
+			{
+				if (row[x] <= threshold)
+				{
+					darkPerRow[y]++;
+				}
+			}
+		}
+		int top = firstContentIndex(darkPerRow, contentWidth, 0, 1);
+		int bottom = firstContentIndex(darkPerRow, contentWidth, height - 1, -1);
+		if (top < 0 || bottom < top)
+		{
+			return new Rectangle(0, 0, width, height);
+		}
+		int x = Math.max(0, left - CROP_PADDING);
+		int y = Math.max(0, top - CROP_PADDING);
+		return new Rectangle(x, y, Math.min(width, right + CROP_PADDING + 1) - x,
+			Math.min(height, bottom + CROP_PADDING + 1) - y);
+	}
+
+	private static int firstContentIndex(final int[] darkCounts, final int length,
+		final int start, final int direction)
+	{
+		for (int i = start; 0 <= i && i < darkCounts.length; i += direction)
+		{
+			if (0 < darkCounts[i] && darkCounts[i] < length * BORDER_DARK_RATIO)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static BufferedImage binarize(final BufferedImage image, final int threshold,
+		final Rectangle bounds)
+	{
+		BufferedImage binary = new BufferedImage(bounds.width, bounds.height,
+			BufferedImage.TYPE_BYTE_BINARY);
+		Raster raster = image.getRaster();
+		WritableRaster binaryRaster = binary.getRaster();
+		int[] row = new int[bounds.width];
+		for (int y = 0; y < bounds.height; y++)
+		{
+			raster.getSamples(bounds.x, bounds.y + y, bounds.width, 1, 0, row);
+			for (int x = 0; x < bounds.width; x++)
+			{
+				// the palette of a binary image has black at index 0 and white at index 1
+				row[x] = row[x] <= threshold ? 0 : 1;
+			}
+			binaryRaster.setSamples(0, y, bounds.width, 1, 0, row);
+		}
+		return binary;
+	}
+
+	private static BufferedImage copy(final BufferedImage image, final Rectangle bounds)
+	{
+		BufferedImage copy = new BufferedImage(bounds.width, bounds.height,
+			BufferedImage.TYPE_BYTE_GRAY);
+		copy.getRaster().setRect(-bounds.x, -bounds.y, image.getRaster());
+		return copy;
+	}
+
+	private static BufferedImage toGray(final BufferedImage image)
+	{
+		BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(),
+			BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D graphics = gray.createGraphics();
+		try
+		{
+			graphics.drawImage(image, 0, 0, null);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return gray;
+	}
+
+}
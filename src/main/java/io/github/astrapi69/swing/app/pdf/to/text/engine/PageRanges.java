@@ -0,0 +1,184 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+/**
+ * The class {@link PageRanges} selects the pages of a pdf document that are converted. The pages
+ * are given one based as comma separated single pages and ranges like '3-5,8,10-', a range without
+ * an end reaches to the last page. The selected pages are converted in ascending page order, every
+ * page at most once
+ */
+@EqualsAndHashCode
+public final class PageRanges
+{
+
+	/** The page ranges that select all pages */
+	public static final PageRanges ALL = new PageRanges(List.of());
+
+	/** The ranges, an empty list selects all pages */
+	private final List<Range> ranges;
+
+	private PageRanges(final List<Range> ranges)
+	{
+		this.ranges = List.copyOf(ranges);
+	}
+
+	/**
+	 * Parses the given page ranges
+	 *
+	 * @param value
+	 *            the one based pages and ranges like '3-5,8,10-', a blank value selects all pages
+	 * @return the parsed {@link PageRanges} object
+	 * @throws IllegalArgumentException
+	 *             if the value is no valid page range
+	 */
+	public static PageRanges parse(final @NonNull String value)
+	{
+		if (value.isBlank())
+		{
+			return ALL;
+		}
+		List<Range> ranges = new ArrayList<>();
+		// the limit keeps trailing empty parts, so '1,' is rejected like '1,,2'
+		for (String part : value.split(",", -1))
+		{
+			String range = part.strip();
+			int separator = range.indexOf('-');
+			if (separator < 0)
+			{
+				int page = pageOf(range, value);
+				ranges.add(new Range(page, page));
+				continue;
+			}
+			int first = pageOf(range.substring(0, separator).strip(), value);
+			String end = range.substring(separator + 1).strip();
+			int last = end.isEmpty() ? Integer.MAX_VALUE : pageOf(end, value);
+			if (last < first)
+			{
+				throw new IllegalArgumentException(
+					"Page range '" + range + "' ends before it starts in '" + value + "'");
+			}
+			ranges.add(new Range(first, last));
+		}
+		return new PageRanges(ranges);
+	}
+
+	private static int pageOf(final String page, final String value)
+	{
+		try
+		{
+			int pageNumber = Integer.parseInt(page);
+			if (0 < pageNumber)
+			{
+				return pageNumber;
+			}
+		}
+		catch (NumberFormatException e)
+		{
+			// handled below
+		}
+		throw new IllegalArgumentException(
+			"Page '" + page + "' is no positive page number in '" + value + "'");
+	}
+
+	/**
+	 * Checks if these page ranges select all pages
+	 *
+	 * @return true if all pages are selected
+	 */
+	public boolean isAll()
+	{
+		return ranges.isEmpty();
+	}
+
+	/**
+	 * Gets the zero based indexes of the selected pages of a document with the given number of
+	 * pages, pages beyond the end of the document are ignored
+	 *
+	 * @param pageCount
+	 *            the number of pages of the document
+	 * @return the ascending zero based page indexes
+	 */
+	public List<Integer> getPageIndexes(final int pageCount)
+	{
+		boolean[] selected = new boolean[pageCount];
+		for (Range range : isAll() ? List.of(new Range(1, Integer.MAX_VALUE)) : ranges)
+		{
+			for (int page = range.first(); page <= Math.min(range.last(), pageCount); page++)
+			{
+				selected[page - 1] = true;
+			}
+		}
+		List<Integer> pageIndexes = new ArrayList<>();
+		for (int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+		{
+			if (selected[pageIndex])
+			{
+				pageIndexes.add(pageIndex);
+			}
+		}
+		return pageIndexes;
+	}
+
+	/**
+	 * Gets the page ranges in the notation of {@link #parse(String)}, an empty string for all pages
+	 *
+	 * @return the page ranges
+	 */
+	@Override
+	public String toString()
+	{
+		return ranges.stream().map(Range::toString).collect(Collectors.joining(","));
+	}
+
+	/**
+	 * The record {@link Range} is a range of one based page numbers
+	 *
+	 * @param first
+	 *            the first page number
+	 * @param last
+	 *            the last page number, {@link Integer#MAX_VALUE} for the last page of the document
+	 */
+	private record Range(int first, int last)
+	{
+		@Override
+		public String toString()
+		{
+			if (first == last)
+			{
+				return String.valueOf(first);
+			}
+			return first + "-" + (last == Integer.MAX_VALUE ? "" : String.valueOf(last));
+		}
+	}
+
+}
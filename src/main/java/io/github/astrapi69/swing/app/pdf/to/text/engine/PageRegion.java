@@ -0,0 +1,150 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.geom.Rectangle2D;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import lombok.NonNull;
+
+/**
+ * The record {@link PageRegion} is a rectangular region of interest that is converted instead of
+ * the whole page. The region is given relative to the displayed page with the origin in the upper
+ * left corner, so the same region like a header block fits every page of a document regardless of
+ * its size and rotation
+ *
+ * @param x
+ *            the left edge as ratio of the page width between 0 and 1
+ * @param y
+ *            the top edge as ratio of the page height between 0 and 1
+ * @param width
+ *            the width as ratio of the page width
+ * @param height
+ *            the height as ratio of the page height
+ */
+public record PageRegion(double x, double y, double width, double height)
+{
+
+	/** The tolerance for the rounding errors of the percent conversion at the page edges */
+	private static final double TOLERANCE = 1e-9;
+
+	/**
+	 * Instantiates a new {@link PageRegion}
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the region is empty or not inside of the page
+	 */
+	public PageRegion
+	{
+		// the negated comparisons also reject not a number
+		if (!(0 <= x && 0 <= y && 0 < width && 0 < height && x + width <= 1 + TOLERANCE
+			&& y + height <= 1 + TOLERANCE))
+		{
+			throw new IllegalArgumentException("Region x=" + x + ", y=" + y + ", width=" + width
+				+ ", height=" + height + " is not inside of the page");
+		}
+	}
+
+	/**
+	 * Parses the given region in percent of the page
+	 *
+	 * @param value
+	 *            the comma separated left edge, top edge, width and height in percent of the page
+	 *            like '0,0,100,20' for the upper fifth of the page, a blank value is the whole page
+	 * @return the parsed {@link PageRegion} object or null for the whole page
+	 * @throws IllegalArgumentException
+	 *             if the value is no valid region
+	 */
+	public static PageRegion parse(final @NonNull String value)
+	{
+		if (value.isBlank())
+		{
+			return null;
+		}
+		String[] parts = value.split(",", -1);
+		if (parts.length != 4)
+		{
+			throw new IllegalArgumentException(
+				"Region '" + value + "' must be given as x,y,width,height in percent");
+		}
+		double[] percents = new double[4];
+		for (int index = 0; index < parts.length; index++)
+		{
+			try
+			{
+				percents[index] = Double.parseDouble(parts[index].strip());
+			}
+			catch (NumberFormatException e)
+			{
+				throw new IllegalArgumentException(
+					"Region '" + value + "' contains no number at position " + (index + 1), e);
+			}
+		}
+		return new PageRegion(percents[0] / 100, percents[1] / 100, percents[2] / 100,
+			percents[3] / 100);
+	}
+
+	/**
+	 * Gets the bounds of this region on the given page in the display coordinates of the page
+	 * scaled with the given factor, the page is rotated as it is displayed
+	 *
+	 * @param page
+	 *            the pdf page
+	 * @param scale
+	 *            the factor for scaling pdf points, 1 for pdf points
+	 * @return the bounds of this region
+	 */
+	public Rectangle2D getBounds(final @NonNull PDPage page, final double scale)
+	{
+		PDRectangle cropBox = page.getCropBox();
+		boolean rotated = page.getRotation() % 180 != 0;
+		double pageWidth = (rotated ? cropBox.getHeight() : cropBox.getWidth()) * scale;
+		double pageHeight = (rotated ? cropBox.getWidth() : cropBox.getHeight()) * scale;
+		return new Rectangle2D.Double(x * pageWidth, y * pageHeight, width * pageWidth,
+			height * pageHeight);
+	}
+
+	/**
+	 * Gets the region in the notation of {@link #parse(String)}
+	 *
+	 * @return the region in percent of the page
+	 */
+	@Override
+	public String toString()
+	{
+		return format(x) + "," + format(y) + "," + format(width) + "," + format(height);
+	}
+
+	private static String format(final double ratio)
+	{
+		double percent = ratio * 100;
+		return percent == Math.rint(percent)
+			? String.valueOf((long)percent)
+			: String.valueOf(percent);
+	}
+
+}
@@ -0,0 +1,987 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import io.github.astrapi69.swing.app.pdf.to.text.metrics.ConversionMetrics;
+import io.github.astrapi69.swing.app.pdf.to.text.metrics.ConversionMetrics.StageTimer;
+import io.github.astrapi69.swing.app.pdf.to.text.metrics.ConversionStage;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link PdfConversionEngine} converts pdf documents page by page to text. Every page
+ * passes a pipeline of stages: the render stage takes the text from the cache or the text layer
+ * or renders the page, the recognize stage preprocesses and recognizes the rendered image and the
+ * thread that started the conversion writes the text to the result file in page order, pages are
+ * separated with a form feed character. The render and the recognize stage run concurrently on
+ * bounded thread pools and are connected by a bounded queue of rendered pages. The images that
+ * exist at the same time are limited by the {@link MemoryBudget} of the engine, so the rendering
+ * waits when the ocr falls behind and the peak heap does not depend on the length of the
+ * documents or the size of their pages. Pages with a usable text layer are taken directly from
+ * the pdf without ocr and pages that were already recognized are taken from the
+ * {@link OcrResultCache}. With {@link ConversionOptions#isLanguageDetection()} the recognize
+ * stage first detects the language of every page with a {@link LanguageDetector}. The text of a
+ * page is extracted by the {@link TextExtractionEngine} objects of the
+ * {@link TextExtractionEngineSelector}, plugins can add further engines. The
+ * {@link PageRanges} and the {@link PageRegion} of the options restrict the conversion to some
+ * pages and to a region of every page, only the region is rendered and recognized.<br>
+ * <br>
+ * An instance is thread safe and is meant to be shared for the lifetime of the application
+ */
+@Slf4j
+public class PdfConversionEngine implements AutoCloseable
+{
+
+	/** The system property for overriding the default number of concurrently processed pages */
+	public static final String SYSTEM_PROPERTY_PARALLELISM = "pdf.to.text.parallelism";
+
+	/** The character that separates the pages in the result text file */
+	public static final char PAGE_SEPARATOR = '\f';
+
+	/**
+	 * The number of images per page that the memory budget reserves, the rendered image, the
+	 * preprocessed image and the copy that tesseract recognizes
+	 */
+	static final int IMAGE_COPIES_PER_PAGE = 3;
+
+	/** The number of rendered pages per recognize thread that wait for the recognition */
+	static final int RENDERED_PAGES_PER_THREAD = 1;
+
+	/** The number of pages that are processed concurrently in every stage */
+	@Getter
+	private final int parallelism;
+
+	/** The executor of the render stage */
+	private final ExecutorService renderExecutor;
+
+	/** The executor of the recognize stage with the bounded queue of rendered pages */
+	private final ThreadPoolExecutor recognizeExecutor;
+
+	/** The budget of the memory of the page images of all conversions */
+	@Getter
+	private final MemoryBudget memoryBudget;
+
+	/** The preprocessor that prepares the rendered pages for the recognition */
+	private final PageImagePreprocessor pageImagePreprocessor = new PageImagePreprocessor();
+
+	/** The cache for the recognized text of pages, null if no cache is used */
+	@Getter
+	private final OcrResultCache ocrResultCache;
+
+	/** The pool of warm tesseract engines */
+	@Getter
+	private final TesseractEnginePool tesseractEnginePool;
+
+	/** The store of the checkpoints for resuming interrupted conversions, null if none is used */
+	@Getter
+	private final PageCheckpointStore pageCheckpointStore;
+
+	/** The selector of the engines that extract the text of the pages */
+	@Getter
+	private final TextExtractionEngineSelector textExtractionEngineSelector;
+
+	/** The metrics of the stages of all conversions of this engine */
+	@Getter
+	private final ConversionMetrics conversionMetrics = new ConversionMetrics();
+
+	/** The listeners that are notified about every converted document */
+	private final List<ConversionListener> conversionListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Instantiates a new {@link PdfConversionEngine} with the default parallelism, the default ocr
+	 * cache and the default checkpoint store
+	 */
+	public PdfConversionEngine()
+	{
+		this(defaultParallelism(), OcrResultCache.newDefaultCache(),
+			PageCheckpointStore.newDefaultStore());
+	}
+
+	/**
+	 * Instantiates a new {@link PdfConversionEngine}
+	 *
+	 * @param parallelism
+	 *            the number of pages that are processed concurrently
+	 * @param ocrResultCache
+	 *            the cache for the recognized text of pages or null if no cache should be used
+	 */
+	public PdfConversionEngine(final int parallelism, final OcrResultCache ocrResultCache)
+	{
+		this(parallelism, ocrResultCache, (PageCheckpointStore)null);
+	}
+
+	/**
+	 * Instantiates a new {@link PdfConversionEngine}
+	 *
+	 * @param parallelism
+	 *            the number of pages that are processed concurrently
+	 * @param ocrResultCache
+	 *            the cache for the recognized text of pages or null if no cache should be used
+	 * @param pageCheckpointStore
+	 *            the store of the checkpoints for resuming interrupted conversions or null if
+	 *            interrupted conversions should not be resumed
+	 */
+	public PdfConversionEngine(final int parallelism, final OcrResultCache ocrResultCache,
+		final PageCheckpointStore pageCheckpointStore)
+	{
+		// the language detection keeps the engines of every candidate and of one combination
+		// warm for every worker
+		this(parallelism, ocrResultCache,
+			new TesseractEnginePool(parallelism,
+				parallelism * (LanguageDetector.MAXIMUM_CANDIDATES + 1),
+				TesseractEnginePool.DEFAULT_IDLE_TIMEOUT_MILLIS),
+			pageCheckpointStore);
+	}
+
+	/**
+	 * Instantiates a new {@link PdfConversionEngine}
+	 *
+	 * @param parallelism
+	 *            the number of pages that are processed concurrently
+	 * @param ocrResultCache
+	 *            the cache for the recognized text of pages or null if no cache should be used
+	 * @param tesseractEnginePool
+	 *            the pool of warm tesseract engines
+	 */
+	public PdfConversionEngine(final int parallelism, final OcrResultCache ocrResultCache,
+		final @NonNull TesseractEnginePool tesseractEnginePool)
+	{
+		this(parallelism, ocrResultCache, tesseractEnginePool, null);
+	}
+
+	/**
+	 * Instantiates a new {@link PdfConversionEngine}
+	 *
+	 * @param parallelism
+	 *            the number of pages that are processed concurrently
+	 * @param ocrResultCache
+	 *            the cache for the recognized text of pages or null if no cache should be used
+	 * @param tesseractEnginePool
+	 *            the pool of warm tesseract engines
+	 * @param pageCheckpointStore
+	 *            the store of the checkpoints for resuming interrupted conversions or null if
+	 *            interrupted conversions should not be resumed
+	 */
+	public PdfConversionEngine(final int parallelism, final OcrResultCache ocrResultCache,
+		final @NonNull TesseractEnginePool tesseractEnginePool,
+		final PageCheckpointStore pageCheckpointStore)
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException(
+				"parallelism must be positive but was " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.ocrResultCache = ocrResultCache;
+		this.tesseractEnginePool = tesseractEnginePool;
+		this.pageCheckpointStore = pageCheckpointStore;
+		this.textExtractionEngineSelector = new TextExtractionEngineSelector(
+			List.of(new TextLayerTextExtractionEngine(),
+				new TesseractTextExtractionEngine(tesseractEnginePool)));
+		this.memoryBudget = new MemoryBudget(MemoryBudget.defaultCapacity());
+		this.renderExecutor = Executors.newFixedThreadPool(parallelism,
+			newThreadFactory("pdf-to-text-render-"));
+		this.recognizeExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(parallelism * RENDERED_PAGES_PER_THREAD),
+			newThreadFactory("pdf-to-text-recognize-"), PdfConversionEngine::putBlocking);
+		// the rendered pages are put directly into the queue when it is full, so the recognize
+		// threads must already run
+		this.recognizeExecutor.prestartAllCoreThreads();
+	}
+
+	/**
+	 * Gets the default parallelism that is the value of the system property
+	 * {@value #SYSTEM_PROPERTY_PARALLELISM} if set or else the number of available processors
+	 *
+	 * @return the default parallelism
+	 */
+	public static int defaultParallelism()
+	{
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		return Math.max(1, Integer.getInteger(SYSTEM_PROPERTY_PARALLELISM, availableProcessors));
+	}
+
+	/**
+	 * Factory method for create a new {@link ThreadFactory} that creates daemon threads with the
+	 * given name prefix
+	 *
+	 * @param namePrefix
+	 *            the prefix of the thread names
+	 * @return the new {@link ThreadFactory} object
+	 */
+	public static ThreadFactory newThreadFactory(final String namePrefix)
+	{
+		AtomicInteger threadNumber = new AtomicInteger(1);
+		return runnable -> {
+			Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Converts the given pdf file to text and writes the text of all pages in page order to the
+	 * given result text file
+	 *
+	 * @param pdfFile
+	 *            the pdf file to convert
+	 * @param resultTextFile
+	 *            the text file to write the recognized text to
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionReport} object that references the result text file
+	 * @throws IOException
+	 *             if the pdf file could not be read, a page could not be recognized or the result
+	 *             file could not be written
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the pages
+	 */
+	public ConversionReport convert(final @NonNull File pdfFile, final @NonNull File resultTextFile,
+		final @NonNull ConversionOptions options) throws IOException, InterruptedException
+	{
+		return convert(pdfFile, resultTextFile, options, PageListener.NONE);
+	}
+
+	/**
+	 * Converts the given pdf file to text and writes the text of all pages in page order to the
+	 * given result text file. The given {@link PageListener} is notified as soon as a page is
+	 * written, so the text can be shown before the whole document is converted
+	 *
+	 * @param pdfFile
+	 *            the pdf file to convert
+	 * @param resultTextFile
+	 *            the text file to write the recognized text to
+	 * @param options
+	 *            the options of the conversion
+	 * @param pageListener
+	 *            the listener that is notified about every converted page
+	 * @return the {@link ConversionReport} object that references the result text file
+	 * @throws IOException
+	 *             if the pdf file could not be read, a page could not be recognized or the result
+	 *             file could not be written
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the pages, this is the
+	 *             way to cancel a conversion. The pages that are not yet started are cancelled,
+	 *             pages in progress are stopped before their next processing step and the
+	 *             incomplete result text file is deleted unless
+	 *             {@link ConversionOptions#isKeepIncompleteResult()} is set
+	 */
+	public ConversionReport convert(final @NonNull File pdfFile, final @NonNull File resultTextFile,
+		final @NonNull ConversionOptions options, final @NonNull PageListener pageListener)
+		throws IOException, InterruptedException
+	{
+		long start = System.currentTimeMillis();
+		final String documentName = pdfFile.getName();
+		int pageCount;
+		int textLayerPages = 0;
+		int cachedPages = 0;
+		int resumedPages = 0;
+		String documentHash;
+		try
+		{
+			documentHash = newDocumentHash(pdfFile, options);
+			final boolean ocrCacheUsed = isOcrCacheUsed(options);
+			final LanguageDetector languageDetector = options.isLanguageDetection()
+				? new LanguageDetector(tesseractEnginePool, options.getDetectionLanguageCodes(),
+					options.getLanguageCode())
+				: null;
+			PdfDocumentPool documentPool;
+			try (StageTimer timer = conversionMetrics.startStage(ConversionStage.DOCUMENT_LOAD,
+				documentName, -1))
+			{
+				documentPool = new PdfDocumentPool(pdfFile, parallelism);
+				timer.setBytes(pdfFile.length());
+			}
+			List<Integer> pageIndexes = options.getPageRanges()
+				.getPageIndexes(documentPool.getPageCount());
+			if (pageIndexes.isEmpty())
+			{
+				int documentPageCount = documentPool.getPageCount();
+				documentPool.close();
+				throw new IOException("The pages '" + options.getPageRanges() + "' are not in '"
+					+ documentName + "' with " + documentPageCount + " pages");
+			}
+			try (documentPool;
+				PageCheckpoint checkpoint = openCheckpoint(documentName, documentHash,
+					pageIndexes.size(), options))
+			{
+				// the result and the checkpoint contain only the selected pages in page order
+				pageCount = pageIndexes.size();
+				List<String> resumedPageTexts = checkpoint != null
+					? checkpoint.getResumedPageTexts()
+					: List.of();
+				resumedPages = resumedPageTexts.size();
+				List<PageTask> pages = new ArrayList<>(pageCount - resumedPages);
+				try (BufferedWriter writer = Files.newBufferedWriter(resultTextFile.toPath(),
+					StandardCharsets.UTF_8))
+				{
+					// an interrupted conversion resumes with the first page that is missing in
+					// its checkpoint
+					for (int pageIndex = resumedPages; pageIndex < pageCount; pageIndex++)
+					{
+						PageTask pageTask = new PageTask(pageIndex, pageIndexes.get(pageIndex));
+						pageTask.renderFuture = renderExecutor.submit(() -> renderStage(pageTask,
+							documentPool, documentName, ocrCacheUsed, languageDetector, pageCount,
+							options));
+						pages.add(pageTask);
+					}
+					for (int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+					{
+						PageResult pageResult = pageIndex < resumedPages
+							? new PageResult(pageIndex, pageCount,
+								resumedPageTexts.get(pageIndex), PageSource.CHECKPOINT,
+								pageIndexes.get(pageIndex))
+							: getPageResult(pages.get(pageIndex - resumedPages).result,
+								pageIndexes.get(pageIndex));
+						if (pageResult.getSource() == PageSource.TEXT_LAYER)
+						{
+							textLayerPages++;
+						}
+						else if (pageResult.getSource() == PageSource.CACHE)
+						{
+							cachedPages++;
+						}
+						try (StageTimer timer = conversionMetrics.startStage(
+							ConversionStage.RESULT_WRITE, documentName,
+							pageResult.getPdfPageIndex()))
+						{
+							if (0 < pageIndex)
+							{
+								writer.write(PAGE_SEPARATOR);
+							}
+							writer.write(pageResult.getText());
+							writer.flush();
+							timer.setBytes(pageResult.getText().length());
+						}
+						if (checkpoint != null && resumedPages <= pageIndex)
+						{
+							try (StageTimer timer = conversionMetrics.startStage(
+								ConversionStage.CHECKPOINT_WRITE, documentName,
+								pageResult.getPdfPageIndex()))
+							{
+								checkpoint.append(pageIndex, pageResult.getText());
+								timer.setBytes(pageResult.getText().length());
+							}
+						}
+						pageListener.onPageConverted(pageResult);
+					}
+				}
+				finally
+				{
+					pages.forEach(PageTask::cancel);
+				}
+				if (checkpoint != null)
+				{
+					// the complete result makes the checkpoint obsolete
+					checkpoint.delete();
+				}
+			}
+		}
+		catch (IOException | InterruptedException | RuntimeException e)
+		{
+			conversionMetrics.recordUnfinishedDocument(documentName,
+				e instanceof InterruptedException);
+			// an incomplete result is only left behind on request, otherwise the pages already
+			// delivered to the page listener are all the caller gets from a failed or cancelled
+			// conversion
+			if (!options.isKeepIncompleteResult())
+			{
+				Files.deleteIfExists(resultTextFile.toPath());
+			}
+			throw e;
+		}
+		long elapsedMillis = System.currentTimeMillis() - start;
+		conversionMetrics.recordDocument(documentName, pageCount, textLayerPages, cachedPages,
+			resumedPages, elapsedMillis, pdfFile.length(), resultTextFile.length());
+		log.info("Converted {} pages of '{}' with {} threads in {} ms, {} from text layer, "
+			+ "{} from cache, {} resumed from checkpoint", pageCount, pdfFile.getName(),
+			parallelism, elapsedMillis, textLayerPages, cachedPages, resumedPages);
+		ConversionReport conversionReport = ConversionReport.builder()
+			.conversionResult(ConversionResult.builder().resultTextFile(resultTextFile).build())
+			.pageCount(pageCount).textLayerPages(textLayerPages).cachedPages(cachedPages)
+			.ocrPages(pageCount - textLayerPages - cachedPages - resumedPages)
+			.resumedPages(resumedPages).elapsedMillis(elapsedMillis).contentHash(documentHash)
+			.build();
+		fireDocumentConverted(pdfFile, resultTextFile, options, conversionReport);
+		return conversionReport;
+	}
+
+	/**
+	 * Adds the given listener that is notified about every successfully converted document
+	 *
+	 * @param conversionListener
+	 *            the listener to add
+	 */
+	public void addConversionListener(final @NonNull ConversionListener conversionListener)
+	{
+		conversionListeners.add(conversionListener);
+	}
+
+	/**
+	 * Removes the given listener
+	 *
+	 * @param conversionListener
+	 *            the listener to remove
+	 */
+	public void removeConversionListener(final ConversionListener conversionListener)
+	{
+		conversionListeners.remove(conversionListener);
+	}
+
+	private void fireDocumentConverted(final File pdfFile, final File resultTextFile,
+		final ConversionOptions options, final ConversionReport conversionReport)
+	{
+		for (ConversionListener conversionListener : conversionListeners)
+		{
+			try
+			{
+				conversionListener.onDocumentConverted(pdfFile, resultTextFile, options,
+					conversionReport);
+			}
+			catch (RuntimeException e)
+			{
+				// a failing listener must not turn a successful conversion into a failed one
+				log.warn("Conversion listener failed for '{}'", pdfFile.getName(), e);
+			}
+		}
+	}
+
+	private boolean isOcrCacheUsed(final ConversionOptions options)
+	{
+		return ocrResultCache != null && options.isOcrCacheEnabled();
+	}
+
+	private boolean isCheckpointUsed(final ConversionOptions options)
+	{
+		return pageCheckpointStore != null && options.isCheckpointEnabled();
+	}
+
+	private PageCheckpoint openCheckpoint(final String documentName, final String documentHash,
+		final int pageCount, final ConversionOptions options)
+	{
+		if (documentHash == null || !isCheckpointUsed(options))
+		{
+			return null;
+		}
+		try
+		{
+			PageCheckpoint checkpoint = pageCheckpointStore.open(documentHash, pageCount,
+				options);
+			if (checkpoint == null)
+			{
+				log.info("Checkpoint of '{}' is used by another conversion", documentName);
+			}
+			else if (!checkpoint.getResumedPageTexts().isEmpty())
+			{
+				log.info("Resuming '{}' at page {} from its checkpoint", documentName,
+					checkpoint.getResumedPageTexts().size() + 1);
+			}
+			return checkpoint;
+		}
+		catch (IOException e)
+		{
+			// without a checkpoint the conversion only loses the ability to be resumed
+			log.warn("Checkpoint of '{}' could not be opened", documentName, e);
+			return null;
+		}
+	}
+
+	private String newDocumentHash(final File pdfFile, final ConversionOptions options)
+		throws IOException
+	{
+		if (!isOcrCacheUsed(options) && !isCheckpointUsed(options))
+		{
+			return null;
+		}
+		try (StageTimer timer = conversionMetrics.startStage(ConversionStage.CONTENT_HASH,
+			pdfFile.getName(), -1))
+		{
+			timer.setBytes(pdfFile.length());
+			return ContentHashes.of(pdfFile);
+		}
+	}
+
+	private PageResult getPageResult(final Future<PageResult> page, final int pageIndex)
+		throws IOException, InterruptedException
+	{
+		try
+		{
+			return page.get();
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException)
+			{
+				throw ioException;
+			}
+			throw new IOException("Page " + (pageIndex + 1) + " could not be converted", cause);
+		}
+	}
+
+	/**
+	 * The render stage of a page. The text of the page is taken from the cache or the text layer
+	 * if possible, otherwise the memory of the images is reserved, the page is rendered and handed
+	 * over to the recognize stage. The hand over waits while the queue of rendered pages is full
+	 */
+	private void renderStage(final PageTask pageTask, final PdfDocumentPool documentPool,
+		final String documentName, final boolean ocrCacheUsed,
+		final LanguageDetector languageDetector, final int pageCount,
+		final ConversionOptions options)
+	{
+		final int pageIndex = pageTask.pdfPageIndex;
+		MemoryBudget.Reservation reservation = null;
+		try
+		{
+			if (pageTask.result.isDone())
+			{
+				return;
+			}
+			String cacheKey = null;
+			BufferedImage image;
+			float renderDpi;
+			checkInterrupted(pageIndex);
+			PDDocument document = documentPool.borrow();
+			try
+			{
+				if (ocrCacheUsed)
+				{
+					String pageHash;
+					try (StageTimer timer = conversionMetrics
+						.startStage(ConversionStage.CONTENT_HASH, documentName, pageIndex))
+					{
+						pageHash = ContentHashes.of(document.getPage(pageIndex));
+					}
+					cacheKey = OcrResultCache.newKey(pageHash, options);
+					String cachedText;
+					try (StageTimer timer = conversionMetrics
+						.startStage(ConversionStage.CACHE_LOOKUP, documentName, pageIndex))
+					{
+						cachedText = ocrResultCache.get(cacheKey);
+					}
+					if (cachedText != null)
+					{
+						pageTask.complete(pageCount, cachedText, PageSource.CACHE);
+						return;
+					}
+				}
+				if (options.isTextLayerDetection())
+				{
+					String text;
+					try (StageTimer timer = conversionMetrics.startStage(ConversionStage.TEXT_LAYER,
+						documentName, pageIndex))
+					{
+						text = extractText(document, pageIndex, options);
+					}
+					if (text != null)
+					{
+						pageTask.complete(pageCount, text, PageSource.TEXT_LAYER);
+						return;
+					}
+				}
+				PDPage page = document.getPage(pageIndex);
+				renderDpi = getRenderDpi(page, options);
+				// waits while the images of other pages use up the budget
+				reservation = memoryBudget.reserve(
+					estimateImageBytes(page, renderDpi, options.getPageRegion()));
+				checkInterrupted(pageIndex);
+				try (StageTimer timer = conversionMetrics.startStage(ConversionStage.RENDER,
+					documentName, pageIndex))
+				{
+					image = options.getPageRegion() != null
+						? renderRegion(document, pageIndex, renderDpi, options.getPageRegion())
+						: new PDFRenderer(document).renderImageWithDPI(pageIndex, renderDpi,
+							ImageType.GRAY);
+					timer.setBytes((long)image.getWidth() * image.getHeight());
+				}
+			}
+			finally
+			{
+				documentPool.giveBack(document);
+			}
+			final MemoryBudget.Reservation imageReservation = reservation;
+			final String imageCacheKey = cacheKey;
+			pageTask.recognizeFuture = recognizeExecutor.submit(
+				() -> recognizeStage(pageTask, image, renderDpi, imageReservation, documentName,
+					imageCacheKey, languageDetector, pageCount, options));
+			// the recognize stage releases the reservation from now on
+			reservation = null;
+		}
+		catch (Throwable e)
+		{
+			// the writing thread waits for every page, so every failure must complete the page
+			pageTask.result.completeExceptionally(e);
+		}
+		finally
+		{
+			if (reservation != null)
+			{
+				reservation.close();
+			}
+		}
+	}
+
+	/**
+	 * The recognize stage of a page that preprocesses the rendered image, detects its language if
+	 * a language detector is given, recognizes it and releases the memory reservation of the image
+	 */
+	private void recognizeStage(final PageTask pageTask, final BufferedImage renderedImage,
+		final float renderDpi, final MemoryBudget.Reservation reservation,
+		final String documentName, final String cacheKey, final LanguageDetector languageDetector,
+		final int pageCount, final ConversionOptions options)
+	{
+		final int pageIndex = pageTask.pdfPageIndex;
+		try (reservation)
+		{
+			if (pageTask.result.isDone())
+			{
+				return;
+			}
+			checkInterrupted(pageIndex);
+			BufferedImage image;
+			try (StageTimer timer = conversionMetrics.startStage(ConversionStage.PREPROCESS,
+				documentName, pageIndex))
+			{
+				image = pageImagePreprocessor.preprocess(renderedImage, options);
+				timer.setBytes((long)image.getWidth() * image.getHeight());
+			}
+			checkInterrupted(pageIndex);
+			ConversionOptions pageOptions = options;
+			if (languageDetector != null)
+			{
+				String languageCode;
+				try (StageTimer timer = conversionMetrics.startStage(
+					ConversionStage.LANGUAGE_DETECTION, documentName, pageIndex))
+				{
+					languageCode = languageDetector.detect(image, Math.round(renderDpi));
+				}
+				log.debug("Detected language '{}' on page {} of '{}'", languageCode, pageIndex + 1,
+					documentName);
+				pageOptions = options.toBuilder().languageCode(languageCode).build();
+				checkInterrupted(pageIndex);
+			}
+			String text;
+			try (StageTimer timer = conversionMetrics.startStage(ConversionStage.OCR,
+				documentName, pageIndex))
+			{
+				text = recognize(image, Math.round(renderDpi), pageIndex, pageOptions);
+				timer.setBytes(text.length());
+			}
+			if (cacheKey != null)
+			{
+				ocrResultCache.put(cacheKey, text);
+			}
+			pageTask.complete(pageCount, text, PageSource.OCR);
+		}
+		catch (Throwable e)
+		{
+			pageTask.result.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Estimates the memory of the images of the given page when it is rendered with the given
+	 * resolution in gray
+	 *
+	 * @param page
+	 *            the pdf page
+	 * @param renderDpi
+	 *            the resolution in dots per inch
+	 * @param pageRegion
+	 *            the region of interest that is rendered or null for the whole page
+	 * @return the estimated memory in bytes
+	 */
+	static long estimateImageBytes(final PDPage page, final float renderDpi,
+		final PageRegion pageRegion)
+	{
+		PDRectangle cropBox = page.getCropBox();
+		double scale = renderDpi / 72d;
+		long pixels = (long)Math.ceil(cropBox.getWidth() * scale)
+			* (long)Math.ceil(cropBox.getHeight() * scale);
+		if (pageRegion != null)
+		{
+			pixels = (long)Math.ceil(pixels * pageRegion.width() * pageRegion.height());
+		}
+		return pixels * IMAGE_COPIES_PER_PAGE;
+	}
+
+	/**
+	 * Renders only the given region of the given page in gray, the page outside of the region is
+	 * clipped by the image bounds and costs neither memory nor recognition time
+	 *
+	 * @param document
+	 *            the pdf document
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 * @param renderDpi
+	 *            the resolution in dots per inch
+	 * @param pageRegion
+	 *            the region of interest
+	 * @return the rendered image of the region
+	 * @throws IOException
+	 *             if the page could not be rendered
+	 */
+	static BufferedImage renderRegion(final PDDocument document, final int pageIndex,
+		final float renderDpi, final PageRegion pageRegion) throws IOException
+	{
+		float scale = renderDpi / 72f;
+		Rectangle2D bounds = pageRegion.getBounds(document.getPage(pageIndex), scale);
+		int x = (int)Math.floor(bounds.getX());
+		int y = (int)Math.floor(bounds.getY());
+		int width = Math.max(1, (int)Math.ceil(bounds.getMaxX()) - x);
+		int height = Math.max(1, (int)Math.ceil(bounds.getMaxY()) - y);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D graphics = image.createGraphics();
+		try
+		{
+			// the renderer clears the page with the background color before drawing it
+			graphics.setBackground(Color.WHITE);
+			graphics.clearRect(0, 0, width, height);
+			graphics.translate(-x, -y);
+			new PDFRenderer(document).renderPageToGraphics(pageIndex, graphics, scale);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return image;
+	}
+
+	private String extractText(final PDDocument document, final int pageIndex,
+		final ConversionOptions options) throws IOException
+	{
+		for (TextExtractionEngine engine : textExtractionEngineSelector
+			.select(TextExtractionCapability.TEXT_LAYER, options))
+		{
+			try
+			{
+				String text = engine.extractText(document, pageIndex, options);
+				if (text != null)
+				{
+					return text;
+				}
+			}
+			catch (RuntimeException e)
+			{
+				// a broken plugin engine must not break the conversion, the next engine is tried
+				log.warn("Text extraction engine '{}' failed on page {}", engine.getName(),
+					pageIndex + 1, e);
+			}
+		}
+		return null;
+	}
+
+	private String recognize(final BufferedImage image, final int dpi, final int pageIndex,
+		final ConversionOptions options) throws IOException, InterruptedException
+	{
+		Exception failure = null;
+		for (TextExtractionEngine engine : textExtractionEngineSelector
+			.select(TextExtractionCapability.OCR, options))
+		{
+			try
+			{
+				String text = engine.recognize(image, dpi, options);
+				if (text != null)
+				{
+					return text;
+				}
+			}
+			catch (IOException | RuntimeException e)
+			{
+				log.warn("Text extraction engine '{}' failed on page {}", engine.getName(),
+					pageIndex + 1, e);
+				failure = e;
+			}
+		}
+		if (failure instanceof IOException ioException)
+		{
+			throw ioException;
+		}
+		throw new IOException("No text extraction engine recognized page " + (pageIndex + 1)
+			+ " in language '" + options.getLanguageCode() + "'", failure);
+	}
+
+	/**
+	 * Gets the resolution for rendering the given page. With adaptive dpi a scanned page is
+	 * rendered in the resolution of its image, because a higher resolution only adds interpolated
+	 * pixels, but never above the render dpi of the options and never below
+	 * {@link ConversionOptions#MINIMUM_ADAPTIVE_DPI}
+	 *
+	 * @param page
+	 *            the pdf page
+	 * @param options
+	 *            the options of the conversion
+	 * @return the resolution in dots per inch
+	 */
+	static float getRenderDpi(final PDPage page, final ConversionOptions options)
+	{
+		if (!options.isAdaptiveDpi())
+		{
+			return options.getRenderDpi();
+		}
+		float imageDpi;
+		try
+		{
+			imageDpi = ImageResolutionDetector.detect(page);
+		}
+		catch (IOException e)
+		{
+			log.debug("Resolution of the page image could not be detected", e);
+			return options.getRenderDpi();
+		}
+		if (imageDpi < ConversionOptions.MINIMUM_ADAPTIVE_DPI)
+		{
+			return options.getRenderDpi();
+		}
+		return Math.min(options.getRenderDpi(), imageDpi);
+	}
+
+	private static void checkInterrupted(final int pageIndex) throws InterruptedException
+	{
+		if (Thread.interrupted())
+		{
+			throw new InterruptedException("Conversion of page " + (pageIndex + 1) + " cancelled");
+		}
+	}
+
+	private static void putBlocking(final Runnable runnable, final ThreadPoolExecutor executor)
+	{
+		if (executor.isShutdown())
+		{
+			throw new RejectedExecutionException("The conversion engine is closed");
+		}
+		try
+		{
+			// the render thread waits until a recognize thread takes a rendered page
+			executor.getQueue().put(runnable);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Hand over of a rendered page interrupted", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close()
+	{
+		renderExecutor.shutdownNow();
+		recognizeExecutor.shutdownNow();
+		tesseractEnginePool.close();
+	}
+
+	/**
+	 * The class {@link PageTask} is the conversion of a single page through the stages, its result
+	 * is completed by the stage that finishes the page
+	 */
+	private static final class PageTask
+	{
+
+		/** The zero based index of the page in the result */
+		final int pageIndex;
+
+		/** The zero based index of the page in the pdf document */
+		final int pdfPageIndex;
+
+		/** The result of the page */
+		final CompletableFuture<PageResult> result = new CompletableFuture<>();
+
+		/** The task of the render stage */
+		volatile Future<?> renderFuture;
+
+		/** The task of the recognize stage or null if the page was not yet rendered */
+		volatile Future<?> recognizeFuture;
+
+		PageTask(final int pageIndex, final int pdfPageIndex)
+		{
+			this.pageIndex = pageIndex;
+			this.pdfPageIndex = pdfPageIndex;
+		}
+
+		/**
+		 * Completes the page with the given text
+		 */
+		void complete(final int pageCount, final String text, final PageSource source)
+		{
+			result.complete(new PageResult(pageIndex, pageCount, text, source, pdfPageIndex));
+		}
+
+		/**
+		 * Cancels the page and interrupts the stage that is processing it
+		 */
+		void cancel()
+		{
+			result.cancel(false);
+			cancel(renderFuture);
+			cancel(recognizeFuture);
+		}
+
+		private static void cancel(final Future<?> future)
+		{
+			if (future != null)
+			{
+				future.cancel(true);
+			}
+		}
+
+	}
+
+}
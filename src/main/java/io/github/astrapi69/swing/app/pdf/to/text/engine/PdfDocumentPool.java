@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link PdfDocumentPool} holds up to a maximum number of loaded instances of the same
+ * pdf document, so that the pages can be rendered concurrently. A {@link PDDocument} is not thread
+ * safe, so every borrowed instance is used by only one thread at a time. The pdf file is only
+ * opened for reading and is never renamed or modified. Closing the pool closes the idle documents
+ * at once and the borrowed documents when they are given back, so a page that is still rendered
+ * by a cancelled task never loses its document
+ */
+@Slf4j
+class PdfDocumentPool implements AutoCloseable
+{
+
+	/** The time in milliseconds between two checks if the pool was closed while waiting */
+	private static final long CLOSED_CHECK_MILLIS = 500;
+
+	/** The pdf file */
+	private final File pdfFile;
+
+	/** The maximum number of loaded documents */
+	private final int maximumSize;
+
+	/** The idle documents */
+	private final BlockingQueue<PDDocument> idleDocuments = new LinkedBlockingQueue<>();
+
+	/** All loaded documents */
+	private final List<PDDocument> loadedDocuments = new ArrayList<>();
+
+	/** The flag that indicates if the pool is closed */
+	private boolean closed;
+
+	/** The number of pages of the pdf document */
+	@Getter
+	private final int pageCount;
+
+	/**
+	 * Instantiates a new {@link PdfDocumentPool} and loads the first instance of the pdf document
+	 *
+	 * @param pdfFile
+	 *            the pdf file
+	 * @param maximumSize
+	 *            the maximum number of loaded documents
+	 * @throws IOException
+	 *             if the pdf file could not be loaded
+	 */
+	PdfDocumentPool(final File pdfFile, final int maximumSize) throws IOException
+	{
+		this.pdfFile = pdfFile;
+		this.maximumSize = Math.max(1, maximumSize);
+		PDDocument document = load();
+		this.pageCount = document.getNumberOfPages();
+		idleDocuments.add(document);
+	}
+
+	private synchronized PDDocument load() throws IOException
+	{
+		checkOpen();
+		PDDocument document = Loader.loadPDF(pdfFile);
+		loadedDocuments.add(document);
+		return document;
+	}
+
+	private synchronized PDDocument loadIfBelowMaximum() throws IOException
+	{
+		return loadedDocuments.size() < maximumSize ? load() : null;
+	}
+
+	/**
+	 * Borrows a document for exclusive use by the current thread, the document has to be given
+	 * back with {@link #giveBack(PDDocument)}
+	 *
+	 * @return the borrowed document
+	 * @throws IOException
+	 *             if a new instance of the pdf document could not be loaded or the pool is closed
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for an idle document
+	 */
+	PDDocument borrow() throws IOException, InterruptedException
+	{
+		PDDocument document = idleDocuments.poll();
+		if (document == null)
+		{
+			document = loadIfBelowMaximum();
+		}
+		while (document == null)
+		{
+			// a closed pool gets no documents back, so the wait must not be endless
+			document = idleDocuments.poll(CLOSED_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+			if (document == null)
+			{
+				synchronized (this)
+				{
+					checkOpen();
+				}
+			}
+		}
+		return document;
+	}
+
+	private void checkOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("The documents of '" + pdfFile.getName() + "' are closed");
+		}
+	}
+
+	/**
+	 * Gives the given borrowed document back to this pool
+	 *
+	 * @param document
+	 *            the borrowed document
+	 */
+	synchronized void giveBack(final PDDocument document)
+	{
+		if (!closed)
+		{
+			idleDocuments.add(document);
+			return;
+		}
+		loadedDocuments.remove(document);
+		try
+		{
+			document.close();
+		}
+		catch (IOException e)
+		{
+			log.debug("Document of '{}' could not be closed", pdfFile.getName(), e);
+		}
+	}
+
+	/**
+	 * Closes all idle documents, the borrowed documents are closed when they are given back
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		closed = true;
+		IOException exception = null;
+		PDDocument document;
+		while ((document = idleDocuments.poll()) != null)
+		{
+			loadedDocuments.remove(document);
+			try
+			{
+				document.close();
+			}
+			catch (IOException e)
+			{
+				exception = e;
+			}
+		}
+		if (exception != null)
+		{
+			throw exception;
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link TesseractDataPath} resolves the tessdata directory of the locally installed
+ * tesseract that holds the traineddata files of the installed languages
+ */
+@Slf4j
+public final class TesseractDataPath
+{
+
+	/** The system property that overrides the tessdata directory */
+	public static final String SYSTEM_PROPERTY_DATAPATH = "tesseract.datapath";
+
+	/** The environment variable that is also used by tesseract itself */
+	public static final String ENVIRONMENT_TESSDATA_PREFIX = "TESSDATA_PREFIX";
+
+	/** The pattern for extracting the directory from the output of 'tesseract --list-langs' */
+	private static final Pattern LIST_LANGS_DIRECTORY_PATTERN = Pattern
+		.compile("List of available languages in \"(.+?)\"");
+
+	/** The well known installation directories of tesseract */
+	private static final List<String> KNOWN_DIRECTORIES = List.of(
+		"/usr/share/tesseract-ocr/5/tessdata", "/usr/share/tesseract-ocr/4.00/tessdata",
+		"/usr/share/tessdata", "/usr/local/share/tessdata", "/opt/homebrew/share/tessdata",
+		"C:\\Program Files\\Tesseract-OCR\\tessdata");
+
+	/** The resolved directory, resolved only once per jvm */
+	private static volatile File resolvedDirectory;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private TesseractDataPath()
+	{
+	}
+
+	/**
+	 * Gets the tessdata directory of the locally installed tesseract
+	 *
+	 * @return the tessdata directory or null if it could not be resolved
+	 */
+	public static File getDirectory()
+	{
+		File directory = resolvedDirectory;
+		if (directory == null)
+		{
+			directory = resolve();
+			resolvedDirectory = directory;
+		}
+		return directory;
+	}
+
+	/**
+	 * Gets the absolute path of the tessdata directory of the locally installed tesseract
+	 *
+	 * @return the absolute path of the tessdata directory or null if it could not be resolved
+	 */
+	public static String getPath()
+	{
+		File directory = getDirectory();
+		return directory != null ? directory.getAbsolutePath() : null;
+	}
+
+	/**
+	 * Gets the tessdata directory that is configured with the system property
+	 * {@value #SYSTEM_PROPERTY_DATAPATH} or the environment variable
+	 * {@value #ENVIRONMENT_TESSDATA_PREFIX} without asking tesseract
+	 *
+	 * @return the configured tessdata directory or null if none is configured
+	 */
+	public static File getConfiguredDirectory()
+	{
+		File directory = existingDirectory(System.getProperty(SYSTEM_PROPERTY_DATAPATH));
+		return directory != null
+			? directory
+			: existingDirectory(System.getenv(ENVIRONMENT_TESSDATA_PREFIX));
+	}
+
+	/**
+	 * Sets the tessdata directory if it is not yet resolved, so an already known directory, for
+	 * instance from a cache, is not resolved again with the help of tesseract
+	 *
+	 * @param directory
+	 *            the known tessdata directory
+	 */
+	static void preset(final File directory)
+	{
+		if (resolvedDirectory == null && directory != null && directory.isDirectory())
+		{
+			resolvedDirectory = directory;
+		}
+	}
+
+	private static File resolve()
+	{
+		File directory = getConfiguredDirectory();
+		if (directory == null)
+		{
+			directory = existingDirectory(fromListLanguagesOutput());
+		}
+		for (int i = 0; directory == null && i < KNOWN_DIRECTORIES.size(); i++)
+		{
+			directory = existingDirectory(KNOWN_DIRECTORIES.get(i));
+		}
+		if (directory == null)
+		{
+			log.warn("tessdata directory of tesseract could not be resolved");
+		}
+		else
+		{
+			log.info("tessdata directory of tesseract resolved to '{}'", directory);
+		}
+		return directory;
+	}
+
+	private static File existingDirectory(String path)
+	{
+		if (path == null || path.isBlank())
+		{
+			return null;
+		}
+		File directory = new File(path);
+		return directory.isDirectory() ? directory : null;
+	}
+
+	private static String fromListLanguagesOutput()
+	{
+		try
+		{
+			Process process = new ProcessBuilder("tesseract", "--list-langs")
+				.redirectErrorStream(true).start();
+			try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)))
+			{
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					Matcher matcher = LIST_LANGS_DIRECTORY_PATTERN.matcher(line);
+					if (matcher.find())
+					{
+						return matcher.group(1);
+					}
+				}
+			}
+			finally
+			{
+				process.destroy();
+			}
+		}
+		catch (IOException e)
+		{
+			log.debug("tesseract could not be executed: {}", e.getMessage());
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,215 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.jna.Pointer;
+
+import lombok.Getter;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI;
+import net.sourceforge.tess4j.util.ImageIOHelper;
+
+/**
+ * The class {@link TesseractEngine} holds an initialized native tesseract instance for one
+ * language. The expensive loading of the traineddata happens only once in the constructor, so an
+ * instance can recognize many images without initialization costs. An instance is not thread safe
+ * and is confined to the thread that borrowed it from the {@link TesseractEnginePool}
+ */
+public class TesseractEngine implements AutoCloseable
+{
+
+	/** The native tesseract api */
+	private static final TessAPI API = TessAPI.INSTANCE;
+
+	/** The tesseract language code this engine is initialized for */
+	@Getter
+	private final String languageCode;
+
+	/** The handle of the native tesseract instance */
+	private ITessAPI.TessBaseAPI handle;
+
+	/** The thread that currently owns this engine or null if it is idle */
+	private volatile Thread owner;
+
+	/** The time in milliseconds when this engine was given back to the pool the last time */
+	@Getter
+	private volatile long lastUsedMillis = System.currentTimeMillis();
+
+	/**
+	 * Instantiates a new {@link TesseractEngine} and loads the traineddata of the given language
+	 *
+	 * @param dataPath
+	 *            the tessdata directory
+	 * @param languageCode
+	 *            the tesseract language code, combinations like 'deu+eng' are supported
+	 * @throws IOException
+	 *             if tesseract could not be initialized for the given language
+	 */
+	public TesseractEngine(final String dataPath, final String languageCode) throws IOException
+	{
+		this.languageCode = languageCode;
+		ITessAPI.TessBaseAPI newHandle = API.TessBaseAPICreate();
+		if (API.TessBaseAPIInit3(newHandle, dataPath, languageCode) != 0)
+		{
+			API.TessBaseAPIDelete(newHandle);
+			throw new IOException("Tesseract could not be initialized for language '"
+				+ languageCode + "' with tessdata directory '" + dataPath + "'");
+		}
+		API.TessBaseAPISetPageSegMode(newHandle, ITessAPI.TessPageSegMode.PSM_AUTO);
+		this.handle = newHandle;
+	}
+
+	/**
+	 * Recognizes the text of the given image
+	 *
+	 * @param image
+	 *            the image to recognize
+	 * @param dpi
+	 *            the resolution of the image in dots per inch
+	 * @return the recognized text
+	 * @throws IOException
+	 *             if the text could not be recognized
+	 * @throws InterruptedException
+	 *             if the calling thread was interrupted while tesseract recognized the image
+	 */
+	public String recognize(final BufferedImage image, final int dpi)
+		throws IOException, InterruptedException
+	{
+		checkOwner();
+		setImage(image, dpi);
+		Pointer text = null;
+		try
+		{
+			// tesseract polls the cancel function of the monitor between words, so the interrupt
+			// of the calling thread stops a running recognition
+			Thread recognizingThread = Thread.currentThread();
+			ITessAPI.CANCEL_FUNC cancel = (cancelThis, words) -> recognizingThread.isInterrupted();
+			ITessAPI.ETEXT_DESC monitor = new ITessAPI.ETEXT_DESC();
+			monitor.cancel = cancel;
+			int result = API.TessBaseAPIRecognize(handle, monitor);
+			if (Thread.interrupted())
+			{
+				throw new InterruptedException("Tesseract recognition was cancelled");
+			}
+			if (result != 0)
+			{
+				throw new IOException("Tesseract could not recognize the image");
+			}
+			text = API.TessBaseAPIGetUTF8Text(handle);
+			if (text == null)
+			{
+				throw new IOException("Tesseract could not recognize the image");
+			}
+			return text.getString(0, StandardCharsets.UTF_8.name());
+		}
+		finally
+		{
+			if (text != null)
+			{
+				API.TessDeleteText(text);
+			}
+			API.TessBaseAPIClear(handle);
+		}
+	}
+
+	/**
+	 * Recognizes the given image and gets the mean confidence of the recognized words, a measure
+	 * of how well the language of this engine fits the text of the image
+	 *
+	 * @param image
+	 *            the image to recognize
+	 * @param dpi
+	 *            the resolution of the image in dots per inch
+	 * @return the mean confidence of the recognized words between 0 and 100, 0 if no word was
+	 *         recognized
+	 */
+	public int getMeanTextConfidence(final BufferedImage image, final int dpi)
+	{
+		checkOwner();
+		setImage(image, dpi);
+		try
+		{
+			return Math.max(0, API.TessBaseAPIMeanTextConf(handle));
+		}
+		finally
+		{
+			API.TessBaseAPIClear(handle);
+		}
+	}
+
+	private void setImage(final BufferedImage image, final int dpi)
+	{
+		ByteBuffer imageData = ImageIOHelper.convertImageData(image);
+		int bitsPerPixel = image.getColorModel().getPixelSize();
+		int bytesPerLine = (int)Math.ceil(image.getWidth() * bitsPerPixel / 8d);
+		API.TessBaseAPISetImage(handle, imageData, image.getWidth(), image.getHeight(),
+			bitsPerPixel / 8, bytesPerLine);
+		API.TessBaseAPISetSourceResolution(handle, dpi);
+	}
+
+	void lend(final Thread thread)
+	{
+		owner = thread;
+	}
+
+	void giveBack()
+	{
+		owner = null;
+		lastUsedMillis = System.currentTimeMillis();
+	}
+
+	private void checkOwner()
+	{
+		if (handle == null)
+		{
+			throw new IllegalStateException("Tesseract engine is already closed");
+		}
+		if (owner != null && owner != Thread.currentThread())
+		{
+			throw new IllegalStateException("Tesseract engine for '" + languageCode
+				+ "' is confined to thread " + owner.getName());
+		}
+	}
+
+	/**
+	 * Releases the native tesseract instance
+	 */
+	@Override
+	public synchronized void close()
+	{
+		if (handle != null)
+		{
+			API.TessBaseAPIEnd(handle);
+			API.TessBaseAPIDelete(handle);
+			handle = null;
+		}
+	}
+
+}
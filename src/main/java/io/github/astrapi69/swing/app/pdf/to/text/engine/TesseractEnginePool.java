@@ -0,0 +1,388 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link TesseractEnginePool} holds warm {@link TesseractEngine} instances per language
+ * that are reused across conversions in the same jvm. Every borrowed engine is confined to the
+ * borrowing thread until it is given back. Idle engines are closed after the idle timeout.<br>
+ * <br>
+ * Besides the limit per language the number of engines of all languages together is limited, so
+ * many language combinations do not load more models than the limit allows. If the limit is
+ * reached the least recently used idle engine of another language is closed for the new engine
+ */
+@Slf4j
+public class TesseractEnginePool implements AutoCloseable
+{
+
+	/** The default time in milliseconds after that idle engines are closed */
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+	/** The time in milliseconds after that a waiting borrower checks for idle engines again */
+	private static final long PERMIT_CHECK_MILLIS = 100;
+
+	/** The maximum number of engines per language */
+	@Getter
+	private final int maximumSizePerLanguage;
+
+	/** The maximum number of engines of all languages together */
+	@Getter
+	private final int maximumSize;
+
+	/** The permits for the engines of all languages, one permit per open engine */
+	private final Semaphore enginePermits;
+
+	/** The flag that indicates if this pool is closed */
+	private volatile boolean closed;
+
+	/** The time in milliseconds after that idle engines are closed */
+	@Getter
+	private final long idleTimeoutMillis;
+
+	/** The engines per language */
+	private final Map<String, LanguagePool> languagePools = new ConcurrentHashMap<>();
+
+	/** The executor that evicts the idle engines */
+	private final ScheduledExecutorService evictionExecutor;
+
+	/** The number of borrowed engines */
+	private final AtomicLong borrowed = new AtomicLong();
+
+	/** The number of borrowed engines that were already initialized */
+	private final AtomicLong reused = new AtomicLong();
+
+	/** The number of created engines */
+	private final AtomicLong created = new AtomicLong();
+
+	/** The number of engines that were closed because they were idle too long */
+	private final AtomicLong evicted = new AtomicLong();
+
+	/**
+	 * Instantiates a new {@link TesseractEnginePool}
+	 *
+	 * @param maximumSizePerLanguage
+	 *            the maximum number of engines per language
+	 * @param idleTimeoutMillis
+	 *            the time in milliseconds after that idle engines are closed
+	 */
+	public TesseractEnginePool(final int maximumSizePerLanguage, final long idleTimeoutMillis)
+	{
+		this(maximumSizePerLanguage, maximumSizePerLanguage, idleTimeoutMillis);
+	}
+
+	/**
+	 * Instantiates a new {@link TesseractEnginePool}
+	 *
+	 * @param maximumSizePerLanguage
+	 *            the maximum number of engines per language
+	 * @param maximumSize
+	 *            the maximum number of engines of all languages together
+	 * @param idleTimeoutMillis
+	 *            the time in milliseconds after that idle engines are closed
+	 */
+	public TesseractEnginePool(final int maximumSizePerLanguage, final int maximumSize,
+		final long idleTimeoutMillis)
+	{
+		this.maximumSizePerLanguage = Math.max(1, maximumSizePerLanguage);
+		this.maximumSize = Math.max(1, maximumSize);
+		this.enginePermits = new Semaphore(this.maximumSize);
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+			PdfConversionEngine.newThreadFactory("pdf-to-text-tesseract-eviction-"));
+		long evictionInterval = Math.max(1000L, idleTimeoutMillis / 2);
+		evictionExecutor.scheduleWithFixedDelay(this::evictIdleEngines, evictionInterval,
+			evictionInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrows an engine for the given language for exclusive use by the current thread. If no
+	 * idle engine exists a new one is created as long as the maximum sizes are not reached,
+	 * otherwise the current thread waits for an engine that is given back. If only the maximum
+	 * size of all languages is reached the least recently used idle engine of another language is
+	 * closed
+	 *
+	 * @param languageCode
+	 *            the tesseract language code
+	 * @return the borrowed engine that has to be given back with {@link #giveBack(TesseractEngine)}
+	 * @throws IOException
+	 *             if a new engine could not be initialized or this pool is closed
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for an engine
+	 */
+	public TesseractEngine borrow(final String languageCode)
+		throws IOException, InterruptedException
+	{
+		checkOpen();
+		LanguagePool languagePool = languagePools.computeIfAbsent(languageCode,
+			key -> new LanguagePool(maximumSizePerLanguage));
+		languagePool.permits.acquire();
+		TesseractEngine engine;
+		try
+		{
+			engine = takeEngine(languagePool, languageCode);
+		}
+		catch (IOException | InterruptedException | RuntimeException e)
+		{
+			languagePool.permits.release();
+			throw e;
+		}
+		borrowed.incrementAndGet();
+		engine.lend(Thread.currentThread());
+		return engine;
+	}
+
+	private TesseractEngine takeEngine(final LanguagePool languagePool, final String languageCode)
+		throws IOException, InterruptedException
+	{
+		while (true)
+		{
+			checkOpen();
+			TesseractEngine engine = languagePool.idleEngines.pollFirst();
+			if (engine != null)
+			{
+				reused.incrementAndGet();
+				return engine;
+			}
+			if (enginePermits.tryAcquire() || (evictIdleEngine(languageCode)
+				&& enginePermits.tryAcquire()))
+			{
+				return createEngine(languageCode);
+			}
+			// all engines are borrowed, wait for an engine that is closed or given back
+			if (enginePermits.tryAcquire(PERMIT_CHECK_MILLIS, TimeUnit.MILLISECONDS))
+			{
+				return createEngine(languageCode);
+			}
+		}
+	}
+
+	private TesseractEngine createEngine(final String languageCode) throws IOException
+	{
+		try
+		{
+			TesseractEngine engine = new TesseractEngine(TesseractDataPath.getPath(),
+				languageCode);
+			created.incrementAndGet();
+			log.debug("Created tesseract engine for language '{}'", languageCode);
+			return engine;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			enginePermits.release();
+			throw e;
+		}
+	}
+
+	private boolean evictIdleEngine(final String languageCode)
+	{
+		while (true)
+		{
+			// the last idle engine of every language is its least recently used one
+			LanguagePool leastRecentlyUsedPool = null;
+			TesseractEngine leastRecentlyUsedEngine = null;
+			for (Map.Entry<String, LanguagePool> entry : languagePools.entrySet())
+			{
+				TesseractEngine engine = entry.getValue().idleEngines.peekLast();
+				if (engine != null && !entry.getKey().equals(languageCode)
+					&& (leastRecentlyUsedEngine == null || engine
+						.getLastUsedMillis() < leastRecentlyUsedEngine.getLastUsedMillis()))
+				{
+					leastRecentlyUsedPool = entry.getValue();
+					leastRecentlyUsedEngine = engine;
+				}
+			}
+			if (leastRecentlyUsedEngine == null)
+			{
+				return false;
+			}
+			// another thread may have borrowed or evicted the engine in the meantime
+			if (leastRecentlyUsedPool.idleEngines.removeLastOccurrence(leastRecentlyUsedEngine))
+			{
+				dispose(leastRecentlyUsedEngine);
+				evicted.incrementAndGet();
+				log.debug("Closed idle tesseract engine for language '{}' for language '{}'",
+					leastRecentlyUsedEngine.getLanguageCode(), languageCode);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Gives the given borrowed engine back to this pool
+	 *
+	 * @param engine
+	 *            the borrowed engine
+	 */
+	public void giveBack(final TesseractEngine engine)
+	{
+		LanguagePool languagePool = languagePools.get(engine.getLanguageCode());
+		engine.giveBack();
+		if (closed)
+		{
+			dispose(engine);
+		}
+		else
+		{
+			languagePool.idleEngines.offerFirst(engine);
+			// close() may have drained the idle engines before this engine was offered
+			if (closed && languagePool.idleEngines.remove(engine))
+			{
+				dispose(engine);
+			}
+		}
+		languagePool.permits.release();
+	}
+
+	/**
+	 * Gets the current statistics of this pool
+	 *
+	 * @return the current statistics
+	 */
+	public Statistics getStatistics()
+	{
+		int idle = 0;
+		int inUse = 0;
+		for (LanguagePool languagePool : languagePools.values())
+		{
+			idle += languagePool.idleEngines.size();
+			inUse += maximumSizePerLanguage - languagePool.permits.availablePermits();
+		}
+		return new Statistics(languagePools.size(), idle, inUse, borrowed.get(), reused.get(),
+			created.get(), evicted.get());
+	}
+
+	private void evictIdleEngines()
+	{
+		long now = System.currentTimeMillis();
+		for (LanguagePool languagePool : languagePools.values())
+		{
+			for (TesseractEngine engine : languagePool.idleEngines)
+			{
+				if (idleTimeoutMillis <= now - engine.getLastUsedMillis()
+					&& languagePool.idleEngines.remove(engine))
+				{
+					dispose(engine);
+					evicted.incrementAndGet();
+					log.debug("Closed idle tesseract engine for language '{}'",
+						engine.getLanguageCode());
+				}
+			}
+		}
+	}
+
+	private void dispose(final TesseractEngine engine)
+	{
+		engine.close();
+		enginePermits.release();
+	}
+
+	private void checkOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("Tesseract engine pool is already closed");
+		}
+	}
+
+	/**
+	 * Closes all idle engines and stops the eviction. Borrowed engines are closed when they are
+	 * given back
+	 */
+	@Override
+	public void close()
+	{
+		closed = true;
+		evictionExecutor.shutdownNow();
+		for (LanguagePool languagePool : languagePools.values())
+		{
+			TesseractEngine engine;
+			while ((engine = languagePool.idleEngines.pollFirst()) != null)
+			{
+				dispose(engine);
+			}
+		}
+	}
+
+	/**
+	 * The record {@link Statistics} holds the statistics of a {@link TesseractEnginePool}
+	 *
+	 * @param languages
+	 *            the number of languages engines were requested for
+	 * @param idle
+	 *            the number of idle engines
+	 * @param inUse
+	 *            the number of borrowed engines
+	 * @param borrowed
+	 *            the total number of borrow requests
+	 * @param reused
+	 *            the number of borrow requests that were served by a warm engine
+	 * @param created
+	 *            the number of created engines
+	 * @param evicted
+	 *            the number of engines that were closed because they were idle too long
+	 */
+	public record Statistics(int languages, int idle, int inUse, long borrowed, long reused,
+		long created, long evicted)
+	{
+
+		/**
+		 * Gets the ratio of borrow requests that were served by a warm engine
+		 *
+		 * @return the hit rate between 0 and 1
+		 */
+		public double hitRate()
+		{
+			return borrowed == 0 ? 0d : (double)reused / borrowed;
+		}
+	}
+
+	private static final class LanguagePool
+	{
+		/** The idle engines, the most recently used first */
+		final ConcurrentLinkedDeque<TesseractEngine> idleEngines = new ConcurrentLinkedDeque<>();
+
+		/** The permits for borrowing an engine */
+		final Semaphore permits;
+
+		LanguagePool(final int maximumSize)
+		{
+			this.permits = new Semaphore(maximumSize);
+		}
+	}
+
+}
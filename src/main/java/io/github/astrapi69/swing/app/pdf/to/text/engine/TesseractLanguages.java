@@ -0,0 +1,224 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link TesseractLanguages} discovers the installed languages of tesseract, that are
+ * the traineddata files in the tessdata directory. The discovery runs once per jvm on a background
+ * thread and its result is cached in the application directory together with the tessdata
+ * directory and its last modified time, so a later start neither asks tesseract for the tessdata
+ * directory nor scans it again until a language is installed or removed
+ */
+@Slf4j
+public final class TesseractLanguages
+{
+
+	/** The name of the cache file in the application directory */
+	public static final String CACHE_FILE_NAME = "tesseract-languages.properties";
+
+	/** The file extension of the language files of tesseract */
+	private static final String TRAINEDDATA_EXTENSION = ".traineddata";
+
+	/** The key of the tessdata directory in the cache file */
+	private static final String KEY_DIRECTORY = "directory";
+
+	/** The key of the last modified time of the tessdata directory in the cache file */
+	private static final String KEY_LAST_MODIFIED = "lastModified";
+
+	/** The key of the comma separated language codes in the cache file */
+	private static final String KEY_LANGUAGES = "languages";
+
+	/** The running or finished discovery, started at most once per jvm */
+	private static CompletableFuture<List<String>> discovery;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private TesseractLanguages()
+	{
+	}
+
+	/**
+	 * Starts the discovery of the installed languages on a background thread if it is not yet
+	 * started
+	 *
+	 * @return the future with the sorted codes of the installed languages
+	 */
+	public static synchronized CompletableFuture<List<String>> discoverAsync()
+	{
+		if (discovery == null)
+		{
+			discovery = CompletableFuture.supplyAsync(TesseractLanguages::discover,
+				runnable -> PdfConversionEngine.newThreadFactory("tesseract-languages-")
+					.newThread(runnable).start());
+		}
+		return discovery;
+	}
+
+	/**
+	 * Checks if tesseract is installed. A valid cache is proof enough, otherwise tesseract is
+	 * asked
+	 *
+	 * @return true if tesseract is installed
+	 */
+	public static boolean isTesseractInstalled()
+	{
+		return loadCachedLanguages(getCacheFile()) != null
+			|| ImagePdfToTextExtensions.isTesseractInstalled();
+	}
+
+	/**
+	 * Discovers the installed languages of tesseract in the calling thread, the cache is used if
+	 * the tessdata directory has not changed since the last discovery
+	 *
+	 * @return the sorted codes of the installed languages
+	 */
+	public static List<String> discover()
+	{
+		long start = System.currentTimeMillis();
+		File cacheFile = getCacheFile();
+		List<String> languages = loadCachedLanguages(cacheFile);
+		if (languages != null)
+		{
+			log.info("{} tesseract languages loaded from cache in {} ms", languages.size(),
+				System.currentTimeMillis() - start);
+			return languages;
+		}
+		File directory = TesseractDataPath.getDirectory();
+		if (directory == null)
+		{
+			// without a known directory tesseract itself is the only source
+			return ImagePdfToTextExtensions.getTesseractSupportedLanguages();
+		}
+		long lastModified = directory.lastModified();
+		languages = listLanguages(directory);
+		storeCachedLanguages(cacheFile, directory, lastModified, languages);
+		log.info("{} tesseract languages discovered in '{}' in {} ms", languages.size(),
+			directory, System.currentTimeMillis() - start);
+		return languages;
+	}
+
+	/**
+	 * Lists the codes of the traineddata files of the given tessdata directory
+	 *
+	 * @param directory
+	 *            the tessdata directory
+	 * @return the sorted language codes
+	 */
+	static List<String> listLanguages(final File directory)
+	{
+		String[] fileNames = directory.list((dir, name) -> name.endsWith(TRAINEDDATA_EXTENSION));
+		if (fileNames == null)
+		{
+			return List.of();
+		}
+		return Arrays.stream(fileNames)
+			.map(name -> name.substring(0, name.length() - TRAINEDDATA_EXTENSION.length()))
+			.sorted().toList();
+	}
+
+	private static File getCacheFile()
+	{
+		return new File(ApplicationDirectories.getApplicationDirectory(), CACHE_FILE_NAME);
+	}
+
+	private static List<String> loadCachedLanguages(final File cacheFile)
+	{
+		if (!cacheFile.isFile())
+		{
+			return null;
+		}
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8))
+		{
+			properties.load(reader);
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			log.debug("Cache of the tesseract languages could not be read", e);
+			return null;
+		}
+		String path = properties.getProperty(KEY_DIRECTORY);
+		String lastModified = properties.getProperty(KEY_LAST_MODIFIED);
+		String languages = properties.getProperty(KEY_LANGUAGES);
+		if (path == null || lastModified == null || languages == null)
+		{
+			return null;
+		}
+		File directory = new File(path);
+		File configuredDirectory = TesseractDataPath.getConfiguredDirectory();
+		// installing or removing a traineddata file changes the last modified time of the
+		// directory, a changed configuration points to another directory
+		if (!directory.isDirectory()
+			|| !lastModified.equals(String.valueOf(directory.lastModified()))
+			|| configuredDirectory != null && !configuredDirectory.equals(directory))
+		{
+			return null;
+		}
+		TesseractDataPath.preset(directory);
+		return languages.isEmpty() ? List.of() : List.of(languages.split(","));
+	}
+
+	private static void storeCachedLanguages(final File cacheFile, final File directory,
+		final long lastModified, final List<String> languages)
+	{
+		Properties properties = new Properties();
+		properties.setProperty(KEY_DIRECTORY, directory.getAbsolutePath());
+		properties.setProperty(KEY_LAST_MODIFIED, String.valueOf(lastModified));
+		properties.setProperty(KEY_LANGUAGES, String.join(",", languages));
+		Path temporaryFile = cacheFile.toPath().resolveSibling(CACHE_FILE_NAME + ".tmp");
+		try
+		{
+			try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8))
+			{
+				properties.store(writer, "Installed languages of tesseract");
+			}
+			Files.move(temporaryFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e)
+		{
+			log.warn("Cache of the tesseract languages could not be written", e);
+		}
+	}
+
+}
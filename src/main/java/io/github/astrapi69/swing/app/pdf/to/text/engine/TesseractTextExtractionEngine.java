@@ -0,0 +1,102 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link TesseractTextExtractionEngine} is the built in engine that recognizes page
+ * images with the warm tesseract engines of a {@link TesseractEnginePool}
+ */
+public class TesseractTextExtractionEngine implements TextExtractionEngine
+{
+
+	/** The name of this engine */
+	public static final String NAME = "tesseract";
+
+	/** The pool of warm tesseract engines */
+	private final TesseractEnginePool tesseractEnginePool;
+
+	/**
+	 * Instantiates a new {@link TesseractTextExtractionEngine}
+	 *
+	 * @param tesseractEnginePool
+	 *            the pool of warm tesseract engines
+	 */
+	public TesseractTextExtractionEngine(final @NonNull TesseractEnginePool tesseractEnginePool)
+	{
+		this.tesseractEnginePool = tesseractEnginePool;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<TextExtractionCapability> getCapabilities()
+	{
+		return Set.of(TextExtractionCapability.OCR);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getCost()
+	{
+		return TESSERACT_COST;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String recognize(final BufferedImage image, final int dpi,
+		final ConversionOptions options) throws IOException, InterruptedException
+	{
+		TesseractEngine tesseractEngine = tesseractEnginePool.borrow(options.getLanguageCode());
+		try
+		{
+			return tesseractEngine.recognize(image, dpi);
+		}
+		finally
+		{
+			tesseractEnginePool.giveBack(tesseractEngine);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Set;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.pf4j.ExtensionPoint;
+
+/**
+ * The interface {@link TextExtractionEngine} is the extension point for engines that extract the
+ * text of pdf pages. Plugins provide further engines as pf4j extensions, for instance a fast
+ * extractor for a known document type or a lightweight recognizer for forms with digits only.<br>
+ * <br>
+ * The {@link PdfConversionEngine} converts a page in two phases. First the engines with the
+ * capability {@link TextExtractionCapability#TEXT_LAYER} get the pdf page, if none of them returns
+ * text the page is rendered and the engines with the capability
+ * {@link TextExtractionCapability#OCR} get the page image. In every phase the engines are tried in
+ * ascending order of their cost until one returns text, so an engine declines a page by returning
+ * null. Implementations are called concurrently for different pages and have to be thread safe
+ */
+public interface TextExtractionEngine extends ExtensionPoint
+{
+
+	/** The cost of the built in tesseract engine as reference for the cost of other engines */
+	int TESSERACT_COST = 100;
+
+	/**
+	 * Gets the unique name of this engine, that is also the value for
+	 * {@link ConversionOptions#getPreferredEngine()}
+	 *
+	 * @return the name of this engine
+	 */
+	String getName();
+
+	/**
+	 * Gets the phases of the conversion of a page that this engine supports
+	 *
+	 * @return the capabilities of this engine
+	 */
+	Set<TextExtractionCapability> getCapabilities();
+
+	/**
+	 * Gets the relative cost of a page, engines with a lower cost are tried first. The built in
+	 * tesseract engine has the cost {@link #TESSERACT_COST}
+	 *
+	 * @return the relative cost of a page
+	 */
+	int getCost();
+
+	/**
+	 * Checks if this engine supports the given tesseract language code, the default implementation
+	 * supports all languages
+	 *
+	 * @param languageCode
+	 *            the tesseract language code of the conversion
+	 * @return true if this engine supports the language
+	 */
+	default boolean supportsLanguage(final String languageCode)
+	{
+		return true;
+	}
+
+	/**
+	 * Extracts the text of the given page from the pdf document, this method is called for
+	 * engines with the capability {@link TextExtractionCapability#TEXT_LAYER}. If the options
+	 * have a {@link ConversionOptions#getPageRegion()} only the text inside of it is expected
+	 *
+	 * @param document
+	 *            the pdf document, it must not be used after this method returns
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 * @param options
+	 *            the options of the conversion
+	 * @return the text of the page or null if this engine declines the page
+	 * @throws IOException
+	 *             if the page could not be read
+	 */
+	default String extractText(final PDDocument document, final int pageIndex,
+		final ConversionOptions options) throws IOException
+	{
+		return null;
+	}
+
+	/**
+	 * Recognizes the text of the given page image, this method is called for engines with the
+	 * capability {@link TextExtractionCapability#OCR}
+	 *
+	 * @param image
+	 *            the rendered and preprocessed page image, only the region of
+	 *            {@link ConversionOptions#getPageRegion()} if the options have one
+	 * @param dpi
+	 *            the resolution of the image in dots per inch
+	 * @param options
+	 *            the options of the conversion
+	 * @return the recognized text or null if this engine declines the page
+	 * @throws IOException
+	 *             if the image could not be recognized
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for a resource
+	 */
+	default String recognize(final BufferedImage image, final int dpi,
+		final ConversionOptions options) throws IOException, InterruptedException
+	{
+		return null;
+	}
+
+}
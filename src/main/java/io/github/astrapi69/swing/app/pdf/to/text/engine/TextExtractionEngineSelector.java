@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link TextExtractionEngineSelector} holds the available {@link TextExtractionEngine}
+ * objects and selects the engines for a phase of the conversion of a page. The engines of a phase
+ * are ordered by their cost, a preferred engine of the {@link ConversionOptions} comes first.
+ * Engines of plugins can be added at any time, also while conversions are running
+ */
+@Slf4j
+public class TextExtractionEngineSelector
+{
+
+	/** The available engines */
+	private final List<TextExtractionEngine> engines = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Instantiates a new {@link TextExtractionEngineSelector}
+	 *
+	 * @param engines
+	 *            the initial engines
+	 */
+	public TextExtractionEngineSelector(final Collection<? extends TextExtractionEngine> engines)
+	{
+		addEngines(engines);
+	}
+
+	/**
+	 * Adds the given engines, an engine with the name of an already available engine is ignored
+	 *
+	 * @param newEngines
+	 *            the engines to add
+	 */
+	public synchronized void addEngines(final Collection<? extends TextExtractionEngine> newEngines)
+	{
+		for (TextExtractionEngine engine : newEngines)
+		{
+			if (getEngine(engine.getName()) != null)
+			{
+				log.warn("Text extraction engine '{}' of {} ignored, the name is already used",
+					engine.getName(), engine.getClass().getName());
+				continue;
+			}
+			engines.add(engine);
+			log.info("Text extraction engine '{}' with {} and cost {} added", engine.getName(),
+				engine.getCapabilities(), engine.getCost());
+		}
+	}
+
+	/**
+	 * Gets the available engines
+	 *
+	 * @return the available engines
+	 */
+	public List<TextExtractionEngine> getEngines()
+	{
+		return List.copyOf(engines);
+	}
+
+	/**
+	 * Gets the engine with the given name
+	 *
+	 * @param name
+	 *            the name of the engine
+	 * @return the engine or null if no engine has the given name
+	 */
+	public TextExtractionEngine getEngine(final String name)
+	{
+		return engines.stream().filter(engine -> engine.getName().equals(name)).findFirst()
+			.orElse(null);
+	}
+
+	/**
+	 * Selects the engines with the given capability that support the language of the given
+	 * options in the order they are tried
+	 *
+	 * @param capability
+	 *            the capability of the phase
+	 * @param options
+	 *            the options of the conversion
+	 * @return the selected engines, the preferred engine first and the others by ascending cost
+	 */
+	public List<TextExtractionEngine> select(final TextExtractionCapability capability,
+		final ConversionOptions options)
+	{
+		String preferredEngine = options.getPreferredEngine();
+		List<TextExtractionEngine> selected = new ArrayList<>();
+		for (TextExtractionEngine engine : engines)
+		{
+			if (engine.getCapabilities().contains(capability)
+				&& engine.supportsLanguage(options.getLanguageCode()))
+			{
+				selected.add(engine);
+			}
+		}
+		selected.sort(Comparator
+			.comparing((TextExtractionEngine engine) -> !engine.getName().equals(preferredEngine))
+			.thenComparingInt(TextExtractionEngine::getCost));
+		return selected;
+	}
+
+}
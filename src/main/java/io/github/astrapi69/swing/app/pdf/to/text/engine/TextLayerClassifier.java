@@ -0,0 +1,207 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.PDFTextStripperByArea;
+
+/**
+ * The class {@link TextLayerClassifier} extracts the text layer of a pdf page and decides if the
+ * extracted text is plausible enough to skip the ocr of the page. Scanned pages have no or only a
+ * tiny text layer and pages with broken font encodings produce mostly unmappable glyphs, both are
+ * classified as not usable
+ */
+public class TextLayerClassifier
+{
+
+	/** The default minimum number of visible characters of a usable text layer */
+	public static final int DEFAULT_MINIMUM_CHARACTERS = 20;
+
+	/** The default minimum number of visible characters per square inch of the page */
+	public static final double DEFAULT_MINIMUM_DENSITY = 0.5d;
+
+	/** The default minimum ratio of visible characters that are mapped to readable glyphs */
+	public static final double DEFAULT_MINIMUM_GLYPH_COVERAGE = 0.85d;
+
+	/** The name of the region of interest for the text stripper */
+	private static final String REGION_NAME = "region";
+
+	/** The number of pdf points per inch */
+	private static final double POINTS_PER_INCH = 72d;
+
+	/** The minimum number of visible characters */
+	private final int minimumCharacters;
+
+	/** The minimum number of visible characters per square inch */
+	private final double minimumDensity;
+
+	/** The minimum ratio of readable glyphs */
+	private final double minimumGlyphCoverage;
+
+	/**
+	 * Instantiates a new {@link TextLayerClassifier} with the default thresholds
+	 */
+	public TextLayerClassifier()
+	{
+		this(DEFAULT_MINIMUM_CHARACTERS, DEFAULT_MINIMUM_DENSITY, DEFAULT_MINIMUM_GLYPH_COVERAGE);
+	}
+
+	/**
+	 * Instantiates a new {@link TextLayerClassifier}
+	 *
+	 * @param minimumCharacters
+	 *            the minimum number of visible characters
+	 * @param minimumDensity
+	 *            the minimum number of visible characters per square inch of the page
+	 * @param minimumGlyphCoverage
+	 *            the minimum ratio of visible characters that are mapped to readable glyphs
+	 */
+	public TextLayerClassifier(final int minimumCharacters, final double minimumDensity,
+		final double minimumGlyphCoverage)
+	{
+		this.minimumCharacters = minimumCharacters;
+		this.minimumDensity = minimumDensity;
+		this.minimumGlyphCoverage = minimumGlyphCoverage;
+	}
+
+	/**
+	 * Extracts the text layer of the given page and returns it if it is usable
+	 *
+	 * @param document
+	 *            the pdf document
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 * @return the text of the text layer or null if the page has no usable text layer
+	 * @throws IOException
+	 *             if the text layer could not be extracted
+	 */
+	public String extractUsableText(final PDDocument document, final int pageIndex)
+		throws IOException
+	{
+		PDFTextStripper textStripper = new PDFTextStripper();
+		textStripper.setSortByPosition(true);
+		textStripper.setStartPage(pageIndex + 1);
+		textStripper.setEndPage(pageIndex + 1);
+		String text = textStripper.getText(document);
+		PDRectangle mediaBox = document.getPage(pageIndex).getMediaBox();
+		double areaInSquareInches = (mediaBox.getWidth() / POINTS_PER_INCH)
+			* (mediaBox.getHeight() / POINTS_PER_INCH);
+		return isUsable(text, areaInSquareInches) ? text : null;
+	}
+
+	/**
+	 * Extracts the text layer of the given region of the given page if the text layer of the
+	 * whole page is usable. The whole page is classified, because a small region has too few
+	 * characters to tell a usable text layer from the remains of a scan
+	 *
+	 * @param document
+	 *            the pdf document
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 * @param pageRegion
+	 *            the region of interest or null for the whole page
+	 * @return the text of the text layer inside of the region or null if the page has no usable
+	 *         text layer
+	 * @throws IOException
+	 *             if the text layer could not be extracted
+	 */
+	public String extractUsableText(final PDDocument document, final int pageIndex,
+		final PageRegion pageRegion) throws IOException
+	{
+		String text = extractUsableText(document, pageIndex);
+		if (text == null || pageRegion == null)
+		{
+			return text;
+		}
+		PDPage page = document.getPage(pageIndex);
+		PDFTextStripperByArea textStripper = new PDFTextStripperByArea();
+		textStripper.setSortByPosition(true);
+		textStripper.addRegion(REGION_NAME, pageRegion.getBounds(page, 1d));
+		textStripper.extractRegions(page);
+		return textStripper.getTextForRegion(REGION_NAME);
+	}
+
+	/**
+	 * Checks if the given extracted text is plausible for a page of the given area
+	 *
+	 * @param text
+	 *            the extracted text
+	 * @param areaInSquareInches
+	 *            the area of the page in square inches
+	 * @return true if the text is usable otherwise false
+	 */
+	public boolean isUsable(final String text, final double areaInSquareInches)
+	{
+		if (text == null)
+		{
+			return false;
+		}
+		int visibleCharacters = 0;
+		int readableCharacters = 0;
+		for (int offset = 0; offset < text.length();)
+		{
+			int codePoint = text.codePointAt(offset);
+			offset += Character.charCount(codePoint);
+			if (Character.isWhitespace(codePoint))
+			{
+				continue;
+			}
+			visibleCharacters++;
+			if (isReadable(codePoint))
+			{
+				readableCharacters++;
+			}
+		}
+		if (visibleCharacters < minimumCharacters)
+		{
+			return false;
+		}
+		if (0 < areaInSquareInches && visibleCharacters / areaInSquareInches < minimumDensity)
+		{
+			return false;
+		}
+		return minimumGlyphCoverage <= (double)readableCharacters / visibleCharacters;
+	}
+
+	private static boolean isReadable(final int codePoint)
+	{
+		if (codePoint == 0xFFFD)
+		{
+			return false;
+		}
+		return switch (Character.getType(codePoint))
+		{
+			case Character.CONTROL, Character.PRIVATE_USE, Character.UNASSIGNED,
+				Character.SURROGATE, Character.FORMAT -> false;
+			default -> true;
+		};
+	}
+
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * The class {@link TextLayerTextExtractionEngine} is the built in engine that takes the text layer
+ * of a page if the {@link TextLayerClassifier} classifies it as usable
+ */
+public class TextLayerTextExtractionEngine implements TextExtractionEngine
+{
+
+	/** The name of this engine */
+	public static final String NAME = "text-layer";
+
+	/** The classifier that decides if the text layer of a page can be used instead of ocr */
+	private final TextLayerClassifier textLayerClassifier = new TextLayerClassifier();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<TextExtractionCapability> getCapabilities()
+	{
+		return Set.of(TextExtractionCapability.TEXT_LAYER);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getCost()
+	{
+		return 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String extractText(final PDDocument document, final int pageIndex,
+		final ConversionOptions options) throws IOException
+	{
+		return textLayerClassifier.extractUsableText(document, pageIndex,
+			options.getPageRegion());
+	}
+
+}
@@ -0,0 +1,56 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.history;
+
+import java.io.File;
+
+/**
+ * The record {@link ConversionHistoryEntry} describes a conversion that is stored in the
+ * {@link ConversionHistoryStore}
+ *
+ * @param id
+ *            the id of the entry, a newer entry has a greater id
+ * @param pdfFile
+ *            the converted pdf file
+ * @param contentHash
+ *            the content hash of the pdf file
+ * @param languageCode
+ *            the ocr language of the conversion
+ * @param convertedMillis
+ *            the time of the conversion in milliseconds since the epoch
+ * @param elapsedMillis
+ *            the duration of the conversion in milliseconds
+ * @param pageCount
+ *            the number of pages
+ * @param ocrPages
+ *            the number of pages that were recognized by ocr
+ * @param textLength
+ *            the length of the result text in bytes
+ */
+public record ConversionHistoryEntry(long id, File pdfFile, String contentHash,
+	String languageCode, long convertedMillis, long elapsedMillis, int pageCount, int ocrPages,
+	long textLength)
+{
+}
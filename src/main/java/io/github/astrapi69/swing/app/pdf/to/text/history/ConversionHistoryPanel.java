@@ -0,0 +1,238 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.history;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+import io.github.astrapi69.file.system.SystemFileExtensions;
+import io.github.astrapi69.swing.app.Messages;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link ConversionHistoryPanel} lists the most recent entries of the
+ * {@link ConversionHistoryStore}, the newest first. An entry is opened by double click, its text
+ * is extracted in the background to a temporary file that is reused as long as it exists
+ */
+@Slf4j
+public class ConversionHistoryPanel extends JPanel
+{
+
+	/** The maximum number of shown entries */
+	public static final int MAXIMUM_SHOWN_ENTRIES = 10_000;
+
+	/** The shown store */
+	@Getter
+	private final ConversionHistoryStore conversionHistoryStore;
+
+	/** The table model of the entries */
+	private final ConversionHistoryTableModel tableModel;
+
+	/** The table of the entries */
+	private final JTable table;
+
+	/** The label with the number of entries */
+	private final JLabel countLabel;
+
+	/** The flag that indicates if a refresh is already scheduled */
+	private boolean refreshScheduled;
+
+	/** The action that shows an opened entry with its extracted text file */
+	@Setter
+	private BiConsumer<ConversionHistoryEntry, File> openEntryAction = (entry, textFile) -> {
+	};
+
+	/**
+	 * Instantiates a new {@link ConversionHistoryPanel}
+	 *
+	 * @param conversionHistoryStore
+	 *            the store to show
+	 */
+	public ConversionHistoryPanel(final ConversionHistoryStore conversionHistoryStore)
+	{
+		super(new BorderLayout());
+		this.conversionHistoryStore = conversionHistoryStore;
+		tableModel = new ConversionHistoryTableModel();
+		table = new JTable(tableModel);
+		table.setAutoCreateRowSorter(true);
+		table.setFillsViewportHeight(true);
+		table.addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				int row = table.rowAtPoint(e.getPoint());
+				if (e.getClickCount() == 2 && row != -1)
+				{
+					open(tableModel.getEntry(table.convertRowIndexToModel(row)));
+				}
+			}
+		});
+		countLabel = new JLabel();
+
+		JButton openButton = new JButton(Messages.getString("history.button.open", "Open"));
+		openButton.addActionListener(e -> {
+			ConversionHistoryEntry entry = getSelectedEntry();
+			if (entry != null)
+			{
+				open(entry);
+			}
+		});
+		JButton removeButton = new JButton(Messages.getString("history.button.remove", "Remove"));
+		removeButton.addActionListener(e -> onRemoveSelectedEntries());
+
+		JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		buttonPanel.add(openButton);
+		buttonPanel.add(removeButton);
+		buttonPanel.add(countLabel);
+		add(buttonPanel, BorderLayout.NORTH);
+		add(new JScrollPane(table), BorderLayout.CENTER);
+
+		// conversions add their entries from worker threads, a burst of them refreshes once
+		conversionHistoryStore.addChangeListener(() -> SwingUtilities.invokeLater(() -> {
+			if (!refreshScheduled)
+			{
+				refreshScheduled = true;
+				SwingUtilities.invokeLater(this::refresh);
+			}
+		}));
+		refresh();
+	}
+
+	/**
+	 * Shows the current entries of the store
+	 */
+	public void refresh()
+	{
+		refreshScheduled = false;
+		tableModel.setEntries(conversionHistoryStore.getRecentEntries(MAXIMUM_SHOWN_ENTRIES));
+		countLabel.setText(String.format(
+			Messages.getString("history.label.count", "%d conversions"),
+			conversionHistoryStore.getEntryCount()));
+	}
+
+	/**
+	 * Extracts the text of the given entry in the background and passes it to the open entry
+	 * action
+	 *
+	 * @param entry
+	 *            the entry to open
+	 */
+	public void open(final ConversionHistoryEntry entry)
+	{
+		new SwingWorker<File, Void>()
+		{
+			@Override
+			protected File doInBackground() throws IOException
+			{
+				File textFile = getExtractedTextFile(entry);
+				// the text of an entry never changes, an extracted file is stamped with the
+				// conversion time and reused as long as its size and its stamp are unchanged
+				long stampMillis = entry.convertedMillis() / 1000 * 1000;
+				if (textFile.isFile() && textFile.length() == entry.textLength()
+					&& textFile.lastModified() == stampMillis)
+				{
+					return textFile;
+				}
+				conversionHistoryStore.extractText(entry, textFile);
+				if (!textFile.setLastModified(stampMillis))
+				{
+					log.debug("Extracted text '{}' could not be stamped", textFile);
+				}
+				return textFile;
+			}
+
+			@Override
+			protected void done()
+			{
+				try
+				{
+					openEntryAction.accept(entry, get());
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				catch (ExecutionException e)
+				{
+					log.error("History entry of '{}' could not be opened", entry.pdfFile(),
+						e.getCause());
+					JOptionPane.showMessageDialog(ConversionHistoryPanel.this,
+						e.getCause().getMessage(),
+						Messages.getString("history.button.open", "Open"),
+						JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		}.execute();
+	}
+
+	private ConversionHistoryEntry getSelectedEntry()
+	{
+		int row = table.getSelectedRow();
+		return row == -1 ? null : tableModel.getEntry(table.convertRowIndexToModel(row));
+	}
+
+	private void onRemoveSelectedEntries()
+	{
+		for (int row : table.getSelectedRows())
+		{
+			ConversionHistoryEntry entry = tableModel.getEntry(table.convertRowIndexToModel(row));
+			try
+			{
+				conversionHistoryStore.remove(entry);
+				getExtractedTextFile(entry).delete();
+			}
+			catch (IOException e)
+			{
+				log.error("History entry of '{}' could not be removed", entry.pdfFile(), e);
+			}
+		}
+	}
+
+	private static File getExtractedTextFile(final ConversionHistoryEntry entry)
+	{
+		File historyDirectory = new File(
+			new File(SystemFileExtensions.getUserTempDir(), "pdf-to-text"), "history");
+		return new File(historyDirectory, entry.id() + ".txt");
+	}
+
+}
@@ -0,0 +1,909 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.history;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ContentHashes;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link ConversionHistoryStore} is an embedded, append only store of all conversions
+ * with their gzip compressed result texts, so an earlier result opens again without converting
+ * the pdf a second time.<br>
+ * <br>
+ * The store consists of two files that are only appended to. The texts file holds the compressed
+ * texts one after another and the entries log holds a record with the checksum for every added
+ * and every removed entry. On opening, the log is read into an in memory index and a record that
+ * was torn by a crash is cut off, so the store always recovers to the last complete record. A
+ * newer conversion of the same pdf content in the same language replaces the older entry and
+ * beyond {@value #MAXIMUM_ENTRY_COUNT} entries the oldest are removed. The space of removed
+ * entries is reclaimed by a compaction in the background that copies the remaining entries into
+ * a new generation of both files and switches to it with an atomic rename of the log.<br>
+ * <br>
+ * The store is locked against a second process and its methods are thread safe
+ */
+@Slf4j
+public class ConversionHistoryStore implements AutoCloseable
+{
+
+	/** The name of the default history directory in the application directory */
+	public static final String DEFAULT_DIRECTORY_NAME = "history";
+
+	/** The maximum number of entries, the oldest entries are removed beyond */
+	public static final int MAXIMUM_ENTRY_COUNT = 100_000;
+
+	/** The number of bytes of removed texts that allows a compaction */
+	static final long COMPACTION_MINIMUM_GARBAGE_BYTES = 16L * 1024 * 1024;
+
+	/** The number of obsolete log records that allows a compaction */
+	static final int COMPACTION_MINIMUM_OBSOLETE_RECORDS = 10_000;
+
+	/** The magic number at the beginning of the entries log */
+	private static final int MAGIC = 0x50544848;
+
+	/** The version of the format of the entries log */
+	private static final int VERSION = 1;
+
+	/** The length of the header of the entries log */
+	private static final int HEADER_LENGTH = 8;
+
+	/** The length of the length and the checksum in front of every record */
+	private static final int RECORD_HEADER_LENGTH = 8;
+
+	/** The maximum length of a record, a greater length can only come from a torn record */
+	private static final int MAXIMUM_RECORD_LENGTH = 256 * 1024;
+
+	/** The type of the record of an added entry */
+	private static final byte TYPE_ENTRY = 1;
+
+	/** The type of the record of a removed entry */
+	private static final byte TYPE_REMOVE = 2;
+
+	/** The prefix of the names of the entries logs */
+	private static final String LOG_PREFIX = "entries-";
+
+	/** The extension of the names of the entries logs */
+	private static final String LOG_EXTENSION = ".log";
+
+	/** The prefix of the names of the texts files */
+	private static final String TEXTS_PREFIX = "texts-";
+
+	/** The extension of the names of the texts files */
+	private static final String TEXTS_EXTENSION = ".dat";
+
+	/** The name of the file that locks the store against a second process */
+	private static final String LOCK_FILE_NAME = "history.lock";
+
+	/** The history directory */
+	@Getter
+	private final File directory;
+
+	/** The channel that holds the lock of the store */
+	private final FileChannel lockChannel;
+
+	/** The single thread that compacts the store */
+	private final ExecutorService compactionExecutor;
+
+	/** The listeners that are notified when entries are added or removed */
+	private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+	/** The entries by id */
+	private final TreeMap<Long, StoredEntry> entries = new TreeMap<>();
+
+	/** The id of the newest entry for every pdf file, content and language */
+	private final Map<String, Long> latestIdsByKey = new HashMap<>();
+
+	/** The generation of the current files */
+	private long generation;
+
+	/** The channel of the entries log */
+	private FileChannel logChannel;
+
+	/** The channel of the texts file */
+	private FileChannel textsChannel;
+
+	/** The length of the texts file */
+	private long textsLength;
+
+	/** The number of bytes of removed texts in the texts file */
+	private long garbageBytes;
+
+	/** The number of records in the entries log */
+	private int logRecordCount;
+
+	/** The id of the next entry */
+	private long nextId = 1;
+
+	/** The flag that indicates if a compaction is scheduled or running */
+	private boolean compacting;
+
+	/** The flag that indicates if the store is closed */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new {@link ConversionHistoryStore} in the given directory and loads its
+	 * entries
+	 *
+	 * @param directory
+	 *            the history directory, it is created if it does not exist
+	 * @throws IOException
+	 *             if the store could not be opened or is used by another process
+	 */
+	public ConversionHistoryStore(final File directory) throws IOException
+	{
+		this.directory = directory;
+		Files.createDirectories(directory.toPath());
+		lockChannel = FileChannel.open(new File(directory, LOCK_FILE_NAME).toPath(),
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		try
+		{
+			if (tryLock(lockChannel) == null)
+			{
+				throw new IOException(
+					"The conversion history '" + directory + "' is used by another process");
+			}
+			load();
+		}
+		catch (IOException | RuntimeException e)
+		{
+			closeQuietly(logChannel);
+			closeQuietly(textsChannel);
+			closeQuietly(lockChannel);
+			throw e;
+		}
+		compactionExecutor = Executors
+			.newSingleThreadExecutor(PdfConversionEngine.newThreadFactory("conversion-history-"));
+	}
+
+	/**
+	 * Factory method for create a new {@link ConversionHistoryStore} in the default history
+	 * directory
+	 *
+	 * @return the new {@link ConversionHistoryStore} object
+	 * @throws IOException
+	 *             if the store could not be opened or is used by another process
+	 */
+	public static ConversionHistoryStore newDefaultStore() throws IOException
+	{
+		return new ConversionHistoryStore(
+			ApplicationDirectories.getDirectory(DEFAULT_DIRECTORY_NAME));
+	}
+
+	/**
+	 * Adds the given conversion to the history. The result text is compressed and stored in the
+	 * calling thread, so the result text file can be overwritten as soon as this method returns
+	 *
+	 * @param pdfFile
+	 *            the converted pdf file
+	 * @param resultTextFile
+	 *            the result text file of the conversion
+	 * @param options
+	 *            the options of the conversion
+	 * @param conversionReport
+	 *            the report of the conversion
+	 * @return the new entry
+	 * @throws IOException
+	 *             if the pdf file or the result text file could not be read or the store could
+	 *             not be written
+	 */
+	public ConversionHistoryEntry add(final @NonNull File pdfFile,
+		final @NonNull File resultTextFile, final @NonNull ConversionOptions options,
+		final @NonNull ConversionReport conversionReport) throws IOException
+	{
+		String contentHash = conversionReport.getContentHash() != null
+			? conversionReport.getContentHash()
+			: ContentHashes.of(pdfFile);
+		// the text is compressed before the store is locked, so concurrent conversions only wait
+		// for each other's append
+		byte[] compressedText = compress(resultTextFile);
+		ConversionHistoryEntry entry;
+		synchronized (this)
+		{
+			ensureOpen();
+			entry = new ConversionHistoryEntry(nextId, pdfFile.getAbsoluteFile(), contentHash,
+				options.getLanguageCode(), System.currentTimeMillis(),
+				conversionReport.getElapsedMillis(), conversionReport.getPageCount(),
+				conversionReport.getOcrPages(), resultTextFile.length());
+			long textPosition = textsLength;
+			writeFully(textsChannel, ByteBuffer.wrap(compressedText), textPosition);
+			textsChannel.force(false);
+			List<byte[]> records = new ArrayList<>();
+			records.add(encodeEntry(new StoredEntry(entry, textPosition, compressedText.length)));
+			Long supersededId = latestIdsByKey.get(getKey(entry));
+			if (supersededId != null)
+			{
+				records.add(encodeRemove(supersededId));
+			}
+			int removedCount = supersededId != null ? 1 : 0;
+			for (Long id : entries.keySet())
+			{
+				if (entries.size() + 1 - removedCount <= MAXIMUM_ENTRY_COUNT)
+				{
+					break;
+				}
+				if (!id.equals(supersededId))
+				{
+					records.add(encodeRemove(id));
+					removedCount++;
+				}
+			}
+			append(records);
+		}
+		fireChanged();
+		scheduleCompactionIfNeeded();
+		return entry;
+	}
+
+	/**
+	 * Removes the given entry from the history, its text is reclaimed by the next compaction
+	 *
+	 * @param entry
+	 *            the entry to remove
+	 * @throws IOException
+	 *             if the store could not be written
+	 */
+	public void remove(final @NonNull ConversionHistoryEntry entry) throws IOException
+	{
+		synchronized (this)
+		{
+			ensureOpen();
+			if (!entries.containsKey(entry.id()))
+			{
+				return;
+			}
+			append(List.of(encodeRemove(entry.id())));
+		}
+		fireChanged();
+		scheduleCompactionIfNeeded();
+	}
+
+	/**
+	 * Gets the most recent entries
+	 *
+	 * @param maximumEntries
+	 *            the maximum number of returned entries
+	 * @return the entries, the newest first
+	 */
+	public synchronized List<ConversionHistoryEntry> getRecentEntries(final int maximumEntries)
+	{
+		return entries.descendingMap().values().stream().limit(maximumEntries)
+			.map(StoredEntry::entry).toList();
+	}
+
+	/**
+	 * Gets the number of entries
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int getEntryCount()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Writes the uncompressed result text of the given entry to the given file
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param targetFile
+	 *            the file the text is written to, an existing file is replaced
+	 * @return the given target file
+	 * @throws IOException
+	 *             if the entry was removed or the text could not be read or written
+	 */
+	public File extractText(final @NonNull ConversionHistoryEntry entry,
+		final @NonNull File targetFile) throws IOException
+	{
+		byte[] compressedText;
+		synchronized (this)
+		{
+			ensureOpen();
+			StoredEntry storedEntry = entries.get(entry.id());
+			if (storedEntry == null)
+			{
+				throw new FileNotFoundException(
+					"The history entry of '" + entry.pdfFile().getName() + "' was removed");
+			}
+			compressedText = new byte[storedEntry.compressedLength()];
+			readFully(textsChannel, ByteBuffer.wrap(compressedText), storedEntry.textPosition());
+		}
+		File parentFile = targetFile.getAbsoluteFile().getParentFile();
+		if (parentFile != null)
+		{
+			Files.createDirectories(parentFile.toPath());
+		}
+		try (InputStream inputStream = new GZIPInputStream(
+			new ByteArrayInputStream(compressedText)))
+		{
+			Files.copy(inputStream, targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		return targetFile;
+	}
+
+	/**
+	 * Adds the given listener that is notified on the changing thread when entries are added or
+	 * removed
+	 *
+	 * @param changeListener
+	 *            the listener to add
+	 */
+	public void addChangeListener(final @NonNull Runnable changeListener)
+	{
+		changeListeners.add(changeListener);
+	}
+
+	/**
+	 * Removes the given listener
+	 *
+	 * @param changeListener
+	 *            the listener to remove
+	 */
+	public void removeChangeListener(final Runnable changeListener)
+	{
+		changeListeners.remove(changeListener);
+	}
+
+	/**
+	 * Waits for a running compaction and closes the files of the store
+	 */
+	@Override
+	public void close()
+	{
+		synchronized (this)
+		{
+			if (closed)
+			{
+				return;
+			}
+			closed = true;
+		}
+		compactionExecutor.shutdown();
+		try
+		{
+			if (!compactionExecutor.awaitTermination(1, TimeUnit.MINUTES))
+			{
+				log.warn("Compaction of the conversion history did not finish in time");
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this)
+		{
+			closeQuietly(logChannel);
+			closeQuietly(textsChannel);
+			closeQuietly(lockChannel);
+		}
+	}
+
+	private void ensureOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("The conversion history is closed");
+		}
+	}
+
+	private void fireChanged()
+	{
+		for (Runnable changeListener : changeListeners)
+		{
+			changeListener.run();
+		}
+	}
+
+	private void append(final List<byte[]> records) throws IOException
+	{
+		// all records of a change are written at once and a torn write is cut off on opening
+		writeRecords(logChannel, records);
+		logChannel.force(false);
+		for (byte[] record : records)
+		{
+			apply(record);
+		}
+	}
+
+	private void apply(final byte[] record) throws IOException
+	{
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+		byte type = input.readByte();
+		if (type == TYPE_ENTRY)
+		{
+			ConversionHistoryEntry entry = new ConversionHistoryEntry(input.readLong(),
+				new File(input.readUTF()), input.readUTF(), input.readUTF(), input.readLong(),
+				input.readLong(), input.readInt(), input.readInt(), input.readLong());
+			StoredEntry storedEntry = new StoredEntry(entry, input.readLong(), input.readInt());
+			entries.put(entry.id(), storedEntry);
+			latestIdsByKey.put(getKey(entry), entry.id());
+			nextId = Math.max(nextId, entry.id() + 1);
+			textsLength = Math.max(textsLength, storedEntry.getTextEnd());
+		}
+		else if (type == TYPE_REMOVE)
+		{
+			StoredEntry storedEntry = entries.remove(input.readLong());
+			if (storedEntry != null)
+			{
+				latestIdsByKey.remove(getKey(storedEntry.entry()), storedEntry.entry().id());
+				garbageBytes += storedEntry.compressedLength();
+			}
+		}
+		else
+		{
+			throw new IOException("Unknown conversion history record type " + type);
+		}
+		logRecordCount++;
+	}
+
+	private static String getKey(final ConversionHistoryEntry entry)
+	{
+		return entry.pdfFile().getPath() + '\n' + entry.contentHash() + '\n'
+			+ entry.languageCode();
+	}
+
+	private static byte[] encodeEntry(final StoredEntry storedEntry) throws IOException
+	{
+		ConversionHistoryEntry entry = storedEntry.entry();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (DataOutputStream output = new DataOutputStream(bytes))
+		{
+			output.writeByte(TYPE_ENTRY);
+			output.writeLong(entry.id());
+			output.writeUTF(entry.pdfFile().getPath());
+			output.writeUTF(entry.contentHash());
+			output.writeUTF(entry.languageCode());
+			output.writeLong(entry.convertedMillis());
+			output.writeLong(entry.elapsedMillis());
+			output.writeInt(entry.pageCount());
+			output.writeInt(entry.ocrPages());
+			output.writeLong(entry.textLength());
+			output.writeLong(storedEntry.textPosition());
+			output.writeInt(storedEntry.compressedLength());
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] encodeRemove(final long id)
+	{
+		return ByteBuffer.allocate(9).put(TYPE_REMOVE).putLong(id).array();
+	}
+
+	private static int checksum(final byte[] record)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(record);
+		return (int)crc.getValue();
+	}
+
+	private static byte[] compress(final File resultTextFile) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+			(int)Math.min(Integer.MAX_VALUE - 8, resultTextFile.length() / 3 + 64));
+		try (OutputStream outputStream = new GZIPOutputStream(bytes, 64 * 1024))
+		{
+			Files.copy(resultTextFile.toPath(), outputStream);
+		}
+		return bytes.toByteArray();
+	}
+
+	private void load() throws IOException
+	{
+		generation = findGeneration();
+		logChannel = FileChannel.open(getLogFile(generation).toPath(),
+			StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		textsChannel = FileChannel.open(getTextsFile(generation).toPath(),
+			StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		if (logChannel.size() < HEADER_LENGTH)
+		{
+			logChannel.truncate(0);
+			writeFully(logChannel,
+				ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).flip(), 0);
+			logChannel.force(true);
+		}
+		else
+		{
+			readLog();
+		}
+		// a text whose entry record was not written before a crash is cut off
+		if (textsLength < textsChannel.size())
+		{
+			textsChannel.truncate(textsLength);
+		}
+		deleteOtherGenerations();
+		log.info("Conversion history with {} entries loaded", entries.size());
+	}
+
+	private void readLog() throws IOException
+	{
+		Path logPath = getLogFile(generation).toPath();
+		long size = logChannel.size();
+		long validLength = HEADER_LENGTH;
+		try (DataInputStream input = new DataInputStream(
+			new BufferedInputStream(Files.newInputStream(logPath), 64 * 1024)))
+		{
+			if (input.readInt() != MAGIC || input.readInt() != VERSION)
+			{
+				throw new IOException("'" + logPath + "' is not a conversion history log");
+			}
+			while (validLength + RECORD_HEADER_LENGTH <= size)
+			{
+				int length = input.readInt();
+				int checksum = input.readInt();
+				if (length <= 0 || MAXIMUM_RECORD_LENGTH < length
+					|| size < validLength + RECORD_HEADER_LENGTH + length)
+				{
+					break;
+				}
+				byte[] record = input.readNBytes(length);
+				if (checksum(record) != checksum)
+				{
+					break;
+				}
+				apply(record);
+				validLength += RECORD_HEADER_LENGTH + length;
+			}
+		}
+		if (validLength < size)
+		{
+			log.warn("Conversion history log '{}' ends with an incomplete record at {}, "
+				+ "it is cut off", logPath, validLength);
+			logChannel.truncate(validLength);
+			logChannel.force(true);
+		}
+	}
+
+	private long findGeneration()
+	{
+		long newestGeneration = 1;
+		File[] logFiles = directory.listFiles(
+			(dir, name) -> name.matches(LOG_PREFIX + "\\d+" + LOG_EXTENSION.replace(".", "\\.")));
+		for (File logFile : logFiles != null ? logFiles : new File[0])
+		{
+			String name = logFile.getName();
+			newestGeneration = Math.max(newestGeneration, Long.parseLong(
+				name.substring(LOG_PREFIX.length(), name.length() - LOG_EXTENSION.length())));
+		}
+		return newestGeneration;
+	}
+
+	private void deleteOtherGenerations() throws IOException
+	{
+		// files of older generations or of an interrupted compaction
+		String logFileName = getLogFile(generation).getName();
+		String textsFileName = getTextsFile(generation).getName();
+		File[] files = directory.listFiles((dir, name) -> (name.startsWith(LOG_PREFIX)
+			|| name.startsWith(TEXTS_PREFIX)) && !name.equals(logFileName)
+			&& !name.equals(textsFileName));
+		for (File file : files != null ? files : new File[0])
+		{
+			Files.deleteIfExists(file.toPath());
+		}
+	}
+
+	private File getLogFile(final long logGeneration)
+	{
+		return new File(directory, LOG_PREFIX + logGeneration + LOG_EXTENSION);
+	}
+
+	private File getTextsFile(final long textsGeneration)
+	{
+		return new File(directory, TEXTS_PREFIX + textsGeneration + TEXTS_EXTENSION);
+	}
+
+	private void scheduleCompactionIfNeeded()
+	{
+		synchronized (this)
+		{
+			boolean textsGarbage = COMPACTION_MINIMUM_GARBAGE_BYTES <= garbageBytes
+				&& textsLength <= garbageBytes * 2;
+			boolean logGarbage = COMPACTION_MINIMUM_OBSOLETE_RECORDS <= logRecordCount
+				- entries.size() && entries.size() <= logRecordCount - entries.size();
+			if (compacting || closed || !textsGarbage && !logGarbage)
+			{
+				return;
+			}
+			compacting = true;
+		}
+		compactionExecutor.execute(this::compact);
+	}
+
+	/**
+	 * Compacts the store on the compaction thread and waits for it, independent of the space
+	 * that can be reclaimed
+	 *
+	 * @throws IOException
+	 *             if the store is closed
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the compaction
+	 */
+	void compactNow() throws IOException, InterruptedException
+	{
+		synchronized (this)
+		{
+			ensureOpen();
+			compacting = true;
+		}
+		try
+		{
+			compactionExecutor.submit(this::compact).get();
+		}
+		catch (ExecutionException e)
+		{
+			throw new IOException("The conversion history could not be compacted", e.getCause());
+		}
+	}
+
+	private void compact()
+	{
+		long start = System.currentTimeMillis();
+		try
+		{
+			List<StoredEntry> snapshot;
+			FileChannel sourceTextsChannel;
+			long newGeneration;
+			synchronized (this)
+			{
+				snapshot = List.copyOf(entries.values());
+				sourceTextsChannel = textsChannel;
+				newGeneration = generation + 1;
+			}
+			File newTextsFile = getTextsFile(newGeneration);
+			FileChannel newTextsChannel = FileChannel.open(newTextsFile.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			try
+			{
+				// the texts are copied without holding the lock, the files are append only so
+				// the copied part does not change
+				Map<Long, StoredEntry> copiedEntries = new HashMap<>();
+				for (StoredEntry storedEntry : snapshot)
+				{
+					copiedEntries.put(storedEntry.entry().id(),
+						copyText(sourceTextsChannel, storedEntry, newTextsChannel));
+				}
+				if (switchGeneration(newGeneration, newTextsChannel, copiedEntries))
+				{
+					newTextsChannel = null;
+				}
+			}
+			finally
+			{
+				if (newTextsChannel != null)
+				{
+					closeQuietly(newTextsChannel);
+					Files.deleteIfExists(newTextsFile.toPath());
+				}
+			}
+			log.info("Conversion history compacted to {} entries in {} ms", getEntryCount(),
+				System.currentTimeMillis() - start);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("Conversion history could not be compacted", e);
+		}
+		finally
+		{
+			synchronized (this)
+			{
+				compacting = false;
+			}
+		}
+	}
+
+	private synchronized boolean switchGeneration(final long newGeneration,
+		final FileChannel newTextsChannel, final Map<Long, StoredEntry> copiedEntries)
+		throws IOException
+	{
+		if (closed)
+		{
+			return false;
+		}
+		List<StoredEntry> compactedEntries = new ArrayList<>(entries.size());
+		for (StoredEntry storedEntry : entries.values())
+		{
+			StoredEntry copiedEntry = copiedEntries.get(storedEntry.entry().id());
+			compactedEntries.add(copiedEntry != null
+				? copiedEntry
+				: copyText(textsChannel, storedEntry, newTextsChannel));
+		}
+		newTextsChannel.force(true);
+		File newLogFile = getLogFile(newGeneration);
+		File temporaryLogFile = new File(directory, newLogFile.getName() + ".tmp");
+		try (FileChannel temporaryLogChannel = FileChannel.open(temporaryLogFile.toPath(),
+			StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+			StandardOpenOption.WRITE))
+		{
+			writeFully(temporaryLogChannel,
+				ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).flip(), 0);
+			List<byte[]> records = new ArrayList<>(compactedEntries.size());
+			for (StoredEntry compactedEntry : compactedEntries)
+			{
+				records.add(encodeEntry(compactedEntry));
+			}
+			writeRecords(temporaryLogChannel, records);
+			temporaryLogChannel.force(true);
+		}
+		// the rename is the commit point, a crash before it keeps the previous generation
+		Files.move(temporaryLogFile.toPath(), newLogFile.toPath(),
+			StandardCopyOption.ATOMIC_MOVE);
+		FileChannel previousLogChannel = logChannel;
+		FileChannel previousTextsChannel = textsChannel;
+		logChannel = FileChannel.open(newLogFile.toPath(), StandardOpenOption.READ,
+			StandardOpenOption.WRITE);
+		textsChannel = newTextsChannel;
+		generation = newGeneration;
+		entries.clear();
+		compactedEntries.forEach(storedEntry -> entries.put(storedEntry.entry().id(), storedEntry));
+		textsLength = newTextsChannel.size();
+		garbageBytes = 0;
+		logRecordCount = compactedEntries.size();
+		closeQuietly(previousLogChannel);
+		closeQuietly(previousTextsChannel);
+		deleteOtherGenerations();
+		return true;
+	}
+
+	private static void writeRecords(final FileChannel channel, final List<byte[]> records)
+		throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes))
+		{
+			for (byte[] record : records)
+			{
+				output.writeInt(record.length);
+				output.writeInt(checksum(record));
+				output.write(record);
+			}
+		}
+		writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()), channel.size());
+	}
+
+	private static StoredEntry copyText(final FileChannel source, final StoredEntry storedEntry,
+		final FileChannel target) throws IOException
+	{
+		long targetPosition = target.size();
+		target.position(targetPosition);
+		long position = storedEntry.textPosition();
+		long end = storedEntry.getTextEnd();
+		while (position < end)
+		{
+			position += source.transferTo(position, end - position, target);
+		}
+		return new StoredEntry(storedEntry.entry(), targetPosition,
+			storedEntry.compressedLength());
+	}
+
+	private static FileLock tryLock(final FileChannel channel) throws IOException
+	{
+		try
+		{
+			return channel.tryLock();
+		}
+		catch (OverlappingFileLockException e)
+		{
+			return null;
+		}
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer,
+		final long position) throws IOException
+	{
+		long currentPosition = position;
+		while (buffer.hasRemaining())
+		{
+			currentPosition += channel.write(buffer, currentPosition);
+		}
+	}
+
+	private static void readFully(final FileChannel channel, final ByteBuffer buffer,
+		final long position) throws IOException
+	{
+		long currentPosition = position;
+		while (buffer.hasRemaining())
+		{
+			int read = channel.read(buffer, currentPosition);
+			if (read < 0)
+			{
+				throw new EOFException("The conversion history texts file is truncated");
+			}
+			currentPosition += read;
+		}
+	}
+
+	private static void closeQuietly(final AutoCloseable closeable)
+	{
+		if (closeable == null)
+		{
+			return;
+		}
+		try
+		{
+			closeable.close();
+		}
+		catch (Exception e)
+		{
+			log.debug("Could not close {}", closeable, e);
+		}
+	}
+
+	/**
+	 * The record {@link StoredEntry} is an entry with the location of its compressed text
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param textPosition
+	 *            the position of the compressed text in the texts file
+	 * @param compressedLength
+	 *            the length of the compressed text
+	 */
+	private record StoredEntry(ConversionHistoryEntry entry, long textPosition,
+		int compressedLength)
+	{
+		long getTextEnd()
+		{
+			return textPosition + compressedLength;
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.history;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import io.github.astrapi69.swing.app.Messages;
+
+/**
+ * The class {@link ConversionHistoryTableModel} is the table model of the entries of the
+ * conversion history. It must only be accessed from the event dispatch thread
+ */
+public class ConversionHistoryTableModel extends AbstractTableModel
+{
+
+	/** The column names */
+	private static final String[] COLUMN_NAMES = {
+			Messages.getString("history.column.document", "Document"),
+			Messages.getString("history.column.language", "Language"),
+			Messages.getString("history.column.pages", "Pages"),
+			Messages.getString("history.column.ocr.pages", "OCR pages"),
+			Messages.getString("history.column.converted", "Converted"),
+			Messages.getString("history.column.elapsed", "Elapsed"),
+			Messages.getString("history.column.folder", "Folder") };
+
+	/** The column classes */
+	private static final Class<?>[] COLUMN_CLASSES = { String.class, String.class,
+			Integer.class, Integer.class, Date.class, String.class, String.class };
+
+	/** The shown entries */
+	private final List<ConversionHistoryEntry> entries = new ArrayList<>();
+
+	/**
+	 * Replaces the shown entries with the given entries
+	 *
+	 * @param entries
+	 *            the entries to show
+	 */
+	public void setEntries(final List<ConversionHistoryEntry> entries)
+	{
+		this.entries.clear();
+		this.entries.addAll(entries);
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Gets the entry of the given row
+	 *
+	 * @param rowIndex
+	 *            the model index of the row
+	 * @return the entry
+	 */
+	public ConversionHistoryEntry getEntry(final int rowIndex)
+	{
+		return entries.get(rowIndex);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowCount()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getColumnCount()
+	{
+		return COLUMN_NAMES.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getColumnName(final int column)
+	{
+		return COLUMN_NAMES[column];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<?> getColumnClass(final int columnIndex)
+	{
+		return COLUMN_CLASSES[columnIndex];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final int rowIndex, final int columnIndex)
+	{
+		ConversionHistoryEntry entry = entries.get(rowIndex);
+		return switch (columnIndex)
+		{
+			case 0 -> entry.pdfFile().getName();
+			case 1 -> entry.languageCode();
+			case 2 -> entry.pageCount();
+			case 3 -> entry.ocrPages();
+			case 4 -> new Date(entry.convertedMillis());
+			case 5 -> String.format("%.1f s", entry.elapsedMillis() / 1000d);
+			case 6 -> entry.pdfFile().getParent();
+			default -> null;
+		};
+	}
+
+}
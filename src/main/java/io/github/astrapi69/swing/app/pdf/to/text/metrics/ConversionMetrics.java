@@ -0,0 +1,344 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link ConversionMetrics} collects counters and latency histograms of the stages of
+ * the pdf to text conversions in process. Every measured stage is also emitted as a
+ * {@link StageEvent} and every converted document as a {@link DocumentConversionEvent}, so a
+ * flight recording shows the same data on a time line. An instance is thread safe
+ */
+public class ConversionMetrics
+{
+
+	/** The histogram of every stage */
+	private final Map<ConversionStage, LatencyHistogram> stageHistograms;
+
+	/** The number of converted documents */
+	private final LongAdder convertedDocuments = new LongAdder();
+
+	/** The number of failed documents */
+	private final LongAdder failedDocuments = new LongAdder();
+
+	/** The number of cancelled documents */
+	private final LongAdder cancelledDocuments = new LongAdder();
+
+	/** The number of converted pages */
+	private final LongAdder pages = new LongAdder();
+
+	/** The number of pages taken from the text layer */
+	private final LongAdder textLayerPages = new LongAdder();
+
+	/** The number of pages recognized by ocr */
+	private final LongAdder ocrPages = new LongAdder();
+
+	/** The number of pages taken from the ocr cache */
+	private final LongAdder cachedPages = new LongAdder();
+
+	/** The number of pages taken from the checkpoint of an interrupted conversion */
+	private final LongAdder resumedPages = new LongAdder();
+
+	/** The size of the converted pdf files */
+	private final LongAdder bytesIn = new LongAdder();
+
+	/** The size of the written result text files */
+	private final LongAdder bytesOut = new LongAdder();
+
+	/** The sum of the elapsed times of the converted documents */
+	private final LongAdder conversionMillis = new LongAdder();
+
+	/**
+	 * Instantiates a new empty {@link ConversionMetrics}
+	 */
+	public ConversionMetrics()
+	{
+		Map<ConversionStage, LatencyHistogram> histograms = new EnumMap<>(ConversionStage.class);
+		for (ConversionStage stage : ConversionStage.values())
+		{
+			histograms.put(stage, new LatencyHistogram());
+		}
+		stageHistograms = Collections.unmodifiableMap(histograms);
+	}
+
+	/**
+	 * Starts the measurement of a stage, the measurement is recorded when the returned
+	 * {@link StageTimer} is closed
+	 *
+	 * @param stage
+	 *            the stage
+	 * @param document
+	 *            the name of the pdf file
+	 * @param pageIndex
+	 *            the zero based index of the page or -1 for a stage of the whole document
+	 * @return the started {@link StageTimer} object
+	 */
+	public StageTimer startStage(final ConversionStage stage, final String document,
+		final int pageIndex)
+	{
+		return new StageTimer(stage, document, pageIndex);
+	}
+
+	/**
+	 * Records a converted document
+	 *
+	 * @param document
+	 *            the name of the pdf file
+	 * @param pageCount
+	 *            the number of pages
+	 * @param textLayerPageCount
+	 *            the number of pages taken from the text layer
+	 * @param cachedPageCount
+	 *            the number of pages taken from the ocr cache
+	 * @param resumedPageCount
+	 *            the number of pages taken from the checkpoint of an interrupted conversion
+	 * @param elapsedMillis
+	 *            the elapsed time of the conversion
+	 * @param pdfFileSize
+	 *            the size of the pdf file
+	 * @param resultTextFileSize
+	 *            the size of the result text file
+	 */
+	public void recordDocument(final String document, final int pageCount,
+		final int textLayerPageCount, final int cachedPageCount, final int resumedPageCount,
+		final long elapsedMillis, final long pdfFileSize, final long resultTextFileSize)
+	{
+		int ocrPageCount = pageCount - textLayerPageCount - cachedPageCount - resumedPageCount;
+		convertedDocuments.increment();
+		pages.add(pageCount);
+		textLayerPages.add(textLayerPageCount);
+		ocrPages.add(ocrPageCount);
+		cachedPages.add(cachedPageCount);
+		resumedPages.add(resumedPageCount);
+		conversionMillis.add(elapsedMillis);
+		bytesIn.add(pdfFileSize);
+		bytesOut.add(resultTextFileSize);
+		DocumentConversionEvent event = new DocumentConversionEvent();
+		if (event.isEnabled())
+		{
+			event.document = document;
+			event.pageCount = pageCount;
+			event.textLayerPages = textLayerPageCount;
+			event.ocrPages = ocrPageCount;
+			event.cachedPages = cachedPageCount;
+			event.resumedPages = resumedPageCount;
+			event.bytesIn = pdfFileSize;
+			event.bytesOut = resultTextFileSize;
+			event.outcome = "converted";
+			event.commit();
+		}
+	}
+
+	/**
+	 * Records a document whose conversion failed or was cancelled
+	 *
+	 * @param document
+	 *            the name of the pdf file
+	 * @param cancelled
+	 *            true if the conversion was cancelled, false if it failed
+	 */
+	public void recordUnfinishedDocument(final String document, final boolean cancelled)
+	{
+		(cancelled ? cancelledDocuments : failedDocuments).increment();
+		DocumentConversionEvent event = new DocumentConversionEvent();
+		if (event.isEnabled())
+		{
+			event.document = document;
+			event.outcome = cancelled ? "cancelled" : "failed";
+			event.commit();
+		}
+	}
+
+	/**
+	 * Gets the histogram of the given stage
+	 *
+	 * @param stage
+	 *            the stage
+	 * @return the histogram of the stage
+	 */
+	public LatencyHistogram getHistogram(final ConversionStage stage)
+	{
+		return stageHistograms.get(stage);
+	}
+
+	/**
+	 * Gets the number of converted pages per second of conversion time
+	 *
+	 * @return the pages per second
+	 */
+	public double getPagesPerSecond()
+	{
+		long millis = conversionMillis.sum();
+		return millis == 0 ? 0d : pages.sum() * 1000d / millis;
+	}
+
+	/**
+	 * Gets the mean conversion time of a page
+	 *
+	 * @return the milliseconds per page
+	 */
+	public double getMillisPerPage()
+	{
+		long pageCount = pages.sum();
+		return pageCount == 0 ? 0d : (double)conversionMillis.sum() / pageCount;
+	}
+
+	/**
+	 * Removes all recorded values
+	 */
+	public void reset()
+	{
+		stageHistograms.values().forEach(LatencyHistogram::reset);
+		for (LongAdder counter : new LongAdder[] { convertedDocuments, failedDocuments,
+				cancelledDocuments, pages, textLayerPages, ocrPages, cachedPages, resumedPages,
+				bytesIn, bytesOut, conversionMillis })
+		{
+			counter.reset();
+		}
+	}
+
+	/**
+	 * Formats the recorded values as text table
+	 *
+	 * @return the formatted metrics
+	 */
+	public String format()
+	{
+		StringBuilder text = new StringBuilder();
+		text.append(String.format(Locale.ROOT, "Documents: %d converted, %d failed, %d cancelled%n",
+			convertedDocuments.sum(), failedDocuments.sum(), cancelledDocuments.sum()));
+		text.append(String.format(Locale.ROOT,
+			"Pages: %d (text layer %d, ocr %d, cache %d, resumed %d), %.2f pages/s, "
+				+ "%.1f ms per page%n",
+			pages.sum(), textLayerPages.sum(), ocrPages.sum(), cachedPages.sum(),
+			resumedPages.sum(), getPagesPerSecond(), getMillisPerPage()));
+		text.append(String.format(Locale.ROOT, "Bytes: %.2f MB in, %.2f MB out%n%n",
+			bytesIn.sum() / 1048576d, bytesOut.sum() / 1048576d));
+		text.append(String.format(Locale.ROOT, "%-14s %8s %10s %10s %10s %10s %10s%n", "Stage",
+			"Count", "Mean ms", "p50 ms", "p95 ms", "Max ms", "Total s"));
+		for (ConversionStage stage : ConversionStage.values())
+		{
+			LatencyHistogram histogram = stageHistograms.get(stage);
+			text.append(String.format(Locale.ROOT,
+				"%-14s %8d %10.1f %10.1f %10.1f %10.1f %10.2f%n", stage.getLabel(),
+				histogram.getCount(), histogram.getMeanMillis(),
+				histogram.getPercentileMillis(0.5d), histogram.getPercentileMillis(0.95d),
+				histogram.getMaximumMillis(), histogram.getTotalMillis() / 1000d));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Writes the formatted metrics to the given file
+	 *
+	 * @param file
+	 *            the file to write, an existing file is overwritten
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public void dump(final File file) throws IOException
+	{
+		Files.writeString(file.toPath(),
+			"Conversion metrics of " + LocalDateTime.now() + System.lineSeparator()
+				+ System.lineSeparator() + format(),
+			StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The class {@link StageTimer} measures a single stage from its creation until it is closed
+	 */
+	public final class StageTimer implements AutoCloseable
+	{
+
+		/** The measured stage */
+		private final ConversionStage stage;
+
+		/** The name of the pdf file */
+		private final String document;
+
+		/** The zero based index of the page */
+		private final int pageIndex;
+
+		/** The flight recorder event of the stage */
+		private final StageEvent event = new StageEvent();
+
+		/** The start time in nanoseconds */
+		private final long startNanos;
+
+		/** The number of processed bytes, pixels or characters */
+		private long bytes;
+
+		private StageTimer(final ConversionStage stage, final String document,
+			final int pageIndex)
+		{
+			this.stage = stage;
+			this.document = document;
+			this.pageIndex = pageIndex;
+			event.begin();
+			startNanos = System.nanoTime();
+		}
+
+		/**
+		 * Sets the number of processed bytes, pixels or characters of the stage
+		 *
+		 * @param bytes
+		 *            the number of processed bytes
+		 */
+		public void setBytes(final long bytes)
+		{
+			this.bytes = bytes;
+		}
+
+		/**
+		 * Records the measured duration and commits the flight recorder event
+		 */
+		@Override
+		public void close()
+		{
+			stageHistograms.get(stage).record(System.nanoTime() - startNanos);
+			event.end();
+			if (event.shouldCommit())
+			{
+				event.stage = stage.getLabel();
+				event.document = document;
+				event.page = pageIndex;
+				event.bytes = bytes;
+				event.commit();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,149 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.metrics;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.io.File;
+import java.io.IOException;
+
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+
+import io.github.astrapi69.swing.app.Messages;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link ConversionMetricsPanel} shows the formatted {@link ConversionMetrics} and
+ * refreshes them every {@link #REFRESH_INTERVAL_MILLIS} milliseconds while the panel is
+ * displayable. The metrics can be reset and saved to a text file
+ */
+@Slf4j
+public class ConversionMetricsPanel extends JPanel
+{
+
+	/** The interval in milliseconds for refreshing the shown metrics */
+	public static final int REFRESH_INTERVAL_MILLIS = 1000;
+
+	/** The shown metrics */
+	@Getter
+	private final ConversionMetrics conversionMetrics;
+
+	/** The text area that shows the formatted metrics */
+	private final JTextArea textArea;
+
+	/** The timer that refreshes the text area */
+	private final Timer refreshTimer;
+
+	/**
+	 * Instantiates a new {@link ConversionMetricsPanel}
+	 *
+	 * @param conversionMetrics
+	 *            the metrics to show
+	 */
+	public ConversionMetricsPanel(final ConversionMetrics conversionMetrics)
+	{
+		super(new BorderLayout());
+		this.conversionMetrics = conversionMetrics;
+		textArea = new JTextArea();
+		textArea.setEditable(false);
+		textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, textArea.getFont().getSize()));
+		refreshTimer = new Timer(REFRESH_INTERVAL_MILLIS, e -> refresh());
+
+		JButton resetButton = new JButton(Messages.getString("metrics.button.reset", "Reset"));
+		resetButton.addActionListener(e -> {
+			conversionMetrics.reset();
+			refresh();
+		});
+		JButton saveButton = new JButton(
+			Messages.getString("metrics.button.save", "Save to file..."));
+		saveButton.addActionListener(e -> onSave());
+
+		JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		buttonPanel.add(resetButton);
+		buttonPanel.add(saveButton);
+		add(buttonPanel, BorderLayout.NORTH);
+		add(new JScrollPane(textArea), BorderLayout.CENTER);
+		refresh();
+	}
+
+	/**
+	 * Shows the current values of the metrics
+	 */
+	public void refresh()
+	{
+		String text = conversionMetrics.format();
+		if (!text.equals(textArea.getText()))
+		{
+			textArea.setText(text);
+			textArea.setCaretPosition(0);
+		}
+	}
+
+	@Override
+	public void addNotify()
+	{
+		super.addNotify();
+		refreshTimer.start();
+	}
+
+	@Override
+	public void removeNotify()
+	{
+		refreshTimer.stop();
+		super.removeNotify();
+	}
+
+	private void onSave()
+	{
+		JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setSelectedFile(new File("conversion-metrics.txt"));
+		if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+		{
+			return;
+		}
+		File file = fileChooser.getSelectedFile();
+		try
+		{
+			conversionMetrics.dump(file);
+			log.info("Conversion metrics saved to '{}'", file.getAbsolutePath());
+		}
+		catch (IOException e)
+		{
+			log.error("Conversion metrics could not be saved to '{}'", file, e);
+			JOptionPane.showMessageDialog(this, e.getMessage(),
+				Messages.getString("metrics.button.save", "Save to file..."),
+				JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The enum {@link ConversionStage} represents the stages of a pdf to text conversion that are
+ * measured by the {@link ConversionMetrics}
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ConversionStage
+{
+
+	/** The content hash of the pdf file for the checkpoints or of a page for the ocr cache */
+	CONTENT_HASH("Content hash"),
+
+	/** The loading of the pdf document */
+	DOCUMENT_LOAD("Document load"),
+
+	/** The lookup of a page in the ocr cache */
+	CACHE_LOOKUP("Cache lookup"),
+
+	/** The extraction and classification of the text layer of a page */
+	TEXT_LAYER("Text layer"),
+
+	/** The rendering of a page to an image */
+	RENDER("Render"),
+
+	/** The preprocessing of the rendered image */
+	PREPROCESS("Preprocess"),
+
+	/** The detection of the language of the preprocessed image */
+	LANGUAGE_DETECTION("Language detection"),
+
+	/** The recognition of the image by tesseract */
+	OCR("OCR"),
+
+	/** The writing of the text of a page to the result text file */
+	RESULT_WRITE("Result write"),
+
+	/** The appending of the text of a page to the checkpoint of the conversion */
+	CHECKPOINT_WRITE("Checkpoint write"),
+
+	/** The update of the user interface with converted pages */
+	UI_UPDATE("UI update");
+
+	/** The name of the stage for display */
+	private final String label;
+
+}
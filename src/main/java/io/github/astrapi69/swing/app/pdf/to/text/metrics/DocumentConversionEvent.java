@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The class {@link DocumentConversionEvent} is the flight recorder event of the conversion of a
+ * whole pdf document
+ */
+@Name(DocumentConversionEvent.NAME)
+@Label("Document Conversion")
+@Category({ "PDF to Text" })
+@Description("The conversion of a pdf document to text")
+@StackTrace(false)
+public class DocumentConversionEvent extends Event
+{
+
+	/** The name of the event */
+	public static final String NAME = "io.github.astrapi69.pdftotext.DocumentConversion";
+
+	/** The name of the pdf file */
+	@Label("Document")
+	String document;
+
+	/** The number of pages */
+	@Label("Pages")
+	int pageCount;
+
+	/** The number of pages taken from the text layer */
+	@Label("Text Layer Pages")
+	int textLayerPages;
+
+	/** The number of pages recognized by ocr */
+	@Label("OCR Pages")
+	int ocrPages;
+
+	/** The number of pages taken from the ocr cache */
+	@Label("Cached Pages")
+	int cachedPages;
+
+	/** The number of pages taken from the checkpoint of an interrupted conversion */
+	@Label("Resumed Pages")
+	int resumedPages;
+
+	/** The size of the pdf file */
+	@Label("Bytes In")
+	@DataAmount
+	long bytesIn;
+
+	/** The size of the result text file */
+	@Label("Bytes Out")
+	@DataAmount
+	long bytesOut;
+
+	/** The outcome of the conversion */
+	@Label("Outcome")
+	String outcome;
+
+}
@@ -0,0 +1,161 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link LatencyHistogram} counts durations in buckets with power of two microsecond
+ * bounds, from one microsecond up to about one minute. Recording is lock free and the memory usage
+ * is constant, the percentiles are approximated by the upper bound of their bucket
+ */
+public class LatencyHistogram
+{
+
+	/** The number of buckets, the last bucket holds all durations above 2^26 microseconds */
+	private static final int BUCKET_COUNT = 28;
+
+	/** The number of durations per bucket */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	/** The number of recorded durations */
+	private final LongAdder count = new LongAdder();
+
+	/** The sum of the recorded durations in nanoseconds */
+	private final LongAdder totalNanos = new LongAdder();
+
+	/** The maximum recorded duration in nanoseconds */
+	private final AtomicLong maximumNanos = new AtomicLong();
+
+	/**
+	 * Records the given duration
+	 *
+	 * @param nanos
+	 *            the duration in nanoseconds
+	 */
+	public void record(final long nanos)
+	{
+		long duration = Math.max(0, nanos);
+		long micros = TimeUnit.NANOSECONDS.toMicros(duration);
+		int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+		buckets.incrementAndGet(Math.min(bucket, BUCKET_COUNT - 1));
+		count.increment();
+		totalNanos.add(duration);
+		maximumNanos.accumulateAndGet(duration, Math::max);
+	}
+
+	/**
+	 * Gets the number of recorded durations
+	 *
+	 * @return the number of recorded durations
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * Gets the sum of the recorded durations
+	 *
+	 * @return the sum in milliseconds
+	 */
+	public double getTotalMillis()
+	{
+		return totalNanos.sum() / 1_000_000d;
+	}
+
+	/**
+	 * Gets the mean of the recorded durations
+	 *
+	 * @return the mean in milliseconds or 0 if nothing was recorded
+	 */
+	public double getMeanMillis()
+	{
+		long currentCount = getCount();
+		return currentCount == 0 ? 0d : getTotalMillis() / currentCount;
+	}
+
+	/**
+	 * Gets the maximum of the recorded durations
+	 *
+	 * @return the maximum in milliseconds
+	 */
+	public double getMaximumMillis()
+	{
+		return maximumNanos.get() / 1_000_000d;
+	}
+
+	/**
+	 * Gets the approximated percentile of the recorded durations
+	 *
+	 * @param percentile
+	 *            the percentile between 0 and 1, for instance 0.95
+	 * @return the upper bound of the bucket of the percentile in milliseconds, but not more than
+	 *         the maximum
+	 */
+	public double getPercentileMillis(final double percentile)
+	{
+		long total = 0;
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0)
+		{
+			return 0d;
+		}
+		long rank = (long)Math.ceil(percentile * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			seen += counts[i];
+			if (rank <= seen)
+			{
+				return Math.min((1L << i) / 1000d, getMaximumMillis());
+			}
+		}
+		return getMaximumMillis();
+	}
+
+	/**
+	 * Removes all recorded durations
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			buckets.set(i, 0);
+		}
+		count.reset();
+		totalNanos.reset();
+		maximumNanos.set(0);
+	}
+
+}
@@ -0,0 +1,67 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The class {@link StageEvent} is the flight recorder event of a single stage of a pdf to text
+ * conversion, for instance the rendering or the ocr of a page
+ */
+@Name(StageEvent.NAME)
+@Label("Conversion Stage")
+@Category({ "PDF to Text" })
+@Description("A stage of the conversion of a pdf page or document")
+@StackTrace(false)
+public class StageEvent extends Event
+{
+
+	/** The name of the event */
+	public static final String NAME = "io.github.astrapi69.pdftotext.ConversionStage";
+
+	/** The name of the stage */
+	@Label("Stage")
+	String stage;
+
+	/** The name of the pdf file */
+	@Label("Document")
+	String document;
+
+	/** The zero based index of the page or -1 for a stage of the whole document */
+	@Label("Page")
+	int page;
+
+	/** The number of processed bytes, pixels or characters of the stage */
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.queue;
+
+import java.io.File;
+import java.util.concurrent.Future;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * The class {@link ConversionJob} holds a pdf file of the job queue together with its conversion
+ * state. The state is written by the worker thread and read by the event dispatch thread, so all
+ * mutable fields are volatile
+ */
+@Getter
+@Setter(AccessLevel.PACKAGE)
+@ToString
+public class ConversionJob
+{
+	/** The unique number of the job */
+	private final int id;
+
+	/** The pdf file to convert */
+	private final File pdfFile;
+
+	/** The options of the conversion */
+	private final ConversionOptions options;
+
+	/** The text file where the result is written to */
+	private final File resultTextFile;
+
+	/** The state of the job */
+	private volatile ConversionJobStatus status = ConversionJobStatus.QUEUED;
+
+	/** The number of pages of the pdf file, zero as long as unknown */
+	private volatile int pageCount;
+
+	/** The number of converted pages */
+	private volatile int pagesDone;
+
+	/** The start time in milliseconds */
+	private volatile long startMillis;
+
+	/** The end time in milliseconds */
+	private volatile long endMillis;
+
+	/** The report of the finished conversion */
+	private volatile ConversionReport conversionReport;
+
+	/** The error message of a failed conversion */
+	private volatile String errorMessage;
+
+	/** The future of the submitted job for cancelling it */
+	private volatile Future<?> future;
+
+	/**
+	 * Instantiates a new {@link ConversionJob}
+	 *
+	 * @param id
+	 *            the unique number of the job
+	 * @param pdfFile
+	 *            the pdf file to convert
+	 * @param options
+	 *            the options of the conversion
+	 * @param resultTextFile
+	 *            the text file where the result is written to
+	 */
+	public ConversionJob(final int id, final File pdfFile, final ConversionOptions options,
+		final File resultTextFile)
+	{
+		this.id = id;
+		this.pdfFile = pdfFile;
+		this.options = options;
+		this.resultTextFile = resultTextFile;
+	}
+
+	/**
+	 * Gets the elapsed time of the job in milliseconds
+	 *
+	 * @return the elapsed time in milliseconds
+	 */
+	public long getElapsedMillis()
+	{
+		if (startMillis == 0)
+		{
+			return 0;
+		}
+		return (endMillis != 0 ? endMillis : System.currentTimeMillis()) - startMillis;
+	}
+
+	/**
+	 * Checks if the job is finished
+	 *
+	 * @return true if the job is finished otherwise false
+	 */
+	public boolean isFinished()
+	{
+		return status == ConversionJobStatus.DONE || status == ConversionJobStatus.FAILED
+			|| status == ConversionJobStatus.CANCELLED;
+	}
+
+	/**
+	 * Cancels this job. A queued job is never started and a running job is stopped between two
+	 * pages
+	 */
+	public void cancel()
+	{
+		Future<?> submitted = future;
+		if (!isFinished() && submitted != null && submitted.cancel(true)
+			&& status == ConversionJobStatus.QUEUED)
+		{
+			status = ConversionJobStatus.CANCELLED;
+		}
+	}
+}
@@ -0,0 +1,373 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.queue;
+
+import java.awt.BorderLayout;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
+import javax.swing.TransferHandler;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.system.SystemFileExtensions;
+import io.github.astrapi69.model.api.IModel;
+import io.github.astrapi69.swing.app.ApplicationModelBean;
+import io.github.astrapi69.swing.app.Messages;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import io.github.astrapi69.swing.base.BasePanel;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link ConversionJobQueuePanel} shows a queue of pdf files that are converted by a
+ * configurable number of concurrent workers. Pdf files are added with a multi selection file
+ * chooser or by drag and drop, every job shows its own state, page progress and elapsed time
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversionJobQueuePanel extends BasePanel<ApplicationModelBean>
+{
+
+	/** The interval in milliseconds for refreshing the job table */
+	private static final int REFRESH_INTERVAL_MILLIS = 250;
+
+	/** The numbers for the jobs */
+	final AtomicInteger jobIds = new AtomicInteger();
+
+	/** The engine that converts the pdf files */
+	PdfConversionEngine conversionEngine;
+
+	/** The supplier of the conversion options for new jobs */
+	Supplier<ConversionOptions> conversionOptionsSupplier;
+
+	/** The action that opens the result of a finished job */
+	@Setter
+	Consumer<ConversionJob> openJobAction;
+
+	ConversionJobTableModel tableModel;
+	JTable table;
+	JScrollPane tableScrollPane;
+	JButton addButton;
+	JButton removeFinishedButton;
+	JButton cancelSelectedButton;
+	JSpinner workersSpinner;
+	JPanel controlPanel;
+	ThreadPoolExecutor jobExecutor;
+	Timer refreshTimer;
+
+	/**
+	 * Instantiates a new {@link ConversionJobQueuePanel}
+	 *
+	 * @param model
+	 *            the model of the application
+	 * @param conversionEngine
+	 *            the engine that converts the pdf files
+	 * @param conversionOptionsSupplier
+	 *            the supplier of the conversion options for new jobs
+	 */
+	public ConversionJobQueuePanel(final IModel<ApplicationModelBean> model,
+		final PdfConversionEngine conversionEngine,
+		final Supplier<ConversionOptions> conversionOptionsSupplier)
+	{
+		super(model);
+		this.conversionEngine = conversionEngine;
+		this.conversionOptionsSupplier = conversionOptionsSupplier;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void onInitializeComponents()
+	{
+		super.onInitializeComponents();
+		int workers = PdfConversionEngine.defaultParallelism();
+		jobExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<>(), PdfConversionEngine.newThreadFactory("pdf-to-text-job-"));
+
+		tableModel = new ConversionJobTableModel();
+		table = new JTable(tableModel);
+		table.setFillsViewportHeight(true);
+		table.addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				int row = table.rowAtPoint(e.getPoint());
+				if (e.getClickCount() == 2 && row != -1)
+				{
+					openJob(tableModel.getJob(table.convertRowIndexToModel(row)));
+				}
+			}
+		});
+		PdfFileTransferHandler transferHandler = new PdfFileTransferHandler();
+		table.setTransferHandler(transferHandler);
+		tableScrollPane = new JScrollPane(table);
+		tableScrollPane.setTransferHandler(transferHandler);
+
+		addButton = new JButton(Messages.getString("queue.button.add.pdf.files", "Add PDFs..."));
+		addButton.addActionListener(e -> onAddPdfFiles());
+
+		removeFinishedButton = new JButton(
+			Messages.getString("queue.button.remove.finished", "Remove finished"));
+		removeFinishedButton.addActionListener(e -> tableModel.removeFinished());
+
+		cancelSelectedButton = new JButton(
+			Messages.getString("queue.button.cancel.selected", "Cancel selected"));
+		cancelSelectedButton.addActionListener(e -> onCancelSelectedJobs());
+
+		workersSpinner = new JSpinner(new SpinnerNumberModel(workers, 1,
+			Math.max(workers, Runtime.getRuntime().availableProcessors() * 4), 1));
+		workersSpinner.addChangeListener(e -> setWorkers((Integer)workersSpinner.getValue()));
+
+		refreshTimer = new Timer(REFRESH_INTERVAL_MILLIS, e -> {
+			tableModel.refresh();
+			if (!tableModel.hasUnfinishedJobs())
+			{
+				refreshTimer.stop();
+			}
+		});
+
+		controlPanel = new JPanel();
+		controlPanel.add(addButton);
+		controlPanel.add(removeFinishedButton);
+		controlPanel.add(cancelSelectedButton);
+		controlPanel.add(new JLabel(Messages.getString("queue.label.workers", "Concurrent jobs:")));
+		controlPanel.add(workersSpinner);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void onInitializeLayout()
+	{
+		super.onInitializeLayout();
+		setLayout(new BorderLayout());
+		add(controlPanel, BorderLayout.NORTH);
+		add(tableScrollPane, BorderLayout.CENTER);
+	}
+
+	/**
+	 * Adds the given pdf files to the queue, files that are not pdf files are ignored
+	 *
+	 * @param files
+	 *            the files to add
+	 */
+	public void enqueue(final List<File> files)
+	{
+		ConversionOptions conversionOptions;
+		try
+		{
+			conversionOptions = conversionOptionsSupplier.get();
+		}
+		catch (IllegalArgumentException e)
+		{
+			// invalid settings like a malformed page range reject the files instead of the jobs
+			JOptionPane.showMessageDialog(this, e.getMessage(),
+				Messages.getString("global.dialog.invalid.selection"), JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		File outputDirectory = getOutputDirectory();
+		for (File file : files)
+		{
+			if (!file.isFile() || !file.getName().toLowerCase(Locale.ROOT).endsWith(".pdf"))
+			{
+				continue;
+			}
+			int id = jobIds.incrementAndGet();
+			File resultTextFile;
+			try
+			{
+				resultTextFile = newResultTextFile(outputDirectory, id, file);
+			}
+			catch (IOException e)
+			{
+				log.warn("Result text file for '{}' could not be created", file, e);
+				continue;
+			}
+			ConversionJob job = new ConversionJob(id, file, conversionOptions, resultTextFile);
+			tableModel.add(job);
+			job.setFuture(jobExecutor.submit(() -> runJob(job)));
+		}
+		refreshTimer.start();
+	}
+
+	private static File newResultTextFile(final File outputDirectory, final int id,
+		final File pdfFile) throws IOException
+	{
+		// the job ids restart with every session, the unique suffix keeps the results of
+		// earlier sessions
+		String pdfFileName = pdfFile.getName();
+		String baseName = pdfFileName.substring(0, pdfFileName.length() - ".pdf".length());
+		return Files.createTempFile(outputDirectory.toPath(), id + "-" + baseName + "-",
+			".txt").toFile();
+	}
+
+	private void runJob(final ConversionJob job)
+	{
+		job.setStartMillis(System.currentTimeMillis());
+		job.setStatus(ConversionJobStatus.RUNNING);
+		try
+		{
+			ConversionReport conversionReport = conversionEngine.convert(job.getPdfFile(),
+				job.getResultTextFile(), job.getOptions(), pageResult -> {
+					job.setPageCount(pageResult.getPageCount());
+					job.setPagesDone(pageResult.getPageIndex() + 1);
+				});
+			job.setConversionReport(conversionReport);
+			job.setPageCount(conversionReport.getPageCount());
+			job.setPagesDone(conversionReport.getPageCount());
+			job.setStatus(ConversionJobStatus.DONE);
+		}
+		catch (InterruptedException e)
+		{
+			job.setErrorMessage("Conversion cancelled");
+			job.setStatus(ConversionJobStatus.CANCELLED);
+		}
+		catch (Exception e)
+		{
+			log.warn("Conversion of '{}' failed", job.getPdfFile(), e);
+			job.setErrorMessage(e.getMessage());
+			job.setStatus(ConversionJobStatus.FAILED);
+		}
+		finally
+		{
+			job.setEndMillis(System.currentTimeMillis());
+		}
+	}
+
+	private void onCancelSelectedJobs()
+	{
+		for (int row : table.getSelectedRows())
+		{
+			tableModel.getJob(table.convertRowIndexToModel(row)).cancel();
+		}
+		tableModel.refresh();
+	}
+
+	private void setWorkers(final int workers)
+	{
+		if (jobExecutor.getMaximumPoolSize() < workers)
+		{
+			jobExecutor.setMaximumPoolSize(workers);
+			jobExecutor.setCorePoolSize(workers);
+		}
+		else
+		{
+			jobExecutor.setCorePoolSize(workers);
+			jobExecutor.setMaximumPoolSize(workers);
+		}
+	}
+
+	private void openJob(final ConversionJob job)
+	{
+		if (job.getStatus() == ConversionJobStatus.DONE && openJobAction != null)
+		{
+			openJobAction.accept(job);
+		}
+	}
+
+	private void onAddPdfFiles()
+	{
+		JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setMultiSelectionEnabled(true);
+		fileChooser.setFileFilter(new FileNameExtensionFilter("PDF files (*.pdf)", "pdf"));
+		if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION)
+		{
+			enqueue(List.of(fileChooser.getSelectedFiles()));
+		}
+	}
+
+	private File getOutputDirectory()
+	{
+		File userTempDir = SystemFileExtensions.getUserTempDir();
+		if (!userTempDir.exists())
+		{
+			DirectoryFactory.newDirectory(userTempDir);
+		}
+		File outputDir = DirectoryFactory.newDirectory(userTempDir, "pdf-to-text");
+		return DirectoryFactory.newDirectory(outputDir, "queue");
+	}
+
+	private class PdfFileTransferHandler extends TransferHandler
+	{
+		@Override
+		public boolean canImport(TransferSupport support)
+		{
+			return support.isDataFlavorSupported(DataFlavor.javaFileListFlavor);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean importData(TransferSupport support)
+		{
+			if (!canImport(support))
+			{
+				return false;
+			}
+			try
+			{
+				enqueue((List<File>)support.getTransferable()
+					.getTransferData(DataFlavor.javaFileListFlavor));
+				return true;
+			}
+			catch (UnsupportedFlavorException | IOException e)
+			{
+				log.warn("Dropped files could not be imported", e);
+				return false;
+			}
+		}
+	}
+
+}
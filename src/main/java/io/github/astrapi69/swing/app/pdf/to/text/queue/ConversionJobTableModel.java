@@ -0,0 +1,157 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import io.github.astrapi69.swing.app.Messages;
+
+/**
+ * The class {@link ConversionJobTableModel} is the table model of the job queue. It must only be
+ * accessed from the event dispatch thread
+ */
+public class ConversionJobTableModel extends AbstractTableModel
+{
+
+	/** The column names */
+	private static final String[] COLUMN_NAMES = {
+			Messages.getString("queue.column.file", "File"),
+			Messages.getString("queue.column.status", "Status"),
+			Messages.getString("queue.column.pages", "Pages"),
+			Messages.getString("queue.column.elapsed", "Elapsed"),
+			Messages.getString("queue.column.message", "Message") };
+
+	/** The jobs of the queue */
+	private final List<ConversionJob> jobs = new ArrayList<>();
+
+	/**
+	 * Adds the given job
+	 *
+	 * @param job
+	 *            the job to add
+	 */
+	public void add(final ConversionJob job)
+	{
+		jobs.add(job);
+		fireTableRowsInserted(jobs.size() - 1, jobs.size() - 1);
+	}
+
+	/**
+	 * Gets the job of the given row
+	 *
+	 * @param row
+	 *            the row index
+	 * @return the job of the given row
+	 */
+	public ConversionJob getJob(final int row)
+	{
+		return jobs.get(row);
+	}
+
+	/**
+	 * Removes all finished jobs
+	 */
+	public void removeFinished()
+	{
+		if (jobs.removeIf(ConversionJob::isFinished))
+		{
+			fireTableDataChanged();
+		}
+	}
+
+	/**
+	 * Checks if there are jobs that are not finished
+	 *
+	 * @return true if there are jobs that are not finished otherwise false
+	 */
+	public boolean hasUnfinishedJobs()
+	{
+		return jobs.stream().anyMatch(job -> !job.isFinished());
+	}
+
+	/**
+	 * Notifies the listeners that the state of the jobs has changed
+	 */
+	public void refresh()
+	{
+		if (!jobs.isEmpty())
+		{
+			fireTableRowsUpdated(0, jobs.size() - 1);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowCount()
+	{
+		return jobs.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getColumnCount()
+	{
+		return COLUMN_NAMES.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getColumnName(final int column)
+	{
+		return COLUMN_NAMES[column];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final int rowIndex, final int columnIndex)
+	{
+		ConversionJob job = jobs.get(rowIndex);
+		return switch (columnIndex)
+		{
+			case 0 -> job.getPdfFile().getName();
+			case 1 -> job.getStatus();
+			case 2 -> job.getPageCount() == 0
+				? ""
+				: job.getPagesDone() + " / " + job.getPageCount();
+			case 3 -> String.format("%.1f s", job.getElapsedMillis() / 1000d);
+			case 4 -> job.getErrorMessage() != null
+				? job.getErrorMessage()
+				: job.getResultTextFile().getAbsolutePath();
+			default -> null;
+		};
+	}
+
+}
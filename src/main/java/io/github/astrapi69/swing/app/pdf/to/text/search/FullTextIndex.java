@@ -0,0 +1,894 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import io.github.astrapi69.swing.app.pdf.to.text.ResultTextExports;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link FullTextIndex} is an embedded inverted index over the result texts of all
+ * converted documents. For every term it stores the document, the page and the offset of every
+ * occurrence, a search returns the pages that contain all terms of the query.<br>
+ * <br>
+ * Documents are added with {@link #addDocumentAsync(File, File, int)} and a single background
+ * thread with the lowest priority copies the result text file into the index directory and
+ * tokenizes it, so the indexing does not compete with the ocr workers. Only this thread changes
+ * the buffer and the segments. New documents are
+ * searchable immediately from an in memory buffer that is written as immutable
+ * {@link IndexSegment} file when it is large or the background thread is idle. Segments of the
+ * same size class are merged in tiers of {@value #MERGE_FACTOR}, so the number of segments only
+ * grows logarithmically with the number of documents. A document that is converted again replaces
+ * its previous version. The index directory is locked against a second process, because a second
+ * instance would delete the segments and texts of the first one when it loads
+ */
+@Slf4j
+public class FullTextIndex implements AutoCloseable
+{
+
+	/** The name of the default index directory in the application directory */
+	public static final String DEFAULT_DIRECTORY_NAME = "search-index";
+
+	/** The number of buffered postings that causes a new segment */
+	static final int FLUSH_POSTING_COUNT = 1_000_000;
+
+	/** The number of segments of the same size class that are merged into one segment */
+	static final int MERGE_FACTOR = 10;
+
+	/** The maximum number of terms that a prefix query term is expanded to */
+	static final int MAXIMUM_PREFIX_TERMS = 1000;
+
+	/** The name of the directory with the copies of the result text files */
+	private static final String TEXTS_DIRECTORY_NAME = "texts";
+
+	/** The name of the file with the state of the index */
+	private static final String STATE_FILE_NAME = "index.properties";
+
+	/** The name of the file with the indexed documents */
+	private static final String DOCUMENTS_FILE_NAME = "documents.properties";
+
+	/** The prefix of the segment file names */
+	private static final String SEGMENT_PREFIX = "segment-";
+
+	/** The extension of the segment file names */
+	private static final String SEGMENT_EXTENSION = ".seg";
+
+	/** The prefix of copied result text files that are not yet indexed */
+	private static final String PENDING_PREFIX = "pending-";
+
+	/** The name of the file that locks the index against a second process */
+	private static final String LOCK_FILE_NAME = "index.lock";
+
+	/** The index directory */
+	@Getter
+	private final File directory;
+
+	/** The directory with the copies of the result text files */
+	private final File textsDirectory;
+
+	/** The channel of the lock file that is locked as long as the index is open */
+	private final FileChannel lockChannel;
+
+	/** The lock that lets searches run concurrently and excludes them from changes */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** The single thread that indexes the documents and writes and merges the segments */
+	private final ThreadPoolExecutor indexExecutor;
+
+	/** The indexed documents by id */
+	private final Map<Integer, IndexedDocument> documents = new HashMap<>();
+
+	/** The ids of the indexed documents by pdf file */
+	private final Map<File, Integer> documentIdsByPdfFile = new HashMap<>();
+
+	/** The ids of replaced documents whose postings are not yet dropped */
+	private final Set<Integer> deletedDocumentIds = new HashSet<>();
+
+	/** The pdf files of the added documents that the index thread did not start yet */
+	private final ConcurrentLinkedQueue<File> queuedPdfFiles = new ConcurrentLinkedQueue<>();
+
+	/** The ids of the documents in the buffer */
+	private final Set<Integer> bufferedDocumentIds = new HashSet<>();
+
+	/** The postings of the documents that are not yet written to a segment */
+	private final TreeMap<String, PostingList> buffer = new TreeMap<>();
+
+	/** The number of postings in the buffer */
+	private long bufferedPostingCount;
+
+	/** The segments in the order of their document ids */
+	private List<IndexSegment> segments = new ArrayList<>();
+
+	/** The id of the next indexed document */
+	private int nextDocumentId = 1;
+
+	/** The number of the next segment file */
+	private int nextSegmentNumber = 1;
+
+	/**
+	 * Instantiates a new {@link FullTextIndex} in the given directory and loads its state
+	 *
+	 * @param directory
+	 *            the index directory, it is created if it does not exist
+	 * @throws IOException
+	 *             if the directory could not be created, the index could not be read or the
+	 *             index is used by another process
+	 */
+	public FullTextIndex(final File directory) throws IOException
+	{
+		this.directory = directory;
+		this.textsDirectory = new File(directory, TEXTS_DIRECTORY_NAME);
+		Files.createDirectories(textsDirectory.toPath());
+		lockChannel = FileChannel.open(new File(directory, LOCK_FILE_NAME).toPath(),
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		try
+		{
+			if (tryLock(lockChannel) == null)
+			{
+				throw new IOException(
+					"The full text index '" + directory + "' is used by another process");
+			}
+			load();
+		}
+		catch (IOException | RuntimeException e)
+		{
+			for (IndexSegment segment : segments)
+			{
+				closeQuietly(segment);
+			}
+			closeQuietly(lockChannel);
+			throw e;
+		}
+		ThreadFactory threadFactory = PdfConversionEngine.newThreadFactory("full-text-index-");
+		indexExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = threadFactory.newThread(runnable);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+	}
+
+	/**
+	 * Factory method for create a new {@link FullTextIndex} in the default index directory
+	 *
+	 * @return the new {@link FullTextIndex} object
+	 * @throws IOException
+	 *             if the directory could not be created, the index could not be read or the
+	 *             index is used by another process
+	 */
+	public static FullTextIndex newDefaultIndex() throws IOException
+	{
+		return new FullTextIndex(ApplicationDirectories.getDirectory(DEFAULT_DIRECTORY_NAME));
+	}
+
+	/**
+	 * Adds a converted document to the index. The result text file is copied into the index
+	 * directory and indexed in the background, the calling conversion thread does not wait for
+	 * the copy. So the caller must not reuse the result text file for another document, a result
+	 * text file that is overwritten before the copy is indexed with the new content under the
+	 * given pdf file and a result text file that is deleted before the copy is not indexed
+	 *
+	 * @param pdfFile
+	 *            the converted pdf file
+	 * @param resultTextFile
+	 *            the result text file of the conversion
+	 * @param pageCount
+	 *            the number of pages
+	 */
+	public void addDocumentAsync(final File pdfFile, final File resultTextFile,
+		final int pageCount)
+	{
+		File absolutePdfFile = pdfFile.getAbsoluteFile();
+		long indexedMillis = System.currentTimeMillis();
+		queuedPdfFiles.add(absolutePdfFile);
+		indexExecutor.execute(
+			() -> index(absolutePdfFile, resultTextFile, pageCount, indexedMillis));
+	}
+
+	/**
+	 * Searches the pages that contain all terms of the given query. A term that ends with '*' is
+	 * a prefix, so 'invoic*' finds invoice and invoices
+	 *
+	 * @param query
+	 *            the query
+	 * @param maximumHits
+	 *            the maximum number of returned hits
+	 * @return the hits, the pages of the most recently indexed documents first
+	 * @throws IOException
+	 *             if a segment could not be read
+	 */
+	public List<SearchHit> search(final String query, final int maximumHits) throws IOException
+	{
+		List<QueryTerm> queryTerms = parseQuery(query);
+		if (queryTerms.isEmpty())
+		{
+			return List.of();
+		}
+		lock.readLock().lock();
+		try
+		{
+			List<TermPostings> termPostings = new ArrayList<>(queryTerms.size());
+			for (QueryTerm queryTerm : queryTerms)
+			{
+				termPostings.add(lookup(queryTerm));
+			}
+			// the rarest term first keeps the intermediate results small
+			termPostings.sort(Comparator.comparingLong(TermPostings::getCount));
+			Map<Long, int[]> pages = null;
+			for (TermPostings postings : termPostings)
+			{
+				pages = intersect(pages, postings);
+				if (pages.isEmpty())
+				{
+					return List.of();
+				}
+			}
+			List<SearchHit> hits = new ArrayList<>();
+			for (Map.Entry<Long, int[]> entry : pages.entrySet())
+			{
+				IndexedDocument document = documents.get((int)(entry.getKey() >>> 32));
+				if (document != null)
+				{
+					hits.add(new SearchHit(document, (int)entry.getKey().longValue(),
+						entry.getValue()[0], entry.getValue()[1]));
+				}
+			}
+			hits.sort(Comparator
+				.comparingLong((SearchHit hit) -> hit.document().indexedMillis()).reversed()
+				.thenComparing(Comparator
+					.comparingInt((SearchHit hit) -> hit.document().id()).reversed())
+				.thenComparingInt(SearchHit::pageIndex));
+			return hits.size() <= maximumHits
+				? hits
+				: new ArrayList<>(hits.subList(0, maximumHits));
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of indexed documents
+	 *
+	 * @return the number of indexed documents
+	 */
+	public int getDocumentCount()
+	{
+		lock.readLock().lock();
+		try
+		{
+			return documents.size();
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of segment files
+	 *
+	 * @return the number of segment files
+	 */
+	public int getSegmentCount()
+	{
+		lock.readLock().lock();
+		try
+		{
+			return segments.size();
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Waits for the documents that are not yet indexed, writes the buffer and closes the segments.
+	 * The buffer is written by the index thread as its last task. If the index thread does not
+	 * finish in time the documents that are not yet indexed and the documents in the buffer are
+	 * dropped and logged, they are only indexed again when their pdf files are converted again.
+	 * The same applies to the buffer of a process that ends without closing the index
+	 */
+	@Override
+	public void close()
+	{
+		indexExecutor.execute(() -> {
+			try
+			{
+				flush();
+			}
+			catch (IOException e)
+			{
+				log.warn("Full text index could not be written", e);
+			}
+		});
+		indexExecutor.shutdown();
+		boolean terminated = false;
+		try
+		{
+			terminated = indexExecutor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		if (!terminated)
+		{
+			// the index thread may still change the segments, so they and the lock are left to
+			// the exit
+			indexExecutor.shutdownNow();
+			logDroppedDocuments();
+			return;
+		}
+		for (IndexSegment segment : segments)
+		{
+			closeQuietly(segment);
+		}
+		closeQuietly(lockChannel);
+	}
+
+	private void logDroppedDocuments()
+	{
+		List<File> droppedPdfFiles = new ArrayList<>(queuedPdfFiles);
+		lock.readLock().lock();
+		try
+		{
+			for (Integer documentId : bufferedDocumentIds)
+			{
+				// a replaced document is still buffered until the next segment is written
+				IndexedDocument document = documents.get(documentId);
+				if (document != null)
+				{
+					droppedPdfFiles.add(document.pdfFile());
+				}
+			}
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+		log.warn("Indexing did not finish in time, {} documents are not in the index: {}",
+			droppedPdfFiles.size(), droppedPdfFiles);
+	}
+
+	private void index(final File pdfFile, final File resultTextFile, final int pageCount,
+		final long indexedMillis)
+	{
+		queuedPdfFiles.remove(pdfFile);
+		File pendingFile = new File(textsDirectory, PENDING_PREFIX + UUID.randomUUID() + ".txt");
+		try
+		{
+			ResultTextExports.transfer(resultTextFile, pendingFile);
+			int documentId = nextDocumentId++;
+			File textFile = new File(textsDirectory, documentId + ".txt");
+			Files.move(pendingFile.toPath(), textFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+			Map<String, PostingList> postings = new HashMap<>();
+			try (Reader reader = new InputStreamReader(new FileInputStream(textFile),
+				StandardCharsets.UTF_8))
+			{
+				TextTokenizer.tokenize(reader,
+					(term, pageIndex, offset) -> postings
+						.computeIfAbsent(term, key -> new PostingList())
+						.add(documentId, pageIndex, offset));
+			}
+			lock.writeLock().lock();
+			try
+			{
+				Integer previousDocumentId = documentIdsByPdfFile.put(pdfFile, documentId);
+				if (previousDocumentId != null)
+				{
+					deleteDocument(previousDocumentId);
+				}
+				documents.put(documentId,
+					new IndexedDocument(documentId, pdfFile, textFile, pageCount, indexedMillis));
+				bufferedDocumentIds.add(documentId);
+				for (Map.Entry<String, PostingList> entry : postings.entrySet())
+				{
+					buffer.computeIfAbsent(entry.getKey(), key -> new PostingList())
+						.addAll(entry.getValue());
+					bufferedPostingCount += entry.getValue().size();
+				}
+			}
+			finally
+			{
+				lock.writeLock().unlock();
+			}
+			log.debug("'{}' indexed with {} terms", pdfFile.getName(), postings.size());
+			if (FLUSH_POSTING_COUNT <= bufferedPostingCount || indexExecutor.getQueue().isEmpty())
+			{
+				flush();
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("'{}' could not be indexed", pdfFile, e);
+			pendingFile.delete();
+		}
+	}
+
+	private void deleteDocument(final int documentId)
+	{
+		IndexedDocument document = documents.remove(documentId);
+		if (document != null)
+		{
+			document.textFile().delete();
+		}
+		deletedDocumentIds.add(documentId);
+	}
+
+	private void flush() throws IOException
+	{
+		lock.writeLock().lock();
+		try
+		{
+			if (!buffer.isEmpty())
+			{
+				IndexSegment segment;
+				try (SegmentWriter writer = new SegmentWriter(newSegmentFile()))
+				{
+					for (Map.Entry<String, PostingList> entry : buffer.entrySet())
+					{
+						writer.addTerm(entry.getKey(), withoutDeletedDocuments(entry.getValue()));
+					}
+					segment = writer.finish();
+				}
+				if (segment != null)
+				{
+					segments.add(segment);
+				}
+				buffer.clear();
+				bufferedPostingCount = 0;
+				bufferedDocumentIds.clear();
+			}
+			purgeDeletedDocumentIds();
+			saveState();
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+		mergeSegments();
+	}
+
+	private void mergeSegments() throws IOException
+	{
+		// only the index thread changes the segments, so they are read here without lock and the
+		// merge itself does not block the searches
+		List<IndexSegment> mergedSegments = getTrailingSegmentsOfSameSize();
+		while (MERGE_FACTOR <= mergedSegments.size())
+		{
+			long start = System.currentTimeMillis();
+			Set<Integer> deleted = Set.copyOf(deletedDocumentIds);
+			IndexSegment segment = IndexSegment.merge(mergedSegments, newSegmentFile(),
+				deleted::contains);
+			lock.writeLock().lock();
+			try
+			{
+				List<IndexSegment> newSegments = new ArrayList<>(
+					segments.subList(0, segments.size() - mergedSegments.size()));
+				if (segment != null)
+				{
+					newSegments.add(segment);
+				}
+				segments = newSegments;
+				purgeDeletedDocumentIds();
+				saveState();
+			}
+			finally
+			{
+				lock.writeLock().unlock();
+			}
+			for (IndexSegment mergedSegment : mergedSegments)
+			{
+				closeQuietly(mergedSegment);
+				Files.deleteIfExists(mergedSegment.getFile().toPath());
+			}
+			log.info("{} index segments merged in {} ms", mergedSegments.size(),
+				System.currentTimeMillis() - start);
+			mergedSegments = getTrailingSegmentsOfSameSize();
+		}
+	}
+
+	private List<IndexSegment> getTrailingSegmentsOfSameSize()
+	{
+		if (segments.isEmpty())
+		{
+			return List.of();
+		}
+		int last = segments.size() - 1;
+		int sizeClass = getSizeClass(segments.get(last));
+		int first = last;
+		while (0 < first && getSizeClass(segments.get(first - 1)) <= sizeClass)
+		{
+			first--;
+		}
+		return List.copyOf(segments.subList(first, last + 1));
+	}
+
+	private static int getSizeClass(final IndexSegment segment)
+	{
+		return (int)Math.log10(Math.max(1, segment.getPostingCount()));
+	}
+
+	private PostingList withoutDeletedDocuments(final PostingList postingList)
+	{
+		if (deletedDocumentIds.isEmpty())
+		{
+			return postingList;
+		}
+		PostingList filtered = new PostingList();
+		postingList.forEach((documentId, pageIndex, offset) -> {
+			if (!deletedDocumentIds.contains(documentId))
+			{
+				filtered.add(documentId, pageIndex, offset);
+			}
+		});
+		return filtered;
+	}
+
+	private void purgeDeletedDocumentIds()
+	{
+		deletedDocumentIds.removeIf(documentId -> !bufferedDocumentIds.contains(documentId)
+			&& segments.stream().noneMatch(segment -> segment.coversDocument(documentId)));
+	}
+
+	private File newSegmentFile()
+	{
+		return new File(directory,
+			SEGMENT_PREFIX + String.format("%06d", nextSegmentNumber++) + SEGMENT_EXTENSION);
+	}
+
+	private TermPostings lookup(final QueryTerm queryTerm) throws IOException
+	{
+		TermPostings termPostings = new TermPostings();
+		if (queryTerm.prefix())
+		{
+			buffer.subMap(queryTerm.term(), true, queryTerm.term() + Character.MAX_VALUE, true)
+				.values().stream().limit(MAXIMUM_PREFIX_TERMS).forEach(termPostings::add);
+		}
+		else
+		{
+			PostingList postingList = buffer.get(queryTerm.term());
+			if (postingList != null)
+			{
+				termPostings.add(postingList);
+			}
+		}
+		for (IndexSegment segment : segments)
+		{
+			int[] terms = new int[1];
+			segment.scanTerms(queryTerm.term(), (term, count, position, length) -> {
+				boolean matches = queryTerm.prefix()
+					? term.startsWith(queryTerm.term())
+					: term.equals(queryTerm.term());
+				if (matches)
+				{
+					termPostings.add(segment, count, position, length);
+				}
+				return matches && queryTerm.prefix() && ++terms[0] < MAXIMUM_PREFIX_TERMS;
+			});
+		}
+		return termPostings;
+	}
+
+	private Map<Long, int[]> intersect(final Map<Long, int[]> previousPages,
+		final TermPostings termPostings) throws IOException
+	{
+		Map<Long, int[]> pages = new HashMap<>();
+		termPostings.forEach((documentId, pageIndex, offset) -> {
+			long key = (long)documentId << 32 | pageIndex;
+			if (deletedDocumentIds.contains(documentId)
+				|| previousPages != null && !previousPages.containsKey(key))
+			{
+				return;
+			}
+			int[] page = pages.get(key);
+			if (page == null)
+			{
+				pages.put(key, new int[] { offset, 1 });
+			}
+			else
+			{
+				page[0] = Math.min(page[0], offset);
+				page[1]++;
+			}
+		});
+		if (previousPages != null)
+		{
+			pages.forEach((key, page) -> {
+				int[] previousPage = previousPages.get(key);
+				page[0] = Math.min(page[0], previousPage[0]);
+				page[1] += previousPage[1];
+			});
+		}
+		return pages;
+	}
+
+	private static List<QueryTerm> parseQuery(final String query)
+	{
+		List<QueryTerm> queryTerms = new ArrayList<>();
+		for (String word : query.trim().split("\\s+"))
+		{
+			boolean prefix = word.endsWith("*");
+			List<String> terms = TextTokenizer.terms(word);
+			for (int i = 0; i < terms.size(); i++)
+			{
+				queryTerms.add(new QueryTerm(terms.get(i), prefix && i == terms.size() - 1));
+			}
+		}
+		return queryTerms;
+	}
+
+	private void load() throws IOException
+	{
+		Properties state = loadProperties(new File(directory, STATE_FILE_NAME));
+		nextDocumentId = Integer.parseInt(state.getProperty("nextDocumentId", "1"));
+		nextSegmentNumber = Integer.parseInt(state.getProperty("nextSegmentNumber", "1"));
+		Set<String> segmentFileNames = new HashSet<>();
+		for (String segmentFileName : splitList(state.getProperty("segments")))
+		{
+			segmentFileNames.add(segmentFileName);
+			try
+			{
+				segments.add(IndexSegment.open(new File(directory, segmentFileName)));
+			}
+			catch (IOException e)
+			{
+				log.warn("Index segment '{}' could not be opened, its documents are not found",
+					segmentFileName, e);
+			}
+		}
+		splitList(state.getProperty("deleted")).stream().map(Integer::valueOf)
+			.forEach(deletedDocumentIds::add);
+		Properties documentProperties = loadProperties(new File(directory, DOCUMENTS_FILE_NAME));
+		for (String key : documentProperties.stringPropertyNames())
+		{
+			if (key.endsWith(".pdf"))
+			{
+				int id = Integer.parseInt(key.substring(0, key.length() - 4));
+				File pdfFile = new File(documentProperties.getProperty(key));
+				documents.put(id,
+					new IndexedDocument(id, pdfFile, new File(textsDirectory, id + ".txt"),
+						Integer.parseInt(documentProperties.getProperty(id + ".pages", "0")),
+						Long.parseLong(documentProperties.getProperty(id + ".indexed", "0"))));
+				documentIdsByPdfFile.put(pdfFile, id);
+			}
+		}
+		// files of an interrupted indexing or merge are not referenced by the state
+		File[] segmentFiles = directory
+			.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+				&& !segmentFileNames.contains(name));
+		for (File file : segmentFiles != null ? segmentFiles : new File[0])
+		{
+			Files.deleteIfExists(file.toPath());
+		}
+		File[] textFiles = textsDirectory.listFiles();
+		for (File file : textFiles != null ? textFiles : new File[0])
+		{
+			String name = file.getName();
+			String id = name.endsWith(".txt") ? name.substring(0, name.length() - 4) : name;
+			if (!id.matches("\\d+") || !documents.containsKey(Integer.valueOf(id)))
+			{
+				Files.deleteIfExists(file.toPath());
+			}
+		}
+		log.info("Full text index with {} documents in {} segments loaded", documents.size(),
+			segments.size());
+	}
+
+	private void saveState() throws IOException
+	{
+		Properties documentProperties = new Properties();
+		for (IndexedDocument document : documents.values())
+		{
+			if (!bufferedDocumentIds.contains(document.id()))
+			{
+				documentProperties.setProperty(document.id() + ".pdf",
+					document.pdfFile().getPath());
+				documentProperties.setProperty(document.id() + ".pages",
+					String.valueOf(document.pageCount()));
+				documentProperties.setProperty(document.id() + ".indexed",
+					String.valueOf(document.indexedMillis()));
+			}
+		}
+		storeProperties(documentProperties, new File(directory, DOCUMENTS_FILE_NAME));
+		Properties state = new Properties();
+		state.setProperty("nextDocumentId", String.valueOf(nextDocumentId));
+		state.setProperty("nextSegmentNumber", String.valueOf(nextSegmentNumber));
+		state.setProperty("segments", segments.stream().map(segment -> segment.getFile().getName())
+			.collect(Collectors.joining(",")));
+		state.setProperty("deleted",
+			deletedDocumentIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+		storeProperties(state, new File(directory, STATE_FILE_NAME));
+	}
+
+	private static List<String> splitList(final String value)
+	{
+		return value == null || value.isBlank() ? List.of() : Arrays.asList(value.split(","));
+	}
+
+	private static Properties loadProperties(final File file) throws IOException
+	{
+		Properties properties = new Properties();
+		if (file.isFile())
+		{
+			try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+			{
+				properties.load(reader);
+			}
+		}
+		return properties;
+	}
+
+	private static void storeProperties(final Properties properties, final File file)
+		throws IOException
+	{
+		Path temporaryFile = file.toPath().resolveSibling(file.getName() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8))
+		{
+			properties.store(writer, null);
+		}
+		Files.move(temporaryFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+			StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static FileLock tryLock(final FileChannel channel) throws IOException
+	{
+		try
+		{
+			return channel.tryLock();
+		}
+		catch (OverlappingFileLockException e)
+		{
+			return null;
+		}
+	}
+
+	private static void closeQuietly(final FileChannel channel)
+	{
+		try
+		{
+			channel.close();
+		}
+		catch (IOException e)
+		{
+			log.debug("Full text index lock could not be released", e);
+		}
+	}
+
+	private static void closeQuietly(final IndexSegment segment)
+	{
+		try
+		{
+			segment.close();
+		}
+		catch (IOException e)
+		{
+			log.debug("Index segment '{}' could not be closed", segment.getFile(), e);
+		}
+	}
+
+	/**
+	 * The record {@link QueryTerm} is a term of a search query
+	 *
+	 * @param term
+	 *            the term
+	 * @param prefix
+	 *            true if all terms that start with the term match
+	 */
+	private record QueryTerm(String term, boolean prefix)
+	{
+	}
+
+	/**
+	 * The class {@link TermPostings} collects the postings of a query term from the buffer and
+	 * the segments
+	 */
+	private static final class TermPostings
+	{
+
+		/** The postings from the buffer */
+		private final List<PostingList> bufferedPostings = new ArrayList<>();
+
+		/** The segments with postings of the query term */
+		private final List<IndexSegment> segments = new ArrayList<>();
+
+		/** The number, position and length of the postings in the segments */
+		private final List<long[]> segmentPostings = new ArrayList<>();
+
+		/** The number of postings */
+		@Getter
+		private long count;
+
+		private void add(final PostingList postingList)
+		{
+			bufferedPostings.add(postingList);
+			count += postingList.size();
+		}
+
+		private void add(final IndexSegment segment, final int postingCount, final long position,
+			final int length)
+		{
+			segments.add(segment);
+			segmentPostings.add(new long[] { postingCount, position, length });
+			count += postingCount;
+		}
+
+		private void forEach(final PostingList.PostingConsumer consumer) throws IOException
+		{
+			for (int i = 0; i < segments.size(); i++)
+			{
+				long[] postings = segmentPostings.get(i);
+				segments.get(i).readPostings((int)postings[0], postings[1], (int)postings[2],
+					consumer);
+			}
+			for (PostingList postingList : bufferedPostings)
+			{
+				postingList.forEach(consumer);
+			}
+		}
+
+	}
+
+}
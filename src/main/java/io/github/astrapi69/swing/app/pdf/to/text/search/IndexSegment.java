@@ -0,0 +1,445 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+import lombok.Getter;
+
+/**
+ * The class {@link IndexSegment} is an immutable file of the {@link FullTextIndex}. The file
+ * starts with the encoded {@link PostingList} of every term, followed by the dictionary with the
+ * sorted terms and a trailer. Only every {@value #BLOCK_SIZE}th term of the dictionary is held in
+ * memory, a lookup reads one block of the dictionary and the postings of the term with positional
+ * reads, so an open segment can be searched concurrently
+ */
+final class IndexSegment implements AutoCloseable
+{
+
+	/** The magic number at the start and the end of a segment file */
+	static final int MAGIC = 0x50545849;
+
+	/** The version of the file format */
+	static final int VERSION = 1;
+
+	/** The length of the header with the magic number and the version */
+	static final int HEADER_LENGTH = 8;
+
+	/** The length of the trailer */
+	static final int TRAILER_LENGTH = 32;
+
+	/** The number of dictionary entries per block */
+	static final int BLOCK_SIZE = 64;
+
+	/** The segment file */
+	@Getter
+	private final File file;
+
+	/** The number of terms */
+	@Getter
+	private final int termCount;
+
+	/** The smallest document id of the postings */
+	@Getter
+	private final int minimumDocumentId;
+
+	/** The largest document id of the postings */
+	@Getter
+	private final int maximumDocumentId;
+
+	/** The number of postings of all terms */
+	@Getter
+	private final long postingCount;
+
+	/** The position of the dictionary in the file */
+	private final long dictionaryPosition;
+
+	/** The position of the end of the dictionary in the file */
+	private final long dictionaryEnd;
+
+	/** The first term of every dictionary block */
+	private final String[] blockTerms;
+
+	/** The position of every dictionary block in the file */
+	private final long[] blockPositions;
+
+	/** The channel for the positional reads */
+	private final FileChannel channel;
+
+	/**
+	 * The interface {@link TermVisitor} receives the dictionary entries of a segment in the order
+	 * of the terms
+	 */
+	@FunctionalInterface
+	interface TermVisitor
+	{
+
+		/**
+		 * Receives a dictionary entry
+		 *
+		 * @param term
+		 *            the term
+		 * @param count
+		 *            the number of postings of the term
+		 * @param position
+		 *            the position of the encoded postings in the segment file
+		 * @param length
+		 *            the length of the encoded postings
+		 * @return true for the next entry, false to stop
+		 * @throws IOException
+		 *             if the postings could not be read
+		 */
+		boolean visit(String term, int count, long position, int length) throws IOException;
+
+	}
+
+	private IndexSegment(final File file, final FileChannel channel, final long dictionaryPosition,
+		final int termCount, final int minimumDocumentId, final int maximumDocumentId,
+		final long postingCount, final String[] blockTerms, final long[] blockPositions)
+	{
+		this.file = file;
+		this.channel = channel;
+		this.dictionaryPosition = dictionaryPosition;
+		this.dictionaryEnd = file.length() - TRAILER_LENGTH;
+		this.termCount = termCount;
+		this.minimumDocumentId = minimumDocumentId;
+		this.maximumDocumentId = maximumDocumentId;
+		this.postingCount = postingCount;
+		this.blockTerms = blockTerms;
+		this.blockPositions = blockPositions;
+	}
+
+	/**
+	 * Opens the given segment file and loads the block index of its dictionary
+	 *
+	 * @param file
+	 *            the segment file
+	 * @return the opened {@link IndexSegment} object
+	 * @throws IOException
+	 *             if the file could not be read or is not a complete segment file
+	 */
+	static IndexSegment open(final File file) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try
+		{
+			long size = channel.size();
+			if (size < HEADER_LENGTH + TRAILER_LENGTH)
+			{
+				throw new IOException("Index segment '" + file + "' is truncated");
+			}
+			ByteBuffer header = read(channel, 0, HEADER_LENGTH);
+			ByteBuffer trailer = read(channel, size - TRAILER_LENGTH, TRAILER_LENGTH);
+			if (header.getInt() != MAGIC || header.getInt() != VERSION
+				|| trailer.getInt(TRAILER_LENGTH - 4) != MAGIC)
+			{
+				throw new IOException("'" + file + "' is not a complete index segment");
+			}
+			long dictionaryPosition = trailer.getLong();
+			int termCount = trailer.getInt();
+			int minimumDocumentId = trailer.getInt();
+			int maximumDocumentId = trailer.getInt();
+			long postingCount = trailer.getLong();
+			int blocks = (termCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+			String[] blockTerms = new String[blocks];
+			long[] blockPositions = new long[blocks];
+			try (FileInputStream fileInputStream = new FileInputStream(file))
+			{
+				fileInputStream.getChannel().position(dictionaryPosition);
+				DataInputStream in = new DataInputStream(
+					new BufferedInputStream(fileInputStream, 64 * 1024));
+				long position = dictionaryPosition;
+				for (int i = 0; i < termCount; i++)
+				{
+					int termLength = in.readUnsignedShort();
+					byte[] termBytes = new byte[termLength];
+					in.readFully(termBytes);
+					in.skipNBytes(16);
+					if (i % BLOCK_SIZE == 0)
+					{
+						blockTerms[i / BLOCK_SIZE] = new String(termBytes, StandardCharsets.UTF_8);
+						blockPositions[i / BLOCK_SIZE] = position;
+					}
+					position += 2 + termLength + 16;
+				}
+			}
+			return new IndexSegment(file, channel, dictionaryPosition, termCount,
+				minimumDocumentId, maximumDocumentId, postingCount, blockTerms, blockPositions);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Merges the given adjacent segments into a new segment file, the postings of deleted
+	 * documents are dropped
+	 *
+	 * @param segments
+	 *            the segments in the order of their document ids
+	 * @param file
+	 *            the new segment file
+	 * @param deleted
+	 *            the predicate for the ids of deleted documents
+	 * @return the merged {@link IndexSegment} object or null if all documents were deleted
+	 * @throws IOException
+	 *             if a segment could not be read or the new segment could not be written
+	 */
+	static IndexSegment merge(final List<IndexSegment> segments, final File file,
+		final IntPredicate deleted) throws IOException
+	{
+		List<DictionaryCursor> cursors = new ArrayList<>(segments.size());
+		PriorityQueue<DictionaryCursor> queue = new PriorityQueue<>(
+			Comparator.comparing(DictionaryCursor::getTerm)
+				.thenComparingInt(DictionaryCursor::getSegmentIndex));
+		try (SegmentWriter writer = new SegmentWriter(file))
+		{
+			for (int i = 0; i < segments.size(); i++)
+			{
+				DictionaryCursor cursor = segments.get(i).newCursor(i);
+				cursors.add(cursor);
+				if (cursor.next())
+				{
+					queue.add(cursor);
+				}
+			}
+			while (!queue.isEmpty())
+			{
+				String term = queue.peek().getTerm();
+				PostingList postingList = new PostingList();
+				// equal terms come in the order of the segments and so of the document ids
+				while (!queue.isEmpty() && queue.peek().getTerm().equals(term))
+				{
+					DictionaryCursor cursor = queue.poll();
+					cursor.getSegment().readPostings(cursor.getCount(), cursor.getPosition(),
+						cursor.getLength(), (documentId, pageIndex, offset) -> {
+							if (!deleted.test(documentId))
+							{
+								postingList.add(documentId, pageIndex, offset);
+							}
+						});
+					if (cursor.next())
+					{
+						queue.add(cursor);
+					}
+				}
+				writer.addTerm(term, postingList);
+			}
+			return writer.finish();
+		}
+		finally
+		{
+			for (DictionaryCursor cursor : cursors)
+			{
+				cursor.close();
+			}
+		}
+	}
+
+	/**
+	 * Visits the dictionary entries starting with the first term that is not less than the given
+	 * term
+	 *
+	 * @param fromTerm
+	 *            the first term
+	 * @param visitor
+	 *            the visitor of the entries
+	 * @throws IOException
+	 *             if the dictionary could not be read
+	 */
+	void scanTerms(final String fromTerm, final TermVisitor visitor) throws IOException
+	{
+		if (blockTerms.length == 0)
+		{
+			return;
+		}
+		int searchResult = Arrays.binarySearch(blockTerms, fromTerm);
+		int firstBlock = 0 <= searchResult ? searchResult : Math.max(0, -searchResult - 2);
+		for (int block = firstBlock; block < blockTerms.length; block++)
+		{
+			long end = block + 1 < blockTerms.length ? blockPositions[block + 1] : dictionaryEnd;
+			ByteBuffer buffer = read(channel, blockPositions[block],
+				(int)(end - blockPositions[block]));
+			while (buffer.hasRemaining())
+			{
+				byte[] termBytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+				buffer.get(termBytes);
+				String term = new String(termBytes, StandardCharsets.UTF_8);
+				int count = buffer.getInt();
+				long position = buffer.getLong();
+				int length = buffer.getInt();
+				if (fromTerm.compareTo(term) <= 0 && !visitor.visit(term, count, position, length))
+				{
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads and decodes encoded postings of this segment
+	 *
+	 * @param count
+	 *            the number of postings
+	 * @param position
+	 *            the position of the encoded postings
+	 * @param length
+	 *            the length of the encoded postings
+	 * @param consumer
+	 *            the consumer of the postings
+	 * @throws IOException
+	 *             if the postings could not be read
+	 */
+	void readPostings(final int count, final long position, final int length,
+		final PostingList.PostingConsumer consumer) throws IOException
+	{
+		PostingList.decode(read(channel, position, length), count, consumer);
+	}
+
+	/**
+	 * Checks if this segment may contain postings of the given document
+	 *
+	 * @param documentId
+	 *            the id of the document
+	 * @return true if the id is in the range of the document ids of this segment
+	 */
+	boolean coversDocument(final int documentId)
+	{
+		return minimumDocumentId <= documentId && documentId <= maximumDocumentId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+	private DictionaryCursor newCursor(final int segmentIndex) throws IOException
+	{
+		return new DictionaryCursor(this, segmentIndex);
+	}
+
+	private static ByteBuffer read(final FileChannel channel, final long position,
+		final int length) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining())
+		{
+			if (channel.read(buffer, position + buffer.position()) < 0)
+			{
+				throw new EOFException("Index segment ends before position " + (position + length));
+			}
+		}
+		return buffer.flip();
+	}
+
+	/**
+	 * The class {@link DictionaryCursor} reads the dictionary of a segment sequentially for a merge
+	 */
+	@Getter
+	private static final class DictionaryCursor implements Closeable
+	{
+
+		/** The segment of the dictionary */
+		private final IndexSegment segment;
+
+		/** The index of the segment in the merged segments */
+		private final int segmentIndex;
+
+		/** The stream of the dictionary */
+		private final DataInputStream in;
+
+		/** The number of entries that are not yet read */
+		private int remaining;
+
+		/** The term of the current entry */
+		private String term;
+
+		/** The number of postings of the current entry */
+		private int count;
+
+		/** The position of the postings of the current entry */
+		private long position;
+
+		/** The length of the postings of the current entry */
+		private int length;
+
+		private DictionaryCursor(final IndexSegment segment, final int segmentIndex)
+			throws IOException
+		{
+			this.segment = segment;
+			this.segmentIndex = segmentIndex;
+			this.remaining = segment.getTermCount();
+			FileInputStream fileInputStream = new FileInputStream(segment.getFile());
+			fileInputStream.getChannel().position(segment.dictionaryPosition);
+			this.in = new DataInputStream(new BufferedInputStream(fileInputStream, 64 * 1024));
+		}
+
+		private boolean next() throws IOException
+		{
+			if (remaining == 0)
+			{
+				return false;
+			}
+			remaining--;
+			byte[] termBytes = new byte[in.readUnsignedShort()];
+			in.readFully(termBytes);
+			term = new String(termBytes, StandardCharsets.UTF_8);
+			count = in.readInt();
+			position = in.readLong();
+			length = in.readInt();
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			in.close();
+		}
+
+	}
+
+}
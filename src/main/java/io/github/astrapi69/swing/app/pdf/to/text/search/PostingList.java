@@ -0,0 +1,189 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The class {@link PostingList} holds the occurrences of a term as triples of document id, page
+ * index and character offset in the page. The postings are appended in ascending order of the
+ * document id and are stored with variable length integers, the document ids as deltas
+ */
+final class PostingList
+{
+
+	/** The document id, page index and offset of every posting */
+	private int[] data = new int[12];
+
+	/** The number of postings */
+	private int size;
+
+	/**
+	 * The interface {@link PostingConsumer} receives the postings of a term
+	 */
+	@FunctionalInterface
+	interface PostingConsumer
+	{
+
+		/**
+		 * Receives a posting
+		 *
+		 * @param documentId
+		 *            the id of the document
+		 * @param pageIndex
+		 *            the zero based index of the page
+		 * @param offset
+		 *            the character offset of the term in the page
+		 */
+		void accept(int documentId, int pageIndex, int offset);
+
+	}
+
+	/**
+	 * Appends a posting
+	 *
+	 * @param documentId
+	 *            the id of the document, not less than the id of the previous posting
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 * @param offset
+	 *            the character offset of the term in the page
+	 */
+	void add(final int documentId, final int pageIndex, final int offset)
+	{
+		if (data.length < (size + 1) * 3)
+		{
+			data = Arrays.copyOf(data, data.length * 2);
+		}
+		data[size * 3] = documentId;
+		data[size * 3 + 1] = pageIndex;
+		data[size * 3 + 2] = offset;
+		size++;
+	}
+
+	/**
+	 * Appends all postings of the given list
+	 *
+	 * @param postingList
+	 *            the postings to append
+	 */
+	void addAll(final PostingList postingList)
+	{
+		postingList.forEach(this::add);
+	}
+
+	/**
+	 * Gets the number of postings
+	 *
+	 * @return the number of postings
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gives every posting to the given consumer
+	 *
+	 * @param consumer
+	 *            the consumer of the postings
+	 */
+	void forEach(final PostingConsumer consumer)
+	{
+		for (int i = 0; i < size; i++)
+		{
+			consumer.accept(data[i * 3], data[i * 3 + 1], data[i * 3 + 2]);
+		}
+	}
+
+	/**
+	 * Encodes the postings
+	 *
+	 * @return the encoded postings
+	 */
+	byte[] encode()
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(size * 4);
+		int previousDocumentId = 0;
+		for (int i = 0; i < size; i++)
+		{
+			writeVarint(out, data[i * 3] - previousDocumentId);
+			writeVarint(out, data[i * 3 + 1]);
+			writeVarint(out, data[i * 3 + 2]);
+			previousDocumentId = data[i * 3];
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes the given number of encoded postings
+	 *
+	 * @param buffer
+	 *            the encoded postings
+	 * @param count
+	 *            the number of postings
+	 * @param consumer
+	 *            the consumer of the decoded postings
+	 */
+	static void decode(final ByteBuffer buffer, final int count, final PostingConsumer consumer)
+	{
+		int documentId = 0;
+		for (int i = 0; i < count; i++)
+		{
+			documentId += readVarint(buffer);
+			int pageIndex = readVarint(buffer);
+			consumer.accept(documentId, pageIndex, readVarint(buffer));
+		}
+	}
+
+	private static void writeVarint(final ByteArrayOutputStream out, final int value)
+	{
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0)
+		{
+			out.write((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.write(remaining);
+	}
+
+	private static int readVarint(final ByteBuffer buffer)
+	{
+		int value = 0;
+		int shift = 0;
+		byte current;
+		do
+		{
+			current = buffer.get();
+			value |= (current & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((current & 0x80) != 0);
+		return value;
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import io.github.astrapi69.swing.app.Messages;
+
+/**
+ * The class {@link SearchHitTableModel} is the table model of the hits of a full text search. It
+ * must only be accessed from the event dispatch thread
+ */
+public class SearchHitTableModel extends AbstractTableModel
+{
+
+	/** The column names */
+	private static final String[] COLUMN_NAMES = {
+			Messages.getString("search.column.document", "Document"),
+			Messages.getString("search.column.page", "Page"),
+			Messages.getString("search.column.matches", "Matches"),
+			Messages.getString("search.column.indexed", "Indexed"),
+			Messages.getString("search.column.folder", "Folder") };
+
+	/** The column classes */
+	private static final Class<?>[] COLUMN_CLASSES = { String.class, Integer.class,
+			Integer.class, Date.class, String.class };
+
+	/** The shown hits */
+	private final List<SearchHit> hits = new ArrayList<>();
+
+	/**
+	 * Replaces the shown hits with the given hits
+	 *
+	 * @param hits
+	 *            the hits to show
+	 */
+	public void setHits(final List<SearchHit> hits)
+	{
+		this.hits.clear();
+		this.hits.addAll(hits);
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Gets the hit of the given row
+	 *
+	 * @param rowIndex
+	 *            the model index of the row
+	 * @return the hit
+	 */
+	public SearchHit getHit(final int rowIndex)
+	{
+		return hits.get(rowIndex);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowCount()
+	{
+		return hits.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getColumnCount()
+	{
+		return COLUMN_NAMES.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getColumnName(final int column)
+	{
+		return COLUMN_NAMES[column];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<?> getColumnClass(final int columnIndex)
+	{
+		return COLUMN_CLASSES[columnIndex];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final int rowIndex, final int columnIndex)
+	{
+		SearchHit hit = hits.get(rowIndex);
+		IndexedDocument document = hit.document();
+		return switch (columnIndex)
+		{
+			case 0 -> document.pdfFile().getName();
+			case 1 -> hit.pageIndex() + 1;
+			case 2 -> hit.matches();
+			case 3 -> new Date(document.indexedMillis());
+			case 4 -> document.pdfFile().getParent();
+			default -> null;
+		};
+	}
+
+}
@@ -0,0 +1,214 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import io.github.astrapi69.swing.app.Messages;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link SearchPanel} searches the {@link FullTextIndex} while the query is typed. The
+ * search runs in the background {@link #SEARCH_DELAY_MILLIS} milliseconds after the last key
+ * stroke and a double click on a hit passes it to the open hit action
+ */
+@Slf4j
+public class SearchPanel extends JPanel
+{
+
+	/** The delay in milliseconds between the last key stroke and the search */
+	public static final int SEARCH_DELAY_MILLIS = 250;
+
+	/** The maximum number of shown hits */
+	public static final int MAXIMUM_HITS = 1000;
+
+	/** The searched index */
+	@Getter
+	private final FullTextIndex fullTextIndex;
+
+	/** The text field of the query */
+	private final JTextField queryTextField;
+
+	/** The label that shows the number of hits */
+	private final JLabel statusLabel;
+
+	/** The table model of the hits */
+	private final SearchHitTableModel tableModel;
+
+	/** The timer that starts the search after the last key stroke */
+	private final Timer searchTimer;
+
+	/** The running search or null if no search is running */
+	private SwingWorker<List<SearchHit>, Void> searchWorker;
+
+	/** The action that opens a hit that was double clicked */
+	@Setter
+	private Consumer<SearchHit> openHitAction = hit -> {
+	};
+
+	/**
+	 * Instantiates a new {@link SearchPanel}
+	 *
+	 * @param fullTextIndex
+	 *            the index to search
+	 */
+	public SearchPanel(final FullTextIndex fullTextIndex)
+	{
+		super(new BorderLayout());
+		this.fullTextIndex = fullTextIndex;
+		queryTextField = new JTextField(40);
+		statusLabel = new JLabel();
+		tableModel = new SearchHitTableModel();
+		searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> search());
+		searchTimer.setRepeats(false);
+
+		queryTextField.getDocument().addDocumentListener(new DocumentListener()
+		{
+			@Override
+			public void insertUpdate(final DocumentEvent e)
+			{
+				searchTimer.restart();
+			}
+
+			@Override
+			public void removeUpdate(final DocumentEvent e)
+			{
+				searchTimer.restart();
+			}
+
+			@Override
+			public void changedUpdate(final DocumentEvent e)
+			{
+				searchTimer.restart();
+			}
+		});
+		queryTextField.addActionListener(e -> search());
+		JButton searchButton = new JButton(Messages.getString("search.button.search", "Search"));
+		searchButton.addActionListener(e -> search());
+
+		JTable table = new JTable(tableModel);
+		table.setAutoCreateRowSorter(true);
+		table.setFillsViewportHeight(true);
+		table.addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				int row = table.rowAtPoint(e.getPoint());
+				if (e.getClickCount() == 2 && row != -1)
+				{
+					openHitAction.accept(tableModel.getHit(table.convertRowIndexToModel(row)));
+				}
+			}
+		});
+
+		JPanel queryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		queryPanel.add(new JLabel(Messages.getString("search.label.query", "Search for:")));
+		queryPanel.add(queryTextField);
+		queryPanel.add(searchButton);
+		queryPanel.add(statusLabel);
+		add(queryPanel, BorderLayout.NORTH);
+		add(new JScrollPane(table), BorderLayout.CENTER);
+	}
+
+	/**
+	 * Searches the current query in the background and shows the hits when the search is
+	 * finished. A search that is still running is cancelled
+	 */
+	public void search()
+	{
+		searchTimer.stop();
+		if (searchWorker != null)
+		{
+			searchWorker.cancel(false);
+		}
+		final String query = queryTextField.getText();
+		if (query.isBlank())
+		{
+			searchWorker = null;
+			tableModel.setHits(List.of());
+			statusLabel.setText("");
+			return;
+		}
+		final long start = System.currentTimeMillis();
+		searchWorker = new SwingWorker<>()
+		{
+			@Override
+			protected List<SearchHit> doInBackground() throws IOException
+			{
+				return fullTextIndex.search(query, MAXIMUM_HITS);
+			}
+
+			@Override
+			protected void done()
+			{
+				if (isCancelled() || searchWorker != this)
+				{
+					return;
+				}
+				searchWorker = null;
+				try
+				{
+					List<SearchHit> hits = get();
+					tableModel.setHits(hits);
+					statusLabel.setText(
+						String.format(Messages.getString("search.label.hits", "%d hits in %d ms"),
+							hits.size(), System.currentTimeMillis() - start));
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				catch (ExecutionException e)
+				{
+					log.error("Search for '{}' failed", query, e.getCause());
+					statusLabel.setText(e.getCause().getMessage());
+				}
+			}
+		};
+		searchWorker.execute();
+	}
+
+}
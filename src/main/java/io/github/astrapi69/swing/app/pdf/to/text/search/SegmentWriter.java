@@ -0,0 +1,179 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The class {@link SegmentWriter} writes a new {@link IndexSegment} file. The terms have to be
+ * added in ascending order, the postings are written directly to the segment file and the
+ * dictionary to a temporary file that is appended when the segment is finished, so even the merge
+ * of large segments needs little memory
+ */
+final class SegmentWriter implements AutoCloseable
+{
+
+	/** The segment file */
+	private final File file;
+
+	/** The temporary file of the dictionary */
+	private final File dictionaryFile;
+
+	/** The stream of the segment file */
+	private final FileOutputStream fileOutputStream;
+
+	/** The data stream of the segment file */
+	private final DataOutputStream out;
+
+	/** The data stream of the temporary dictionary file */
+	private final DataOutputStream dictionaryOut;
+
+	/** The position of the next postings in the segment file */
+	private long position = IndexSegment.HEADER_LENGTH;
+
+	/** The number of written terms */
+	private int termCount;
+
+	/** The number of written postings */
+	private long postingCount;
+
+	/** The smallest written document id */
+	private int minimumDocumentId = Integer.MAX_VALUE;
+
+	/** The largest written document id */
+	private int maximumDocumentId = Integer.MIN_VALUE;
+
+	/** The flag that indicates if the segment is finished */
+	private boolean finished;
+
+	/**
+	 * Instantiates a new {@link SegmentWriter}
+	 *
+	 * @param file
+	 *            the new segment file
+	 * @throws IOException
+	 *             if the file could not be created
+	 */
+	SegmentWriter(final File file) throws IOException
+	{
+		this.file = file;
+		this.dictionaryFile = new File(file.getParentFile(), file.getName() + ".dictionary");
+		this.fileOutputStream = new FileOutputStream(file);
+		this.out = new DataOutputStream(new BufferedOutputStream(fileOutputStream, 64 * 1024));
+		this.dictionaryOut = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(dictionaryFile), 64 * 1024));
+		out.writeInt(IndexSegment.MAGIC);
+		out.writeInt(IndexSegment.VERSION);
+	}
+
+	/**
+	 * Adds the postings of a term, a term without postings is ignored
+	 *
+	 * @param term
+	 *            the term that is greater than the previously added term
+	 * @param postingList
+	 *            the postings of the term in ascending order of the document ids
+	 * @throws IOException
+	 *             if the postings could not be written
+	 */
+	void addTerm(final String term, final PostingList postingList) throws IOException
+	{
+		if (postingList.size() == 0)
+		{
+			return;
+		}
+		byte[] encoded = postingList.encode();
+		out.write(encoded);
+		byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+		dictionaryOut.writeShort(termBytes.length);
+		dictionaryOut.write(termBytes);
+		dictionaryOut.writeInt(postingList.size());
+		dictionaryOut.writeLong(position);
+		dictionaryOut.writeInt(encoded.length);
+		position += encoded.length;
+		termCount++;
+		postingCount += postingList.size();
+		postingList.forEach((documentId, pageIndex, offset) -> {
+			minimumDocumentId = Math.min(minimumDocumentId, documentId);
+			maximumDocumentId = Math.max(maximumDocumentId, documentId);
+		});
+	}
+
+	/**
+	 * Appends the dictionary and the trailer, syncs the segment file to the disk and opens it
+	 *
+	 * @return the new {@link IndexSegment} object or null if no term was added
+	 * @throws IOException
+	 *             if the segment could not be written
+	 */
+	IndexSegment finish() throws IOException
+	{
+		dictionaryOut.close();
+		if (termCount == 0)
+		{
+			return null;
+		}
+		long dictionaryPosition = position;
+		Files.copy(dictionaryFile.toPath(), out);
+		out.writeLong(dictionaryPosition);
+		out.writeInt(termCount);
+		out.writeInt(minimumDocumentId);
+		out.writeInt(maximumDocumentId);
+		out.writeLong(postingCount);
+		out.writeInt(IndexSegment.MAGIC);
+		out.flush();
+		fileOutputStream.getFD().sync();
+		out.close();
+		Files.delete(dictionaryFile.toPath());
+		finished = true;
+		return IndexSegment.open(file);
+	}
+
+	/**
+	 * Closes the streams, a segment that is not finished is deleted
+	 *
+	 * @throws IOException
+	 *             if a stream could not be closed
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (finished)
+		{
+			return;
+		}
+		dictionaryOut.close();
+		out.close();
+		Files.deleteIfExists(dictionaryFile.toPath());
+		Files.deleteIfExists(file.toPath());
+	}
+
+}
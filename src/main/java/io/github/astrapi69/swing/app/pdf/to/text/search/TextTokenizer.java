@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+
+/**
+ * The class {@link TextTokenizer} splits a result text into terms. A term is a sequence of letters
+ * and digits in lower case, the pages are separated by
+ * {@link PdfConversionEngine#PAGE_SEPARATOR}. Single characters and terms longer than
+ * {@value #MAXIMUM_TERM_LENGTH} characters, that are mostly ocr noise, are skipped
+ */
+public final class TextTokenizer
+{
+
+	/** The minimum number of characters of a term */
+	public static final int MINIMUM_TERM_LENGTH = 2;
+
+	/** The maximum number of characters of a term */
+	public static final int MAXIMUM_TERM_LENGTH = 64;
+
+	/**
+	 * The interface {@link TermConsumer} receives the terms of a text
+	 */
+	@FunctionalInterface
+	public interface TermConsumer
+	{
+
+		/**
+		 * Receives a term
+		 *
+		 * @param term
+		 *            the term in lower case
+		 * @param pageIndex
+		 *            the zero based index of the page
+		 * @param offset
+		 *            the character offset of the term in the page
+		 */
+		void accept(String term, int pageIndex, int offset);
+
+	}
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private TextTokenizer()
+	{
+	}
+
+	/**
+	 * Splits the text of the given reader into terms
+	 *
+	 * @param reader
+	 *            the reader of the text
+	 * @param consumer
+	 *            the consumer of the terms
+	 * @throws IOException
+	 *             if the text could not be read
+	 */
+	public static void tokenize(final Reader reader, final TermConsumer consumer)
+		throws IOException
+	{
+		StringBuilder term = new StringBuilder(MAXIMUM_TERM_LENGTH);
+		char[] buffer = new char[8192];
+		int pageIndex = 0;
+		int offset = 0;
+		int termOffset = 0;
+		int read;
+		while ((read = reader.read(buffer)) != -1)
+		{
+			for (int i = 0; i < read; i++)
+			{
+				char character = buffer[i];
+				if (Character.isLetterOrDigit(character))
+				{
+					if (term.isEmpty())
+					{
+						termOffset = offset;
+					}
+					term.append(character);
+					offset++;
+					continue;
+				}
+				emit(term, pageIndex, termOffset, consumer);
+				if (character == PdfConversionEngine.PAGE_SEPARATOR)
+				{
+					pageIndex++;
+					offset = 0;
+				}
+				else
+				{
+					offset++;
+				}
+			}
+		}
+		emit(term, pageIndex, termOffset, consumer);
+	}
+
+	/**
+	 * Splits the given text into terms
+	 *
+	 * @param text
+	 *            the text, for instance a search query
+	 * @return the terms in the order of the text
+	 */
+	public static List<String> terms(final String text)
+	{
+		List<String> terms = new ArrayList<>();
+		try
+		{
+			tokenize(new StringReader(text), (term, pageIndex, offset) -> terms.add(term));
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return terms;
+	}
+
+	private static void emit(final StringBuilder term, final int pageIndex, final int offset,
+		final TermConsumer consumer)
+	{
+		if (MINIMUM_TERM_LENGTH <= term.length() && term.length() <= MAXIMUM_TERM_LENGTH)
+		{
+			consumer.accept(term.toString().toLowerCase(Locale.ROOT), pageIndex, offset);
+		}
+		term.setLength(0);
+	}
+
+}
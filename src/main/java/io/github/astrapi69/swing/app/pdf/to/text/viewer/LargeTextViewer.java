@@ -0,0 +1,461 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.viewer;
+
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.UIManager;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link LargeTextViewer} is a read only viewer for large utf-8 text files. Only the
+ * lines inside the visible area are read from the file and painted, so that documents with
+ * thousands of pages scroll smoothly and the memory usage does not depend on the size of the
+ * file. The viewer can be refreshed while the file grows and can jump to the pages that are
+ * separated by a form feed character. Long lines are not wrapped but scrolled horizontally, because
+ * the position of a line must not depend on the width of the viewer
+ */
+@Slf4j
+public class LargeTextViewer extends JComponent implements Scrollable
+{
+
+	/** The name of the property that is fired when the number of pages changes */
+	public static final String PROPERTY_PAGE_COUNT = "pageCount";
+
+	/** The maximum number of lines that are kept in memory */
+	private static final int LINE_CACHE_SIZE = 1024;
+
+	/** The space between the border and the text */
+	private static final int INSET = 4;
+
+	/** The number of spaces that replaces a tab character */
+	private static final String TAB_REPLACEMENT = "    ";
+
+	/** The recently painted lines */
+	private final Map<Integer, String> lineCache = new LinkedHashMap<>(LINE_CACHE_SIZE, 0.75f,
+		true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Integer, String> eldest)
+		{
+			return LINE_CACHE_SIZE < size();
+		}
+	};
+
+	/** The index of the shown file or null if no file is shown */
+	private TextFileIndex index;
+
+	/** The worker that indexes a newly opened file */
+	private SwingWorker<TextFileIndex, Void> indexWorker;
+
+	/** The worker that indexes the content appended to the shown file */
+	private SwingWorker<Boolean, Void> refreshWorker;
+
+	/** The flag that indicates if the shown file changed while it was refreshed */
+	private boolean refreshPending;
+
+	/** The number of pages of the shown file */
+	@Getter
+	private int pageCount;
+
+	/**
+	 * Instantiates a new empty {@link LargeTextViewer}
+	 */
+	public LargeTextViewer()
+	{
+		setOpaque(true);
+		setFont(UIManager.getFont("TextArea.font"));
+		setBackground(UIManager.getColor("TextArea.background"));
+		setForeground(UIManager.getColor("TextArea.foreground"));
+	}
+
+	/**
+	 * Shows the given file, the file is indexed in the background so that this method returns
+	 * immediately
+	 *
+	 * @param file
+	 *            the utf-8 text file to show
+	 */
+	public void open(final File file)
+	{
+		open(file, -1);
+	}
+
+	/**
+	 * Shows the given file and scrolls to the given page as soon as the file is indexed in the
+	 * background
+	 *
+	 * @param file
+	 *            the utf-8 text file to show
+	 * @param pageIndex
+	 *            the zero based index of the page to show or a negative value to show the
+	 *            beginning of the file
+	 */
+	public void open(final File file, final int pageIndex)
+	{
+		cancelIndexing();
+		setIndex(null);
+		TextFileIndex newIndex = new TextFileIndex(file);
+		indexWorker = new SwingWorker<>()
+		{
+			@Override
+			protected TextFileIndex doInBackground() throws IOException
+			{
+				newIndex.update();
+				return newIndex;
+			}
+
+			@Override
+			protected void done()
+			{
+				if (isCancelled() || indexWorker != this)
+				{
+					return;
+				}
+				indexWorker = null;
+				try
+				{
+					setIndex(get());
+					if (0 <= pageIndex)
+					{
+						// the scroll pane knows the new preferred size only after the layout
+						SwingUtilities.invokeLater(() -> scrollToPage(pageIndex));
+					}
+				}
+				catch (InterruptedException | ExecutionException exception)
+				{
+					log.warn("Could not index file {}", file, exception);
+				}
+			}
+		};
+		indexWorker.execute();
+	}
+
+	/**
+	 * Shows the given file that is going to be written, for instance by a running conversion. The
+	 * file is indexed with {@link #refresh()}
+	 *
+	 * @param file
+	 *            the utf-8 text file to follow
+	 */
+	public void follow(final File file)
+	{
+		cancelIndexing();
+		setIndex(new TextFileIndex(file));
+		refresh();
+	}
+
+	/**
+	 * Indexes the content that was appended to the shown file since the last refresh in the
+	 * background and repaints the viewer if the content has changed. A refresh that is requested
+	 * while the file is indexed runs after the running one
+	 */
+	public void refresh()
+	{
+		if (index == null)
+		{
+			return;
+		}
+		if (refreshWorker != null)
+		{
+			refreshPending = true;
+			return;
+		}
+		TextFileIndex refreshedIndex = index;
+		refreshWorker = new SwingWorker<>()
+		{
+			@Override
+			protected Boolean doInBackground() throws IOException
+			{
+				return refreshedIndex.update();
+			}
+
+			@Override
+			protected void done()
+			{
+				if (refreshWorker != this)
+				{
+					return;
+				}
+				refreshWorker = null;
+				try
+				{
+					if (get() && index == refreshedIndex)
+					{
+						lineCache.clear();
+						updatePageCount();
+						revalidate();
+						repaint();
+					}
+				}
+				catch (InterruptedException | ExecutionException exception)
+				{
+					log.warn("Could not refresh file {}", refreshedIndex.getFile(), exception);
+				}
+				if (refreshPending)
+				{
+					refreshPending = false;
+					refresh();
+				}
+			}
+		};
+		refreshWorker.execute();
+	}
+
+	/**
+	 * Removes the shown file from this viewer
+	 */
+	public void clear()
+	{
+		cancelIndexing();
+		setIndex(null);
+	}
+
+	/**
+	 * Gets the shown file
+	 *
+	 * @return the shown file or null if no file is shown
+	 */
+	public File getFile()
+	{
+		return index != null ? index.getFile() : null;
+	}
+
+	/**
+	 * Checks if the shown file has any content
+	 *
+	 * @return true if no file is shown or the shown file is empty
+	 */
+	public boolean isEmpty()
+	{
+		return index == null || index.getIndexedLength() == 0;
+	}
+
+	/**
+	 * Scrolls to the beginning of the given page
+	 *
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 */
+	public void scrollToPage(final int pageIndex)
+	{
+		if (index == null)
+		{
+			return;
+		}
+		int lineHeight = getLineHeight();
+		int y = index.getPageStartLine(pageIndex) * lineHeight;
+		Container parent = getParent();
+		int height = parent instanceof JViewport ? parent.getHeight() : lineHeight;
+		scrollRectToVisible(new Rectangle(0, y, 1, height));
+	}
+
+	/**
+	 * Gets the page that is shown at the top of the visible area
+	 *
+	 * @return the zero based index of the page
+	 */
+	public int getVisiblePage()
+	{
+		if (index == null)
+		{
+			return 0;
+		}
+		return index.getPageOfLine(getVisibleRect().y / getLineHeight());
+	}
+
+	private void cancelIndexing()
+	{
+		if (indexWorker != null)
+		{
+			indexWorker.cancel(true);
+			indexWorker = null;
+		}
+		// a running refresh finishes on the old index and is ignored
+		refreshWorker = null;
+		refreshPending = false;
+	}
+
+	private void setIndex(final TextFileIndex index)
+	{
+		this.index = index;
+		lineCache.clear();
+		updatePageCount();
+		revalidate();
+		repaint();
+	}
+
+	private void updatePageCount()
+	{
+		int oldPageCount = pageCount;
+		pageCount = index == null || isEmpty() ? 0 : index.getPageCount();
+		firePropertyChange(PROPERTY_PAGE_COUNT, oldPageCount, pageCount);
+	}
+
+	private int getLineHeight()
+	{
+		return getFontMetrics(getFont()).getHeight();
+	}
+
+	private String[] getLines(final int firstLine, final int lastLine)
+	{
+		String[] lines = new String[lastLine - firstLine + 1];
+		int firstMissing = -1;
+		int lastMissing = -1;
+		for (int line = firstLine; line <= lastLine; line++)
+		{
+			lines[line - firstLine] = lineCache.get(line);
+			if (lines[line - firstLine] == null)
+			{
+				firstMissing = firstMissing < 0 ? line : firstMissing;
+				lastMissing = line;
+			}
+		}
+		if (firstMissing < 0)
+		{
+			return lines;
+		}
+		try
+		{
+			String[] readLines = index.readLines(firstMissing, lastMissing);
+			for (int i = 0; i < readLines.length; i++)
+			{
+				String line = readLines[i].replace("\t", TAB_REPLACEMENT);
+				lineCache.put(firstMissing + i, line);
+				lines[firstMissing - firstLine + i] = line;
+			}
+		}
+		catch (IOException exception)
+		{
+			log.warn("Could not read file {}", index.getFile(), exception);
+		}
+		return lines;
+	}
+
+	@Override
+	protected void paintComponent(final Graphics graphics)
+	{
+		Rectangle clip = graphics.getClipBounds();
+		if (clip == null)
+		{
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		graphics.setColor(getBackground());
+		graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+		if (index == null)
+		{
+			return;
+		}
+		graphics.setFont(getFont());
+		graphics.setColor(getForeground());
+		FontMetrics fontMetrics = graphics.getFontMetrics();
+		int lineHeight = fontMetrics.getHeight();
+		int firstLine = Math.max(0, clip.y / lineHeight);
+		int lastLine = Math.min(index.getLineCount() - 1, (clip.y + clip.height) / lineHeight);
+		if (lastLine < firstLine)
+		{
+			return;
+		}
+		String[] lines = getLines(firstLine, lastLine);
+		for (int i = 0; i < lines.length; i++)
+		{
+			if (lines[i] != null)
+			{
+				graphics.drawString(lines[i], INSET,
+					(firstLine + i) * lineHeight + fontMetrics.getAscent());
+			}
+		}
+	}
+
+	@Override
+	public Dimension getPreferredSize()
+	{
+		if (index == null)
+		{
+			return new Dimension(0, 0);
+		}
+		FontMetrics fontMetrics = getFontMetrics(getFont());
+		long width = 2L * INSET + (long)index.getLongestLineLength() * fontMetrics.charWidth('m');
+		long height = (long)index.getLineCount() * fontMetrics.getHeight();
+		return new Dimension((int)Math.min(Integer.MAX_VALUE, width),
+			(int)Math.min(Integer.MAX_VALUE, height));
+	}
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize()
+	{
+		return new Dimension(600, 400);
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(final Rectangle visibleRect, final int orientation,
+		final int direction)
+	{
+		return orientation == SwingConstants.VERTICAL
+			? getLineHeight()
+			: getFontMetrics(getFont()).charWidth('m');
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(final Rectangle visibleRect, final int orientation,
+		final int direction)
+	{
+		return orientation == SwingConstants.VERTICAL
+			? Math.max(getLineHeight(), visibleRect.height - getLineHeight())
+			: visibleRect.width;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth()
+	{
+		Container parent = getParent();
+		return parent instanceof JViewport && getPreferredSize().width < parent.getWidth();
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight()
+	{
+		Container parent = getParent();
+		return parent instanceof JViewport && getPreferredSize().height < parent.getHeight();
+	}
+
+}
@@ -0,0 +1,253 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.viewer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * The class {@link TextFileIndex} holds the byte offsets of the lines and pages of a utf-8 text
+ * file, so that any line can be read directly from the file without loading the whole content.
+ * Lines are separated by a line feed and pages by a form feed character. The index can be updated
+ * incrementally while the file grows. The memory usage is one long per line, independent of the
+ * length of the lines. The index can be updated by a background thread while it is read by the
+ * event dispatch thread
+ */
+public class TextFileIndex
+{
+
+	/** The size of the buffer for reading the file */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The maximum number of bytes that are read for a single line */
+	private static final int MAXIMUM_LINE_BYTES = 64 * 1024;
+
+	/** The indexed file */
+	@Getter
+	private final File file;
+
+	/** The byte offsets where the lines start */
+	private long[] lineStarts;
+
+	/** The number of lines */
+	@Getter
+	private volatile int lineCount;
+
+	/** The line numbers where the pages start */
+	private int[] pageStartLines;
+
+	/** The number of pages */
+	@Getter
+	private volatile int pageCount;
+
+	/** The number of indexed bytes of the file */
+	@Getter
+	private volatile long indexedLength;
+
+	/** The length in bytes of the longest line */
+	@Getter
+	private volatile int longestLineLength;
+
+	/**
+	 * Instantiates a new empty {@link TextFileIndex} for the given file, the file is indexed with
+	 * {@link #update()}
+	 *
+	 * @param file
+	 *            the text file
+	 */
+	public TextFileIndex(final File file)
+	{
+		this.file = file;
+		reset();
+	}
+
+	private void reset()
+	{
+		lineStarts = new long[1024];
+		lineCount = 1;
+		pageStartLines = new int[64];
+		pageCount = 1;
+		indexedLength = 0;
+		longestLineLength = 0;
+	}
+
+	/**
+	 * Indexes the bytes that were appended to the file since the last update. If the file was
+	 * truncated or deleted the index starts over
+	 *
+	 * @return true if the index has changed otherwise false
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	public synchronized boolean update() throws IOException
+	{
+		if (!file.exists())
+		{
+			boolean changed = 0 < indexedLength;
+			reset();
+			return changed;
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			boolean truncated = size < indexedLength;
+			if (truncated)
+			{
+				reset();
+			}
+			if (size == indexedLength)
+			{
+				return truncated;
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			long position = indexedLength;
+			while (position < size)
+			{
+				buffer.clear();
+				int read = channel.read(buffer, position);
+				if (read <= 0)
+				{
+					break;
+				}
+				for (int i = 0; i < read; i++)
+				{
+					byte character = buffer.get(i);
+					if (character == '\n' || character == '\f')
+					{
+						long lineEnd = position + i;
+						longestLineLength = (int)Math.max(longestLineLength,
+							Math.min(Integer.MAX_VALUE, lineEnd - lineStarts[lineCount - 1]));
+						addLine(lineEnd + 1);
+						if (character == '\f')
+						{
+							addPage(lineCount - 1);
+						}
+					}
+				}
+				position += read;
+			}
+			longestLineLength = (int)Math.max(longestLineLength,
+				Math.min(Integer.MAX_VALUE, position - lineStarts[lineCount - 1]));
+			indexedLength = position;
+			return true;
+		}
+	}
+
+	private void addLine(final long lineStart)
+	{
+		if (lineCount == lineStarts.length)
+		{
+			lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+		}
+		lineStarts[lineCount++] = lineStart;
+	}
+
+	private void addPage(final int startLine)
+	{
+		if (pageCount == pageStartLines.length)
+		{
+			pageStartLines = Arrays.copyOf(pageStartLines, pageStartLines.length * 2);
+		}
+		pageStartLines[pageCount++] = startLine;
+	}
+
+	/**
+	 * Gets the line where the given page starts
+	 *
+	 * @param pageIndex
+	 *            the zero based index of the page
+	 * @return the zero based line number
+	 */
+	public synchronized int getPageStartLine(final int pageIndex)
+	{
+		return pageStartLines[Math.max(0, Math.min(pageIndex, pageCount - 1))];
+	}
+
+	/**
+	 * Gets the page that contains the given line
+	 *
+	 * @param line
+	 *            the zero based line number
+	 * @return the zero based index of the page
+	 */
+	public synchronized int getPageOfLine(final int line)
+	{
+		int pageIndex = Arrays.binarySearch(pageStartLines, 0, pageCount, line);
+		return pageIndex < 0 ? -pageIndex - 2 : pageIndex;
+	}
+
+	/**
+	 * Reads the lines of the given range from the file
+	 *
+	 * @param firstLine
+	 *            the zero based number of the first line
+	 * @param lastLine
+	 *            the zero based number of the last line, inclusive
+	 * @return the lines of the given range
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	public synchronized String[] readLines(final int firstLine, final int lastLine)
+		throws IOException
+	{
+		int first = Math.max(0, firstLine);
+		int last = Math.min(lastLine, lineCount - 1);
+		if (last < first || indexedLength == 0)
+		{
+			return new String[0];
+		}
+		String[] lines = new String[last - first + 1];
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			for (int line = first; line <= last; line++)
+			{
+				long start = lineStarts[line];
+				long end = line + 1 < lineCount ? lineStarts[line + 1] - 1 : indexedLength;
+				int length = (int)Math.min(MAXIMUM_LINE_BYTES, Math.max(0, end - start));
+				ByteBuffer buffer = ByteBuffer.allocate(length);
+				while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0)
+				{
+					// read until the line is complete
+				}
+				int byteCount = buffer.position();
+				if (0 < byteCount && buffer.get(byteCount - 1) == '\r')
+				{
+					byteCount--;
+				}
+				lines[line - first] = new String(buffer.array(), 0, byteCount,
+					StandardCharsets.UTF_8);
+			}
+		}
+		return lines;
+	}
+
+}
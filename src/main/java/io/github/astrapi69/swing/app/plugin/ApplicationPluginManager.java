@@ -0,0 +1,323 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.plugin;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+import org.pf4j.CompoundPluginRepository;
+import org.pf4j.DefaultExtensionFinder;
+import org.pf4j.DefaultPluginRepository;
+import org.pf4j.ExtensionFinder;
+import org.pf4j.JarPluginLoader;
+import org.pf4j.JarPluginManager;
+import org.pf4j.JarPluginRepository;
+import org.pf4j.PluginDependency;
+import org.pf4j.PluginDescriptorFinder;
+import org.pf4j.PluginLoader;
+import org.pf4j.PluginRepository;
+import org.pf4j.PluginState;
+import org.pf4j.PluginStateEvent;
+import org.pf4j.PluginWrapper;
+
+import io.github.astrapi69.swing.app.ApplicationDirectories;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.PdfConversionEngine;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link ApplicationPluginManager} is the plugin manager of the application. The
+ * descriptors of unchanged plugin files are taken from an {@link IndexedPluginDescriptorFinder}
+ * instead of opening every plugin file on every start and the load time of every plugin is logged.
+ * The plugins are started in waves, a wave contains the plugins whose dependencies are all started
+ * in the previous waves. The plugins of a wave are created concurrently on background threads and
+ * then started one after the other on the event dispatch thread, so {@code Plugin.start()} may
+ * change the user interface directly
+ */
+@Slf4j
+public class ApplicationPluginManager extends JarPluginManager
+{
+
+	/** The name of the plugin index file in the application directory */
+	public static final String PLUGIN_INDEX_FILE_NAME = "plugin-index.properties";
+
+	/**
+	 * The finder with the plugin index, no initializer because it is created while the super
+	 * constructor runs
+	 */
+	private IndexedPluginDescriptorFinder indexedPluginDescriptorFinder;
+
+	/**
+	 * Instantiates a new {@link ApplicationPluginManager}
+	 *
+	 * @param pluginsRoot
+	 *            the directory of the plugins
+	 */
+	public ApplicationPluginManager(final Path pluginsRoot)
+	{
+		super(pluginsRoot);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ExtensionFinder createExtensionFinder()
+	{
+		DefaultExtensionFinder extensionFinder = (DefaultExtensionFinder)super
+			.createExtensionFinder();
+		extensionFinder.addServiceProviderExtensionFinder();
+		return extensionFinder;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected PluginRepository createPluginRepository()
+	{
+		return new CompoundPluginRepository().add(new DefaultPluginRepository(getPluginsRoot()))
+			.add(new JarPluginRepository(getPluginsRoot()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected PluginLoader createPluginLoader()
+	{
+		return new JarPluginLoader(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected PluginDescriptorFinder createPluginDescriptorFinder()
+	{
+		indexedPluginDescriptorFinder = new IndexedPluginDescriptorFinder(
+			super.createPluginDescriptorFinder(),
+			new File(ApplicationDirectories.getApplicationDirectory(), PLUGIN_INDEX_FILE_NAME));
+		return indexedPluginDescriptorFinder;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void loadPlugins()
+	{
+		long start = System.currentTimeMillis();
+		super.loadPlugins();
+		indexedPluginDescriptorFinder.save();
+		log.info("{} plugins loaded in {} ms", getPlugins().size(),
+			System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected PluginWrapper loadPluginFromPath(final Path pluginPath)
+	{
+		long start = System.currentTimeMillis();
+		PluginWrapper pluginWrapper = super.loadPluginFromPath(pluginPath);
+		log.info("Plugin '{}' loaded from '{}' in {} ms", pluginWrapper.getPluginId(),
+			pluginPath.getFileName(), System.currentTimeMillis() - start);
+		return pluginWrapper;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void startPlugins()
+	{
+		long start = System.currentTimeMillis();
+		Map<Integer, List<PluginWrapper>> waves = newStartWaves();
+		int parallelism = Math.min(Runtime.getRuntime().availableProcessors(),
+			waves.values().stream().mapToInt(List::size).max().orElse(1));
+		ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, parallelism),
+			PdfConversionEngine.newThreadFactory("plugin-create-"));
+		try
+		{
+			for (List<PluginWrapper> wave : waves.values())
+			{
+				startWave(wave, executorService);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			log.warn("Start of the plugins interrupted");
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+		log.info("{} plugins started in {} ms", getStartedPlugins().size(),
+			System.currentTimeMillis() - start);
+	}
+
+	private Map<Integer, List<PluginWrapper>> newStartWaves()
+	{
+		// the resolved plugins are sorted so that every plugin follows its dependencies
+		Map<String, Integer> depths = new HashMap<>();
+		Map<Integer, List<PluginWrapper>> waves = new TreeMap<>();
+		for (PluginWrapper pluginWrapper : resolvedPlugins)
+		{
+			int depth = 0;
+			for (PluginDependency dependency : pluginWrapper.getDescriptor().getDependencies())
+			{
+				Integer dependencyDepth = depths.get(dependency.getPluginId());
+				if (dependencyDepth != null)
+				{
+					depth = Math.max(depth, dependencyDepth + 1);
+				}
+			}
+			depths.put(pluginWrapper.getPluginId(), depth);
+			PluginState pluginState = pluginWrapper.getPluginState();
+			if (pluginState != PluginState.DISABLED && pluginState != PluginState.STARTED)
+			{
+				waves.computeIfAbsent(depth, key -> new ArrayList<>()).add(pluginWrapper);
+			}
+		}
+		return waves;
+	}
+
+	private void startWave(final List<PluginWrapper> wave, final ExecutorService executorService)
+		throws InterruptedException
+	{
+		List<Future<Throwable>> creations = new ArrayList<>(wave.size());
+		for (PluginWrapper pluginWrapper : wave)
+		{
+			creations.add(executorService.submit(newCreateTask(pluginWrapper)));
+		}
+		Throwable[] failures = new Throwable[wave.size()];
+		for (int i = 0; i < wave.size(); i++)
+		{
+			try
+			{
+				failures[i] = creations.get(i).get();
+			}
+			catch (ExecutionException e)
+			{
+				failures[i] = e.getCause();
+			}
+		}
+		invokeOnEventDispatchThread(() -> {
+			for (int i = 0; i < wave.size(); i++)
+			{
+				if (failures[i] == null)
+				{
+					failures[i] = start(wave.get(i));
+				}
+			}
+		});
+		// the state of the plugin manager is only changed from the calling thread
+		for (int i = 0; i < wave.size(); i++)
+		{
+			PluginWrapper pluginWrapper = wave.get(i);
+			PluginState pluginState = pluginWrapper.getPluginState();
+			Throwable failure = failures[i];
+			if (failure == null)
+			{
+				pluginWrapper.setPluginState(PluginState.STARTED);
+				pluginWrapper.setFailedException(null);
+				startedPlugins.add(pluginWrapper);
+			}
+			else
+			{
+				pluginWrapper.setPluginState(PluginState.FAILED);
+				pluginWrapper.setFailedException(failure);
+				log.error("Unable to start plugin '{}'", pluginWrapper.getPluginId(), failure);
+			}
+			firePluginStateEvent(new PluginStateEvent(this, pluginWrapper, pluginState));
+		}
+	}
+
+	private Callable<Throwable> newCreateTask(final PluginWrapper pluginWrapper)
+	{
+		return () -> {
+			try
+			{
+				// the plugin instance is created on the first call
+				pluginWrapper.getPlugin();
+				return null;
+			}
+			catch (Exception | LinkageError e)
+			{
+				return e;
+			}
+		};
+	}
+
+	private static Throwable start(final PluginWrapper pluginWrapper)
+	{
+		long start = System.currentTimeMillis();
+		try
+		{
+			pluginWrapper.getPlugin().start();
+			log.info("Plugin '{}' started in {} ms", pluginWrapper.getPluginId(),
+				System.currentTimeMillis() - start);
+			return null;
+		}
+		catch (Exception | LinkageError e)
+		{
+			return e;
+		}
+	}
+
+	private static void invokeOnEventDispatchThread(final Runnable runnable)
+		throws InterruptedException
+	{
+		if (SwingUtilities.isEventDispatchThread())
+		{
+			runnable.run();
+			return;
+		}
+		try
+		{
+			SwingUtilities.invokeAndWait(runnable);
+		}
+		catch (InvocationTargetException e)
+		{
+			log.error("Plugins could not be started", e.getCause());
+		}
+	}
+
+}
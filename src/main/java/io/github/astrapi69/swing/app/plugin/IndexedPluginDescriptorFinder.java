@@ -0,0 +1,258 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.pf4j.DefaultPluginDescriptor;
+import org.pf4j.PluginDescriptor;
+import org.pf4j.PluginDescriptorFinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The class {@link IndexedPluginDescriptorFinder} decorates a {@link PluginDescriptorFinder} with a
+ * persistent index of the descriptors of plugin files. A plugin file whose size and last modified
+ * time did not change since the last start is not opened again, its descriptor is taken from the
+ * index. Plugin directories are always given to the decorated finder
+ */
+@Slf4j
+public class IndexedPluginDescriptorFinder implements PluginDescriptorFinder
+{
+
+	/** The key suffix of the size and last modified time of a plugin file */
+	private static final String SUFFIX_STAMP = ".stamp";
+
+	/** The key suffix of the plugin id */
+	private static final String SUFFIX_ID = ".id";
+
+	/** The key suffix of the plugin description */
+	private static final String SUFFIX_DESCRIPTION = ".description";
+
+	/** The key suffix of the plugin class */
+	private static final String SUFFIX_CLASS = ".class";
+
+	/** The key suffix of the plugin version */
+	private static final String SUFFIX_VERSION = ".version";
+
+	/** The key suffix of the required system version */
+	private static final String SUFFIX_REQUIRES = ".requires";
+
+	/** The key suffix of the plugin provider */
+	private static final String SUFFIX_PROVIDER = ".provider";
+
+	/** The key suffix of the plugin license */
+	private static final String SUFFIX_LICENSE = ".license";
+
+	/** The key suffix of the comma separated plugin dependencies */
+	private static final String SUFFIX_DEPENDENCIES = ".dependencies";
+
+	/** The decorated finder that reads the descriptors from the plugin files */
+	private final PluginDescriptorFinder delegate;
+
+	/** The file of the index */
+	private final File indexFile;
+
+	/** The index, the keys are the absolute paths of the plugin files with a suffix */
+	private final Properties index = new Properties();
+
+	/** The absolute paths of the plugin files that were found since the index was loaded */
+	private final Set<String> foundPaths = ConcurrentHashMap.newKeySet();
+
+	/** The number of descriptors taken from the index */
+	private final AtomicInteger hits = new AtomicInteger();
+
+	/** The number of descriptors read from plugin files */
+	private final AtomicInteger misses = new AtomicInteger();
+
+	/**
+	 * Instantiates a new {@link IndexedPluginDescriptorFinder} and loads the given index file if it
+	 * exists
+	 *
+	 * @param delegate
+	 *            the decorated finder that reads the descriptors from the plugin files
+	 * @param indexFile
+	 *            the file of the index
+	 */
+	public IndexedPluginDescriptorFinder(final PluginDescriptorFinder delegate,
+		final File indexFile)
+	{
+		this.delegate = delegate;
+		this.indexFile = indexFile;
+		if (indexFile.isFile())
+		{
+			try (Reader reader = Files.newBufferedReader(indexFile.toPath(),
+				StandardCharsets.UTF_8))
+			{
+				index.load(reader);
+			}
+			catch (IOException | IllegalArgumentException e)
+			{
+				log.warn("Plugin index '{}' could not be read and is rebuilt", indexFile, e);
+				index.clear();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isApplicable(final Path pluginPath)
+	{
+		return delegate.isApplicable(pluginPath);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PluginDescriptor find(final Path pluginPath)
+	{
+		File pluginFile = pluginPath.toFile();
+		if (!pluginFile.isFile())
+		{
+			return delegate.find(pluginPath);
+		}
+		String path = pluginFile.getAbsolutePath();
+		String stamp = pluginFile.length() + ":" + pluginFile.lastModified();
+		foundPaths.add(path);
+		if (stamp.equals(index.getProperty(path + SUFFIX_STAMP))
+			&& index.getProperty(path + SUFFIX_ID) != null)
+		{
+			hits.incrementAndGet();
+			return new IndexedPluginDescriptor(index, path);
+		}
+		PluginDescriptor descriptor = delegate.find(pluginPath);
+		misses.incrementAndGet();
+		synchronized (index)
+		{
+			removeEntry(path);
+			index.setProperty(path + SUFFIX_STAMP, stamp);
+			setProperty(path + SUFFIX_ID, descriptor.getPluginId());
+			setProperty(path + SUFFIX_DESCRIPTION, descriptor.getPluginDescription());
+			setProperty(path + SUFFIX_CLASS, descriptor.getPluginClass());
+			setProperty(path + SUFFIX_VERSION, descriptor.getVersion());
+			setProperty(path + SUFFIX_REQUIRES, descriptor.getRequires());
+			setProperty(path + SUFFIX_PROVIDER, descriptor.getProvider());
+			setProperty(path + SUFFIX_LICENSE, descriptor.getLicense());
+			setProperty(path + SUFFIX_DEPENDENCIES, descriptor.getDependencies().stream()
+				.map(dependency -> dependency.getPluginId() + (dependency.isOptional() ? "?" : "")
+					+ "@" + dependency.getPluginVersionSupport())
+				.collect(Collectors.joining(",")));
+		}
+		return descriptor;
+	}
+
+	/**
+	 * Writes the index file if descriptors were read from plugin files or plugin files were
+	 * removed since the index was loaded. Entries of removed plugin files are dropped
+	 */
+	public void save()
+	{
+		synchronized (index)
+		{
+			Set<String> removedPaths = index.stringPropertyNames().stream()
+				.map(key -> key.substring(0, key.lastIndexOf('.')))
+				.filter(path -> !foundPaths.contains(path)).collect(Collectors.toSet());
+			removedPaths.forEach(this::removeEntry);
+			if (misses.get() == 0 && removedPaths.isEmpty())
+			{
+				return;
+			}
+			Path temporaryFile = indexFile.toPath().resolveSibling(indexFile.getName() + ".tmp");
+			try
+			{
+				try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8))
+				{
+					index.store(writer, "Descriptors of the plugin files");
+				}
+				Files.move(temporaryFile, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (IOException e)
+			{
+				log.warn("Plugin index '{}' could not be written", indexFile, e);
+			}
+		}
+		log.info("Plugin index: {} descriptors from index, {} read from plugin files", hits.get(),
+			misses.get());
+	}
+
+	private void setProperty(final String key, final String value)
+	{
+		if (value != null)
+		{
+			index.setProperty(key, value);
+		}
+	}
+
+	private void removeEntry(final String path)
+	{
+		for (String suffix : new String[] { SUFFIX_STAMP, SUFFIX_ID, SUFFIX_DESCRIPTION,
+				SUFFIX_CLASS, SUFFIX_VERSION, SUFFIX_REQUIRES, SUFFIX_PROVIDER, SUFFIX_LICENSE,
+				SUFFIX_DEPENDENCIES })
+		{
+			index.remove(path + suffix);
+		}
+	}
+
+	/**
+	 * The class {@link IndexedPluginDescriptor} is a descriptor that is created from an entry of
+	 * the index
+	 */
+	private static class IndexedPluginDescriptor extends DefaultPluginDescriptor
+	{
+
+		IndexedPluginDescriptor(final Properties index, final String path)
+		{
+			super(index.getProperty(path + SUFFIX_ID),
+				index.getProperty(path + SUFFIX_DESCRIPTION),
+				index.getProperty(path + SUFFIX_CLASS), index.getProperty(path + SUFFIX_VERSION),
+				index.getProperty(path + SUFFIX_REQUIRES, "*"),
+				index.getProperty(path + SUFFIX_PROVIDER),
+				index.getProperty(path + SUFFIX_LICENSE));
+			String dependencies = index.getProperty(path + SUFFIX_DEPENDENCIES, "");
+			if (!dependencies.isEmpty())
+			{
+				setDependencies(dependencies);
+			}
+		}
+
+	}
+
+}
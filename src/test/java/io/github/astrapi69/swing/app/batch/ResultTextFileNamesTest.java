@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link ResultTextFileNames}
+ */
+public class ResultTextFileNamesTest
+{
+
+	/** The output directory */
+	@TempDir
+	File outputDirectory;
+
+	/**
+	 * Test method for {@link ResultTextFileNames#assign(Path, Path)} with pdf files of two inputs
+	 * that have the same relative path
+	 */
+	@Test
+	public void testAssignSameRelativePath()
+	{
+		ResultTextFileNames resultTextFileNames = new ResultTextFileNames(
+			outputDirectory.toPath());
+		Path relativePath = Path.of("scans", "report.pdf");
+		Path actual = resultTextFileNames.assign(relativePath, Path.of("a", "scans", "report.pdf"));
+		Path expected = outputDirectory.toPath().resolve(Path.of("scans", "report.txt"));
+		assertEquals(expected, actual);
+		actual = resultTextFileNames.assign(relativePath, Path.of("b", "scans", "report.pdf"));
+		expected = outputDirectory.toPath().resolve(Path.of("scans", "report-2.txt"));
+		assertEquals(expected, actual);
+		// a pdf file keeps its result text file
+		actual = resultTextFileNames.assign(relativePath, Path.of("a", "scans", "report.pdf"));
+		expected = outputDirectory.toPath().resolve(Path.of("scans", "report.txt"));
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ResultTextFileNames#assign(Path, Path)} with pdf files whose names
+	 * only differ in case and with a pdf file whose own name is taken by a numbered file
+	 */
+	@Test
+	public void testAssignIgnoringCase()
+	{
+		ResultTextFileNames resultTextFileNames = new ResultTextFileNames(
+			outputDirectory.toPath());
+		Path actual = resultTextFileNames.assign(Path.of("a.pdf"), Path.of("in", "a.pdf"));
+		assertEquals(outputDirectory.toPath().resolve("a.txt"), actual);
+		actual = resultTextFileNames.assign(Path.of("a.PDF"), Path.of("in", "a.PDF"));
+		assertEquals(outputDirectory.toPath().resolve("a-2.txt"), actual);
+		actual = resultTextFileNames.assign(Path.of("A-2.pdf"), Path.of("in", "A-2.pdf"));
+		assertEquals(outputDirectory.toPath().resolve("A-2-2.txt"), actual);
+	}
+
+	/**
+	 * Test method for {@link ResultTextFileNames#newFileName(Path)}
+	 */
+	@Test
+	public void testNewFileName()
+	{
+		assertEquals("report.txt", ResultTextFileNames.newFileName(Path.of("in", "report.pdf")));
+		assertEquals("report.v2.txt", ResultTextFileNames.newFileName(Path.of("report.v2.pdf")));
+		assertEquals("report.txt", ResultTextFileNames.newFileName(Path.of("report")));
+		assertEquals(".pdf.txt", ResultTextFileNames.newFileName(Path.of(".pdf")));
+	}
+
+}
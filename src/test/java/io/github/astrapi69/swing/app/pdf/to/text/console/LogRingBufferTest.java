@@ -0,0 +1,120 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.console;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link LogRingBuffer}
+ */
+public class LogRingBufferTest
+{
+
+	/**
+	 * Test method for {@link LogRingBuffer#add(LogRingBuffer.Entry)} that overwrites the oldest
+	 * lines when the buffer is full
+	 */
+	@Test
+	public void testAddWrapsAround()
+	{
+		LogRingBuffer logRingBuffer = new LogRingBuffer(3);
+		addLines(logRingBuffer, 0, 5);
+		assertEquals(5, logRingBuffer.getSequence());
+		assertEquals(2, logRingBuffer.getOldestSequence());
+		assertEquals(List.of("2", "3", "4"), getMessages(logRingBuffer, 0));
+		// a reader that is behind gets the lines that are still in the buffer
+		assertEquals(List.of("2", "3", "4"), getMessages(logRingBuffer, 1));
+		assertEquals(List.of("4"), getMessages(logRingBuffer, 4));
+		assertEquals(List.of(), getMessages(logRingBuffer, 5));
+	}
+
+	/**
+	 * Test method for {@link LogRingBuffer#clear()}
+	 */
+	@Test
+	public void testClear()
+	{
+		LogRingBuffer logRingBuffer = new LogRingBuffer(3);
+		addLines(logRingBuffer, 0, 5);
+		long sequence = logRingBuffer.getSequence();
+		logRingBuffer.clear();
+		assertTrue(logRingBuffer.isEmpty());
+		assertEquals(sequence, logRingBuffer.getSequence());
+		assertEquals(List.of(), getMessages(logRingBuffer, 0));
+		assertEquals(List.of(), getMessages(logRingBuffer, 3));
+	}
+
+	/**
+	 * Test method for {@link LogRingBuffer#add(LogRingBuffer.Entry)} after
+	 * {@link LogRingBuffer#clear()}, the cleared lines must not come back
+	 */
+	@Test
+	public void testAddAfterClear()
+	{
+		LogRingBuffer logRingBuffer = new LogRingBuffer(3);
+		addLines(logRingBuffer, 0, 5);
+		logRingBuffer.clear();
+		addLines(logRingBuffer, 5, 1);
+		assertFalse(logRingBuffer.isEmpty());
+		assertEquals(List.of("5"), getMessages(logRingBuffer, 0));
+		// the buffer wraps around again after the clear
+		addLines(logRingBuffer, 6, 3);
+		assertEquals(List.of("6", "7", "8"), getMessages(logRingBuffer, 0));
+		assertEquals(6, logRingBuffer.getOldestSequence());
+	}
+
+	/**
+	 * Test method for the constructor of {@link LogRingBuffer} with an invalid capacity
+	 */
+	@Test
+	public void testConstructorInvalidCapacity()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(0));
+	}
+
+	private static void addLines(final LogRingBuffer logRingBuffer, final int first,
+		final int count)
+	{
+		for (int line = first; line < first + count; line++)
+		{
+			logRingBuffer.add(new LogRingBuffer.Entry(LogLevel.INFO, String.valueOf(line)));
+		}
+	}
+
+	private static List<String> getMessages(final LogRingBuffer logRingBuffer,
+		final long fromSequence)
+	{
+		return logRingBuffer.getEntriesSince(fromSequence).stream()
+			.map(LogRingBuffer.Entry::message).toList();
+	}
+
+}
@@ -0,0 +1,196 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * The unit test class for the class {@link MemoryBudget}
+ */
+@Timeout(10)
+public class MemoryBudgetTest
+{
+
+	/**
+	 * Test method for {@link MemoryBudget#reserve(long)} and the release of the reservation
+	 *
+	 * @throws InterruptedException
+	 *             if the test thread is interrupted
+	 */
+	@Test
+	public void testReserveAndRelease() throws InterruptedException
+	{
+		MemoryBudget memoryBudget = new MemoryBudget(100);
+		MemoryBudget.Reservation reservation = memoryBudget.reserve(40);
+		assertEquals(40, reservation.getBytes());
+		assertEquals(40, memoryBudget.getReserved());
+		reservation.close();
+		// closing a reservation again does not release it twice
+		reservation.close();
+		assertEquals(0, memoryBudget.getReserved());
+		assertEquals(40, memoryBudget.getPeakReserved());
+	}
+
+	/**
+	 * Test method for {@link MemoryBudget#reserve(long)} with more bytes than the budget
+	 *
+	 * @throws InterruptedException
+	 *             if the test thread is interrupted
+	 */
+	@Test
+	public void testReserveMoreThanCapacity() throws InterruptedException
+	{
+		MemoryBudget memoryBudget = new MemoryBudget(100);
+		try (MemoryBudget.Reservation reservation = memoryBudget.reserve(500))
+		{
+			assertEquals(100, reservation.getBytes());
+			assertEquals(100, memoryBudget.getReserved());
+		}
+		assertEquals(0, memoryBudget.getReserved());
+	}
+
+	/**
+	 * Test method for the constructor of {@link MemoryBudget} with an invalid capacity
+	 */
+	@Test
+	public void testConstructorInvalidCapacity()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new MemoryBudget(0));
+	}
+
+	/**
+	 * Test method for {@link MemoryBudget#reserve(long)} that checks that the reservations are
+	 * granted in the order of the requests, so a small request does not overtake a large one
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	@Test
+	public void testReserveInRequestOrder() throws Exception
+	{
+		MemoryBudget memoryBudget = new MemoryBudget(100);
+		MemoryBudget.Reservation first = memoryBudget.reserve(80);
+		Waiter large = new Waiter(memoryBudget, 50);
+		large.awaitWaiting();
+		Waiter small = new Waiter(memoryBudget, 10);
+		small.awaitWaiting();
+		// the small request would fit into the free 20 bytes but waits behind the large one
+		assertFalse(small.isGranted(200));
+		assertFalse(large.isGranted(0));
+		first.close();
+		large.getReservation();
+		small.getReservation();
+		assertEquals(60, memoryBudget.getReserved());
+	}
+
+	/**
+	 * Test method for {@link MemoryBudget#reserve(long)} that checks that an interrupted request
+	 * leaves the queue and lets the following requests proceed
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	@Test
+	public void testReserveInterrupted() throws Exception
+	{
+		MemoryBudget memoryBudget = new MemoryBudget(100);
+		MemoryBudget.Reservation first = memoryBudget.reserve(80);
+		Waiter large = new Waiter(memoryBudget, 50);
+		large.awaitWaiting();
+		Waiter small = new Waiter(memoryBudget, 10);
+		small.awaitWaiting();
+		large.thread.interrupt();
+		ExecutionException exception = assertThrows(ExecutionException.class,
+			large::getReservation);
+		assertInstanceOf(InterruptedException.class, exception.getCause());
+		// the small request is the first in line now and fits without the first being released
+		assertEquals(10, small.getReservation().getBytes());
+		assertEquals(90, memoryBudget.getReserved());
+		first.close();
+		assertEquals(10, memoryBudget.getReserved());
+	}
+
+	/**
+	 * A thread that requests a reservation of a {@link MemoryBudget}
+	 */
+	private static final class Waiter
+	{
+		final CompletableFuture<MemoryBudget.Reservation> result = new CompletableFuture<>();
+
+		final Thread thread;
+
+		Waiter(final MemoryBudget memoryBudget, final long bytes)
+		{
+			thread = new Thread(() -> {
+				try
+				{
+					result.complete(memoryBudget.reserve(bytes));
+				}
+				catch (Throwable e)
+				{
+					result.completeExceptionally(e);
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		void awaitWaiting() throws InterruptedException
+		{
+			while (thread.getState() != Thread.State.WAITING)
+			{
+				assertFalse(result.isDone(), "the reservation was granted without waiting");
+				Thread.sleep(5);
+			}
+		}
+
+		boolean isGranted(final long millis) throws InterruptedException
+		{
+			Thread.sleep(millis);
+			return result.isDone();
+		}
+
+		MemoryBudget.Reservation getReservation()
+			throws InterruptedException, ExecutionException, TimeoutException
+		{
+			MemoryBudget.Reservation reservation = result.get(5, TimeUnit.SECONDS);
+			assertTrue(reservation.getBytes() <= 100);
+			return reservation;
+		}
+	}
+
+}
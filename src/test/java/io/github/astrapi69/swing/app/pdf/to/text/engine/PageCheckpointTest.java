@@ -0,0 +1,225 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link PageCheckpoint}
+ */
+public class PageCheckpointTest
+{
+
+	/** The content hash of the converted document */
+	private static final String DOCUMENT_HASH = "0123456789abcdef";
+
+	/** The number of pages of the converted document */
+	private static final int PAGE_COUNT = 5;
+
+	/** The directory of the checkpoint store */
+	@TempDir
+	File directory;
+
+	/** The checkpoint store */
+	private PageCheckpointStore pageCheckpointStore;
+
+	/** The options of the conversion */
+	private ConversionOptions options;
+
+	/**
+	 * Sets up the checkpoint store
+	 */
+	@BeforeEach
+	public void setUp()
+	{
+		pageCheckpointStore = new PageCheckpointStore(directory);
+		options = ConversionOptions.builder().build();
+	}
+
+	/**
+	 * Test method for {@link PageCheckpoint#getResumedPageTexts()} after the checkpoint was closed
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be written or read
+	 */
+	@Test
+	public void testResume() throws IOException
+	{
+		File file = writePages("page 1", "page 2", "page 3");
+		try (PageCheckpoint checkpoint = open())
+		{
+			assertEquals(List.of("page 1", "page 2", "page 3"),
+				checkpoint.getResumedPageTexts());
+			assertEquals(file, checkpoint.getFile());
+		}
+	}
+
+	/**
+	 * Test method for {@link PageCheckpoint#getResumedPageTexts()} with a page that was torn by a
+	 * crash, the torn page is dropped and converted again
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be written or read
+	 */
+	@Test
+	public void testResumeTornTail() throws IOException
+	{
+		File file = writePages("page 1", "page 2", "page 3");
+		long lengthOfTwoPages = file.length() - recordLength("page 3");
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"))
+		{
+			// the checksum and a part of the text of the last page are missing
+			randomAccessFile.setLength(file.length() - 6);
+		}
+		try (PageCheckpoint checkpoint = open())
+		{
+			assertEquals(List.of("page 1", "page 2"), checkpoint.getResumedPageTexts());
+			assertEquals(lengthOfTwoPages, file.length());
+			checkpoint.append(2, "page 3 again");
+		}
+		try (PageCheckpoint checkpoint = open())
+		{
+			assertEquals(List.of("page 1", "page 2", "page 3 again"),
+				checkpoint.getResumedPageTexts());
+		}
+	}
+
+	/**
+	 * Test method for {@link PageCheckpoint#getResumedPageTexts()} with a page whose text does not
+	 * match its checksum
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be written or read
+	 */
+	@Test
+	public void testResumeCorruptPage() throws IOException
+	{
+		File file = writePages("page 1", "page 2", "page 3");
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"))
+		{
+			// the first character of the text of the second page
+			randomAccessFile.seek(12 + recordLength("page 1") + 8);
+			randomAccessFile.write('P');
+		}
+		try (PageCheckpoint checkpoint = open())
+		{
+			assertEquals(List.of("page 1"), checkpoint.getResumedPageTexts());
+		}
+	}
+
+	/**
+	 * Test method for {@link PageCheckpointStore#open(String, int, ConversionOptions)} with another
+	 * page count, the checkpoint of another document version starts from the beginning
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be written or read
+	 */
+	@Test
+	public void testResumeOtherPageCount() throws IOException
+	{
+		writePages("page 1", "page 2");
+		try (PageCheckpoint checkpoint = pageCheckpointStore.open(DOCUMENT_HASH, PAGE_COUNT + 1,
+			options))
+		{
+			assertEquals(List.of(), checkpoint.getResumedPageTexts());
+		}
+	}
+
+	/**
+	 * Test method for {@link PageCheckpointStore#open(String, int, ConversionOptions)} while the
+	 * checkpoint is used by another conversion
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be written or read
+	 */
+	@Test
+	public void testOpenTwice() throws IOException
+	{
+		try (PageCheckpoint checkpoint = open())
+		{
+			assertNotNull(checkpoint);
+			assertNull(open());
+		}
+		try (PageCheckpoint checkpoint = open())
+		{
+			assertNotNull(checkpoint);
+		}
+	}
+
+	/**
+	 * Test method for {@link PageCheckpoint#append(int, String)} with a page that is not the next
+	 * page and for {@link PageCheckpoint#delete()}
+	 *
+	 * @throws IOException
+	 *             if the checkpoint file could not be written or read
+	 */
+	@Test
+	public void testAppendAndDelete() throws IOException
+	{
+		PageCheckpoint checkpoint = open();
+		checkpoint.append(0, "page 1");
+		assertThrows(IllegalArgumentException.class, () -> checkpoint.append(2, "page 3"));
+		checkpoint.delete();
+		assertFalse(checkpoint.getFile().exists());
+	}
+
+	private PageCheckpoint open() throws IOException
+	{
+		return pageCheckpointStore.open(DOCUMENT_HASH, PAGE_COUNT, options);
+	}
+
+	private File writePages(final String... pageTexts) throws IOException
+	{
+		try (PageCheckpoint checkpoint = open())
+		{
+			for (int pageIndex = 0; pageIndex < pageTexts.length; pageIndex++)
+			{
+				checkpoint.append(pageIndex, pageTexts[pageIndex]);
+			}
+			return checkpoint.getFile();
+		}
+	}
+
+	private static long recordLength(final String pageText)
+	{
+		// the page index, the length, the text and the checksum
+		return 12 + pageText.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * The unit test class for the class {@link PageRanges}
+ */
+public class PageRangesTest
+{
+
+	/**
+	 * Test method for {@link PageRanges#parse(String)} with a blank value
+	 */
+	@Test
+	public void testParseBlank()
+	{
+		PageRanges pageRanges = PageRanges.parse("  ");
+		assertSame(PageRanges.ALL, pageRanges);
+		assertTrue(pageRanges.isAll());
+		assertEquals("", pageRanges.toString());
+		assertEquals(List.of(0, 1, 2), pageRanges.getPageIndexes(3));
+	}
+
+	/**
+	 * Test method for {@link PageRanges#parse(String)} with single pages, closed and open ranges
+	 */
+	@Test
+	public void testParse()
+	{
+		List<Integer> actual;
+		List<Integer> expected;
+		PageRanges pageRanges = PageRanges.parse(" 3-5, 8 ,10- ");
+		actual = pageRanges.getPageIndexes(12);
+		expected = List.of(2, 3, 4, 7, 9, 10, 11);
+		assertEquals(expected, actual);
+		assertEquals("3-5,8,10-", pageRanges.toString());
+		assertEquals(pageRanges, PageRanges.parse(pageRanges.toString()));
+	}
+
+	/**
+	 * Test method for {@link PageRanges#getPageIndexes(int)} with overlapping and unordered ranges
+	 */
+	@Test
+	public void testGetPageIndexesOverlapping()
+	{
+		List<Integer> actual;
+		List<Integer> expected;
+		actual = PageRanges.parse("5,1-2,2,4-5").getPageIndexes(6);
+		expected = List.of(0, 1, 3, 4);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link PageRanges#getPageIndexes(int)} with pages beyond the end of the
+	 * document
+	 */
+	@Test
+	public void testGetPageIndexesBeyondEnd()
+	{
+		assertEquals(List.of(7, 8, 9), PageRanges.parse("8-20").getPageIndexes(10));
+		assertEquals(List.of(), PageRanges.parse("20").getPageIndexes(10));
+		assertEquals(List.of(), PageRanges.parse("2147483647").getPageIndexes(10));
+		assertEquals(List.of(1), PageRanges.parse("2-").getPageIndexes(2));
+	}
+
+	/**
+	 * Test method for {@link PageRanges#parse(String)} with invalid values
+	 *
+	 * @param value
+	 *            the invalid value
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = { "5-3", "0", "-2", "0-3", "2147483648", "1-99999999999", "1,,3",
+			"1,", ",", " , ", ",1", "a", "1-b", "1-2-3", "1.5" })
+	public void testParseInvalid(final String value)
+	{
+		assertThrows(IllegalArgumentException.class, () -> PageRanges.parse(value));
+	}
+
+}
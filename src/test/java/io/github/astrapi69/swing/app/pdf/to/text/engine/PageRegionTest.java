@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.geom.Rectangle2D;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * The unit test class for the class {@link PageRegion}
+ */
+public class PageRegionTest
+{
+
+	/**
+	 * Test method for {@link PageRegion#parse(String)} with a blank value
+	 */
+	@Test
+	public void testParseBlank()
+	{
+		assertNull(PageRegion.parse(" "));
+	}
+
+	/**
+	 * Test method for {@link PageRegion#parse(String)}
+	 */
+	@Test
+	public void testParse()
+	{
+		PageRegion actual;
+		PageRegion expected;
+		actual = PageRegion.parse(" 0, 0 ,100, 20");
+		expected = new PageRegion(0, 0, 1, 0.2);
+		assertEquals(expected, actual);
+		assertEquals("0,0,100,20", actual.toString());
+		assertEquals("12.5,0,50,50", PageRegion.parse("12.5,0,50,50").toString());
+	}
+
+	/**
+	 * Test method for {@link PageRegion#parse(String)} with a region that reaches the page edges
+	 * with rounding errors of the percent conversion
+	 */
+	@Test
+	public void testParseRoundingAtPageEdge()
+	{
+		// 0.71 / 100 + 99.29 / 100 is slightly greater than 1
+		PageRegion pageRegion = PageRegion.parse("0.71,0.71,99.29,99.29");
+		assertEquals(1d, pageRegion.x() + pageRegion.width(), 1e-9);
+		assertEquals(1d, pageRegion.y() + pageRegion.height(), 1e-9);
+	}
+
+	/**
+	 * Test method for {@link PageRegion#parse(String)} with invalid values
+	 *
+	 * @param value
+	 *            the invalid value
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = { "50,0,60,10", "0,50,10,60", "-1,0,10,10", "0,0,0,10", "0,0,10,-5",
+			"NaN,0,10,10", "0,0,NaN,10", "0,0,Infinity,10", "1e400,0,10,10", "0,0,100",
+			"0,0,100,20,", "0,,100,20", "0,0,100,20,5", "a,b,c,d" })
+	public void testParseInvalid(final String value)
+	{
+		assertThrows(IllegalArgumentException.class, () -> PageRegion.parse(value));
+	}
+
+	/**
+	 * Test method for {@link PageRegion#getBounds(PDPage, double)}
+	 */
+	@Test
+	public void testGetBounds()
+	{
+		Rectangle2D actual;
+		Rectangle2D expected;
+		PageRegion pageRegion = new PageRegion(0.5, 0, 0.5, 0.5);
+		PDPage page = new PDPage(new PDRectangle(200, 100));
+		actual = pageRegion.getBounds(page, 2);
+		expected = new Rectangle2D.Double(200, 0, 200, 100);
+		assertEquals(expected, actual);
+		// a rotated page is displayed with swapped width and height
+		page.setRotation(90);
+		actual = pageRegion.getBounds(page, 2);
+		expected = new Rectangle2D.Double(100, 0, 100, 200);
+		assertEquals(expected, actual);
+	}
+
+}
@@ -0,0 +1,253 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionOptions;
+import io.github.astrapi69.swing.app.pdf.to.text.engine.ConversionReport;
+
+/**
+ * The unit test class for the class {@link ConversionHistoryStore}
+ */
+public class ConversionHistoryStoreTest
+{
+
+	/** The history directory */
+	@TempDir
+	File directory;
+
+	/** The directory of the pdf, result text and extracted text files */
+	@TempDir
+	File documentDirectory;
+
+	/**
+	 * Test method for reopening a store whose last log record was torn by a crash, the store
+	 * recovers to the previous record and appends behind it
+	 *
+	 * @throws IOException
+	 *             if the store could not be written or read
+	 */
+	@Test
+	public void testReopenAfterTruncatedLastRecord() throws IOException
+	{
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			add(store, "first.pdf", "hash1", "eng", "first text");
+			add(store, "second.pdf", "hash2", "eng", "second text");
+		}
+		File logFile = new File(directory, "entries-1.log");
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "rw"))
+		{
+			file.setLength(file.length() - 3);
+		}
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			List<ConversionHistoryEntry> entries = store.getRecentEntries(10);
+			assertEquals(1, entries.size());
+			assertEquals("first.pdf", entries.get(0).pdfFile().getName());
+			assertEquals("first text", extract(store, entries.get(0)));
+			add(store, "third.pdf", "hash3", "eng", "third text");
+		}
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			List<ConversionHistoryEntry> entries = store.getRecentEntries(10);
+			assertEquals(2, entries.size());
+			assertEquals("third text", extract(store, entries.get(0)));
+			assertEquals("first text", extract(store, entries.get(1)));
+		}
+	}
+
+	/**
+	 * Test method for reopening a store whose last log record has a wrong checksum, the record is
+	 * cut off
+	 *
+	 * @throws IOException
+	 *             if the store could not be written or read
+	 */
+	@Test
+	public void testReopenAfterCorruptedLastRecord() throws IOException
+	{
+		File logFile = new File(directory, "entries-1.log");
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			add(store, "first.pdf", "hash1", "eng", "first text");
+		}
+		long expected = logFile.length();
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			add(store, "second.pdf", "hash2", "eng", "second text");
+		}
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "rw"))
+		{
+			file.seek(file.length() - 1);
+			int lastByte = file.read();
+			file.seek(file.length() - 1);
+			file.write(lastByte ^ 0xFF);
+		}
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			List<ConversionHistoryEntry> entries = store.getRecentEntries(10);
+			assertEquals(1, entries.size());
+			assertEquals("first text", extract(store, entries.get(0)));
+		}
+		long actual = logFile.length();
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for adding the same pdf file with the same content and language again, the new
+	 * entry replaces the old one, also after reopening
+	 *
+	 * @throws IOException
+	 *             if the store could not be written or read
+	 */
+	@Test
+	public void testSupersedeSamePdfHashAndLanguage() throws IOException
+	{
+		ConversionHistoryEntry oldEntry;
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			oldEntry = add(store, "report.pdf", "hash1", "eng", "old text");
+			add(store, "report.pdf", "hash1", "eng", "new text");
+			// another language or another content is a separate entry
+			add(store, "report.pdf", "hash1", "deu", "german text");
+			add(store, "report.pdf", "hash2", "eng", "changed text");
+			assertEquals(3, store.getEntryCount());
+		}
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			List<ConversionHistoryEntry> entries = store.getRecentEntries(10);
+			assertEquals(3, entries.size());
+			assertEquals("changed text", extract(store, entries.get(0)));
+			assertEquals("german text", extract(store, entries.get(1)));
+			assertEquals("new text", extract(store, entries.get(2)));
+			assertThrows(FileNotFoundException.class, () -> extract(store, oldEntry));
+		}
+	}
+
+	/**
+	 * Test method for removing an entry and compacting the store, the remaining texts are copied
+	 * into the next generation and stay extractable after reopening
+	 *
+	 * @throws IOException
+	 *             if the store could not be written or read
+	 * @throws InterruptedException
+	 *             if the test was interrupted while waiting for the compaction
+	 */
+	@Test
+	public void testRemoveCompactAndReopen() throws IOException, InterruptedException
+	{
+		ConversionHistoryEntry removedEntry;
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			add(store, "first.pdf", "hash1", "eng", "first text");
+			removedEntry = add(store, "second.pdf", "hash2", "eng", "second text");
+			add(store, "third.pdf", "hash3", "eng", "third text");
+			store.remove(removedEntry);
+			store.compactNow();
+			assertFalse(new File(directory, "entries-1.log").exists());
+			assertFalse(new File(directory, "texts-1.dat").exists());
+			assertTrue(new File(directory, "entries-2.log").isFile());
+			assertTrue(new File(directory, "texts-2.dat").isFile());
+			assertEquals(2, store.getEntryCount());
+			add(store, "fourth.pdf", "hash4", "eng", "fourth text");
+		}
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			List<ConversionHistoryEntry> entries = store.getRecentEntries(10);
+			assertEquals(3, entries.size());
+			assertEquals("fourth text", extract(store, entries.get(0)));
+			assertEquals("third text", extract(store, entries.get(1)));
+			assertEquals("first text", extract(store, entries.get(2)));
+			assertThrows(FileNotFoundException.class, () -> extract(store, removedEntry));
+		}
+	}
+
+	/**
+	 * Test method for reopening a store after a compaction that was interrupted before its commit,
+	 * the leftover files of the next generation are deleted and the previous generation is kept
+	 *
+	 * @throws IOException
+	 *             if the store could not be written or read
+	 */
+	@Test
+	public void testRecoverInterruptedCompaction() throws IOException
+	{
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			add(store, "first.pdf", "hash1", "eng", "first text");
+			add(store, "second.pdf", "hash2", "eng", "second text");
+		}
+		File temporaryLogFile = new File(directory, "entries-2.log.tmp");
+		File nextTextsFile = new File(directory, "texts-2.dat");
+		Files.writeString(temporaryLogFile.toPath(), "incomplete log", StandardCharsets.UTF_8);
+		Files.writeString(nextTextsFile.toPath(), "incomplete texts", StandardCharsets.UTF_8);
+		try (ConversionHistoryStore store = new ConversionHistoryStore(directory))
+		{
+			List<ConversionHistoryEntry> entries = store.getRecentEntries(10);
+			assertEquals(2, entries.size());
+			assertEquals("second text", extract(store, entries.get(0)));
+			assertEquals("first text", extract(store, entries.get(1)));
+		}
+		assertFalse(temporaryLogFile.exists());
+		assertFalse(nextTextsFile.exists());
+		assertTrue(new File(directory, "entries-1.log").isFile());
+	}
+
+	private ConversionHistoryEntry add(final ConversionHistoryStore store,
+		final String pdfFileName, final String contentHash, final String languageCode,
+		final String text) throws IOException
+	{
+		File resultTextFile = new File(documentDirectory, pdfFileName + ".txt");
+		Files.writeString(resultTextFile.toPath(), text, StandardCharsets.UTF_8);
+		return store.add(new File(documentDirectory, pdfFileName), resultTextFile,
+			ConversionOptions.builder().languageCode(languageCode).build(),
+			ConversionReport.builder().pageCount(1).contentHash(contentHash).build());
+	}
+
+	private String extract(final ConversionHistoryStore store,
+		final ConversionHistoryEntry entry) throws IOException
+	{
+		File textFile = store.extractText(entry,
+			new File(documentDirectory, "extracted-" + entry.id() + ".txt"));
+		return Files.readString(textFile.toPath(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link FullTextIndex}
+ */
+public class FullTextIndexTest
+{
+
+	/** The index directory */
+	@TempDir
+	File directory;
+
+	/** The directory of the pdf and result text files */
+	@TempDir
+	File documentDirectory;
+
+	/**
+	 * Test method for the merging of the segments, every session writes one segment and the
+	 * segments of the same size are merged as soon as {@value FullTextIndex#MERGE_FACTOR} of them
+	 * exist
+	 *
+	 * @throws IOException
+	 *             if the index could not be written or read
+	 */
+	@Test
+	public void testMergeSegments() throws IOException
+	{
+		for (int document = 0; document < FullTextIndex.MERGE_FACTOR - 1; document++)
+		{
+			addDocument("document" + document + ".pdf",
+				"common words unique" + document + "\fsecond page");
+			try (FullTextIndex fullTextIndex = new FullTextIndex(directory))
+			{
+				assertEquals(document + 1, fullTextIndex.getSegmentCount());
+			}
+		}
+		addDocument("document" + (FullTextIndex.MERGE_FACTOR - 1) + ".pdf",
+			"common words unique" + (FullTextIndex.MERGE_FACTOR - 1) + "\fsecond page");
+		try (FullTextIndex fullTextIndex = new FullTextIndex(directory))
+		{
+			assertEquals(1, fullTextIndex.getSegmentCount());
+			assertEquals(FullTextIndex.MERGE_FACTOR, fullTextIndex.getDocumentCount());
+			assertEquals(FullTextIndex.MERGE_FACTOR, fullTextIndex.search("common", 100).size());
+			List<SearchHit> hits = fullTextIndex.search("unique0", 100);
+			assertEquals(1, hits.size());
+			assertEquals("document0.pdf", hits.get(0).document().pdfFile().getName());
+			assertEquals(0, hits.get(0).pageIndex());
+			hits = fullTextIndex.search("second page", 100);
+			assertEquals(FullTextIndex.MERGE_FACTOR, hits.size());
+			assertEquals(1, hits.get(0).pageIndex());
+			assertEquals(FullTextIndex.MERGE_FACTOR, fullTextIndex.search("uniq*", 100).size());
+		}
+		// the merged segment files are deleted
+		assertEquals(1, countSegmentFiles());
+	}
+
+	/**
+	 * Test method for the merging of the segments with a document that was converted again, the
+	 * merged segment drops the postings of the replaced version
+	 *
+	 * @throws IOException
+	 *             if the index could not be written or read
+	 */
+	@Test
+	public void testMergeSegmentsWithReplacedDocument() throws IOException
+	{
+		for (int document = 0; document < FullTextIndex.MERGE_FACTOR - 1; document++)
+		{
+			addDocument("document" + document + ".pdf", "old version unique" + document);
+		}
+		addDocument("document0.pdf", "new version");
+		try (FullTextIndex fullTextIndex = new FullTextIndex(directory))
+		{
+			assertEquals(1, fullTextIndex.getSegmentCount());
+			assertEquals(FullTextIndex.MERGE_FACTOR - 1, fullTextIndex.getDocumentCount());
+			assertEquals(List.of(), fullTextIndex.search("unique0", 100));
+			assertEquals(1, fullTextIndex.search("new version", 100).size());
+			assertEquals(FullTextIndex.MERGE_FACTOR - 2,
+				fullTextIndex.search("old version", 100).size());
+		}
+	}
+
+	/**
+	 * Test method for the lock of the index directory, a second index in the same directory is
+	 * refused as long as the first one is open
+	 *
+	 * @throws IOException
+	 *             if the index could not be written or read
+	 */
+	@Test
+	public void testLockAgainstSecondIndex() throws IOException
+	{
+		addDocument("document.pdf", "locked words");
+		try (FullTextIndex fullTextIndex = new FullTextIndex(directory))
+		{
+			assertThrows(IOException.class, () -> new FullTextIndex(directory));
+			// the refused index does not delete the state of the open index
+			assertEquals(1, fullTextIndex.search("locked", 100).size());
+		}
+		try (FullTextIndex fullTextIndex = new FullTextIndex(directory))
+		{
+			assertEquals(1, fullTextIndex.getDocumentCount());
+		}
+	}
+
+	private void addDocument(final String pdfFileName, final String text) throws IOException
+	{
+		File pdfFile = new File(documentDirectory, pdfFileName);
+		File resultTextFile = new File(documentDirectory, pdfFileName + ".txt");
+		Files.writeString(resultTextFile.toPath(), text, StandardCharsets.UTF_8);
+		// closing the index waits for the indexing and writes the buffer as new segment
+		try (FullTextIndex fullTextIndex = new FullTextIndex(directory))
+		{
+			fullTextIndex.addDocumentAsync(pdfFile, resultTextFile, text.split("\f").length);
+		}
+	}
+
+	private long countSegmentFiles()
+	{
+		File[] segmentFiles = directory.listFiles((dir, name) -> name.endsWith(".seg"));
+		return segmentFiles != null ? segmentFiles.length : 0;
+	}
+
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2024 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.swing.app.pdf.to.text.viewer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The unit test class for the class {@link TextFileIndex}
+ */
+public class TextFileIndexTest
+{
+
+	/** The directory of the indexed files */
+	@TempDir
+	File directory;
+
+	/**
+	 * Test method for {@link TextFileIndex#update()} and the lines and pages of the indexed file
+	 *
+	 * @throws IOException
+	 *             if the file could not be written or read
+	 */
+	@Test
+	public void testUpdate() throws IOException
+	{
+		File file = write("a\nbb\fccc\n", false);
+		TextFileIndex textFileIndex = new TextFileIndex(file);
+		assertTrue(textFileIndex.update());
+		assertEquals(4, textFileIndex.getLineCount());
+		assertEquals(2, textFileIndex.getPageCount());
+		assertEquals(3, textFileIndex.getLongestLineLength());
+		assertEquals(file.length(), textFileIndex.getIndexedLength());
+		assertEquals(0, textFileIndex.getPageStartLine(0));
+		assertEquals(2, textFileIndex.getPageStartLine(1));
+		assertEquals(0, textFileIndex.getPageOfLine(1));
+		assertEquals(1, textFileIndex.getPageOfLine(3));
+		assertArrayEquals(new String[] { "a", "bb", "ccc", "" }, textFileIndex.readLines(0, 3));
+		// an unchanged file does not change the index
+		assertFalse(textFileIndex.update());
+	}
+
+	/**
+	 * Test method for {@link TextFileIndex#update()} with content that is appended to the file
+	 *
+	 * @throws IOException
+	 *             if the file could not be written or read
+	 */
+	@Test
+	public void testUpdateAppended() throws IOException
+	{
+		File file = write("first\nsec", false);
+		TextFileIndex textFileIndex = new TextFileIndex(file);
+		textFileIndex.update();
+		assertArrayEquals(new String[] { "sec" }, textFileIndex.readLines(1, 1));
+		write("ond\fthird", true);
+		assertTrue(textFileIndex.update());
+		assertEquals(3, textFileIndex.getLineCount());
+		assertEquals(2, textFileIndex.getPageCount());
+		assertArrayEquals(new String[] { "first", "second", "third" },
+			textFileIndex.readLines(0, 2));
+	}
+
+	/**
+	 * Test method for {@link TextFileIndex#update()} with a truncated and a deleted file
+	 *
+	 * @throws IOException
+	 *             if the file could not be written or read
+	 */
+	@Test
+	public void testUpdateTruncatedAndDeleted() throws IOException
+	{
+		File file = write("one\ftwo\fthree", false);
+		TextFileIndex textFileIndex = new TextFileIndex(file);
+		textFileIndex.update();
+		assertEquals(3, textFileIndex.getPageCount());
+		write("new", false);
+		assertTrue(textFileIndex.update());
+		assertEquals(1, textFileIndex.getLineCount());
+		assertEquals(1, textFileIndex.getPageCount());
+		assertArrayEquals(new String[] { "new" }, textFileIndex.readLines(0, 0));
+		Files.delete(file.toPath());
+		assertTrue(textFileIndex.update());
+		assertEquals(0, textFileIndex.getIndexedLength());
+		assertArrayEquals(new String[0], textFileIndex.readLines(0, 0));
+		assertFalse(textFileIndex.update());
+	}
+
+	/**
+	 * Test method for {@link TextFileIndex#readLines(int, int)} with windows line separators,
+	 * multibyte characters and a range beyond the indexed lines
+	 *
+	 * @throws IOException
+	 *             if the file could not be written or read
+	 */
+	@Test
+	public void testReadLines() throws IOException
+	{
+		File file = write("x\r\n\u00e4\u00f6\u00fc\r\n\u20ac", false);
+		TextFileIndex textFileIndex = new TextFileIndex(file);
+		textFileIndex.update();
+		assertArrayEquals(new String[] { "x", "\u00e4\u00f6\u00fc", "\u20ac" },
+			textFileIndex.readLines(-5, 100));
+		assertArrayEquals(new String[0], textFileIndex.readLines(3, 5));
+	}
+
+	private File write(final String text, final boolean append) throws IOException
+	{
+		File file = new File(directory, "result.txt");
+		Files.writeString(file.toPath(), text, StandardCharsets.UTF_8,
+			append
+				? new StandardOpenOption[] { StandardOpenOption.CREATE,
+						StandardOpenOption.APPEND }
+				: new StandardOpenOption[] { StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE });
+		return file;
+	}
+
+}